@@ -19,6 +19,7 @@ package org.apache.tika.batch;
 
 import org.apache.tika.config.TikaConfig;
 import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseStatisticsRegistry;
 import org.apache.tika.parser.Parser;
 
 /**
@@ -28,7 +29,11 @@ public class AutoDetectParserFactory extends ParserFactory {
 
   @Override
   public Parser getParser(TikaConfig config) {
-    return new AutoDetectParser(config);
+    AutoDetectParser parser = new AutoDetectParser(config);
+    if (getParseStatistics()) {
+      parser.setParseStatistics(ParseStatisticsRegistry.getDefault());
+    }
+    return parser;
   }
 
 
@@ -0,0 +1,526 @@
+package org.apache.tika.batch;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.tika.metadata.Metadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent record of the {@link FileResource}s that have been processed,
+ * so that a later run can skip the ones that have not changed since.
+ * <p/>
+ * A resource is identified by its resource id, its {@link Metadata#CONTENT_LENGTH},
+ * its {@link FileResource#LAST_MODIFIED} time and a hash of the configuration
+ * that it was processed with. The crawler skips a resource if it was
+ * processed successfully with the same identity, or if it has already
+ * been attempted {@link #getMaxAttempts()} times with the same identity.
+ * New, modified and failed resources are processed again.
+ * <p/>
+ * The manifest is an append-only, tab-delimited UTF-8 file, and each record
+ * is flushed as soon as it is written so that it survives the restarts
+ * of the child process by {@link BatchProcessDriverCLI}.  A resource is
+ * recorded as started before it is processed, so a resource that hangs or
+ * crashes the process counts as an attempt without ever being recorded
+ * as finished.
+ * <p/>
+ * If a digest algorithm is set, the digest of each successfully processed
+ * resource is recorded as well.  A resource whose length or modified
+ * time has changed, but whose digest hasn't, is then skipped, and is
+ * recorded under its new identity so that it isn't digested again.
+ * <p/>
+ * Only hashes of the recorded identities are held in memory.  Every
+ * identity is hashed with two independent 64 bit hashes of the resource id,
+ * so that a changed resource is only skipped by mistake if both collide.
+ * Resource ids must be unique within a manifest.
+ */
+public class BatchManifest implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchManifest.class);
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 2;
+
+    private static final String STARTED = "STARTED";
+    private static final String OK = "OK";
+    private static final String FAILED = "FAILED";
+    private static final String NO_DIGEST = "-";
+
+    private final Path manifestFile;
+    private final long configHash;
+    private final int maxAttempts;
+    //can be null!
+    private final String digestAlgorithm;
+
+    //identities of resources that were processed successfully
+    private final IdentityMap processed = new IdentityMap(false);
+    //number of times that an identity was started; only consulted if it didn't succeed
+    private final IdentityMap attempts = new IdentityMap(true);
+    //hashes of the resource ids and the digests of successfully processed resources
+    private final IdentityMap digestedIds = new IdentityMap(false);
+    private final IdentityMap digests = new IdentityMap(false);
+
+    private final Writer writer;
+    private boolean closed = false;
+    private int skipped = 0;
+
+    /**
+     * Reads the manifest if it exists and opens it for appending.
+     *
+     * @param manifestFile    manifest file, created if it doesn't exist
+     * @param configHash      hash of the configuration that resources are processed with;
+     *                        resources processed with a different configuration are processed again
+     * @param maxAttempts     number of times to try a resource that doesn't succeed
+     * @param digestAlgorithm {@link MessageDigest} algorithm or null to not record digests
+     * @throws IOException if the manifest can't be read or opened for appending
+     */
+    public BatchManifest(Path manifestFile, long configHash, int maxAttempts,
+                         String digestAlgorithm) throws IOException {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be >= 1");
+        }
+        if (digestAlgorithm != null) {
+            try {
+                MessageDigest.getInstance(digestAlgorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalArgumentException("Unsupported digest algorithm: " + digestAlgorithm, e);
+            }
+        }
+        this.manifestFile = manifestFile;
+        this.configHash = configHash;
+        this.maxAttempts = maxAttempts;
+        this.digestAlgorithm = digestAlgorithm;
+
+        boolean tornRecord = false;
+        if (Files.isRegularFile(manifestFile)) {
+            load();
+            tornRecord = !endsWithNewLine(manifestFile);
+        } else if (manifestFile.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(manifestFile.toAbsolutePath().getParent());
+        }
+        writer = new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(manifestFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND), UTF_8));
+        if (tornRecord) {
+            //the last record was cut off when the process was killed
+            write("\n");
+        }
+    }
+
+    /**
+     * Called by the crawler to determine whether a resource should be processed.
+     *
+     * @param fileResource resource to check
+     * @return false if the resource has not changed since it was processed
+     * successfully or since it was last attempted for the last time
+     */
+    public boolean needsProcessing(FileResource fileResource) {
+        String id = fileResource.getResourceId();
+        long idHash = hash(id);
+        long idHash2 = hash2(id);
+        long length = FileSizeLane.getLength(fileResource);
+        long lastModified = getLastModified(fileResource);
+        long identity = identity(idHash, length, lastModified, configHash);
+        long identity2 = identity(idHash2, length, lastModified, configHash);
+        synchronized (this) {
+            if (processed.contains(identity, identity2)) {
+                skipped++;
+                return false;
+            }
+            if (attempts.get(identity, identity2) >= maxAttempts) {
+                skipped++;
+                return false;
+            }
+            if (digestAlgorithm == null || !digestedIds.contains(idHash, idHash2)) {
+                return true;
+            }
+        }
+        //the resource was processed before, but its length or modified time has changed
+        String digest = digest(fileResource);
+        if (digest == null) {
+            return true;
+        }
+        synchronized (this) {
+            if (!digests.contains(digestHash(idHash, digest, configHash),
+                    digestHash(idHash2, digest, configHash))) {
+                return true;
+            }
+            processed.add(identity, identity2);
+            skipped++;
+        }
+        write(record(OK, fileResource, digest));
+        return false;
+    }
+
+    /**
+     * Called by a consumer immediately before it processes a resource.
+     *
+     * @param fileResource resource that is about to be processed
+     */
+    public void started(FileResource fileResource) {
+        write(record(STARTED, fileResource, null));
+    }
+
+    /**
+     * Called by a consumer after it has processed a resource.
+     *
+     * @param fileResource resource that was processed
+     * @param success      whether the resource was processed successfully
+     */
+    public void finished(FileResource fileResource, boolean success) {
+        if (!success) {
+            write(record(FAILED, fileResource, null));
+            return;
+        }
+        String digest = (digestAlgorithm == null) ? null : digest(fileResource);
+        write(record(OK, fileResource, digest));
+    }
+
+    /**
+     * @return number of times that a resource should be tried if it doesn't succeed
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return number of resources that {@link #needsProcessing(FileResource)} has skipped
+     */
+    public synchronized int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Closes the manifest.  Records written after this are silently dropped,
+     * as consumers that hung might still finish after the batch process
+     * has shut down.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (writer) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            writer.close();
+        }
+        logger.info("Manifest skipped " + getSkipped() + " unchanged resources");
+    }
+
+    private void write(String record) {
+        synchronized (writer) {
+            if (closed) {
+                return;
+            }
+            try {
+                writer.write(record);
+                writer.flush();
+            } catch (IOException e) {
+                throw new BatchNoRestartError("IOException writing to manifest " +
+                        manifestFile.toAbsolutePath(), e);
+            }
+        }
+    }
+
+    private String record(String status, FileResource fileResource, String digest) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(status).append('\t');
+        sb.append(FileSizeLane.getLength(fileResource)).append('\t');
+        sb.append(getLastModified(fileResource)).append('\t');
+        sb.append(configHash).append('\t');
+        sb.append(digest == null ? NO_DIGEST : digest).append('\t');
+        escape(fileResource.getResourceId(), sb);
+        sb.append('\n');
+        return sb.toString();
+    }
+
+    private void load() throws IOException {
+        int records = 0;
+        int malformed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(manifestFile, UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                if (line.length() > 0) {
+                    if (loadRecord(line)) {
+                        records++;
+                    } else {
+                        malformed++;
+                    }
+                }
+                line = reader.readLine();
+            }
+        }
+        if (malformed > 0) {
+            logger.warn("Skipped " + malformed + " malformed records in manifest " +
+                    manifestFile.toAbsolutePath());
+        }
+        logger.info("Read " + records + " records from manifest " + manifestFile.toAbsolutePath());
+    }
+
+    private boolean loadRecord(String line) {
+        String[] fields = line.split("\t", 6);
+        if (fields.length != 6) {
+            return false;
+        }
+        try {
+            long length = Long.parseLong(fields[1]);
+            long lastModified = Long.parseLong(fields[2]);
+            long recordConfigHash = Long.parseLong(fields[3]);
+            String id = unescape(fields[5]);
+            long idHash = hash(id);
+            long idHash2 = hash2(id);
+            long identity = identity(idHash, length, lastModified, recordConfigHash);
+            long identity2 = identity(idHash2, length, lastModified, recordConfigHash);
+            if (fields[0].equals(STARTED)) {
+                attempts.put(identity, identity2, attempts.get(identity, identity2) + 1);
+                return true;
+            }
+            if (fields[0].equals(OK)) {
+                processed.add(identity, identity2);
+                if (!fields[4].equals(NO_DIGEST)) {
+                    digestedIds.add(idHash, idHash2);
+                    digests.add(digestHash(idHash, fields[4], recordConfigHash),
+                            digestHash(idHash2, fields[4], recordConfigHash));
+                }
+                return true;
+            }
+            //the attempt was already counted by the started record
+            return fields[0].equals(FAILED);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private String digest(FileResource fileResource) {
+        try (InputStream is = fileResource.openInputStream()) {
+            MessageDigest messageDigest = MessageDigest.getInstance(digestAlgorithm);
+            byte[] buffer = new byte[8192];
+            int n = is.read(buffer);
+            while (n > -1) {
+                messageDigest.update(buffer, 0, n);
+                n = is.read(buffer);
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : messageDigest.digest()) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+                sb.append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (IOException|NoSuchAlgorithmException e) {
+            logger.warn("Couldn't digest " + fileResource.getResourceId() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean endsWithNewLine(Path p) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(p)) {
+            if (channel.size() == 0) {
+                return true;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1);
+            channel.read(last);
+            return last.get(0) == '\n';
+        }
+    }
+
+    private static long getLastModified(FileResource fileResource) {
+        Metadata metadata = fileResource.getMetadata();
+        String lastModified = metadata == null ? null : metadata.get(FileResource.LAST_MODIFIED);
+        if (lastModified == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastModified);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    //resource ids are the last field, so only line breaks need to be escaped
+    private static void escape(String s, StringBuilder sb) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\') {
+                sb.append("\\\\");
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else if (c == '\r') {
+                sb.append("\\r");
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+
+    private static String unescape(String s) {
+        if (s.indexOf('\\') < 0) {
+            return s;
+        }
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && i < s.length() - 1) {
+                char next = s.charAt(++i);
+                sb.append(next == 'n' ? '\n' : (next == 'r' ? '\r' : next));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static long identity(long idHash, long length, long lastModified, long configHash) {
+        return mix(mix(mix(idHash, length), lastModified), configHash);
+    }
+
+    private static long digestHash(long idHash, String digest, long configHash) {
+        return mix(mix(idHash, hash(digest)), configHash);
+    }
+
+    //64 bit FNV-1a
+    private static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    //64 bit polynomial hash seeded with the length, independent of hash(String)
+    private static long hash2(String s) {
+        long h = s.length();
+        for (int i = 0; i < s.length(); i++) {
+            h = h * 0x9e3779b97f4a7c15L + s.charAt(i);
+        }
+        return mix(h, 0);
+    }
+
+    //combines v into h, followed by the MurmurHash3 finalizer
+    private static long mix(long h, long v) {
+        h ^= v + 0x9e3779b97f4a7c15L + (h << 6) + (h >>> 2);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Open addressing map from pairs of longs to ints, or set of pairs of
+     * longs if it has no values; avoids boxing millions of entries.
+     */
+    private static class IdentityMap {
+        //0,0 marks an empty slot, so it is stored as 0,1
+        private long[] keys = new long[2 * 16];
+        //null for a set
+        private int[] values;
+        private int size = 0;
+
+        IdentityMap(boolean hasValues) {
+            values = hasValues ? new int[keys.length / 2] : null;
+        }
+
+        boolean contains(long k1, long k2) {
+            return find(k1, k2 == 0 && k1 == 0 ? 1 : k2) >= 0;
+        }
+
+        void add(long k1, long k2) {
+            put(k1, k2, 0);
+        }
+
+        /**
+         * @return the value of the pair, or 0 if it isn't in the map
+         */
+        int get(long k1, long k2) {
+            int i = find(k1, k2 == 0 && k1 == 0 ? 1 : k2);
+            return (i < 0 || values == null) ? 0 : values[i];
+        }
+
+        void put(long k1, long k2, int value) {
+            k2 = (k2 == 0 && k1 == 0) ? 1 : k2;
+            int i = slot(keys, k1, k2);
+            if (keys[2 * i] == 0 && keys[2 * i + 1] == 0) {
+                keys[2 * i] = k1;
+                keys[2 * i + 1] = k2;
+                size++;
+            }
+            if (values != null) {
+                values[i] = value;
+            }
+            if (size * 4L > (keys.length / 2) * 3L) {
+                grow();
+            }
+        }
+
+        private int find(long k1, long k2) {
+            int i = slot(keys, k1, k2);
+            return (keys[2 * i] == 0 && keys[2 * i + 1] == 0) ? -1 : i;
+        }
+
+        private void grow() {
+            long[] grownKeys = new long[keys.length * 2];
+            int[] grownValues = (values == null) ? null : new int[grownKeys.length / 2];
+            for (int i = 0; i < keys.length / 2; i++) {
+                if (keys[2 * i] != 0 || keys[2 * i + 1] != 0) {
+                    int j = slot(grownKeys, keys[2 * i], keys[2 * i + 1]);
+                    grownKeys[2 * j] = keys[2 * i];
+                    grownKeys[2 * j + 1] = keys[2 * i + 1];
+                    if (values != null) {
+                        grownValues[j] = values[i];
+                    }
+                }
+            }
+            keys = grownKeys;
+            values = grownValues;
+        }
+
+        //the slot holding the pair, or the empty slot where it belongs
+        private static int slot(long[] keys, long k1, long k2) {
+            int mask = keys.length / 2 - 1;
+            int i = (int) k1 & mask;
+            while (keys[2 * i] != 0 || keys[2 * i + 1] != 0) {
+                if (keys[2 * i] == k1 && keys[2 * i + 1] == k2) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+    }
+}
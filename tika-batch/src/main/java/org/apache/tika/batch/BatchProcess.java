@@ -103,6 +103,9 @@ public class BatchProcess implements Callable<ParallelFileProcessingResult> {
 
     private final ArrayBlockingQueue<FileStarted> timedOuts;
 
+    //can be null!
+    private BatchManifest manifest = null;
+
     private boolean alreadyExecuted = false;
 
     public BatchProcess(FileResourceCrawler fileResourceCrawler,
@@ -166,7 +169,11 @@ public class BatchProcess implements Callable<ParallelFileProcessingResult> {
             State state = mainLoop(completionService, timeoutChecker);
             result = shutdown(ex, completionService, timeoutChecker, state);
         } finally {
-            shutdownConsumersManager();
+            try {
+                shutdownConsumersManager();
+            } finally {
+                closeManifest();
+            }
         }
         return result;
     }
@@ -393,6 +400,17 @@ public class BatchProcess implements Callable<ParallelFileProcessingResult> {
         }
     }
 
+    private void closeManifest() {
+        if (manifest == null) {
+            return;
+        }
+        try {
+            manifest.close();
+        } catch (IOException e) {
+            logger.warn("Couldn't close manifest", e);
+        }
+    }
+
     private void shutdownConsumersManager() {
         if (consumersManagerMaxMillis < 0) {
             consumersManager.shutdown();
@@ -549,6 +567,16 @@ public class BatchProcess implements Callable<ParallelFileProcessingResult> {
         this.maxAliveTimeSeconds = maxAliveTimeSeconds;
     }
 
+    /**
+     * Manifest that the crawler and the consumers share.  This process closes
+     * it when it shuts down.
+     *
+     * @param manifest manifest to close on shutdown
+     */
+    public void setManifest(BatchManifest manifest) {
+        this.manifest = manifest;
+    }
+
     private class TimeoutChecker implements Callable<IFileProcessorFutureResult> {
 
         @Override
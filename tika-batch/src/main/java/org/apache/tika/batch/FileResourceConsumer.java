@@ -28,6 +28,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.ParseContext;
@@ -92,10 +93,19 @@ public abstract class FileResourceConsumer implements Callable<IFileProcessorFut
     //sees the latest
     private volatile int numResourcesConsumed = 0;
 
+    //files consumed, bytes consumed and milliseconds spent per FileSizeLane;
+    //atomic so that reporter sees the latest
+    private final AtomicLongArray laneResources = new AtomicLongArray(FileSizeLane.values().length);
+    private final AtomicLongArray laneBytes = new AtomicLongArray(FileSizeLane.values().length);
+    private final AtomicLongArray laneMillis = new AtomicLongArray(FileSizeLane.values().length);
+
     //total number of exceptions that were handled by subclasses;
     //volatile so that reporter sees the latest
     private volatile int numHandledExceptions = 0;
 
+    //can be null!
+    private BatchManifest manifest = null;
+
     //after this has been set to ACTIVELY_CONSUMING,
     //this should only be set by setEndedState.
     private volatile STATE currentState = STATE.NOT_YET_STARTED;
@@ -112,11 +122,17 @@ public abstract class FileResourceConsumer implements Callable<IFileProcessorFut
             FileResource fileResource = getNextFileResource();
             while (fileResource != null) {
                 logger.debug("file consumer is about to process: " + fileResource.getResourceId());
+                long started = System.currentTimeMillis();
                 boolean consumed = _processFileResource(fileResource);
                 logger.debug("file consumer has finished processing: " + fileResource.getResourceId());
 
                 if (consumed) {
                     numResourcesConsumed++;
+                    long length = FileSizeLane.getLength(fileResource);
+                    int lane = FileSizeLane.forLength(length).ordinal();
+                    laneResources.incrementAndGet(lane);
+                    laneBytes.addAndGet(lane, Math.max(0, length));
+                    laneMillis.addAndGet(lane, System.currentTimeMillis() - started);
                 }
                 fileResource = getNextFileResource();
             }
@@ -179,7 +195,13 @@ public abstract class FileResourceConsumer implements Callable<IFileProcessorFut
         currentFile = new FileStarted(fileResource.getResourceId());
         boolean consumed = false;
         try {
+            if (manifest != null) {
+                manifest.started(fileResource);
+            }
             consumed = processFileResource(fileResource);
+            if (manifest != null) {
+                manifest.finished(fileResource, consumed);
+            }
         } catch (RuntimeException e) {
             setEndedState(STATE.CONSUMER_EXCEPTION);
             throw e;
@@ -217,10 +239,44 @@ public abstract class FileResourceConsumer implements Callable<IFileProcessorFut
         return currentFile;
     }
 
+    /**
+     * If a manifest is set, each resource is recorded in it before
+     * and after it is processed.
+     *
+     * @param manifest manifest to record processed resources in
+     */
+    public void setManifest(BatchManifest manifest) {
+        this.manifest = manifest;
+    }
+
     public int getNumResourcesConsumed() {
         return numResourcesConsumed;
     }
 
+    /**
+     * @param lane size lane
+     * @return number of files in the given lane that this consumer has consumed
+     */
+    public long getNumResourcesConsumed(FileSizeLane lane) {
+        return laneResources.get(lane.ordinal());
+    }
+
+    /**
+     * @param lane size lane
+     * @return number of bytes in the given lane that this consumer has consumed
+     */
+    public long getNumBytesConsumed(FileSizeLane lane) {
+        return laneBytes.get(lane.ordinal());
+    }
+
+    /**
+     * @param lane size lane
+     * @return milliseconds this consumer has spent on consumed files in the given lane
+     */
+    public long getMillisConsumed(FileSizeLane lane) {
+        return laneMillis.get(lane.ordinal());
+    }
+
     public int getNumHandledExceptions() {
         return numHandledExceptions;
     }
@@ -17,7 +17,9 @@ package org.apache.tika.batch;
  * limitations under the License.
  */
 
+import java.util.Comparator;
 import java.util.Date;
+import java.util.PriorityQueue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
@@ -32,6 +34,8 @@ public abstract class FileResourceCrawler implements Callable<IFileProcessorFutu
     protected final static int SKIPPED = 0;
     protected final static int ADDED = 1;
     protected final static int STOP_NOW = 2;
+    //selected, but held back while the queue is full, see setLargestFirstWindow
+    protected final static int HELD_BACK = 3;
 
     private volatile boolean hasCompletedCrawling = false;
     private volatile boolean shutDownNoPoison = false;
@@ -52,6 +56,13 @@ public abstract class FileResourceCrawler implements Callable<IFileProcessorFutu
 
     private long maxConsecWaitInMillis = 300000;//300,000ms = 5 minutes
     private DocumentSelector documentSelector = null;
+    //can be null!
+    private BatchManifest manifest = null;
+
+    //number of selected files held back while the queue is full, so that
+    //the largest of them can be added to the queue first; 0 turns this off
+    private int largestFirstWindow = 0;
+    private PriorityQueue<FileResource> window = null;
 
     //number of files added to queue
     private int added = 0;
@@ -78,12 +89,14 @@ public abstract class FileResourceCrawler implements Callable<IFileProcessorFutu
     public FileResourceCrawlerFutureResult call() {
         try {
             start();
+            drainWindow();
         } catch (InterruptedException e) {
             //this can be triggered by shutdownNow in BatchProcess
             logger.info("InterruptedException in FileCrawler", e);
         } catch (Exception e) {
             logger.error("Exception in FileResourceCrawler: ", e);
         } finally {
+            offerHeldBack();
             isActive = false;
         }
 
@@ -104,7 +117,7 @@ public abstract class FileResourceCrawler implements Callable<IFileProcessorFutu
      */
     protected int tryToAdd(FileResource fileResource) throws InterruptedException {
 
-        if (maxFilesToAdd > -1 && added >= maxFilesToAdd) {
+        if (maxFilesToAdd > -1 && added + getHeldBack() >= maxFilesToAdd) {
             return STOP_NOW;
         }
 
@@ -112,31 +125,85 @@ public abstract class FileResourceCrawler implements Callable<IFileProcessorFutu
             return STOP_NOW;
         }
 
-        boolean isAdded = false;
-        if (select(fileResource.getMetadata())) {
-            long totalConsecutiveWait = 0;
-            while (queue.offer(fileResource, 1L, TimeUnit.SECONDS) == false) {
-
-                logger.info("FileResourceCrawler is pausing.  Queue is full: " + queue.size());
-                Thread.sleep(PAUSE_INCREMENT_MILLIS);
-                totalConsecutiveWait += PAUSE_INCREMENT_MILLIS;
-                if (maxConsecWaitInMillis > -1 && totalConsecutiveWait > maxConsecWaitInMillis) {
-                    timedOut = true;
-                    logger.error("Crawler had to wait longer than max consecutive wait time.");
-                    throw new InterruptedException("FileResourceCrawler had to wait longer than max consecutive wait time.");
+        int status = SKIPPED;
+        if (select(fileResource.getMetadata()) &&
+                (manifest == null || manifest.needsProcessing(fileResource))) {
+            if (largestFirstWindow > 0) {
+                if (window == null) {
+                    window = new PriorityQueue<>(largestFirstWindow + 1, new LargestFirstComparator());
                 }
-                if (Thread.currentThread().isInterrupted()) {
-                    logger.info("FileResourceCrawler shutting down because of interrupted thread.");
-                    throw new InterruptedException("FileResourceCrawler interrupted.");
+                window.add(fileResource);
+                //hold files back only while the consumers have enough to do
+                status = HELD_BACK;
+                while (!window.isEmpty() &&
+                        (queue.remainingCapacity() > 0 || window.size() > largestFirstWindow)) {
+                    FileResource largest = window.poll();
+                    offer(largest);
+                    added++;
+                    if (largest == fileResource) {
+                        status = ADDED;
+                    }
                 }
+            } else {
+                offer(fileResource);
+                added++;
+                status = ADDED;
             }
-            isAdded = true;
-            added++;
         } else {
             logger.debug("crawler did not select: "+fileResource.getResourceId());
         }
         considered++;
-        return (isAdded)?ADDED:SKIPPED;
+        return status;
+    }
+
+    private int getHeldBack() {
+        return (window == null) ? 0 : window.size();
+    }
+
+    private void offer(FileResource fileResource) throws InterruptedException {
+        long totalConsecutiveWait = 0;
+        while (queue.offer(fileResource, 1L, TimeUnit.SECONDS) == false) {
+
+            logger.info("FileResourceCrawler is pausing.  Queue is full: " + queue.size());
+            Thread.sleep(PAUSE_INCREMENT_MILLIS);
+            totalConsecutiveWait += PAUSE_INCREMENT_MILLIS;
+            if (maxConsecWaitInMillis > -1 && totalConsecutiveWait > maxConsecWaitInMillis) {
+                timedOut = true;
+                logger.error("Crawler had to wait longer than max consecutive wait time.");
+                throw new InterruptedException("FileResourceCrawler had to wait longer than max consecutive wait time.");
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                logger.info("FileResourceCrawler shutting down because of interrupted thread.");
+                throw new InterruptedException("FileResourceCrawler interrupted.");
+            }
+        }
+    }
+
+    //adds the files that are still held back, largest first
+    private void drainWindow() throws InterruptedException {
+        if (window == null) {
+            return;
+        }
+        while (!window.isEmpty()) {
+            offer(window.peek());
+            window.poll();
+            added++;
+        }
+    }
+
+    //if the crawl stopped early, adds what still fits of the files held back
+    private void offerHeldBack() {
+        if (window == null) {
+            return;
+        }
+        while (!window.isEmpty() && queue.offer(window.peek())) {
+            window.poll();
+            added++;
+        }
+        if (!window.isEmpty()) {
+            logger.warn("FileResourceCrawler stopped with " + window.size() +
+                    " files held back that could not be added to the queue.");
+        }
     }
 
     //Warning! Depending on the value of maxConsecWaitInMillis
@@ -187,6 +254,16 @@ public abstract class FileResourceCrawler implements Callable<IFileProcessorFutu
         this.documentSelector = documentSelector;
     }
 
+    /**
+     * If a manifest is set, resources that it reports as unchanged since
+     * they were last processed are not added to the queue.
+     *
+     * @param manifest manifest to consult before adding a resource
+     */
+    public void setManifest(BatchManifest manifest) {
+        this.manifest = manifest;
+    }
+
     public int getConsidered() {
         return considered;
     }
@@ -195,6 +272,23 @@ public abstract class FileResourceCrawler implements Callable<IFileProcessorFutu
         return documentSelector.select(m);
     }
 
+    /**
+     * Number of selected files to hold back while the queue is full, so
+     * that the largest of them can be added to the queue first when there
+     * is room again.  Starting the large files early keeps a few of them
+     * from dominating the end of a run.  Files are added straight away
+     * while the queue has room, and held back files are only counted as
+     * added once they are in the queue.  The files that are still held
+     * back are added when the crawl has completed.
+     * <p/>
+     * If this is <= 0 (default), files are added in crawl order.
+     *
+     * @param largestFirstWindow number of files to hold back
+     */
+    public void setLargestFirstWindow(int largestFirstWindow) {
+        this.largestFirstWindow = largestFirstWindow;
+    }
+
     /**
      * Maximum number of files to add.  If {@link #maxFilesToAdd} < 0 (default),
      * then this crawler will add all documents.
@@ -267,4 +361,13 @@ public abstract class FileResourceCrawler implements Callable<IFileProcessorFutu
     public void shutDownNoPoison() {
         this.shutDownNoPoison = true;
     }
+
+    private static class LargestFirstComparator implements Comparator<FileResource> {
+        @Override
+        public int compare(FileResource a, FileResource b) {
+            long lengthA = FileSizeLane.getLength(a);
+            long lengthB = FileSizeLane.getLength(b);
+            return (lengthA < lengthB) ? 1 : ((lengthA == lengthB) ? 0 : -1);
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package org.apache.tika.batch;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.apache.tika.metadata.Metadata;
+
+/**
+ * Size classes of {@link FileResource}s, used to report throughput
+ * separately for small and large files.
+ */
+public enum FileSizeLane {
+
+    SMALL("Small files (< 1 MB)"),
+    MEDIUM("Medium files (1 - 100 MB)"),
+    LARGE("Large files (>= 100 MB)"),
+    UNKNOWN("Files of unknown size");
+
+    private static final long MEDIUM_MIN_BYTES = 1024L * 1024L;
+    private static final long LARGE_MIN_BYTES = 100L * 1024L * 1024L;
+
+    private final String description;
+
+    FileSizeLane(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @param length length in bytes, or a negative value if unknown
+     * @return lane for a file of the given length
+     */
+    public static FileSizeLane forLength(long length) {
+        if (length < 0) {
+            return UNKNOWN;
+        } else if (length < MEDIUM_MIN_BYTES) {
+            return SMALL;
+        } else if (length < LARGE_MIN_BYTES) {
+            return MEDIUM;
+        }
+        return LARGE;
+    }
+
+    /**
+     * @param fileResource file resource
+     * @return the {@link Metadata#CONTENT_LENGTH} that the crawler recorded
+     * for the resource, or -1 if it is not known
+     */
+    static long getLength(FileResource fileResource) {
+        Metadata metadata = fileResource.getMetadata();
+        String length = metadata == null ? null : metadata.get(Metadata.CONTENT_LENGTH);
+        if (length == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(length);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.tika.parser.Parser;
 public abstract class ParserFactory {
 
     private boolean parseRecursively = true;
+    private boolean parseStatistics = false;
 
     public abstract Parser getParser(TikaConfig config);
 
@@ -34,4 +35,16 @@ public abstract class ParserFactory {
         this.parseRecursively = parseRecursively;
     }
 
+    /**
+     * @return whether parsers should record their parses in the
+     * {@link org.apache.tika.parser.ParseStatisticsRegistry#getDefault() default registry}
+     */
+    public boolean getParseStatistics() {
+        return parseStatistics;
+    }
+
+    public void setParseStatistics(boolean parseStatistics) {
+        this.parseStatistics = parseStatistics;
+    }
+
 }
@@ -20,8 +20,12 @@ package org.apache.tika.batch;
 import java.text.NumberFormat;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 
+import org.apache.tika.parser.ParseStatistics;
+import org.apache.tika.parser.ParseStatisticsRegistry;
 import org.apache.tika.util.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -107,6 +111,10 @@ public class StatusReporter implements Callable<IFileProcessorFutureResult> {
                 }
                 report(msg);
 
+                reportLanes(numberFormat);
+
+                reportParsers(numberFormat);
+
                 reportStale();
 
                 int stillAlive = getStillAlive();
@@ -169,6 +177,51 @@ public class StatusReporter implements Callable<IFileProcessorFutureResult> {
     }
 
 
+    /**
+     * Reports the throughput per {@link FileSizeLane}: number of files,
+     * megabytes and the average time a consumer spent per file.
+     */
+    private void reportLanes(NumberFormat numberFormat) {
+        for (FileSizeLane lane : FileSizeLane.values()) {
+            long cnt = 0;
+            long bytes = 0;
+            long millis = 0;
+            for (FileResourceConsumer consumer : consumersManager.getConsumers()) {
+                cnt += consumer.getNumResourcesConsumed(lane);
+                bytes += consumer.getNumBytesConsumed(lane);
+                millis += consumer.getMillisConsumed(lane);
+            }
+            if (cnt == 0) {
+                continue;
+            }
+            report(String.format(Locale.ROOT,
+                    "%s: %s documents, %s MB, %s ms per document.",
+                    lane.getDescription(), numberFormat.format(cnt),
+                    numberFormat.format(bytes / (1024 * 1024)),
+                    numberFormat.format(millis / cnt)));
+        }
+    }
+
+    /**
+     * Reports the parses per parser class, if the parser factory
+     * records them in the default {@link ParseStatisticsRegistry}.
+     */
+    private void reportParsers(NumberFormat numberFormat) {
+        Map<String, ParseStatistics> parsers =
+                new TreeMap<>(ParseStatisticsRegistry.getDefault().getParserStatistics());
+        for (Map.Entry<String, ParseStatistics> e : parsers.entrySet()) {
+            ParseStatistics stats = e.getValue();
+            report(String.format(Locale.ROOT,
+                    "%s: %s documents, %s exceptions, %s MB, %s ms per document (p95 %s ms, max %s ms).",
+                    e.getKey(), numberFormat.format(stats.getCount()),
+                    numberFormat.format(stats.getExceptions()),
+                    numberFormat.format(stats.getBytesRead() / (1024 * 1024)),
+                    numberFormat.format(stats.getMeanMillis()),
+                    numberFormat.format(stats.getLatencyMillisAtPercentile(95)),
+                    numberFormat.format(stats.getMaxMillis())));
+        }
+    }
+
     private void reportStale() {
         for (FileResourceConsumer consumer : consumersManager.getConsumers()) {
             FileStarted fs = consumer.getCurrentFile();
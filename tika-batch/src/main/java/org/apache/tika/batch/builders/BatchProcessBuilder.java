@@ -17,17 +17,27 @@ package org.apache.tika.batch.builders;
  * limitations under the License.
  */
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import javax.xml.parsers.DocumentBuilder;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ArrayBlockingQueue;
 
+import org.apache.tika.batch.BatchManifest;
 import org.apache.tika.batch.BatchProcess;
 import org.apache.tika.batch.ConsumersManager;
 import org.apache.tika.batch.FileResource;
+import org.apache.tika.batch.FileResourceConsumer;
 import org.apache.tika.batch.FileResourceCrawler;
 import org.apache.tika.batch.Interrupter;
 import org.apache.tika.batch.StatusReporter;
@@ -35,8 +45,10 @@ import org.apache.tika.exception.TikaException;
 import org.apache.tika.io.IOExceptionWithCause;
 import org.apache.tika.parser.ParseContext;
 import org.apache.tika.util.ClassLoaderUtil;
+import org.apache.tika.util.PropsUtil;
 import org.apache.tika.util.XMLDOMUtil;
 import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
@@ -51,6 +63,9 @@ public class BatchProcessBuilder {
     public final static int DEFAULT_MAX_QUEUE_SIZE = 1000;
     public final static String MAX_QUEUE_SIZE_KEY = "maxQueueSize";
     public final static String NUM_CONSUMERS_KEY = "numConsumers";
+    public final static String MANIFEST_KEY = "manifest";
+    public final static String MANIFEST_DIGEST_KEY = "manifestDigest";
+    public final static String MANIFEST_MAX_ATTEMPTS_KEY = "manifestMaxAttempts";
 
     /**
      * Builds a BatchProcess from runtime arguments and a
@@ -137,6 +152,15 @@ public class BatchProcessBuilder {
         BatchProcess proc = new BatchProcess(
                 crawler, consumersManager, reporter, interrupter);
 
+        BatchManifest manifest = buildManifest(keyNodes.get("consumers"), runtimeAttributes);
+        if (manifest != null) {
+            crawler.setManifest(manifest);
+            for (FileResourceConsumer consumer : consumersManager.getConsumers()) {
+                consumer.setManifest(manifest);
+            }
+            proc.setManifest(manifest);
+        }
+
         if (timeoutThresholdMillis > -1) {
             proc.setTimeoutThresholdMillis(timeoutThresholdMillis);
         }
@@ -211,6 +235,14 @@ public class BatchProcessBuilder {
             runtimeAttributes.put(e.getKey(), e.getValue());
         }
 
+        //the consumers builders need to know whether there is a manifest, too
+        for (String key : new String[]{MANIFEST_KEY, MANIFEST_DIGEST_KEY, MANIFEST_MAX_ATTEMPTS_KEY}) {
+            Node manifestNode = docElement.getAttributes().getNamedItem(key);
+            if (! runtimeAttributes.containsKey(key) && manifestNode != null) {
+                runtimeAttributes.put(key, manifestNode.getNodeValue());
+            }
+        }
+
         //if this is set at runtime use that value
         if (runtimeAttributes.containsKey(NUM_CONSUMERS_KEY)){
             return Collections.unmodifiableMap(runtimeAttributes);
@@ -259,6 +291,79 @@ public class BatchProcessBuilder {
         return new ArrayBlockingQueue<FileResource>(maxQueueSize);
     }
 
+    private BatchManifest buildManifest(Node consumersNode, Map<String, String> runtimeAttributes) {
+        Path manifestFile = PropsUtil.getPath(runtimeAttributes.get(MANIFEST_KEY), null);
+        if (manifestFile == null) {
+            return null;
+        }
+        int maxAttempts = PropsUtil.getInt(runtimeAttributes.get(MANIFEST_MAX_ATTEMPTS_KEY),
+                BatchManifest.DEFAULT_MAX_ATTEMPTS);
+        String digestAlgorithm = PropsUtil.getString(runtimeAttributes.get(MANIFEST_DIGEST_KEY), null);
+        try {
+            return new BatchManifest(manifestFile, getConfigHash(consumersNode, runtimeAttributes),
+                    maxAttempts, digestAlgorithm);
+        } catch (IOException e) {
+            throw new RuntimeException("Couldn't open manifest: " + manifestFile.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Hashes the settings that determine the output for a given input:
+     * the consumers element (with runtime overrides of its attributes)
+     * and the tika config file.
+     */
+    private long getConfigHash(Node consumersNode, Map<String, String> runtimeAttributes) {
+        StringBuilder sb = new StringBuilder();
+        if (consumersNode != null) {
+            appendConfig(consumersNode, runtimeAttributes, sb);
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        digest.update(sb.toString().getBytes(UTF_8));
+
+        String tikaConfig = runtimeAttributes.get("c");
+        if (tikaConfig == null && consumersNode != null) {
+            Node tikaConfigNode = consumersNode.getAttributes().getNamedItem("tikaConfig");
+            tikaConfig = (tikaConfigNode == null) ? null : tikaConfigNode.getNodeValue();
+        }
+        Path tikaConfigPath = PropsUtil.getPath(tikaConfig, null);
+        if (tikaConfigPath != null) {
+            try {
+                digest.update(Files.readAllBytes(tikaConfigPath));
+            } catch (IOException e) {
+                throw new RuntimeException("Couldn't read tika config: " + tikaConfigPath.toAbsolutePath(), e);
+            }
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private void appendConfig(Node node, Map<String, String> runtimeAttributes, StringBuilder sb) {
+        sb.append('<').append(node.getNodeName());
+        //sorted so that the order of the attributes in the file doesn't matter
+        Map<String, String> attrs = new TreeMap<>();
+        NamedNodeMap nodeAttrs = node.getAttributes();
+        for (int i = 0; i < nodeAttrs.getLength(); i++) {
+            Node attr = nodeAttrs.item(i);
+            String v = runtimeAttributes.get(attr.getNodeName());
+            attrs.put(attr.getNodeName(), (v == null) ? attr.getNodeValue() : v);
+        }
+        for (Map.Entry<String, String> e : attrs.entrySet()) {
+            sb.append(' ').append(e.getKey()).append("=\"").append(e.getValue()).append('"');
+        }
+        sb.append('>');
+        NodeList children = node.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+                appendConfig(children.item(i), runtimeAttributes, sb);
+            }
+        }
+        sb.append("</").append(node.getNodeName()).append('>');
+    }
+
     private ConsumersManager buildConsumersManager(Node node,
                 Map<String, String> runtimeAttributes, ArrayBlockingQueue<FileResource> queue) {
 
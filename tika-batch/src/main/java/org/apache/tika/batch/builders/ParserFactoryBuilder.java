@@ -44,6 +44,17 @@ public class ParserFactoryBuilder implements IParserFactoryBuilder {
                 bString);
             }
         }
+        if (localAttrs.containsKey("parseStatistics")) {
+            String bString = localAttrs.get("parseStatistics").toLowerCase(Locale.ENGLISH);
+            if (bString.equals("true")) {
+                pf.setParseStatistics(true);
+            } else if (bString.equals("false")) {
+                pf.setParseStatistics(false);
+            } else {
+                throw new RuntimeException("parseStatistics must have value of \"true\" or \"false\": "+
+                bString);
+            }
+        }
         return pf;
     }
 }
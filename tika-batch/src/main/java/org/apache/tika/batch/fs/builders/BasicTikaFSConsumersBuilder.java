@@ -216,7 +216,12 @@ public class BasicTikaFSConsumersBuilder extends AbstractConsumersBuilder {
         //TODO: possibly open up the different handle-existings in the future
         //but for now, lock it down to require skip.  Too dangerous otherwise
         //if the driver restarts and this is set to overwrite...
-        return new FSOutputStreamFactory(outputDir, FSUtil.HANDLE_EXISTING.SKIP,
+        //With a manifest, the manifest determines what to process, and the output
+        //of modified and failed files has to be overwritten.
+        FSUtil.HANDLE_EXISTING handleExisting =
+                (runtimeAttributes.get(BatchProcessBuilder.MANIFEST_KEY) == null) ?
+                        FSUtil.HANDLE_EXISTING.SKIP : FSUtil.HANDLE_EXISTING.OVERWRITE;
+        return new FSOutputStreamFactory(outputDir, handleExisting,
                 compression, suffix);
     }
 
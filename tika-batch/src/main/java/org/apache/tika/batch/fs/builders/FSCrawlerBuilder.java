@@ -49,6 +49,7 @@ public class FSCrawlerBuilder implements ICrawlerBuilder {
     private final static String MAX_CONSEC_WAIT_MILLIS = "maxConsecWaitMillis";
     private final static String MAX_FILES_TO_ADD_ATTR = "maxFilesToAdd";
     private final static String MAX_FILES_TO_CONSIDER_ATTR = "maxFilesToConsider";
+    private final static String LARGEST_FIRST_WINDOW_ATTR = "largestFirstWindow";
 
 
     private final static String CRAWL_ORDER = "crawlOrder";
@@ -104,6 +105,7 @@ public class FSCrawlerBuilder implements ICrawlerBuilder {
 
         crawler.setMaxFilesToConsider(PropsUtil.getInt(attributes.get(MAX_FILES_TO_CONSIDER_ATTR), -1));
         crawler.setMaxFilesToAdd(PropsUtil.getInt(attributes.get(MAX_FILES_TO_ADD_ATTR), -1));
+        crawler.setLargestFirstWindow(PropsUtil.getInt(attributes.get(LARGEST_FIRST_WINDOW_ATTR), 0));
 
         DocumentSelector selector = buildSelector(attributes);
         if (selector != null) {
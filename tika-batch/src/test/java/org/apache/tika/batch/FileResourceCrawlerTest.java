@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tika.batch;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.apache.tika.extractor.DocumentSelector;
+import org.apache.tika.metadata.Metadata;
+import org.junit.Test;
+
+public class FileResourceCrawlerTest {
+
+    @Test
+    public void testLargestFirstWindow() throws Exception {
+        final ArrayBlockingQueue<FileResource> queue = new ArrayBlockingQueue<>(2);
+        final List<Integer> statuses = new ArrayList<>();
+        final List<Long> consumed = new ArrayList<>();
+        FileResourceCrawler crawler = new LengthsCrawler(queue) {
+            @Override
+            public void start() throws InterruptedException {
+                //the queue has room, so nothing is held back
+                statuses.add(tryToAdd(new LengthResource(1)));
+                statuses.add(tryToAdd(new LengthResource(5)));
+                //the queue is full
+                statuses.add(tryToAdd(new LengthResource(2)));
+                statuses.add(tryToAdd(new LengthResource(8)));
+                assertEquals(2, getAdded());
+
+                consumed.addAll(getLengths(queue));
+                queue.clear();
+                statuses.add(tryToAdd(new LengthResource(3)));
+                consumed.addAll(getLengths(queue));
+                queue.clear();
+            }
+        };
+        crawler.setLargestFirstWindow(2);
+        crawler.call();
+        consumed.addAll(getLengths(queue));
+
+        assertEquals("[1, 5, 8, 3, 2]", consumed.toString());
+        assertEquals(Arrays.asList(FileResourceCrawler.ADDED, FileResourceCrawler.ADDED,
+                FileResourceCrawler.HELD_BACK, FileResourceCrawler.HELD_BACK,
+                FileResourceCrawler.ADDED), statuses);
+        assertEquals(5, crawler.getAdded());
+    }
+
+    @Test
+    public void testLargestFirstWindowWithRoomInQueue() throws Exception {
+        ArrayBlockingQueue<FileResource> queue = new ArrayBlockingQueue<>(20);
+        FileResourceCrawler crawler = new LengthsCrawler(queue, 1, 5, 2, 8);
+        crawler.setLargestFirstWindow(3);
+        crawler.call();
+
+        assertEquals("[1, 5, 2, 8]", getLengths(queue).toString());
+        assertEquals(4, crawler.getAdded());
+    }
+
+    @Test
+    public void testCrawlOrderByDefault() throws Exception {
+        ArrayBlockingQueue<FileResource> queue = new ArrayBlockingQueue<>(20);
+        FileResourceCrawler crawler = new LengthsCrawler(queue, 1, 5, 2, 8);
+        crawler.call();
+
+        assertEquals("[1, 5, 2, 8]", getLengths(queue).toString());
+    }
+
+    @Test
+    public void testLaneForLength() {
+        assertEquals(FileSizeLane.UNKNOWN, FileSizeLane.forLength(-1));
+        assertEquals(FileSizeLane.SMALL, FileSizeLane.forLength(0));
+        assertEquals(FileSizeLane.MEDIUM, FileSizeLane.forLength(1024 * 1024));
+        assertEquals(FileSizeLane.LARGE, FileSizeLane.forLength(200L * 1024 * 1024));
+    }
+
+    private static List<Long> getLengths(ArrayBlockingQueue<FileResource> queue) {
+        List<Long> lengths = new ArrayList<>();
+        for (FileResource fileResource : queue) {
+            if (!(fileResource instanceof PoisonFileResource)) {
+                lengths.add(FileSizeLane.getLength(fileResource));
+            }
+        }
+        return lengths;
+    }
+
+    private static class LengthsCrawler extends FileResourceCrawler {
+
+        private final long[] lengths;
+
+        LengthsCrawler(ArrayBlockingQueue<FileResource> queue, long... lengths) {
+            super(queue, 1);
+            this.lengths = lengths;
+            setDocumentSelector(new DocumentSelector() {
+                @Override
+                public boolean select(Metadata metadata) {
+                    return true;
+                }
+            });
+        }
+
+        @Override
+        public void start() throws InterruptedException {
+            for (long length : lengths) {
+                tryToAdd(new LengthResource(length));
+            }
+        }
+    }
+
+    private static class LengthResource implements FileResource {
+
+        private final Metadata metadata = new Metadata();
+
+        LengthResource(long length) {
+            metadata.set(Metadata.CONTENT_LENGTH, Long.toString(length));
+        }
+
+        @Override
+        public String getResourceId() {
+            return metadata.get(Metadata.CONTENT_LENGTH);
+        }
+
+        @Override
+        public Metadata getMetadata() {
+            return metadata;
+        }
+
+        @Override
+        public InputStream openInputStream() throws IOException {
+            return null;
+        }
+    }
+}
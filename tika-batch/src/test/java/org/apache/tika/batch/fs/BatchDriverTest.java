@@ -24,6 +24,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -206,5 +207,42 @@ public class BatchDriverTest extends FSBatchTestBase {
         assertEquals(0, driver.getNumRestarts());
     }
 
+    @Test(timeout = 30000)
+    public void manifestSkipsUnchangedFiles() throws Exception {
+        Path inputDir = getNewOutputDir("manifest-input-");
+        Path test0 = getInputRoot("basic").resolve("test0.xml");
+        for (int i = 0; i < 3; i++) {
+            Files.copy(test0, inputDir.resolve("test" + i + ".xml"));
+        }
+        Path manifest = getNewOutputDir("manifest-").resolve("manifest.tsv");
+        Map<String, String> args = new HashMap<>();
+        args.put("-inputDir", inputDir.toAbsolutePath().toString());
+        args.put("-manifest", manifest.toAbsolutePath().toString());
+
+        Path outputDir = getNewOutputDir("manifest-output-");
+        BatchProcessDriverCLI driver = getNewDriver("/tika-batch-config-test.xml",
+                getDefaultCommandLineArgsArr(null, outputDir, args));
+        driver.execute();
+        assertEquals(3, countChildren(outputDir));
+
+        //nothing has changed, so nothing should be processed
+        outputDir = getNewOutputDir("manifest-output-");
+        driver = getNewDriver("/tika-batch-config-test.xml",
+                getDefaultCommandLineArgsArr(null, outputDir, args));
+        driver.execute();
+        assertEquals(0, countChildren(outputDir));
+
+        //only the modified file should be processed
+        Path test1 = inputDir.resolve("test1.xml");
+        Files.setLastModifiedTime(test1, FileTime.fromMillis(
+                Files.getLastModifiedTime(test1).toMillis() + 10000));
+        outputDir = getNewOutputDir("manifest-output-");
+        driver = getNewDriver("/tika-batch-config-test.xml",
+                getDefaultCommandLineArgsArr(null, outputDir, args));
+        driver.execute();
+        assertEquals(1, countChildren(outputDir));
+        assertContains("first test file",
+                readFileToString(outputDir.resolve("test1.xml.xml"), UTF_8));
+    }
 
 }
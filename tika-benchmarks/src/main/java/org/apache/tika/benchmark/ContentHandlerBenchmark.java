@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.ToXMLContentHandler;
+import org.apache.tika.sax.XHTMLContentHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * The SAX output pipeline on its own: a synthetic document of the given
+ * number of paragraphs is replayed through {@link XHTMLContentHandler}
+ * into the XML and body text serializers, with no parser involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentHandlerBenchmark {
+
+    @Param({"100", "10000"})
+    public int paragraphs;
+
+    private char[] text;
+
+    @Setup
+    public void setUp() {
+        String sentence =
+                "The quick brown fox jumps over the lazy dog & <friends>. ";
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            builder.append(sentence);
+        }
+        text = builder.toString().toCharArray();
+    }
+
+    @Benchmark
+    public String toXML() throws SAXException {
+        ToXMLContentHandler handler = new ToXMLContentHandler();
+        replay(handler);
+        return handler.toString();
+    }
+
+    @Benchmark
+    public String toText() throws SAXException {
+        BodyContentHandler handler = new BodyContentHandler(-1);
+        replay(handler);
+        return handler.toString();
+    }
+
+    private void replay(ContentHandler handler) throws SAXException {
+        XHTMLContentHandler xhtml =
+                new XHTMLContentHandler(handler, new Metadata());
+        xhtml.startDocument();
+        for (int i = 0; i < paragraphs; i++) {
+            xhtml.startElement("p", "class", "body");
+            xhtml.characters(text, 0, text.length);
+            xhtml.endElement("p");
+        }
+        xhtml.endDocument();
+    }
+
+}
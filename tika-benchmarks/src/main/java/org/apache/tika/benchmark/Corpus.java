@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.tika.io.IOUtils;
+
+/**
+ * The documents the benchmarks run against, taken from the
+ * <code>/test-documents</code> shipped in the tika-parsers test jar.
+ * Documents are addressed by a short type name so that they can be used
+ * as JMH <code>@Param</code> values.
+ */
+final class Corpus {
+
+    private static final Map<String, String> DOCUMENTS =
+            new HashMap<String, String>();
+
+    static {
+        DOCUMENTS.put("txt", "testTXT.txt");
+        DOCUMENTS.put("html", "testHTML.html");
+        DOCUMENTS.put("docx", "testWORD.docx");
+        DOCUMENTS.put("pdf", "testPDF.pdf");
+        DOCUMENTS.put("zip", "test-documents.zip");
+    }
+
+    private Corpus() {
+    }
+
+    /**
+     * Returns the file name of the document of the given type.
+     *
+     * @param type document type, e.g. "pdf"
+     * @return file name of the test document
+     */
+    static String getResourceName(String type) {
+        String name = DOCUMENTS.get(type);
+        if (name == null) {
+            throw new IllegalArgumentException("Unknown document type: " + type);
+        }
+        return name;
+    }
+
+    /**
+     * Reads the document of the given type fully into memory, so that
+     * the benchmarks measure parsing rather than I/O.
+     *
+     * @param type document type, e.g. "pdf"
+     * @return document bytes
+     * @throws IOException if the document can not be read
+     */
+    static byte[] load(String type) throws IOException {
+        String name = "/test-documents/" + getResourceName(type);
+        InputStream stream = Corpus.class.getResourceAsStream(name);
+        if (stream == null) {
+            throw new IOException("Test document not found: " + name);
+        }
+        try {
+            return IOUtils.toByteArray(stream);
+        } finally {
+            stream.close();
+        }
+    }
+
+}
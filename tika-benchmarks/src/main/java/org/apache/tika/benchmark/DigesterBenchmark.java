@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.DigestingParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.utils.CommonsDigester;
+import org.apache.tika.parser.utils.CommonsDigester.DigestAlgorithm;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link CommonsDigester} with one and with two algorithms, to show the
+ * cost of each additional digest over the same input.  To compare with
+ * an earlier implementation, run the same benchmark built against its
+ * artifact, see the pom.
+ * <p>
+ * Besides the test documents, which are digested from memory, the inputs
+ * include generated files of 1 MB up to 2 GB.  These are passed as plain
+ * streams, as tika-server receives request bodies, so the ones that are
+ * larger than the mark limit are spooled to a temporary file and digested
+ * from there.  Select a subset with e.g. <code>-p input=1MB,64MB</code>;
+ * the generated files need twice as much free space in the temporary
+ * directory.
+ * <p>
+ * Next to the time, the <code>bytesRead</code> counter reports how many
+ * bytes the read system calls of the benchmark returned, from
+ * <code>rchar</code> of <code>/proc/self/io</code>, and
+ * <code>digests</code> the number of digests, so bytes per digest is their
+ * ratio.  This shows how many times an input is read: once to spool it and
+ * once per pass over the spooled file.  Inputs held in memory read nothing,
+ * and the counter stays 0 where there is no <code>/proc</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DigesterBenchmark {
+
+    /**
+     * Mark limit for the generated inputs, the default of tika-app.
+     */
+    private static final int MARK_LIMIT = 20 * 1024 * 1024;
+
+    private static final long MB = 1024 * 1024;
+
+    @Param({"docx", "pdf", "zip", "1MB", "64MB", "512MB", "2GB"})
+    public String input;
+
+    /**
+     * Algorithms joined by "+", as JMH splits command line values on ",".
+     */
+    @Param({"MD5", "MD5+SHA256"})
+    public String algorithms;
+
+    private DigestingParser.Digester digester;
+
+    private byte[] data;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] names = algorithms.split("\\+");
+        DigestAlgorithm[] selected = new DigestAlgorithm[names.length];
+        for (int i = 0; i < names.length; i++) {
+            selected[i] = DigestAlgorithm.valueOf(names[i]);
+        }
+        int markLimit;
+        if (input.endsWith("MB") || input.endsWith("GB")) {
+            long size = Long.parseLong(input.substring(0, input.length() - 2)) * MB;
+            if (input.endsWith("GB")) {
+                size *= 1024;
+            }
+            file = generate(size);
+            markLimit = MARK_LIMIT;
+        } else {
+            data = Corpus.load(input);
+            markLimit = data.length + 1;
+        }
+        digester = new CommonsDigester(markLimit, selected);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (file != null) {
+            Files.delete(file);
+        }
+    }
+
+    @Benchmark
+    public Metadata digest(ReadCounters counters) throws IOException {
+        Metadata metadata = new Metadata();
+        long before = readChars();
+        InputStream stream = (file != null) ? Files.newInputStream(file) : TikaInputStream.get(data);
+        try {
+            digester.digest(stream, metadata, new ParseContext());
+        } finally {
+            stream.close();
+        }
+        counters.bytesRead += readChars() - before;
+        counters.digests++;
+        return metadata;
+    }
+
+    /**
+     * Bytes read and digests of one iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ReadCounters {
+
+        public long bytesRead;
+
+        public long digests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesRead = 0;
+            digests = 0;
+        }
+    }
+
+    /**
+     * @return the bytes returned by read system calls of this process so
+     *         far, or 0 if that is not known
+     */
+    private static long readChars() throws IOException {
+        Path io = Paths.get("/proc/self/io");
+        if (!Files.isReadable(io)) {
+            return 0;
+        }
+        for (String line : Files.readAllLines(io, StandardCharsets.US_ASCII)) {
+            if (line.startsWith("rchar:")) {
+                return Long.parseLong(line.substring("rchar:".length()).trim());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Writes a temporary file of random bytes, which can not be
+     * compressed or deduplicated by the file system.
+     */
+    private static Path generate(long size) throws IOException {
+        Path path = Files.createTempFile("tika-digester-benchmark", ".bin");
+        Random random = new Random(42);
+        byte[] chunk = new byte[(int) MB];
+        try (OutputStream out = Files.newOutputStream(path)) {
+            for (long written = 0; written < size; written += chunk.length) {
+                random.nextBytes(chunk);
+                out.write(chunk, 0, (int) Math.min(chunk.length, size - written));
+            }
+        }
+        return path;
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Metadata} operations as exercised by every parser: populating a
+ * typical set of keys, appending to a multi-valued key, and parsing dates,
+ * the latter also from several threads at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataBenchmark {
+
+    private static final int KEYS = 32;
+
+    private static final int VALUES = 100;
+
+    private String[] keys;
+
+    private String[] values;
+
+    private Metadata dated;
+
+    @Setup
+    public void setUp() {
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "benchmark:key" + i;
+        }
+        values = new String[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = "value " + i;
+        }
+        dated = new Metadata();
+        dated.set(TikaCoreProperties.CREATED, "2016-08-15T10:20:30Z");
+    }
+
+    @Benchmark
+    public int setAndGet() {
+        Metadata metadata = new Metadata();
+        for (int i = 0; i < KEYS; i++) {
+            metadata.set(keys[i], values[i]);
+        }
+        int length = 0;
+        for (String name : metadata.names()) {
+            length += metadata.get(name).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public String[] addMultiValued() {
+        Metadata metadata = new Metadata();
+        for (int i = 0; i < VALUES; i++) {
+            metadata.add(keys[0], values[i]);
+        }
+        return metadata.getValues(keys[0]);
+    }
+
+    @Benchmark
+    public Date parseDate() {
+        return dated.getDate(TikaCoreProperties.CREATED);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Date parseDateContended() {
+        return dated.getDate(TikaCoreProperties.CREATED);
+    }
+
+}
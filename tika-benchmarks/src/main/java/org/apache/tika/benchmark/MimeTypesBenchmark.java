@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.mime.MimeTypes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Type detection: magic-only detection by {@link MimeTypes}, magic plus
+ * resource name, and the full default detector including the container
+ * detectors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MimeTypesBenchmark {
+
+    @Param({"txt", "html", "docx", "pdf", "zip"})
+    public String type;
+
+    private MimeTypes mimeTypes;
+
+    private Detector detector;
+
+    private byte[] data;
+
+    private String name;
+
+    @Setup
+    public void setUp() throws IOException {
+        TikaConfig config = TikaConfig.getDefaultConfig();
+        mimeTypes = config.getMimeRepository();
+        detector = config.getDetector();
+        data = Corpus.load(type);
+        name = Corpus.getResourceName(type);
+    }
+
+    @Benchmark
+    public MediaType magic() throws IOException {
+        return mimeTypes.detect(new ByteArrayInputStream(data), new Metadata());
+    }
+
+    @Benchmark
+    public MediaType magicAndName() throws IOException {
+        Metadata metadata = new Metadata();
+        metadata.set(Metadata.RESOURCE_NAME_KEY, name);
+        return mimeTypes.detect(new ByteArrayInputStream(data), metadata);
+    }
+
+    @Benchmark
+    public MediaType defaultDetector() throws IOException {
+        TikaInputStream stream = TikaInputStream.get(data);
+        try {
+            return detector.detect(stream, new Metadata());
+        } finally {
+            stream.close();
+        }
+    }
+
+}
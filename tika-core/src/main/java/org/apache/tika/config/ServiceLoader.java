@@ -79,6 +79,11 @@ public class ServiceLoader {
     private static final Map<Object, RankedService> services =
             new HashMap<Object, RankedService>();
 
+    /**
+     * Number of changes to the dynamic set of services.
+     */
+    private static volatile int servicesGeneration = 0;
+
     /**
      * Returns the context class loader of the current thread. If such
      * a class loader is not available, then the loader of this class or
@@ -114,11 +119,13 @@ public class ServiceLoader {
     static void addService(Object reference, Object service, int rank) {
         synchronized (services) {
             services.put(reference, new RankedService(service, rank));
+            servicesGeneration++;
         }
     }
 
     static Object removeService(Object reference) {
         synchronized (services) {
+            servicesGeneration++;
             return services.remove(reference);
         }
     }
@@ -262,6 +269,19 @@ public class ServiceLoader {
         return providers;
     }
 
+    /**
+     * Returns a number that changes whenever a dynamic service is added
+     * or removed, so that callers can keep the providers loaded by
+     * {@link #loadDynamicServiceProviders(Class)} until it does.
+     *
+     * @since Apache Tika 1.0.18
+     * @return generation of the dynamic services, always 0 if this
+     *         loader is static
+     */
+    public int getDynamicServicesGeneration() {
+        return dynamic ? servicesGeneration : 0;
+    }
+
     /**
      * Returns the available dynamic service providers of the given type.
      * The returned list is newly allocated and may be freely modified
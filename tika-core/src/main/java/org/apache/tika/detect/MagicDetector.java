@@ -245,6 +245,11 @@ public class MagicDetector implements Detector {
      */
     private final int offsetRangeEnd;
 
+    /**
+     * Compiled regular expression, if {@link #isRegex} is set.
+     */
+    private final Pattern regex;
+
     /**
      * Creates a detector for input documents that have the exact given byte
      * pattern at the beginning of the document stream.
@@ -341,6 +346,16 @@ public class MagicDetector implements Detector {
 
         this.offsetRangeBegin = offsetRangeBegin;
         this.offsetRangeEnd = offsetRangeEnd;
+
+        if (this.isRegex) {
+            int flags = 0;
+            if (this.isStringIgnoreCase) {
+                flags = Pattern.CASE_INSENSITIVE;
+            }
+            this.regex = Pattern.compile(new String(this.pattern, UTF_8), flags);
+        } else {
+            this.regex = null;
+        }
     }
 
     /**
@@ -388,44 +403,15 @@ public class MagicDetector implements Detector {
             }
 
             if (this.isRegex) {
-                int flags = 0;
-                if (this.isStringIgnoreCase) {
-                    flags = Pattern.CASE_INSENSITIVE;
-                }
-                
-                Pattern p = Pattern.compile(new String(this.pattern, UTF_8), flags);
-
-                ByteBuffer bb = ByteBuffer.wrap(buffer);
-                CharBuffer result = ISO_8859_1.decode(bb);
-                Matcher m = p.matcher(result);
-
-                boolean match = false;
-                // Loop until we've covered the entire offset range
-                for (int i = 0; i <= offsetRangeEnd - offsetRangeBegin; i++) {
-                    m.region(i,  length+i);
-                    match = m.lookingAt(); // match regex from start of region
-                    if (match) {
-                        return type;
-                    }
+                if (matchesRegex(buffer)) {
+                    return type;
                 }
             } else {
                 if (offset < offsetRangeBegin + length) {
                     return MediaType.OCTET_STREAM;
                 }
-                // Loop until we've covered the entire offset range
-                for (int i = 0; i <= offsetRangeEnd - offsetRangeBegin; i++) {
-                    boolean match = true;
-                    int masked;
-                    for (int j = 0; match && j < length; j++) {
-                        masked = (buffer[i + j] & mask[j]);
-                        if (this.isStringIgnoreCase) {
-                            masked = Character.toLowerCase(masked);
-                        }
-                        match = (masked == pattern[j]);
-                    }
-                    if (match) {
-                        return type;
-                    }
+                if (matchesPattern(buffer, 0, buffer.length)) {
+                    return type;
                 }
             }
 
@@ -435,10 +421,122 @@ public class MagicDetector implements Detector {
         }
     }
 
+    /**
+     * Evaluates this magic match against the given prefix of a document,
+     * without the stream handling and buffer copies done by
+     * {@link #detect(InputStream, Metadata)}. The result is the same as
+     * calling that method on a stream of the given bytes.
+     *
+     * @since Apache Tika 1.0.18
+     * @param prefix first bytes of the document, or the entire document
+     *               if it is shorter
+     * @return <code>true</code> if the prefix matches, <code>false</code> otherwise
+     */
+    public boolean matches(byte[] prefix) {
+        if (prefix == null || prefix.length < offsetRangeBegin) {
+            return false;
+        }
+        if (this.isRegex) {
+            byte[] buffer =
+                new byte[length + (offsetRangeEnd - offsetRangeBegin)];
+            System.arraycopy(
+                    prefix, offsetRangeBegin, buffer, 0,
+                    Math.min(buffer.length, prefix.length - offsetRangeBegin));
+            return matchesRegex(buffer);
+        } else if (prefix.length < offsetRangeBegin + length) {
+            return false;
+        } else {
+            return matchesPattern(prefix, offsetRangeBegin, prefix.length);
+        }
+    }
+
+    /**
+     * Checks whether a document whose byte at the
+     * {@link #getOffsetRangeBegin() start offset} has the given value could
+     * match this detector. Only fixed offset byte or string patterns
+     * constrain that byte, for all other kinds of matches this method
+     * returns <code>true</code>.
+     *
+     * @since Apache Tika 1.0.18
+     * @param value byte at the start offset
+     * @return <code>false</code> if a document with the given byte can
+     *         not match, <code>true</code> otherwise
+     */
+    public boolean isPossibleFirstByte(byte value) {
+        if (isRegex || length == 0 || offsetRangeBegin != offsetRangeEnd) {
+            return true;
+        }
+        int masked = (value & mask[0]);
+        if (this.isStringIgnoreCase) {
+            masked = Character.toLowerCase(masked);
+        }
+        return masked == pattern[0];
+    }
+
+    private boolean matchesRegex(byte[] buffer) {
+        ByteBuffer bb = ByteBuffer.wrap(buffer);
+        CharBuffer result = ISO_8859_1.decode(bb);
+        Matcher m = regex.matcher(result);
+
+        // Loop until we've covered the entire offset range
+        for (int i = 0; i <= offsetRangeEnd - offsetRangeBegin; i++) {
+            m.region(i,  length+i);
+            if (m.lookingAt()) { // match regex from start of region
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares the (possibly masked) pattern against every window in the
+     * offset range, where the range starts at <code>base</code> in the given
+     * buffer. Bytes at or beyond <code>limit</code> are treated as zeros,
+     * like the unfilled tail of a comparison buffer.
+     */
+    private boolean matchesPattern(byte[] buffer, int base, int limit) {
+        // Loop until we've covered the entire offset range
+        for (int i = 0; i <= offsetRangeEnd - offsetRangeBegin; i++) {
+            boolean match = true;
+            int masked;
+            for (int j = 0; match && j < length; j++) {
+                int k = base + i + j;
+                masked = k < limit ? (buffer[k] & mask[j]) : 0;
+                if (this.isStringIgnoreCase) {
+                    masked = Character.toLowerCase(masked);
+                }
+                match = (masked == pattern[j]);
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public int getLength() {
         return this.patternLength;
     }
 
+    /**
+     * Returns the first offset (inclusive) of the comparison window.
+     *
+     * @since Apache Tika 1.0.18
+     */
+    public int getOffsetRangeBegin() {
+        return offsetRangeBegin;
+    }
+
+    /**
+     * Returns the last offset (inclusive) at which a comparison window
+     * may start.
+     *
+     * @since Apache Tika 1.0.18
+     */
+    public int getOffsetRangeEnd() {
+        return offsetRangeEnd;
+    }
+
     /**
      * Returns a string representation of the Detection Rule.
      * Should sort nicely by type and details, as we sometimes
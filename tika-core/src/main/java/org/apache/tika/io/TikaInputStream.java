@@ -30,6 +30,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -462,6 +463,17 @@ public class TikaInputStream extends TaggedInputStream {
      */
     private long mark = -1;
 
+    /**
+     * The memory mapped file, once {@link #getByteBuffer()} has mapped it.
+     */
+    private ByteBuffer mapped;
+
+    /**
+     * Whether {@link #path} is a temporary file of this stream, which is
+     * deleted when the stream is closed.
+     */
+    private boolean temporary = false;
+
     /**
      * A opened container, such as a POIFS FileSystem
      *  for an OLE2 document, or a Zip file for a
@@ -583,6 +595,7 @@ public class TikaInputStream extends TaggedInputStream {
             } else {
                 // Spool the entire stream into a temporary file
                 path = tmp.createTempFile();
+                temporary = true;
                 Files.copy(in, path, REPLACE_EXISTING);
 
                 // Create a new input stream and make sure it'll get closed
@@ -607,6 +620,37 @@ public class TikaInputStream extends TaggedInputStream {
         return path;
     }
 
+    /**
+     * Returns the contents of this stream as a read-only, memory mapped
+     * buffer, without changing the position of the stream, if this stream
+     * was created from a file.  Other streams, including those that were
+     * spooled to a temporary file by {@link #getPath()}, are neither mapped
+     * nor buffered: a temporary file can not be unmapped before it is
+     * deleted, and copying it would hold the whole stream in memory.
+     * Callers then read the stream or its file instead.
+     * <p>
+     * The buffer is only valid until this stream is closed.
+     *
+     * @return the contents of the file of this stream, from position zero,
+     *         or <code>null</code> if this stream was not created from a file
+     * @throws IOException if the file can not be mapped
+     * @since Apache Tika 1.0.18
+     */
+    public ByteBuffer getByteBuffer() throws IOException {
+        if (path == null || temporary) {
+            return null;
+        }
+        if (mapped == null) {
+            try (FileChannel channel = FileChannel.open(path)) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("Too large to map: " + channel.size() + " bytes");
+                }
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        return mapped.asReadOnlyBuffer();
+    }
+
     /**
      * @see #getPath()
      */
@@ -678,6 +722,8 @@ public class TikaInputStream extends TaggedInputStream {
     @Override
     public void close() throws IOException {
         path = null;
+        temporary = false;
+        mapped = null;
         mark = -1;
 
         // The close method was explicitly called, so we indeed
@@ -103,6 +103,7 @@ public class LanguageIdentifier {
      * @param profile the language profile
      */
     public static void addProfile(String language, LanguageProfile profile) {
+        profile.updateSorted();
         PROFILES.put(language, profile);
     }
     
@@ -111,10 +112,24 @@ public class LanguageIdentifier {
      * @param profile the language profile
      */
     public LanguageIdentifier(LanguageProfile profile) {
+        this(profile, null);
+    }
+
+    /**
+     * Constructs a language identifier that only considers some of the
+     * language profiles
+     * @param profile the language profile
+     * @param languages ISO 639 codes of the languages to consider, or null for all
+     */
+    LanguageIdentifier(LanguageProfile profile, Set<String> languages) {
         String minLanguage = "unknown";
         double minDistance = 1.0;
         for (Map.Entry<String, LanguageProfile> entry : PROFILES.entrySet()) {
-            double distance = profile.distance(entry.getValue());
+            if (languages != null && !languages.contains(entry.getKey())) {
+                continue;
+            }
+            // profiles that can't beat the current best are given up early
+            double distance = profile.distance(entry.getValue(), minDistance);
             if (distance < minDistance) {
                 minDistance = distance;
                 minLanguage = entry.getKey();
@@ -141,6 +156,14 @@ public class LanguageIdentifier {
         return language;
     }
 
+    /**
+     * Gets the distance between the profile and the identified language
+     * @return a distance between 0 and 1, 1 if no language was identified
+     */
+    double getDistance() {
+        return distance;
+    }
+
     /**
      * Tries to judge whether the identification is certain enough
      * to be trusted.
@@ -16,18 +16,14 @@
  */
 package org.apache.tika.language;
 
-
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.List;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
 
 /**
  * Language profile based on ngram counts.
+ * <p>
+ * The ngrams are packed into <code>long</code> keys, 16 bits per character,
+ * so ngrams can be at most four characters long. Counting an ngram doesn't
+ * allocate anything.
  *
  * @since Apache Tika 0.5
  * @deprecated
@@ -37,18 +33,24 @@ public class LanguageProfile {
 
     public static final int DEFAULT_NGRAM_LENGTH = 3;
 
+    private static final int MAX_NGRAM_LENGTH = 4;
+
     private final int length;
 
     /**
-     * The ngrams that make up this profile.
+     * The ngrams that make up this profile, in an open addressing table.
+     * A slot with a count of zero is empty.
      */
-    private final Map<String, Counter> ngrams =
-        new HashMap<String, Counter>();
+    private long[] keys = new long[16];
+    private long[] counts = new long[16];
+    private int size = 0;
 
     /**
      * Sorted ngram cache for faster distance calculation.
      */
-    private Interleaved interleaved = new Interleaved();
+    private long[] sortedKeys = new long[0];
+    private long[] sortedCounts = new long[0];
+    private long sortedAtCount = 0;
     public static boolean useInterleaved = true; // For testing purposes
 
     /**
@@ -57,14 +59,12 @@ public class LanguageProfile {
      */
     private long count = 0;
 
-    private static class Counter {
-        private long count = 0;
-        public String toString() {
-            return Long.toString(count);
-        }
-    }
-
     public LanguageProfile(int length) {
+        if (length > MAX_NGRAM_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Unable to use ngrams longer than " + MAX_NGRAM_LENGTH
+                    + " characters: " + length);
+        }
         this.length = length;
     }
 
@@ -89,12 +89,10 @@ public class LanguageProfile {
     }
 
     public long getCount(String ngram) {
-        Counter counter = ngrams.get(ngram);
-        if (counter != null) {
-            return counter.count;
-        } else {
+        if (ngram.length() != length) {
             return 0;
         }
+        return counts[slot(pack(ngram))];
     }
 
     /**
@@ -113,18 +111,36 @@ public class LanguageProfile {
      * @param count number of occurrences to add
      */
     public void add(String ngram, long count) {
-        if (length != ngram.length()) {
+        add(pack(ngram), ngram.length(), count);
+    }
+
+    /**
+     * Adds multiple occurrences of the given packed ngram to this profile.
+     *
+     * @param ngram       the ngram, 16 bits per character, the first character highest
+     * @param ngramLength number of characters in the ngram
+     * @param count       number of occurrences to add
+     */
+    void add(long ngram, int ngramLength, long count) {
+        if (length != ngramLength) {
             throw new IllegalArgumentException(
                     "Unable to add an ngram of incorrect length: "
-                    + ngram.length() + " != " + length);
+                    + ngramLength + " != " + length);
         }
-
-        Counter counter = ngrams.get(ngram);
-        if (counter == null) {
-            counter = new Counter();
-            ngrams.put(ngram, counter);
+        if (count == 0) {
+            return;
+        }
+        int slot = slot(ngram);
+        if (counts[slot] == 0) {
+            keys[slot] = ngram;
+            if (++size * 2 > keys.length) {
+                counts[slot] = count;
+                this.count += count;
+                rehash();
+                return;
+            }
         }
-        counter.count += count;
+        counts[slot] += count;
         this.count += count;
     }
 
@@ -136,29 +152,45 @@ public class LanguageProfile {
      * @return distance between the profiles
      */
     public double distance(LanguageProfile that) {
-        return useInterleaved ? distanceInterleaved(that) : distanceStandard(that);
+        return useInterleaved ?
+                distanceInterleaved(that, Double.POSITIVE_INFINITY) : distanceStandard(that);
+    }
+
+    /**
+     * Calculates the geometric distance between this and the given
+     * other language profile, but gives up as soon as it is clear that
+     * the distance is not below the given limit.
+     *
+     * @param that  the other language profile
+     * @param limit the distance of interest
+     * @return distance between the profiles, or a distance that is not
+     *         below the limit, but not necessarily the distance, if the
+     *         distance is not below the limit
+     */
+    double distance(LanguageProfile that, double limit) {
+        return useInterleaved ? distanceInterleaved(that, limit) : distanceStandard(that);
     }
 
     private double distanceStandard(LanguageProfile that) {
-        if (length != that.length) {
-            throw new IllegalArgumentException(
-                    "Unable to calculage distance of language profiles"
-                    + " with different ngram lengths: "
-                    + that.length + " != " + length);
-        }
+        checkLength(that);
 
         double sumOfSquares = 0.0;
         double thisCount = Math.max(this.count, 1.0);
         double thatCount = Math.max(that.count, 1.0);
 
-        Set<String> ngrams = new HashSet<String>();
-        ngrams.addAll(this.ngrams.keySet());
-        ngrams.addAll(that.ngrams.keySet());
-        for (String ngram : ngrams) {
-            double thisFrequency = this.getCount(ngram) / thisCount;
-            double thatFrequency = that.getCount(ngram) / thatCount;
-            double difference = thisFrequency - thatFrequency;
-            sumOfSquares += difference * difference;
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0) {
+                double thisFrequency = counts[i] / thisCount;
+                double thatFrequency = that.counts[that.slot(keys[i])] / thatCount;
+                double difference = thisFrequency - thatFrequency;
+                sumOfSquares += difference * difference;
+            }
+        }
+        for (int i = 0; i < that.keys.length; i++) {
+            if (that.counts[i] != 0 && counts[slot(that.keys[i])] == 0) {
+                double thatFrequency = that.counts[i] / thatCount;
+                sumOfSquares += thatFrequency * thatFrequency;
+            }
         }
 
         return Math.sqrt(sumOfSquares);
@@ -166,151 +198,142 @@ public class LanguageProfile {
 
     @Override
     public String toString() {
-        return ngrams.toString();
+        updateSorted();
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < sortedKeys.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(unpack(sortedKeys[i])).append('=').append(sortedCounts[i]);
+        }
+        return sb.append('}').toString();
     }
 
     /* Code for interleaved distance calculation below */
 
-    private double distanceInterleaved(LanguageProfile that) {
-        if (length != that.length) {
-            throw new IllegalArgumentException(
-                    "Unable to calculage distance of language profiles"
-                    + " with different ngram lengths: "
-                    + that.length + " != " + length);
-        }
-       
+    private double distanceInterleaved(LanguageProfile that, double limit) {
+        checkLength(that);
+
         double sumOfSquares = 0.0;
+        double limitOfSquares = limit * limit;
         double thisCount = Math.max(this.count, 1.0);
         double thatCount = Math.max(that.count, 1.0);
-        
-        Interleaved.Entry thisEntry = updateInterleaved().firstEntry();
-        Interleaved.Entry thatEntry = that.updateInterleaved().firstEntry();
 
-        // Iterate the lists in parallel, until both lists has been depleted
-        while (thisEntry.hasNgram() || thatEntry.hasNgram()) {
-            if (!thisEntry.hasNgram()) { // Depleted this
-                sumOfSquares += square(thatEntry.count / thatCount);
-                thatEntry.next();
-                continue;
-            }
+        this.updateSorted();
+        that.updateSorted();
+        long[] thisKeys = this.sortedKeys;
+        long[] thisCounts = this.sortedCounts;
+        long[] thatKeys = that.sortedKeys;
+        long[] thatCounts = that.sortedCounts;
+        int i = 0;
+        int j = 0;
 
-            if (!thatEntry.hasNgram()) { // Depleted that
-                sumOfSquares += square(thisEntry.count / thisCount);
-                thisEntry.next();
-                continue;
+        // Iterate the lists in parallel, until both lists has been depleted
+        while (i < thisKeys.length || j < thatKeys.length) {
+            if (i == thisKeys.length) { // Depleted this
+                sumOfSquares += square(thatCounts[j++] / thatCount);
+            } else if (j == thatKeys.length) { // Depleted that
+                sumOfSquares += square(thisCounts[i++] / thisCount);
+            } else {
+                // unsigned, as the character order of the ngrams
+                int compare = Long.compare(thisKeys[i] ^ Long.MIN_VALUE, thatKeys[j] ^ Long.MIN_VALUE);
+                if (compare == 0) { // Term exists both in this and that
+                    sumOfSquares += square(thisCounts[i++] / thisCount - thatCounts[j++] / thatCount);
+                } else if (compare < 0) { // Term exists only in this
+                    sumOfSquares += square(thisCounts[i++] / thisCount);
+                } else { // Term exists only in that
+                    sumOfSquares += square(thatCounts[j++] / thatCount);
+                }
             }
-
-            final int compare = thisEntry.compareTo(thatEntry);
-
-            if (compare == 0) { // Term exists both in this and that
-                double difference = thisEntry.count/thisCount - thatEntry.count/thatCount;
-                sumOfSquares += square(difference);
-                thisEntry.next();
-                thatEntry.next();
-            } else if (compare < 0) { // Term exists only in this
-                sumOfSquares += square(thisEntry.count/thisCount);
-                thisEntry.next();
-            } else { // Term exists only in that
-                sumOfSquares += square(thatEntry.count/thatCount);
-                thatEntry.next();
+            if (sumOfSquares > limitOfSquares) { // Can only grow from here
+                break;
             }
         }
         return Math.sqrt(sumOfSquares);
     }
+
     private double square(double count) {
         return count * count;
     }
 
-    private class Interleaved {
-
-        private char[] entries = null; // <ngram(length chars)><count(2 chars)>*
-        private int size = 0; // Number of entries (one entry = length+2 chars)
-        private long entriesGeneratedAtCount = -1; // Keeps track of when the sequential structure was current
-
-        /**
-         * Ensure that the entries array is in sync with the ngrams.
-         */
-        public void update() {
-            if (count == entriesGeneratedAtCount) { // Already up to date
-                return;
-            }
-            size = ngrams.size();
-            final int numChars = (length+2)*size;
-            if (entries == null || entries.length < numChars) {
-                entries = new char[numChars];
-            }
-            int pos = 0;
-            for (Map.Entry<String, Counter> entry: getSortedNgrams()) {
-                for (int l = 0 ; l < length ; l++) {
-                    entries[pos + l] = entry.getKey().charAt(l);
-                }
-                entries[pos + length] = (char)(entry.getValue().count / 65536); // Upper 16 bit
-                entries[pos + length + 1] = (char)(entry.getValue().count % 65536); // lower 16 bit
-                pos += length + 2;
-            }
-            entriesGeneratedAtCount = count;
+    private void checkLength(LanguageProfile that) {
+        if (length != that.length) {
+            throw new IllegalArgumentException(
+                    "Unable to calculage distance of language profiles"
+                    + " with different ngram lengths: "
+                    + that.length + " != " + length);
         }
+    }
 
-        public Entry firstEntry() {
-            Entry entry = new Entry();
-            if (size > 0) {
-                entry.update(0);
+    /**
+     * Ensures that the sorted arrays are in sync with the ngrams.
+     */
+    synchronized void updateSorted() {
+        if (count == sortedAtCount) { // Already up to date
+            return;
+        }
+        long[] sorted = new long[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0) {
+                // flip the sign bit so that a signed sort is an unsigned one
+                sorted[n++] = keys[i] ^ Long.MIN_VALUE;
             }
-            return entry;
         }
-        
-        private List<Map.Entry<String, Counter>> getSortedNgrams() {
-            List<Map.Entry<String, Counter>> entries = new ArrayList<Map.Entry<String, Counter>>(ngrams.size());
-            entries.addAll(ngrams.entrySet());
-            Collections.sort(entries, new Comparator<Map.Entry<String, Counter>>() {
-                @Override
-                public int compare(Map.Entry<String, Counter> o1, Map.Entry<String, Counter> o2) {
-                    return o1.getKey().compareTo(o2.getKey());
-                }
-            });
-            return entries;
+        Arrays.sort(sorted);
+        long[] sortedCounts = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] ^= Long.MIN_VALUE;
+            sortedCounts[i] = counts[slot(sorted[i])];
         }
-        
-        private class Entry implements Comparable<Entry> {
-            char[] ngram = new char[length];
-            int count = 0;
-            int pos = 0;
-
-            private void update(int pos) {
-                this.pos = pos;
-                if (pos >= size) { // Reached the end
-                    return;
-                }
-                final int origo = pos*(length+2);
-                System.arraycopy(entries, origo, ngram, 0, length);
-                count = entries[origo+length] * 65536 + entries[origo+length+1];
-            }
+        this.sortedKeys = sorted;
+        this.sortedCounts = sortedCounts;
+        sortedAtCount = count;
+    }
 
-            @Override
-            public int compareTo(Entry other) {
-                for (int i = 0 ; i < ngram.length ; i++) {
-                    if (ngram[i] != other.ngram[i]) {
-                        return ngram[i] - other.ngram[i];
-                    }
-                }
-                return 0;
-            }
-            public boolean hasNext() {
-                return pos < size-1;
-            }
-            public boolean hasNgram() {
-                return pos < size;
-            }
-            public void next() {
-                update(pos+1);
-            }
-            public String toString() {
-                return new String(ngram) + "(" + count + ")";
+    //slot that holds the ngram, or the empty slot it belongs in
+    private int slot(long ngram) {
+        int mask = keys.length - 1;
+        int slot = (int) ((ngram * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        while (counts[slot] != 0 && keys[slot] != ngram) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new long[oldCounts.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
             }
         }
     }
-    private Interleaved updateInterleaved() {
-        interleaved.update();
-        return interleaved;
+
+    private static long pack(String ngram) {
+        if (ngram.length() > MAX_NGRAM_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Unable to add an ngram longer than " + MAX_NGRAM_LENGTH
+                    + " characters: " + ngram);
+        }
+        long packed = 0;
+        for (int i = 0; i < ngram.length(); i++) {
+            packed = (packed << 16) | ngram.charAt(i);
+        }
+        return packed;
+    }
+
+    private String unpack(long ngram) {
+        char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = (char) ngram;
+            ngram >>>= 16;
+        }
+        return new String(chars);
     }
 }
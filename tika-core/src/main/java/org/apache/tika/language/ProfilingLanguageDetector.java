@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.language;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.tika.language.detect.LanguageConfidence;
+import org.apache.tika.language.detect.LanguageDetector;
+import org.apache.tika.language.detect.LanguageResult;
+
+/**
+ * Language detector that matches the trigrams of the text against the
+ * language profiles of the {@link LanguageIdentifier}. The text is counted
+ * as it is added, without allocating anything per character, and needs no
+ * models beyond the profiles in tika-core, so the detector is cheap enough
+ * to run on every parsed document.
+ * <p>
+ * The result is the closest language; it is of high confidence if the
+ * identifier considers it reasonably certain, and of low confidence
+ * otherwise. Priors are not supported.
+ *
+ * @since Apache Tika 1.0.18
+ */
+@SuppressWarnings("deprecation")
+public class ProfilingLanguageDetector extends LanguageDetector {
+
+    /**
+     * The languages to consider, or null for all of them.
+     */
+    private Set<String> languages;
+
+    private ProfilingWriter writer = new ProfilingWriter();
+
+    @Override
+    public LanguageDetector loadModels() {
+        languages = null;
+        return this;
+    }
+
+    @Override
+    public LanguageDetector loadModels(Set<String> languages) {
+        this.languages = new HashSet<>(languages);
+        return this;
+    }
+
+    @Override
+    public boolean hasModel(String language) {
+        return LanguageIdentifier.getSupportedLanguages().contains(language)
+                && (languages == null || languages.contains(language));
+    }
+
+    @Override
+    public LanguageDetector setPriors(Map<String, Float> languageProbabilities) {
+        throw new UnsupportedOperationException("Priors are not supported");
+    }
+
+    @Override
+    public void reset() {
+        writer = new ProfilingWriter();
+    }
+
+    @Override
+    public void addText(char[] cbuf, int off, int len) {
+        writer.write(cbuf, off, len);
+    }
+
+    @Override
+    public List<LanguageResult> detectAll() {
+        LanguageIdentifier identifier = new LanguageIdentifier(writer.getProfile(), languages);
+        double distance = identifier.getDistance();
+        if (distance >= 1.0) {
+            return Collections.singletonList(LanguageResult.NULL);
+        }
+        LanguageConfidence confidence = identifier.isReasonablyCertain()
+                ? LanguageConfidence.HIGH : LanguageConfidence.LOW;
+        return Collections.singletonList(new LanguageResult(
+                identifier.getLanguage(), confidence, (float) (1.0 - distance)));
+    }
+
+}
@@ -30,7 +30,11 @@ public class ProfilingWriter extends Writer {
 
     private final LanguageProfile profile;
 
-    private char[] buffer = new char[] { 0, 0, '_' };
+    /**
+     * The last three characters, 16 bits each, packed the same way
+     * as the ngrams of a {@link LanguageProfile}.
+     */
+    private long buffer = '_';
 
     private int n = 1;
 
@@ -77,11 +81,10 @@ public class ProfilingWriter extends Writer {
     }
 
     private void addLetter(char c) {
-        System.arraycopy(buffer, 1, buffer, 0, buffer.length - 1);
-        buffer[buffer.length - 1] = c;
+        buffer = ((buffer << 16) | c) & 0xFFFFFFFFFFFFL;
         n++;
-        if (n >= buffer.length) {
-            profile.add(new String(buffer));
+        if (n >= 3) {
+            profile.add(buffer, 3, 1);
         }
     }
 
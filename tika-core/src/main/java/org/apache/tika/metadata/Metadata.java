@@ -18,18 +18,18 @@ package org.apache.tika.metadata;
 
 import static org.apache.tika.utils.DateUtils.formatDate;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.text.DateFormat;
-import java.text.DateFormatSymbols;
-import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.apache.tika.metadata.Property.PropertyType;
 import org.apache.tika.utils.DateUtils;
@@ -44,10 +44,19 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
     /** Serial version UID */
     private static final long serialVersionUID = 5623926545693153182L;
 
+    /**
+     * The serialized form is still a map of names to value arrays, as
+     * before values were kept with spare capacity, so metadata serialized by
+     * earlier versions can be read and the other way around.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("metadata", Map.class)
+    };
+
     /**
      * A map of all metadata attributes.
      */
-    private Map<String, String[]> metadata = null;
+    private transient Map<String, Values> metadata = null;
 
     /**
      * The common delimiter used between the namespace abbreviation and the property name
@@ -90,35 +99,35 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
     /**
      * Some parsers will have the date as a ISO-8601 string
      *  already, and will set that into the Metadata object.
+     * The date formats used for parsing are not thread-safe, so each
+     *  thread gets its own set instead of all threads sharing (and
+     *  locking) a single global one.
+     *
+     * @see <a href="https://issues.apache.org/jira/browse/TIKA-495">TIKA-495</a>
      */
-    private static final DateUtils DATE_UTILS = new DateUtils();
-
-    private static DateFormat createDateFormat(String format, TimeZone timezone) {
-        SimpleDateFormat sdf =
-            new SimpleDateFormat(format, new DateFormatSymbols(Locale.US));
-        if (timezone != null) {
-            sdf.setTimeZone(timezone);
-        }
-        return sdf;
-    }
+    private static final ThreadLocal<DateUtils> DATE_UTILS =
+            new ThreadLocal<DateUtils>() {
+                @Override
+                protected DateUtils initialValue() {
+                    return new DateUtils();
+                }
+            };
 
     /**
-     * Parses the given date string. This method is synchronized to prevent
-     * concurrent access to the thread-unsafe date formats.
+     * Parses the given date string.
      *
-     * @see <a href="https://issues.apache.org/jira/browse/TIKA-495">TIKA-495</a>
      * @param date date string
      * @return parsed date, or <code>null</code> if the date can't be parsed
      */
-    private static synchronized Date parseDate(String date) {
-        return DATE_UTILS.tryToParse(date);
+    private static Date parseDate(String date) {
+        return DATE_UTILS.get().tryToParse(date);
     }
 
     /**
      * Constructs a new, empty metadata.
      */
     public Metadata() {
-        metadata = new HashMap<String, String[]>();
+        metadata = new HashMap<String, Values>();
     }
 
     /**
@@ -129,7 +138,7 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
      * @return true is named value is multivalued, false if single value or null
      */
     public boolean isMultiValued(final Property property) {
-        return metadata.get(property.getName()) != null && metadata.get(property.getName()).length > 1;
+        return isMultiValued(property.getName());
     }
     
     /**
@@ -140,7 +149,8 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
      * @return true is named value is multivalued, false if single value or null
      */
     public boolean isMultiValued(final String name) {
-        return metadata.get(name) != null && metadata.get(name).length > 1;
+        Values values = metadata.get(name);
+        return values != null && values.size > 1;
     }
 
     /**
@@ -161,11 +171,11 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
      * @return the value associated to the specified metadata name.
      */
     public String get(final String name) {
-        String[] values = metadata.get(name);
+        Values values = metadata.get(name);
         if (values == null) {
             return null;
         } else {
-            return values[0];
+            return values.first();
         }
     }
 
@@ -252,18 +262,11 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
     }
 
     private String[] _getValues(final String name) {
-        String[] values = metadata.get(name);
+        Values values = metadata.get(name);
         if (values == null) {
-            values = new String[0];
+            return new String[0];
         }
-        return values;
-    }
-    
-    private String[] appendedValues(String[] values, final String value) {
-        String[] newValues = new String[values.length + 1];
-        System.arraycopy(values, 0, newValues, 0, values.length);
-        newValues[newValues.length - 1] = value;
-        return newValues;
+        return values.toArray();
     }
 
     /**
@@ -276,11 +279,11 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
      *          the metadata value.
      */
     public void add(final String name, final String value) {
-        String[] values = metadata.get(name);
+        Values values = metadata.get(name);
         if (values == null) {
             set(name, value);
         } else {
-            metadata.put(name, appendedValues(values, value));
+            values.append(value);
         }
     }
     
@@ -294,12 +297,12 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
      *          the metadata value.
      */
     public void add(final Property property, final String value) {
-        String[] values = metadata.get(property.getName());
+        Values values = metadata.get(property.getName());
         if (values == null) {
             set(property, value);
         } else {
              if (property.isMultiValuePermitted()) {
-                 set(property, appendedValues(values, value));
+                 add(property, values, value);
              } else {
                  throw new PropertyTypeException(property.getName() +
                          " : " + property.getPropertyType());
@@ -307,6 +310,17 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
         }
     }
 
+    private void add(Property property, Values values, String value) {
+        if (property.getPropertyType() == PropertyType.COMPOSITE) {
+            // Composite properties store their values under other names
+            String[] appended = Arrays.copyOf(values.toArray(), values.size + 1);
+            appended[values.size] = value;
+            set(property, appended);
+        } else {
+            values.append(value);
+        }
+    }
+
     /**
      * Copy All key-value pairs from properties.
      * 
@@ -319,7 +333,7 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
             (Enumeration<String>) properties.propertyNames();
         while (names.hasMoreElements()) {
             String name = names.nextElement();
-            metadata.put(name, new String[] { properties.getProperty(name) });
+            metadata.put(name, new Values(properties.getProperty(name)));
         }
     }
 
@@ -334,7 +348,7 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
      */
     public void set(String name, String value) {
         if (value != null) {
-            metadata.put(name, new String[] { value });
+            metadata.put(name, new Values(value));
         } else {
             metadata.remove(name);
         }
@@ -382,7 +396,7 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
                 }
             }
         } else {
-            metadata.put(property.getName(), values);
+            metadata.put(property.getName(), new Values(values));
         }
     }
 
@@ -499,15 +513,15 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
             return false;
         }
 
-        String[] names = names();
-        for (int i = 0; i < names.length; i++) {
-            String[] otherValues = other._getValues(names[i]);
-            String[] thisValues = _getValues(names[i]);
-            if (otherValues.length != thisValues.length) {
+        for (Map.Entry<String, Values> entry : metadata.entrySet()) {
+            Values otherValues = other.metadata.get(entry.getKey());
+            Values thisValues = entry.getValue();
+            int otherSize = (otherValues == null) ? 0 : otherValues.size;
+            if (otherSize != thisValues.size) {
                 return false;
             }
-            for (int j = 0; j < otherValues.length; j++) {
-                if (!otherValues[j].equals(thisValues[j])) {
+            for (int j = 0; j < thisValues.size; j++) {
+                if (!otherValues.values[j].equals(thisValues.values[j])) {
                     return false;
                 }
             }
@@ -519,12 +533,81 @@ public class Metadata implements CreativeCommons, Geographic, HttpHeaders,
         StringBuffer buf = new StringBuffer();
         String[] names = names();
         for (int i = 0; i < names.length; i++) {
-            String[] values = _getValues(names[i]);
-            for (int j = 0; j < values.length; j++) {
-                buf.append(names[i]).append("=").append(values[j]).append(" ");
+            Values values = metadata.get(names[i]);
+            for (int j = 0; j < values.size; j++) {
+                buf.append(names[i]).append("=").append(values.values[j]).append(" ");
             }
         }
         return buf.toString();
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        Map<String, String[]> map = new HashMap<String, String[]>();
+        for (Map.Entry<String, Values> entry : metadata.entrySet()) {
+            map.put(entry.getKey(), entry.getValue().toArray());
+        }
+        out.putFields().put("metadata", map);
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        Map<String, String[]> map =
+                (Map<String, String[]>) in.readFields().get("metadata", null);
+        metadata = new HashMap<String, Values>();
+        if (map != null) {
+            for (Map.Entry<String, String[]> entry : map.entrySet()) {
+                metadata.put(entry.getKey(), new Values(entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * The values of a single metadata name. Values appended with the add()
+     * methods go into spare capacity of the backing array, which grows
+     * geometrically, so adding many values to a name does not copy all
+     * previous values every time.
+     */
+    private static final class Values {
+
+        private String[] values;
+
+        private int size;
+
+        Values(String value) {
+            this(new String[] { value });
+        }
+
+        Values(String[] values) {
+            this.values = values;
+            this.size = values.length;
+        }
+
+        String first() {
+            return size > 0 ? values[0] : null;
+        }
+
+        /**
+         * Returns the values. The backing array is handed out only once it
+         * has no spare capacity, as it is never written to after that, so it
+         * is trimmed once after values have been appended rather than copied
+         * on every call.
+         */
+        String[] toArray() {
+            if (size != values.length) {
+                values = Arrays.copyOf(values, size);
+            }
+            return values;
+        }
+
+        void append(String value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+            }
+            values[size++] = value;
+        }
+
+    }
+
 }
@@ -43,6 +43,19 @@ class AndClause implements Clause {
         return size;
     }
 
+    public MagicAnchor getAnchor() {
+        // All subclauses must match, so the most selective anchor wins
+        MagicAnchor best = null;
+        for (Clause clause : clauses) {
+            MagicAnchor anchor = clause.getAnchor();
+            if (anchor != null
+                    && (best == null || anchor.getCount() < best.getCount())) {
+                best = anchor;
+            }
+        }
+        return best;
+    }
+
     public String toString() {
         return "and" + Arrays.toString(clauses);
     }
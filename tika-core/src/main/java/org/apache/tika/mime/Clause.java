@@ -34,4 +34,11 @@ interface Clause extends Serializable {
      */
     int size();
 
+    /**
+     * Returns a fixed offset byte condition that must hold for this clause
+     * to evaluate to true, or <code>null</code> if no such condition is
+     * known.
+     */
+    MagicAnchor getAnchor();
+
 }
@@ -55,6 +55,10 @@ class Magic implements Clause, Comparable<Magic> {
         return clause.size();
     }
 
+    public MagicAnchor getAnchor() {
+        return clause.getAnchor();
+    }
+
     public String toString() {
         return string;
     }
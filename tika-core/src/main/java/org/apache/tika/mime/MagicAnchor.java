@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.mime;
+
+import java.io.Serializable;
+
+/**
+ * A necessary condition for a magic clause to match: the byte at a fixed
+ * offset of the document must take one of a limited set of values. Used
+ * by {@link MagicIndex} to skip magics that can not match a document
+ * without evaluating them.
+ */
+class MagicAnchor implements Serializable {
+
+    /** Serial version UID */
+    private static final long serialVersionUID = -2496345787457339434L;
+
+    private final int offset;
+
+    private final boolean[] values;
+
+    private final int count;
+
+    MagicAnchor(int offset, boolean[] values) {
+        this.offset = offset;
+        this.values = values;
+        int count = 0;
+        for (boolean value : values) {
+            if (value) {
+                count++;
+            }
+        }
+        this.count = count;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Checks whether the given value of the byte at the anchor offset
+     * allows the clause to match.
+     */
+    boolean accepts(int value) {
+        return values[value & 0xff];
+    }
+
+    /**
+     * Returns the number of byte values accepted by this anchor. The fewer,
+     * the more selective the anchor is.
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns whether this anchor rules out any byte value at all. An
+     * anchor that accepts every value is useless for indexing.
+     */
+    boolean isSelective() {
+        return count < values.length;
+    }
+
+    /**
+     * Returns an anchor accepting the values of both anchors, or
+     * <code>null</code> if they constrain different offsets.
+     */
+    MagicAnchor union(MagicAnchor that) {
+        if (that == null || offset != that.offset) {
+            return null;
+        }
+        boolean[] union = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            union[i] = values[i] || that.values[i];
+        }
+        return new MagicAnchor(offset, union);
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.mime;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Pre-computed index over a sorted list of magics. Most magic rules start
+ * with a byte or string pattern at a fixed offset, so the magics are
+ * grouped by that offset and by the value of the byte there. A document
+ * then only needs to be evaluated against the magics whose anchor byte
+ * matches, plus the magics that have no such anchor (regular expressions,
+ * offset ranges or fully masked patterns), instead of against every magic.
+ * <p>
+ * The index preserves the order of the given list, so matching yields the
+ * same priority ordered result as evaluating the list one by one.
+ */
+class MagicIndex {
+
+    private final Magic[] magics;
+
+    /** Distinct anchor offsets, in increasing order */
+    private final int[] offsets;
+
+    /**
+     * Indexes of the magics anchored at the respective offset, keyed by
+     * the value of the byte at that offset. <code>null</code> when no
+     * magic accepts the value.
+     */
+    private final int[][][] anchored;
+
+    /** Indexes of the magics that need to be evaluated for every document */
+    private final int[] unanchored;
+
+    MagicIndex(List<Magic> list) {
+        this.magics = list.toArray(new Magic[list.size()]);
+
+        Map<Integer, List<List<Integer>>> byOffset =
+                new TreeMap<Integer, List<List<Integer>>>();
+        List<Integer> rest = new ArrayList<Integer>();
+        for (int i = 0; i < magics.length; i++) {
+            MagicAnchor anchor = magics[i].getAnchor();
+            if (anchor == null) {
+                rest.add(i);
+                continue;
+            }
+            List<List<Integer>> values = byOffset.get(anchor.getOffset());
+            if (values == null) {
+                values = new ArrayList<List<Integer>>(256);
+                for (int b = 0; b < 256; b++) {
+                    values.add(null);
+                }
+                byOffset.put(anchor.getOffset(), values);
+            }
+            for (int b = 0; b < 256; b++) {
+                if (anchor.accepts(b)) {
+                    List<Integer> indexes = values.get(b);
+                    if (indexes == null) {
+                        indexes = new ArrayList<Integer>();
+                        values.set(b, indexes);
+                    }
+                    indexes.add(i);
+                }
+            }
+        }
+
+        this.offsets = new int[byOffset.size()];
+        this.anchored = new int[byOffset.size()][][];
+        int n = 0;
+        for (Map.Entry<Integer, List<List<Integer>>> entry : byOffset.entrySet()) {
+            offsets[n] = entry.getKey();
+            anchored[n] = new int[256][];
+            for (int b = 0; b < 256; b++) {
+                List<Integer> indexes = entry.getValue().get(b);
+                if (indexes != null) {
+                    anchored[n][b] = toArray(indexes);
+                }
+            }
+            n++;
+        }
+        this.unanchored = toArray(rest);
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Returns the types of the highest priority magics that match the
+     * given document prefix. If multiple magics of the highest matching
+     * priority match, then all of their types are returned in index order.
+     *
+     * @param data first few bytes of a document stream
+     * @return matching types, possibly empty
+     */
+    List<MimeType> eval(byte[] data) {
+        BitSet candidates = new BitSet(magics.length);
+        for (int i : unanchored) {
+            candidates.set(i);
+        }
+        for (int o = 0; o < offsets.length && offsets[o] < data.length; o++) {
+            int[] indexes = anchored[o][data[offsets[o]] & 0xff];
+            if (indexes != null) {
+                for (int i : indexes) {
+                    candidates.set(i);
+                }
+            }
+        }
+
+        List<MimeType> result = new ArrayList<MimeType>(1);
+        int currentPriority = -1;
+        for (int i = candidates.nextSetBit(0); i >= 0;
+                i = candidates.nextSetBit(i + 1)) {
+            Magic magic = magics[i];
+            if (currentPriority > 0 && currentPriority > magic.getPriority()) {
+                break;
+            }
+            if (magic.eval(data)) {
+                result.add(magic.getType());
+                currentPriority = magic.getPriority();
+            }
+        }
+        return result;
+    }
+
+}
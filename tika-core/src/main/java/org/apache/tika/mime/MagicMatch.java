@@ -16,11 +16,7 @@
  */
 package org.apache.tika.mime;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-
 import org.apache.tika.detect.MagicDetector;
-import org.apache.tika.metadata.Metadata;
 
 /**
  * Defines a magic match.
@@ -37,7 +33,7 @@ class MagicMatch implements Clause {
 
     private final String mask;
 
-    private MagicDetector detector = null;
+    private volatile MagicDetector detector = null;
 
     MagicMatch(
             MediaType mediaType,
@@ -49,28 +45,35 @@ class MagicMatch implements Clause {
         this.mask = mask;
     }
 
-    private synchronized MagicDetector getDetector() {
+    private MagicDetector getDetector() {
+        // The detector is immutable, so a racy double parse is harmless
+        MagicDetector detector = this.detector;
         if (detector == null) {
             detector = MagicDetector.parse(mediaType, type, offset, value, mask);
+            this.detector = detector;
         }
         return detector;
     }
 
     public boolean eval(byte[] data) {
-        try {
-            return getDetector().detect(
-                    new ByteArrayInputStream(data), new Metadata())
-                    != MediaType.OCTET_STREAM;
-        } catch (IOException e) {
-            // Should never happen with a ByteArrayInputStream
-            return false;
-        }
+        return getDetector().matches(data);
     }
 
     public int size() {
         return getDetector().getLength();
     }
 
+    public MagicAnchor getAnchor() {
+        MagicDetector detector = getDetector();
+        boolean[] values = new boolean[256];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = detector.isPossibleFirstByte((byte) i);
+        }
+        MagicAnchor anchor =
+                new MagicAnchor(detector.getOffsetRangeBegin(), values);
+        return anchor.isSelective() ? anchor : null;
+    }
+
     public String toString() {
         return mediaType.toString()
                 + " " + type + " " + offset + " " +  value + " " + mask;
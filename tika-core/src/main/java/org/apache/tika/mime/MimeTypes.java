@@ -106,6 +106,12 @@ public final class MimeTypes implements Detector, Serializable {
     /** Sorted list of all registered magics */
     private final List<Magic> magics = new ArrayList<Magic>();
 
+    /**
+     * Index over {@link #magics}, built on first use and discarded
+     * whenever the list changes.
+     */
+    private transient volatile MagicIndex magicIndex;
+
     /** Sorted list of all registered rootXML */
     private final List<MimeType> xmls = new ArrayList<MimeType>();
 
@@ -181,18 +187,8 @@ public final class MimeTypes implements Detector, Serializable {
         }
 
         // Then, check for magic bytes
-        List<MimeType> result = new ArrayList<MimeType>(1);
-        int currentPriority = -1;
-        for (Magic magic : magics) {
-            if (currentPriority > 0 && currentPriority > magic.getPriority()) {
-                break;
-            }
-            if (magic.eval(data)) {
-                result.add(magic.getType());
-                currentPriority = magic.getPriority();
-            }
-        }
- 
+        List<MimeType> result = getMagicIndex().eval(data);
+
         if (!result.isEmpty()) {
             for (int i=0; i<result.size(); i++) {
                 final MimeType matched = result.get(i);
@@ -234,6 +230,15 @@ public final class MimeTypes implements Detector, Serializable {
         }
     }
 
+    private MagicIndex getMagicIndex() {
+        MagicIndex index = magicIndex;
+        if (index == null) {
+            index = new MagicIndex(magics);
+            magicIndex = index;
+        }
+        return index;
+    }
+
     /**
      * Reads the first {@link #getMinLength()} bytes from the given stream.
      * If the stream is shorter, then the entire content of the stream is
@@ -424,6 +429,7 @@ public final class MimeTypes implements Detector, Serializable {
         // Update the magics index...
         if (type.hasMagic()) {
             magics.addAll(type.getMagics());
+            magicIndex = null;
         }
 
         // Update the xml (xmlRoot) index...
@@ -445,6 +451,7 @@ public final class MimeTypes implements Detector, Serializable {
         }
         Collections.sort(magics);
         Collections.sort(xmls);
+        magicIndex = null;
     }
 
     /**
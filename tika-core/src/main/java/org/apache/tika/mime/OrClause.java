@@ -43,6 +43,22 @@ class OrClause implements Clause {
         return size;
     }
 
+    public MagicAnchor getAnchor() {
+        // Any subclause may match, so all of them need a common anchor
+        MagicAnchor union = null;
+        for (Clause clause : clauses) {
+            MagicAnchor anchor = clause.getAnchor();
+            if (anchor == null) {
+                return null;
+            }
+            union = union == null ? anchor : union.union(anchor);
+            if (union == null || !union.isSelective()) {
+                return null;
+            }
+        }
+        return union;
+    }
+
     public String toString() {
         return "or" + clauses;
     }
@@ -44,6 +44,11 @@ public class AutoDetectParser extends CompositeParser {
      */
     private Detector detector; // always set in the constructor
 
+    /**
+     * Registry that the parses of leaf parsers are recorded in, if any.
+     */
+    private transient ParseStatisticsRegistry parseStatistics = null;
+
     /**
      * Creates an auto-detecting parser instance using the default Tika
      * configuration.
@@ -101,10 +106,35 @@ public class AutoDetectParser extends CompositeParser {
         this.detector = detector;
     }
 
+    /**
+     * Returns the registry that the parses are recorded in.
+     *
+     * @return registry, or null if parses aren't recorded
+     * @since Apache Tika 1.0.18
+     */
+    public ParseStatisticsRegistry getParseStatistics() {
+        return parseStatistics;
+    }
+
+    /**
+     * Sets the registry that the parses of every leaf parser, including
+     * those of embedded documents, are recorded in, unless the
+     * {@link ParseContext} of a parse already holds a registry.
+     *
+     * @param parseStatistics registry, or null to not record parses
+     * @since Apache Tika 1.0.18
+     */
+    public void setParseStatistics(ParseStatisticsRegistry parseStatistics) {
+        this.parseStatistics = parseStatistics;
+    }
+
     public void parse(
             InputStream stream, ContentHandler handler,
             Metadata metadata, ParseContext context)
             throws IOException, SAXException, TikaException {
+        if (parseStatistics != null && context.get(ParseStatisticsRegistry.class) == null) {
+            context.set(ParseStatisticsRegistry.class, parseStatistics);
+        }
         TemporaryResources tmp = new TemporaryResources();
         try {
             TikaInputStream tis = TikaInputStream.get(stream, tmp);
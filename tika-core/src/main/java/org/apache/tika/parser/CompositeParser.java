@@ -36,6 +36,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Composite parser that delegates parsing tasks to a component parser
@@ -63,6 +65,13 @@ public class CompositeParser extends AbstractParser {
      */
     private Parser fallback = new EmptyParser();
 
+    /**
+     * Cached media type dispatch table, built lazily from the component
+     * parsers and only rebuilt when the parser list, the registry or the
+     * {@link #getDispatchGeneration() dispatch generation} change.
+     */
+    private transient volatile DispatchTable dispatch;
+
     public CompositeParser(MediaTypeRegistry registry, List<Parser> parsers,
                            Collection<Class<? extends Parser>> excludeParsers) {
         if (excludeParsers == null || excludeParsers.isEmpty()) {
@@ -91,7 +100,7 @@ public class CompositeParser extends AbstractParser {
 
     public Map<MediaType, Parser> getParsers(ParseContext context) {
         Map<MediaType, Parser> map = new HashMap<MediaType, Parser>();
-        for (Parser parser : parsers) {
+        for (Parser parser : getDispatchParsers()) {
             for (MediaType type : parser.getSupportedTypes(context)) {
                 map.put(registry.normalize(type), parser);
             }
@@ -99,6 +108,49 @@ public class CompositeParser extends AbstractParser {
         return map;
     }
 
+    /**
+     * Returns the component parsers used to build the media type dispatch
+     * table, in increasing order of precedence: when more than one parser
+     * declares support for a type, the last one in the list wins.
+     * Subclasses that contribute additional parsers should override this
+     * method rather than {@link #getParsers(ParseContext)}, and
+     * {@link #getDispatchGeneration()} if the parsers can change.
+     *
+     * @since Apache Tika 1.0.18
+     * @return component parsers, lowest precedence first
+     */
+    protected List<Parser> getDispatchParsers() {
+        return parsers;
+    }
+
+    /**
+     * Returns a number that changes whenever {@link #getDispatchParsers()}
+     * returns other parsers than before, for reasons other than
+     * {@link #setParsers(Map)} or {@link #setMediaTypeRegistry(MediaTypeRegistry)}.
+     * The dispatch table is only rebuilt when this number or the parsers
+     * set here change, so the supported types of the component parsers
+     * are those they reported for the parse that built the table. Use
+     * {@link #getParsers(ParseContext)} for the parsers of a given context.
+     *
+     * @since Apache Tika 1.0.18
+     * @return generation of the dispatch parsers
+     */
+    protected int getDispatchGeneration() {
+        return 0;
+    }
+
+    private DispatchTable getDispatchTable(ParseContext context) {
+        int generation = getDispatchGeneration();
+        DispatchTable table = dispatch;
+        if (table == null || table.registry != registry
+                || table.generation != generation) {
+            table = new DispatchTable(
+                    registry, getDispatchParsers(), context, generation);
+            dispatch = table;
+        }
+        return table;
+    }
+
     private boolean isExcluded(Collection<Class<? extends Parser>> excludeParsers, Class<? extends Parser> p) {
         return excludeParsers.contains(p) || assignableFrom(excludeParsers, p);
     }
@@ -161,6 +213,7 @@ public class CompositeParser extends AbstractParser {
      */
     public void setMediaTypeRegistry(MediaTypeRegistry registry) {
         this.registry = registry;
+        this.dispatch = null;
     }
 
     /**
@@ -192,6 +245,7 @@ public class CompositeParser extends AbstractParser {
             this.parsers.add(ParserDecorator.withTypes(
                     entry.getValue(), Collections.singleton(entry.getKey())));
         }
+        this.dispatch = null;
     }
 
     /**
@@ -230,27 +284,18 @@ public class CompositeParser extends AbstractParser {
     }
 
     protected Parser getParser(Metadata metadata, ParseContext context) {
-        Map<MediaType, Parser> map = getParsers(context);
+        DispatchTable table = getDispatchTable(context);
         MediaType type = MediaType.parse(metadata.get(Metadata.CONTENT_TYPE));
         if (type != null) {
            // We always work on the normalised, canonical form
-           type = registry.normalize(type);
+           type = table.registry.normalize(type);
         }
-        while (type != null) {
-            // Try finding a parser for the type
-            Parser parser = map.get(type);
-            if (parser != null) {
-                return parser;
-            }
-            
-            // Failing that, try for the parent of the type
-            type = registry.getSupertype(type);
-        }
-        return fallback;
+        Parser parser = table.lookup(type);
+        return parser != null ? parser : fallback;
     }
 
     public Set<MediaType> getSupportedTypes(ParseContext context) {
-        return getParsers(context).keySet();
+        return getDispatchTable(context).map.keySet();
     }
 
     /**
@@ -276,8 +321,14 @@ public class CompositeParser extends AbstractParser {
             } else {
                 metadata.add("X-Parsed-By", parser.getClass().getName());
             }
+            Parser target = parser;
+            ParseStatisticsRegistry statistics = context.get(ParseStatisticsRegistry.class);
+            if (statistics != null && !(parser instanceof CompositeParser)) {
+                //a nested composite instruments the parser it dispatches to
+                target = new InstrumentedParser(parser, statistics);
+            }
             try {
-                parser.parse(taggedStream, taggedHandler, metadata, context);
+                target.parse(taggedStream, taggedHandler, metadata, context);
             } catch (RuntimeException e) {
                 throw new TikaException(
                         "Unexpected RuntimeException from " + parser, e);
@@ -295,4 +346,73 @@ public class CompositeParser extends AbstractParser {
         }
     }
 
+    /**
+     * Immutable snapshot of the media type to parser mapping. Supertype
+     * resolution results are memoized per snapshot, so repeated lookups
+     * of the same type avoid walking the type hierarchy.
+     */
+    private static final class DispatchTable {
+
+        /**
+         * Upper bound on the number of memoized supertype resolutions, to
+         * keep arbitrary client supplied content types from growing the
+         * cache without limit.
+         */
+        private static final int MAX_RESOLVED_TYPES = 1024;
+
+        private final MediaTypeRegistry registry;
+
+        private final int generation;
+
+        private final Map<MediaType, Parser> map;
+
+        private final ConcurrentMap<MediaType, Parser> resolved;
+
+        DispatchTable(
+                MediaTypeRegistry registry, List<Parser> parsers,
+                ParseContext context, int generation) {
+            this.registry = registry;
+            this.generation = generation;
+            Map<MediaType, Parser> map = new HashMap<MediaType, Parser>();
+            for (Parser parser : parsers) {
+                for (MediaType type : parser.getSupportedTypes(context)) {
+                    map.put(registry.normalize(type), parser);
+                }
+            }
+            this.map = Collections.unmodifiableMap(map);
+            this.resolved = new ConcurrentHashMap<MediaType, Parser>(map);
+        }
+
+        /**
+         * Finds the parser for the given normalised type, falling back to
+         * its supertypes as defined by the registry.
+         *
+         * @param type normalised media type, may be <code>null</code>
+         * @return matching parser, or <code>null</code> if none was found
+         */
+        Parser lookup(MediaType type) {
+            if (type == null) {
+                return null;
+            }
+            Parser parser = resolved.get(type);
+            if (parser != null) {
+                return parser;
+            }
+            MediaType supertype = registry.getSupertype(type);
+            while (supertype != null) {
+                parser = resolved.get(supertype);
+                if (parser != null) {
+                    if (!type.hasParameters()
+                            && resolved.size() < MAX_RESOLVED_TYPES) {
+                        resolved.put(type, parser);
+                    }
+                    return parser;
+                }
+                supertype = registry.getSupertype(supertype);
+            }
+            return null;
+        }
+
+    }
+
 }
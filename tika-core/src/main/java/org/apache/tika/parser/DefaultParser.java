@@ -20,10 +20,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.tika.config.ServiceLoader;
-import org.apache.tika.mime.MediaType;
 import org.apache.tika.mime.MediaTypeRegistry;
 import org.apache.tika.utils.ServiceLoaderUtils;
 
@@ -83,23 +81,24 @@ public class DefaultParser extends CompositeParser {
     }
 
     @Override
-    public Map<MediaType, Parser> getParsers(ParseContext context) {
-        Map<MediaType, Parser> map = super.getParsers(context);
-
+    protected List<Parser> getDispatchParsers() {
+        List<Parser> parsers = super.getDispatchParsers();
         if (loader != null) {
             // Add dynamic parser service (they always override static ones)
-            MediaTypeRegistry registry = getMediaTypeRegistry();
-            List<Parser> parsers =
+            List<Parser> dynamic =
                     loader.loadDynamicServiceProviders(Parser.class);
-            Collections.reverse(parsers); // best parser last
-            for (Parser parser : parsers) {
-                for (MediaType type : parser.getSupportedTypes(context)) {
-                    map.put(registry.normalize(type), parser);
-                }
+            if (!dynamic.isEmpty()) {
+                Collections.reverse(dynamic); // best parser last
+                parsers = new ArrayList<Parser>(parsers);
+                parsers.addAll(dynamic);
             }
         }
+        return parsers;
+    }
 
-        return map;
+    @Override
+    protected int getDispatchGeneration() {
+        return loader != null ? loader.getDynamicServicesGeneration() : 0;
     }
 
     @Override
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.sax.ContentHandlerDecorator;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * Decorator that records the time, the bytes read, the characters emitted,
+ * the embedded documents and the exceptions of each parse into a
+ * {@link ParseStatisticsRegistry}, both under the class of the decorated
+ * parser and under the media type of the document.
+ * <p>
+ * Embedded documents that are parsed through another instrumented parser
+ * on the same thread are attributed to that parser: their time and
+ * characters are subtracted from the parse that handed them on.
+ *
+ * @since Apache Tika 1.0.18
+ */
+public class InstrumentedParser extends ParserDecorator {
+
+    private static final long serialVersionUID = 4389536297815839735L;
+
+    /**
+     * The parse in progress on this thread, if any.
+     */
+    private static final ThreadLocal<Frame> CURRENT = new ThreadLocal<>();
+
+    private final ParseStatisticsRegistry registry;
+
+    private final String name;
+
+    public InstrumentedParser(Parser parser, ParseStatisticsRegistry registry) {
+        super(parser);
+        this.registry = registry;
+        Parser leaf = parser;
+        while (leaf instanceof ParserDecorator) {
+            leaf = ((ParserDecorator) leaf).getWrappedParser();
+        }
+        this.name = leaf.getClass().getName();
+    }
+
+    @Override
+    public void parse(InputStream stream, ContentHandler handler,
+                      Metadata metadata, ParseContext context)
+            throws IOException, SAXException, TikaException {
+        MediaType type = MediaType.parse(metadata.get(Metadata.CONTENT_TYPE));
+        type = (type == null) ? MediaType.OCTET_STREAM : type.getBaseType();
+
+        Frame parent = CURRENT.get();
+        if (parent != null) {
+            parent.embedded++;
+        }
+        Frame frame = new Frame();
+        CURRENT.set(frame);
+
+        TikaInputStream tis = TikaInputStream.cast(stream);
+        long startPosition = (tis == null) ? 0 : tis.getPosition();
+        CountingContentHandler counting =
+                (handler == null) ? null : new CountingContentHandler(handler);
+
+        boolean failed = true;
+        long start = System.nanoTime();
+        try {
+            super.parse(stream, counting, metadata, context);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long characters = (counting == null) ? 0 : counting.characters;
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+                parent.childNanos += elapsed;
+                parent.childCharacters += characters;
+            }
+            long bytes = 0;
+            if (tis != null) {
+                bytes = tis.getPosition() - startPosition;
+                //parsers that work on the file don't read the stream
+                if (bytes == 0 && tis.hasFile() && tis.hasLength()) {
+                    bytes = tis.getLength();
+                }
+            }
+            long nanos = Math.max(0, elapsed - frame.childNanos);
+            characters = Math.max(0, characters - frame.childCharacters);
+            registry.getParserStatistics(name).record(
+                    nanos, bytes, characters, frame.embedded, failed);
+            registry.getTypeStatistics(type).record(
+                    nanos, bytes, characters, frame.embedded, failed);
+        }
+    }
+
+    /**
+     * Totals of the embedded documents of a parse in progress.
+     */
+    private static class Frame {
+        private long childNanos = 0;
+        private long childCharacters = 0;
+        private int embedded = 0;
+    }
+
+    private static class CountingContentHandler extends ContentHandlerDecorator {
+
+        private long characters = 0;
+
+        CountingContentHandler(ContentHandler handler) {
+            super(handler);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            characters += length;
+            super.characters(ch, start, length);
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            characters += length;
+            super.ignorableWhitespace(ch, start, length);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.parser;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry that publishes each {@link ParseStatistics} as an MBean named
+ * <code>org.apache.tika:type=ParseStatistics,parser="..."</code> or
+ * <code>org.apache.tika:type=ParseStatistics,mediaType="..."</code>.
+ *
+ * @since Apache Tika 1.0.18
+ */
+public class JMXParseStatisticsRegistry extends ParseStatisticsRegistry {
+
+    private static final Logger LOG = Logger.getLogger(JMXParseStatisticsRegistry.class.getName());
+
+    private final MBeanServer server;
+
+    public JMXParseStatisticsRegistry() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public JMXParseStatisticsRegistry(MBeanServer server) {
+        this.server = server;
+    }
+
+    @Override
+    protected void register(String kind, String name, ParseStatistics statistics) {
+        try {
+            ObjectName objectName = new ObjectName(
+                    "org.apache.tika:type=ParseStatistics," + kind + "=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(statistics, objectName);
+            }
+        } catch (JMException e) {
+            //the statistics are still available from the registry
+            LOG.log(Level.WARNING, "Couldn't register parse statistics of " + name, e);
+        }
+    }
+}
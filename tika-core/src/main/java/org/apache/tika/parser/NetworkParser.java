@@ -125,7 +125,7 @@ public class NetworkParser extends AbstractParser {
             TaggedContentHandler tagged = new TaggedContentHandler(
                     new OfflineContentHandler(handler));
             try {
-                context.getSAXParser().parse(
+                context.parseSAX(
                         stream, new TeeContentHandler(
                                 tagged, new MetaHandler(metadata)));
             } catch (SAXException e) {
@@ -26,6 +26,7 @@ import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLResolver;
 import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.lang.reflect.Method;
@@ -39,6 +40,7 @@ import org.xml.sax.SAXException;
 import org.xml.sax.SAXNotRecognizedException;
 import org.xml.sax.SAXNotSupportedException;
 import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * Parse context. Used to pass context information to Tika parsers.
@@ -54,7 +56,7 @@ public class ParseContext implements Serializable {
     /** Map of objects in this context */
     private final Map<String, Object> context = new HashMap<String, Object>();
 
-    private static final EntityResolver IGNORING_SAX_ENTITY_RESOLVER = new EntityResolver() {
+    static final EntityResolver IGNORING_SAX_ENTITY_RESOLVER = new EntityResolver() {
         public InputSource resolveEntity(String publicId, String systemId) throws SAXException, IOException {
             return new InputSource(new StringReader(""));
         }
@@ -117,7 +119,9 @@ public class ParseContext implements Serializable {
     /**
      * Returns the XMLReader specified in this parsing context. If a reader
      * is not explicitly specified, then one is created using the specified
-     * or the default SAX parser.
+     * SAX parser or SAX parser factory, or taken from the
+     * {@link SAXParserPool} of this context. Callers should hand the reader
+     * back with {@link #releaseXMLReader(XMLReader)} once they are done.
      *
      * @see #getSAXParser()
      * @since Apache Tika 1.13
@@ -129,6 +133,9 @@ public class ParseContext implements Serializable {
         if (reader != null) {
             return reader;
         }
+        if (isPooled()) {
+            return getSAXParserPool().acquireXMLReader();
+        }
         try {
             reader = getSAXParser().getXMLReader();
         } catch (SAXException e) {
@@ -138,10 +145,25 @@ public class ParseContext implements Serializable {
         return reader;
     }
 
+    /**
+     * Returns an XMLReader obtained from {@link #getXMLReader()} for reuse.
+     * Does nothing if the reader was not taken from the pool.
+     *
+     * @param reader XMLReader, may be <code>null</code>
+     * @since Apache Tika 1.0.18
+     */
+    public void releaseXMLReader(XMLReader reader) {
+        if (reader != null && reader != get(XMLReader.class) && isPooled()) {
+            getSAXParserPool().releaseXMLReader(reader);
+        }
+    }
+
     /**
      * Returns the SAX parser specified in this parsing context. If a parser
      * is not explicitly specified, then one is created using the specified
-     * or the default SAX parser factory.
+     * SAX parser factory, or taken from the {@link SAXParserPool} of this
+     * context if no factory is specified. Callers should hand the parser
+     * back with {@link #releaseSAXParser(SAXParser)} once they are done.
      *
      * @see #getSAXParserFactory()
      * @since Apache Tika 0.8
@@ -152,6 +174,8 @@ public class ParseContext implements Serializable {
         SAXParser parser = get(SAXParser.class);
         if (parser != null) {
             return parser;
+        } else if (isPooled()) {
+            return getSAXParserPool().acquire();
         } else {
             try {
                 return getSAXParserFactory().newSAXParser();
@@ -163,6 +187,60 @@ public class ParseContext implements Serializable {
         }
     }
 
+    /**
+     * Returns a SAX parser obtained from {@link #getSAXParser()} for reuse.
+     * Does nothing if the parser was not taken from the pool.
+     *
+     * @param parser SAX parser, may be <code>null</code>
+     * @since Apache Tika 1.0.18
+     */
+    public void releaseSAXParser(SAXParser parser) {
+        if (parser != null && parser != get(SAXParser.class) && isPooled()) {
+            getSAXParserPool().release(parser);
+        }
+    }
+
+    /**
+     * Parses the given XML stream with a SAX parser from
+     * {@link #getSAXParser()}, and hands the parser back for reuse
+     * afterwards.
+     *
+     * @param stream XML document
+     * @param handler SAX event handler
+     * @throws IOException if the document could not be read
+     * @throws SAXException if the document could not be parsed
+     * @throws TikaException if a SAX parser could not be created
+     * @since Apache Tika 1.0.18
+     */
+    public void parseSAX(InputStream stream, DefaultHandler handler)
+            throws IOException, SAXException, TikaException {
+        SAXParser parser = getSAXParser();
+        try {
+            parser.parse(stream, handler);
+        } finally {
+            releaseSAXParser(parser);
+        }
+    }
+
+    /**
+     * Returns the SAX parser pool specified in this parsing context, or
+     * the {@link SAXParserPool#getDefault() default} shared pool.
+     *
+     * @since Apache Tika 1.0.18
+     * @return SAX parser pool
+     */
+    public SAXParserPool getSAXParserPool() {
+        return get(SAXParserPool.class, SAXParserPool.getDefault());
+    }
+
+    /**
+     * Parsers come from the pool unless a factory has been specified, as
+     * the pooled parsers would not reflect its configuration.
+     */
+    private boolean isPooled() {
+        return get(SAXParserFactory.class) == null;
+    }
+
     /**
      * Returns the SAX parser factory specified in this parsing context.
      * If a factory is not explicitly specified, then a default factory
@@ -176,21 +254,26 @@ public class ParseContext implements Serializable {
     public SAXParserFactory getSAXParserFactory() {
         SAXParserFactory factory = get(SAXParserFactory.class);
         if (factory == null) {
-            factory = SAXParserFactory.newInstance();
-            factory.setNamespaceAware(true);
-            factory.setValidating(false);
-            try {
-                factory.setFeature(
-                        XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            } catch (ParserConfigurationException e) {
-            } catch (SAXNotSupportedException e) {
-            } catch (SAXNotRecognizedException e) {
-                // TIKA-271: Some XML parsers do not support the
-                // secure-processing feature, even though it's required by
-                // JAXP in Java 5. Ignoring the exception is fine here, as
-                // deployments without this feature are inherently vulnerable
-                // to XML denial-of-service attacks.
-            }
+            factory = newDefaultSAXParserFactory();
+        }
+        return factory;
+    }
+
+    static SAXParserFactory newDefaultSAXParserFactory() {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setValidating(false);
+        try {
+            factory.setFeature(
+                    XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        } catch (ParserConfigurationException e) {
+        } catch (SAXNotSupportedException e) {
+        } catch (SAXNotRecognizedException e) {
+            // TIKA-271: Some XML parsers do not support the
+            // secure-processing feature, even though it's required by
+            // JAXP in Java 5. Ignoring the exception is fine here, as
+            // deployments without this feature are inherently vulnerable
+            // to XML denial-of-service attacks.
         }
         return factory;
     }
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.parser;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Running totals of the parses of one parser class or of one media type,
+ * as recorded by {@link InstrumentedParser}.  The time of a parse does
+ * not include the time spent on the embedded documents it hands on to
+ * other parsers; those are counted as embedded documents instead.
+ * <p>
+ * Latencies are kept in a histogram with power of two millisecond buckets,
+ * so percentiles are accurate to within a factor of two.
+ *
+ * @since Apache Tika 1.0.18
+ */
+public class ParseStatistics implements ParseStatisticsMBean {
+
+    private static final long[] BUCKET_MILLIS = new long[21];
+
+    static {
+        //the last bucket holds everything above 2^19 ms (~9 minutes)
+        for (int i = 0; i < BUCKET_MILLIS.length - 1; i++) {
+            BUCKET_MILLIS[i] = 1L << i;
+        }
+        BUCKET_MILLIS[BUCKET_MILLIS.length - 1] = Long.MAX_VALUE;
+    }
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong exceptions = new AtomicLong();
+    private final AtomicLong embedded = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong characters = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_MILLIS.length);
+
+    /**
+     * Records one parse.
+     *
+     * @param nanos              time spent in the parse, excluding embedded documents
+     * @param bytesRead          bytes read from the document
+     * @param charactersEmitted  characters written to the content handler
+     * @param embeddedDocuments  embedded documents handed on
+     * @param failed             whether the parse threw an exception
+     */
+    public void record(long nanos, long bytesRead, long charactersEmitted,
+                       long embeddedDocuments, boolean failed) {
+        count.incrementAndGet();
+        if (failed) {
+            exceptions.incrementAndGet();
+        }
+        embedded.addAndGet(embeddedDocuments);
+        bytes.addAndGet(bytesRead);
+        characters.addAndGet(charactersEmitted);
+        totalNanos.addAndGet(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+        histogram.incrementAndGet(getBucket(TimeUnit.NANOSECONDS.toMillis(nanos)));
+    }
+
+    private static int getBucket(long millis) {
+        int bucket = 0;
+        while (millis >= BUCKET_MILLIS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public long getExceptions() {
+        return exceptions.get();
+    }
+
+    @Override
+    public long getEmbeddedDocuments() {
+        return embedded.get();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytes.get();
+    }
+
+    @Override
+    public long getCharactersEmitted() {
+        return characters.get();
+    }
+
+    @Override
+    public long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos.get());
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long n = count.get();
+        return (n == 0) ? 0.0 : totalNanos.get() / 1000000.0 / n;
+    }
+
+    @Override
+    public long getMaxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    /**
+     * @return number of parses per bucket of {@link #getLatencyBucketMillis()}
+     */
+    @Override
+    public long[] getLatencyHistogram() {
+        long[] counts = new long[histogram.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * @return exclusive upper bound in milliseconds of each bucket of the histogram
+     */
+    @Override
+    public long[] getLatencyBucketMillis() {
+        return BUCKET_MILLIS.clone();
+    }
+
+    /**
+     * @param percentile percentile, between 0 and 100
+     * @return upper bound of the bucket that holds the percentile, or
+     *         the maximum latency if that is lower
+     */
+    @Override
+    public long getLatencyMillisAtPercentile(double percentile) {
+        long[] counts = getLatencyHistogram();
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length - 1; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(BUCKET_MILLIS[i], getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.parser;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.tika.mime.MediaType;
+
+/**
+ * Collects {@link ParseStatistics} per parser class and per media type.
+ * Set a registry in the {@link ParseContext}, or on an
+ * {@link AutoDetectParser}, to have every leaf parser that a
+ * {@link CompositeParser} dispatches to decorated with an
+ * {@link InstrumentedParser} that records into it.
+ * <p>
+ * Subclasses can publish the statistics elsewhere by overriding
+ * {@link #register(String, String, ParseStatistics)}, which is called once
+ * for every parser class and media type the first time it is seen.  The
+ * {@link #getDefault() default registry} publishes them over JMX.
+ *
+ * @since Apache Tika 1.0.18
+ */
+public class ParseStatisticsRegistry {
+
+    /**
+     * Kind of statistics that are kept per parser class.
+     */
+    public static final String PARSER = "parser";
+
+    /**
+     * Kind of statistics that are kept per media type.
+     */
+    public static final String MEDIA_TYPE = "mediaType";
+
+    private static ParseStatisticsRegistry defaultRegistry = null;
+
+    private final ConcurrentMap<String, ParseStatistics> parsers =
+            new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<MediaType, ParseStatistics> types =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Returns the registry of this process, which publishes over JMX,
+     * unless another registry has been {@link #setDefault set}.
+     *
+     * @return the default registry
+     */
+    public static synchronized ParseStatisticsRegistry getDefault() {
+        if (defaultRegistry == null) {
+            defaultRegistry = new JMXParseStatisticsRegistry();
+        }
+        return defaultRegistry;
+    }
+
+    /**
+     * @param registry registry to return from {@link #getDefault()}
+     */
+    public static synchronized void setDefault(ParseStatisticsRegistry registry) {
+        defaultRegistry = registry;
+    }
+
+    /**
+     * @param parserClass name of the class of a parser
+     * @return statistics of the parser, created if they don't exist yet
+     */
+    public ParseStatistics getParserStatistics(String parserClass) {
+        ParseStatistics statistics = parsers.get(parserClass);
+        if (statistics == null) {
+            ParseStatistics created = new ParseStatistics();
+            statistics = parsers.putIfAbsent(parserClass, created);
+            if (statistics == null) {
+                statistics = created;
+                register(PARSER, parserClass, statistics);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * @param type media type, without parameters
+     * @return statistics of the media type, created if they don't exist yet
+     */
+    public ParseStatistics getTypeStatistics(MediaType type) {
+        ParseStatistics statistics = types.get(type);
+        if (statistics == null) {
+            ParseStatistics created = new ParseStatistics();
+            statistics = types.putIfAbsent(type, created);
+            if (statistics == null) {
+                statistics = created;
+                register(MEDIA_TYPE, type.toString(), statistics);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * @return live view of the statistics per parser class name
+     */
+    public Map<String, ParseStatistics> getParserStatistics() {
+        return Collections.unmodifiableMap(parsers);
+    }
+
+    /**
+     * @return live view of the statistics per media type
+     */
+    public Map<MediaType, ParseStatistics> getTypeStatistics() {
+        return Collections.unmodifiableMap(types);
+    }
+
+    /**
+     * Called once for every new parser class or media type; does nothing
+     * by default.
+     *
+     * @param kind       {@link #PARSER} or {@link #MEDIA_TYPE}
+     * @param name       parser class name or media type
+     * @param statistics the new statistics
+     */
+    protected void register(String kind, String name, ParseStatistics statistics) {
+    }
+}
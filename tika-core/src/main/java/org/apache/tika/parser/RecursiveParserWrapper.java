@@ -101,6 +101,8 @@ public class RecursiveParserWrapper implements Parser {
     private int unknownCount = 0;   
     private int maxEmbeddedResources = -1;
     private boolean hitMaxEmbeddedResources = false;
+    //number of embedded resources passed to addMetadata
+    private int embeddedResources = 0;
 
     /**
      * Initialize the wrapper with {@link #catchEmbeddedExceptions} set
@@ -170,7 +172,33 @@ public class RecursiveParserWrapper implements Parser {
             if (hitMaxEmbeddedResources) {
                 metadata.set(EMBEDDED_RESOURCE_LIMIT_REACHED, "true");
             }
-            metadatas.add(0, deepCopy(metadata));
+            addMetadata(deepCopy(metadata), true);
+        }
+    }
+
+    /**
+     * Called with the metadata of each document as soon as its parse
+     * is complete. Embedded documents complete before the documents that
+     * contain them, so the outer container document comes last.
+     * <p>
+     * The default implementation collects the metadata for
+     * {@link #getMetadata()}, with the container document first.
+     * Subclasses can override this to hand on each metadata object
+     * right away, for example to stream the results, instead of keeping
+     * all of them in memory until the end of the parse.
+     *
+     * @param metadata metadata of the completed document
+     * @param container whether this is the outer container document
+     * @throws IOException if the metadata could not be handed on
+     * @throws TikaException if the metadata could not be handed on
+     * @since Apache Tika 1.0.18
+     */
+    protected void addMetadata(Metadata metadata, boolean container)
+            throws IOException, TikaException {
+        if (container) {
+            metadatas.add(0, metadata);
+        } else {
+            metadatas.add(metadata);
         }
     }
 
@@ -207,6 +235,7 @@ public class RecursiveParserWrapper implements Parser {
      */
     public void reset() {
         metadatas.clear();
+        embeddedResources = 0;
         unknownCount = 0;
         hitMaxEmbeddedResources = false;
     }
@@ -296,7 +325,7 @@ public class RecursiveParserWrapper implements Parser {
                 SAXException, TikaException {
             //Test to see if we should avoid parsing
             if (maxEmbeddedResources > -1 && 
-                    metadatas.size() >= maxEmbeddedResources) {
+                    embeddedResources >= maxEmbeddedResources) {
                 hitMaxEmbeddedResources = true;
                 return;
             }
@@ -344,12 +373,13 @@ public class RecursiveParserWrapper implements Parser {
             //to re-test to make sure that we limit the 
             //number of stored resources
             if (maxEmbeddedResources > -1 && 
-                    metadatas.size() >= maxEmbeddedResources) {
+                    embeddedResources >= maxEmbeddedResources) {
                 hitMaxEmbeddedResources = true;
                 return;
             }
             addContent(localHandler, metadata);
-            metadatas.add(deepCopy(metadata));
+            embeddedResources++;
+            addMetadata(deepCopy(metadata), false);
         }        
     }
 
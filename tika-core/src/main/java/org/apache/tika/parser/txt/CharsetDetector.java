@@ -1,3 +1,11 @@
+// © 2016 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+/**
+ * ******************************************************************************
+ * Copyright (C) 2005-2016, International Business Machines Corporation and    *
+ * others. All Rights Reserved.                                                *
+ * ******************************************************************************
+ */
 package org.apache.tika.parser.txt;
 
 import java.io.IOException;
@@ -7,7 +15,9 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <code>CharsetDetector</code> provides a facility for detecting the
@@ -108,6 +118,10 @@ public class CharsetDetector {
             new short[256];  //   Value is percent, not absolute.
     boolean fC1Bytes =          // True if any bytes in the range 0x80 - 0x9F are in the input;
             false;
+    boolean fSevenBit =         // True if the raw input has no NULs and no bytes above 0x7F
+            false;
+    final Map<CharsetRecog_sbcs.NGramTable, int[]> fNGramConfidences =  // ngram scores of this input,
+            new IdentityHashMap<>();                                   //   shared by the sbcs recognizers
     String fDeclaredEncoding;
     byte[] fRawInput;     // Original, untouched input bytes.
     //  If user gave us a byte array, this is it.
@@ -184,6 +198,7 @@ public class CharsetDetector {
         fRawInput = in;
         fRawLength = in.length;
 
+        MungeInput();                     // Strip html markup, collect byte stats.
         return this;
     }
 
@@ -243,17 +258,26 @@ public class CharsetDetector {
      * @stable ICU 3.4
      */
     public CharsetMatch detect() {
-//   TODO:  A better implementation would be to copy the detect loop from
-//          detectAll(), and cut it short as soon as a match with a high confidence
-//          is found.  This is something to be done later, after things are otherwise
-//          working.
-        CharsetMatch matches[] = detectAll();
-
-        if (matches == null || matches.length == 0) {
-            return null;
+        //  This is the detect loop of detectAll(), cut short as soon as a match
+        //    with full confidence is found.  Otherwise it returns what detectAll()
+        //    would put first: the best match, the last recognizer winning ties.
+        CharsetMatch best = null;
+        for (int i = 0; i < ALL_CS_RECOGNIZERS.size(); i++) {
+            CharsetRecognizer csr = ALL_CS_RECOGNIZERS.get(i).recognizer;
+            if (fSevenBit && needsEightBitInput(csr) &&
+                    !csr.getName().equalsIgnoreCase(fDeclaredEncoding)) {
+                // These can't do better than plain ASCII UTF-8 on 7 bit input
+                continue;
+            }
+            CharsetMatch m = match(csr);
+            if (m != null && (best == null || m.getConfidence() >= best.getConfidence())) {
+                best = m;
+                if (best.getConfidence() >= MAX_CONFIDENCE) {
+                    break;
+                }
+            }
         }
-
-        return matches[0];
+        return best;
     }
 
     /**
@@ -271,30 +295,13 @@ public class CharsetDetector {
      * @stable ICU 3.4
      */
     public CharsetMatch[] detectAll() {
-        CharsetRecognizer csr;
-        int i;
-        CharsetMatch charsetMatch;
-        int confidence;
         ArrayList<CharsetMatch> matches = new ArrayList<CharsetMatch>();
         //  Iterate over all possible charsets, remember all that
         //    give a match quality > 0.
-        for (i = 0; i < ALL_CS_RECOGNIZERS.size(); i++) {
-            csr = ALL_CS_RECOGNIZERS.get(i).recognizer;
-            charsetMatch = csr.match(this);
-            if (charsetMatch != null) {
-                confidence = charsetMatch.getConfidence() & 0x000000ff;
-                if (confidence > 0) {
-                    // Just to be safe, constrain
-                    confidence = Math.min(confidence, MAX_CONFIDENCE);
-
-                    // Apply charset hint.
-                    if ((fDeclaredEncoding != null) && (fDeclaredEncoding.equalsIgnoreCase(csr.getName()))) {
-                        // Reduce lack of confidence (delta between "sure" and current) by 50%.
-                        confidence += (MAX_CONFIDENCE - confidence) / 2;
-                    }
-                    CharsetMatch m = new CharsetMatch(this, csr, confidence, charsetMatch.getName(), charsetMatch.getLanguage());
-                    matches.add(m);
-                }
+        for (int i = 0; i < ALL_CS_RECOGNIZERS.size(); i++) {
+            CharsetMatch m = match(ALL_CS_RECOGNIZERS.get(i).recognizer);
+            if (m != null) {
+                matches.add(m);
             }
         }
         Collections.sort(matches);      // CharsetMatch compares on confidence
@@ -304,6 +311,38 @@ public class CharsetDetector {
         return resultArray;
     }
 
+    /*
+     * Match the input against one recognizer, applying the charset hint.
+     *   Returns null if the match quality is 0.
+     */
+    private CharsetMatch match(CharsetRecognizer csr) {
+        CharsetMatch charsetMatch = csr.match(this);
+        if (charsetMatch == null) {
+            return null;
+        }
+        int confidence = charsetMatch.getConfidence() & 0x000000ff;
+        if (confidence <= 0) {
+            return null;
+        }
+        // Just to be safe, constrain
+        confidence = Math.min(confidence, MAX_CONFIDENCE);
+
+        // Apply charset hint.
+        if ((fDeclaredEncoding != null) && (fDeclaredEncoding.equalsIgnoreCase(csr.getName()))) {
+            // Reduce lack of confidence (delta between "sure" and current) by 50%.
+            confidence += (MAX_CONFIDENCE - confidence) / 2;
+        }
+        return new CharsetMatch(this, csr, confidence, charsetMatch.getName(), charsetMatch.getLanguage());
+    }
+
+    /*
+     * The multi-byte and UTF-16/32 recognizers give 7 bit input without NULs
+     *   a confidence of at most 10, less than the 15 of the UTF-8 recognizer.
+     */
+    private static boolean needsEightBitInput(CharsetRecognizer csr) {
+        return csr instanceof CharsetRecog_mbcs || csr instanceof CharsetRecog_Unicode;
+    }
+
     /**
      * Autodetect the charset of an inputStream, and return a Java Reader
      * to access the converted input data.
@@ -498,6 +537,17 @@ public class CharsetDetector {
                 break;
             }
         }
+
+        fSevenBit = true;
+        for (srci = 0; srci < fRawLength; srci++) {
+            byte r = fRawInput[srci];
+            if (r <= 0) {       // NUL, or 0x80 - 0xFF
+                fSevenBit = false;
+                break;
+            }
+        }
+
+        fNGramConfidences.clear();
     }
 
     /**
@@ -1,3 +1,13 @@
+// © 2016 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+/*
+ *******************************************************************************
+ * Copyright (C) 1996-2013, International Business Machines Corporation and    *
+ * others. All Rights Reserved.                                                *
+ *******************************************************************************
+ *
+ */
+
 package org.apache.tika.parser.txt;
 
 import org.apache.tika.parser.txt.CharsetRecog_Unicode.CharsetRecog_UTF_32;
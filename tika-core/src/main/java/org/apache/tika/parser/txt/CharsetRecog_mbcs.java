@@ -1,3 +1,12 @@
+// © 2016 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+/*
+ ****************************************************************************
+ * Copyright (C) 2005-2012, International Business Machines Corporation and *
+ * others. All Rights Reserved.                                             *
+ ****************************************************************************
+ *
+ */
 package org.apache.tika.parser.txt;
 
 import java.util.Arrays;
@@ -1,5 +1,17 @@
+// © 2016 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+/*
+ ****************************************************************************
+ * Copyright (C) 2005-2013, International Business Machines Corporation and *
+ * others. All Rights Reserved.                                             *
+ ************************************************************************** *
+ *
+ */
+
 package org.apache.tika.parser.txt;
 
+import java.util.Arrays;
+
 import org.apache.tika.parser.txt.CharsetRecog_sbcs.CharsetRecog_8859_1;
 import org.apache.tika.parser.txt.CharsetRecog_sbcs.CharsetRecog_8859_5;
 import org.apache.tika.parser.txt.CharsetRecog_sbcs.CharsetRecog_8859_6;
@@ -11,6 +23,7 @@ import org.apache.tika.parser.txt.CharsetRecog_sbcs.CharsetRecog_IBM420_ar;
 import org.apache.tika.parser.txt.CharsetRecog_sbcs.CharsetRecog_IBM424_he;
 import org.apache.tika.parser.txt.CharsetRecog_sbcs.NGramParser;
 import org.apache.tika.parser.txt.CharsetRecog_sbcs.NGramParser_IBM420;
+import org.apache.tika.parser.txt.CharsetRecog_sbcs.NGramTable;
 import org.apache.tika.parser.txt.CharsetRecog_sbcs.NGramsPlusLang;
 
 /**
@@ -40,15 +53,6 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
      */
     abstract String getName();
 
-    int match(CharsetDetector det, int[] ngrams, byte[] byteMap) {
-        return match(det, ngrams, byteMap, (byte) 0x20);
-    }
-
-    int match(CharsetDetector det, int[] ngrams, byte[] byteMap, byte spaceChar) {
-        NGramParser parser = new NGramParser(ngrams, byteMap);
-        return parser.parse(det, spaceChar);
-    }
-
     int matchIBM420(CharsetDetector det, int[] ngrams, byte[] byteMap, byte spaceChar) {
         NGramParser_IBM420 parser = new NGramParser_IBM420(ngrams, byteMap);
         return parser.parse(det, spaceChar);
@@ -280,6 +284,133 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
         }
     }
 
+    /**
+     * Lookup table for one or more ngram lists that are matched through the
+     * same byte map.  It scores all of its lists in a single scan of the input,
+     * and looks up each ngram with a single hash probe instead of a binary
+     * search per list.  The scores are kept in the detector for the rest of
+     * the detection, so recognizers that share a table also share the scan.
+     * The scores are the same as those of {@link NGramParser}.
+     */
+    static class NGramTable {
+        private static final int N_GRAM_MASK = 0xFFFFFF;
+        private static final int EMPTY = -1;
+
+        private final byte[] byteMap;
+        private final byte spaceChar;
+        private final int numLists;
+        private final int[] keys;
+        //bit i is set if the ngram is in list i
+        private final long[] lists;
+        private final int shift;
+
+        NGramTable(byte[] byteMap, int[]... ngramLists) {
+            this(byteMap, (byte) 0x20, ngramLists);
+        }
+
+        NGramTable(byte[] byteMap, byte spaceChar, int[]... ngramLists) {
+            if (ngramLists.length > 64) {
+                throw new IllegalArgumentException("At most 64 ngram lists per table");
+            }
+            this.byteMap = byteMap;
+            this.spaceChar = spaceChar;
+            this.numLists = ngramLists.length;
+            int entries = 0;
+            for (int[] ngrams : ngramLists) {
+                entries += ngrams.length;
+            }
+            //keep the load factor at or below 1/4 so that probes are short
+            int capacity = Integer.highestOneBit(Math.max(entries * 4, 2) - 1) << 1;
+            shift = 32 - Integer.numberOfTrailingZeros(capacity);
+            keys = new int[capacity];
+            lists = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            for (int i = 0; i < ngramLists.length; i++) {
+                for (int ngram : ngramLists[i]) {
+                    int slot = slot(ngram);
+                    keys[slot] = ngram;
+                    lists[slot] |= 1L << i;
+                }
+            }
+        }
+
+        static NGramTable forLanguages(byte[] byteMap, NGramsPlusLang[] languages) {
+            int[][] ngramLists = new int[languages.length][];
+            for (int i = 0; i < languages.length; i++) {
+                ngramLists[i] = languages[i].fNGrams;
+            }
+            return new NGramTable(byteMap, ngramLists);
+        }
+
+        //slot that holds the ngram, or the empty slot it belongs in
+        private int slot(int ngram) {
+            int mask = keys.length - 1;
+            int slot = (ngram * 0x9E3779B1) >>> shift;
+            while (keys[slot] != EMPTY && keys[slot] != ngram) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * @param det detector with the input
+         * @return confidence for each of the ngram lists, in the order they were given
+         */
+        int[] match(CharsetDetector det) {
+            int[] confidences = det.fNGramConfidences.get(this);
+            if (confidences == null) {
+                confidences = scan(det);
+                det.fNGramConfidences.put(this, confidences);
+            }
+            return confidences;
+        }
+
+        private int[] scan(CharsetDetector det) {
+            int[] hits = new int[numLists];
+            int ngramCount = 0;
+            int ngram = 0;
+            boolean ignoreSpace = false;
+            byte[] input = det.fInputBytes;
+            int length = det.fInputLen;
+            //the extra iteration adds a trailing space, as NGramParser.parse() does
+            for (int i = 0; i <= length; i++) {
+                byte mb;
+                if (i < length) {
+                    mb = byteMap[input[i] & 0xFF];
+                    if (mb == 0) {
+                        continue;
+                    }
+                    if (mb == spaceChar) {
+                        if (ignoreSpace) {
+                            continue;
+                        }
+                        ignoreSpace = true;
+                    } else {
+                        ignoreSpace = false;
+                    }
+                } else {
+                    mb = spaceChar;
+                }
+                ngram = ((ngram << 8) + (mb & 0xFF)) & N_GRAM_MASK;
+                ngramCount++;
+                int slot = slot(ngram);
+                if (keys[slot] == ngram) {
+                    long found = lists[slot];
+                    while (found != 0) {
+                        hits[Long.numberOfTrailingZeros(found)]++;
+                        found &= found - 1;
+                    }
+                }
+            }
+            int[] confidences = new int[numLists];
+            for (int i = 0; i < numLists; i++) {
+                double rawPercent = (double) hits[i] / (double) ngramCount;
+                confidences[i] = (rawPercent > 0.33) ? 98 : (int) (rawPercent * 300.0);
+            }
+            return confidences;
+        }
+    }
+
     static class NGramsPlusLang {
         int[] fNGrams;
         String fLang;
@@ -420,15 +551,17 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
         };
 
 
+        private static final NGramTable ngramTable = NGramTable.forLanguages(byteMap, ngrams_8859_1);
+
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1252" : "ISO-8859-1";
+            int[] confidences = ngramTable.match(det);
             int bestConfidenceSoFar = -1;
             String lang = null;
-            for (NGramsPlusLang ngl : ngrams_8859_1) {
-                int confidence = match(det, ngl.fNGrams, byteMap);
-                if (confidence > bestConfidenceSoFar) {
-                    bestConfidenceSoFar = confidence;
-                    lang = ngl.fLang;
+            for (int i = 0; i < ngrams_8859_1.length; i++) {
+                if (confidences[i] > bestConfidenceSoFar) {
+                    bestConfidenceSoFar = confidences[i];
+                    lang = ngrams_8859_1[i].fLang;
                 }
             }
             return bestConfidenceSoFar <= 0 ? null : new CharsetMatch(det, this, bestConfidenceSoFar, name, lang);
@@ -512,15 +645,17 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
                         })
         };
 
+        private static final NGramTable ngramTable = NGramTable.forLanguages(byteMap, ngrams_8859_2);
+
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1250" : "ISO-8859-2";
+            int[] confidences = ngramTable.match(det);
             int bestConfidenceSoFar = -1;
             String lang = null;
-            for (NGramsPlusLang ngl : ngrams_8859_2) {
-                int confidence = match(det, ngl.fNGrams, byteMap);
-                if (confidence > bestConfidenceSoFar) {
-                    bestConfidenceSoFar = confidence;
-                    lang = ngl.fLang;
+            for (int i = 0; i < ngrams_8859_2.length; i++) {
+                if (confidences[i] > bestConfidenceSoFar) {
+                    bestConfidenceSoFar = confidences[i];
+                    lang = ngrams_8859_2[i].fLang;
                 }
             }
             return bestConfidenceSoFar <= 0 ? null : new CharsetMatch(det, this, bestConfidenceSoFar, name, lang);
@@ -586,8 +721,10 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "ru";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -645,8 +782,10 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "ar";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -704,9 +843,11 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "el";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1253" : "ISO-8859-7";
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence, name, "el");
         }
     }
@@ -768,9 +909,11 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "he";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1255" : "ISO-8859-8-I";
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence, name, "he");
         }
     }
@@ -787,9 +930,11 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "he";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1255" : "ISO-8859-8";
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence, name, "he");
 
         }
@@ -848,9 +993,11 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "tr";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1254" : "ISO-8859-9";
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence, name, "tr");
         }
     }
@@ -906,8 +1053,10 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "ru";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence, getName(), "tr");
         }
     }
@@ -964,8 +1113,10 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "ru";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -1021,8 +1172,10 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "ar";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -1078,8 +1231,10 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "ru";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -1122,8 +1277,10 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "IBM424_rtl";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, (byte) 0x40, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap, (byte) 0x40);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -1141,8 +1298,10 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
             return "IBM424_ltr";
         }
 
+        private static final NGramTable ngramTable = new NGramTable(byteMap, (byte) 0x40, ngrams);
+
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap, (byte) 0x40);
+            int confidence = ngramTable.match(det)[0];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -1254,6 +1413,9 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
 /* 0xf0-0xf7 */ (byte) '0', (byte) '1', (byte) '2', (byte) '3', (byte) '4', (byte) '5', (byte) '6', (byte) '7',
 /* 0xf8-0xff */ (byte) '8', (byte) '9', (byte) 0x20, (byte) 0xfb, (byte) 0xfc, (byte) 0xf9, (byte) 0xfa, (byte) 0x20,
         };
+        //one table for all of the languages, so that they share one scan
+        private static final NGramTable ngramTable =
+                NGramTable.forLanguages(byteMap, CharsetRecog_8859_1.ngrams_8859_1);
         private final int langIndex;
 
         protected CharsetRecog_EBCDIC_500(int langIndex) {
@@ -1280,7 +1442,7 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
         }
 
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, CharsetRecog_8859_1.ngrams_8859_1[getLangIndex()].fNGrams, byteMap);
+            int confidence = ngramTable.match(det)[getLangIndex()];
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
 
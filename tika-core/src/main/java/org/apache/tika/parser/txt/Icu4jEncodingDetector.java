@@ -1,3 +1,19 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
 package org.apache.tika.parser.txt;
 
 import java.io.IOException;
@@ -44,6 +60,17 @@ public class Icu4jEncodingDetector implements EncodingDetector {
 
         detector.setText(input);
 
+        // The best match is usually usable, and finding it alone is cheaper
+        CharsetMatch best = detector.detect();
+        if (best == null) {
+            return null;
+        }
+        try {
+            return CharsetUtils.forName(best.getName());
+        } catch (Exception e) {
+            // ignore
+        }
+
         for (CharsetMatch match : detector.detectAll()) {
             try {
                 return CharsetUtils.forName(match.getName());
@@ -18,7 +18,7 @@ package org.apache.tika.sax;
 
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,54 +35,51 @@ import org.xml.sax.SAXException;
  */
 public class ToXMLContentHandler extends ToTextContentHandler {
 
-    private static class ElementInfo {
-
-        private final ElementInfo parent;
+    private final String encoding;
 
-        private final Map<String, String> namespaces;
+    protected boolean inStartElement = false;
 
-        public ElementInfo(ElementInfo parent, Map<String, String> namespaces) {
-            this.parent = parent;
-            if (namespaces.isEmpty()) {
-                this.namespaces = Collections.emptyMap();
-            } else {
-                this.namespaces = new HashMap<String, String>(namespaces);
-            }
-        }
+    protected final Map<String, String> namespaces =
+        new HashMap<String, String>();
 
-        public String getPrefix(String uri) throws SAXException {
-            String prefix = namespaces.get(uri);
-            if (prefix != null) {
-                return prefix;
-            } else if (parent != null) {
-                return parent.getPrefix(uri);
-            } else if (uri == null || uri.length() == 0) {
-                return "";
-            } else {
-                throw new SAXException("Namespace " + uri + " not declared");
-            }
-        }
+    /**
+     * Namespace URIs declared by the currently open elements, innermost
+     * last. Together with {@link #prefixes} and {@link #marks} this forms
+     * a stack of namespace frames that is reused from element to element.
+     */
+    private String[] uris = new String[8];
 
-        public String getQName(String uri, String localName)
-                throws SAXException {
-            String prefix = getPrefix(uri);
-            if (prefix.length() > 0) {
-                return prefix + ":" + localName;
-            } else {
-                return localName;
-            }
-        }
+    /**
+     * Prefixes of the namespaces in {@link #uris}.
+     */
+    private String[] prefixes = new String[8];
 
-    }
+    /**
+     * Number of entries in use in {@link #uris} and {@link #prefixes}.
+     */
+    private int namespaceCount = 0;
 
-    private final String encoding;
+    /**
+     * Value of {@link #namespaceCount} before each currently open element
+     * declared its namespaces.
+     */
+    private int[] marks = new int[16];
 
-    protected boolean inStartElement = false;
+    /**
+     * Number of currently open elements.
+     */
+    private int depth = 0;
 
-    protected final Map<String, String> namespaces =
-        new HashMap<String, String>();
+    /**
+     * Reusable buffer that markup and escaped characters are collected in
+     * before being passed on in a single write.
+     */
+    private final char[] buffer = new char[4096];
 
-    private ElementInfo currentElement;
+    /**
+     * Number of characters in {@link #buffer}.
+     */
+    private int buffered = 0;
 
     /**
      * Creates an XML serializer that writes to the given byte stream
@@ -114,24 +111,22 @@ public class ToXMLContentHandler extends ToTextContentHandler {
     @Override
     public void startDocument() throws SAXException {
         if (encoding != null) {
-            write("<?xml version=\"1.0\" encoding=\"");
-            write(encoding);
-            write("\"?>\n");
+            append("<?xml version=\"1.0\" encoding=\"");
+            append(encoding);
+            append("\"?>\n");
+            flush();
         }
 
-        currentElement = null;
+        depth = 0;
+        namespaceCount = 0;
         namespaces.clear();
     }
 
     @Override
     public void startPrefixMapping(String prefix, String uri)
             throws SAXException {
-        try {
-            if (currentElement != null
-                    && prefix.equals(currentElement.getPrefix(uri))) {
-                return;
-            }
-        } catch (SAXException ignore) {
+        if (depth > 0 && prefix.equals(findPrefix(uri))) {
+            return;
         }
         namespaces.put(uri, prefix);
     }
@@ -142,36 +137,36 @@ public class ToXMLContentHandler extends ToTextContentHandler {
             throws SAXException {
         lazyCloseStartElement();
 
-        currentElement = new ElementInfo(currentElement, namespaces);
+        pushElement();
 
-        write('<');
-        write(currentElement.getQName(uri, localName));
+        append('<');
+        appendQName(uri, localName);
 
         for (int i = 0; i < atts.getLength(); i++) {
-            write(' ');
-            write(currentElement.getQName(atts.getURI(i), atts.getLocalName(i)));
-            write('=');
-            write('"');
-            char[] ch = atts.getValue(i).toCharArray();
-            writeEscaped(ch, 0, ch.length, true);
-            write('"');
+            append(' ');
+            appendQName(atts.getURI(i), atts.getLocalName(i));
+            append('=');
+            append('"');
+            String value = atts.getValue(i);
+            appendEscaped(value, true);
+            append('"');
         }
 
         for (Map.Entry<String, String> entry : namespaces.entrySet()) {
-            write(' ');
-            write("xmlns");
+            append(' ');
+            append("xmlns");
             String prefix = entry.getValue();
             if (prefix.length() > 0) {
-                write(':');
-                write(prefix);
+                append(':');
+                append(prefix);
             }
-            write('=');
-            write('"');
-            char[] ch = entry.getKey().toCharArray();
-            writeEscaped(ch, 0, ch.length, true);
-            write('"');
+            append('=');
+            append('"');
+            appendEscaped(entry.getKey(), true);
+            append('"');
         }
         namespaces.clear();
+        flush();
 
         inStartElement = true;
     }
@@ -180,31 +175,30 @@ public class ToXMLContentHandler extends ToTextContentHandler {
     public void endElement(String uri, String localName, String qName)
             throws SAXException {
         if (inStartElement) {
-            write(" />");
+            append(" />");
             inStartElement = false;
         } else {
-            write("</");
-            write(qName);
-            write('>');
+            append("</");
+            append(qName);
+            append('>');
         }
+        flush();
 
         namespaces.clear();
-
-        // Reset the position in the tree, to avoid endless stack overflow
-        // chains (see TIKA-1070)
-        currentElement = currentElement.parent;
+        popElement();
     }
 
     @Override
     public void characters(char[] ch, int start, int length)
             throws SAXException {
         lazyCloseStartElement();
-        writeEscaped(ch, start, start + length, false);
+        appendEscaped(ch, start, start + length, false);
+        flush();
     }
 
     private void lazyCloseStartElement() throws SAXException {
         if (inStartElement) {
-            write('>');
+            append('>');
             inStartElement = false;
         }
     }
@@ -216,7 +210,8 @@ public class ToXMLContentHandler extends ToTextContentHandler {
      * @throws SAXException if the character could not be written
      */
     protected void write(char ch) throws SAXException {
-        super.characters(new char[] { ch }, 0, 1);
+        append(ch);
+        flush();
     }
 
     /**
@@ -226,31 +221,161 @@ public class ToXMLContentHandler extends ToTextContentHandler {
      * @throws SAXException if the character string could not be written
      */
     protected void write(String string) throws SAXException {
-        super.characters(string.toCharArray(), 0, string.length());
+        append(string);
+        flush();
+    }
+
+    /**
+     * Opens a namespace frame for a new element, holding the namespaces
+     * declared since the previous element.
+     */
+    private void pushElement() {
+        if (depth == marks.length) {
+            marks = Arrays.copyOf(marks, depth * 2);
+        }
+        marks[depth++] = namespaceCount;
+        for (Map.Entry<String, String> entry : namespaces.entrySet()) {
+            if (namespaceCount == uris.length) {
+                uris = Arrays.copyOf(uris, namespaceCount * 2);
+                prefixes = Arrays.copyOf(prefixes, namespaceCount * 2);
+            }
+            uris[namespaceCount] = entry.getKey();
+            prefixes[namespaceCount] = entry.getValue();
+            namespaceCount++;
+        }
+    }
+
+    /**
+     * Closes the namespace frame of the current element. Resetting the
+     * position in the tree also avoids endless chains of frames
+     * (see TIKA-1070).
+     */
+    void popElement() {
+        if (depth > 0) {
+            int mark = marks[--depth];
+            Arrays.fill(uris, mark, namespaceCount, null);
+            Arrays.fill(prefixes, mark, namespaceCount, null);
+            namespaceCount = mark;
+        }
+    }
+
+    /**
+     * Returns the prefix bound to the given namespace by the innermost
+     * open element that declares it.
+     *
+     * @param uri namespace URI
+     * @return namespace prefix, or <code>null</code> if not declared
+     */
+    private String findPrefix(String uri) {
+        for (int i = namespaceCount - 1; i >= 0; i--) {
+            String declared = uris[i];
+            if (declared == null ? uri == null : declared.equals(uri)) {
+                return prefixes[i];
+            }
+        }
+        if (uri == null || uri.length() == 0) {
+            return "";
+        }
+        return null;
+    }
+
+    private void appendQName(String uri, String localName)
+            throws SAXException {
+        String prefix = findPrefix(uri);
+        if (prefix == null) {
+            throw new SAXException("Namespace " + uri + " not declared");
+        }
+        if (prefix.length() > 0) {
+            append(prefix);
+            append(':');
+        }
+        append(localName);
+    }
+
+    /**
+     * Passes the buffered characters on to the underlying writer.
+     *
+     * @throws SAXException if the characters could not be written
+     */
+    private void flush() throws SAXException {
+        if (buffered > 0) {
+            int length = buffered;
+            buffered = 0;
+            super.characters(buffer, 0, length);
+        }
+    }
+
+    private void append(char ch) throws SAXException {
+        if (buffered == buffer.length) {
+            flush();
+        }
+        buffer[buffered++] = ch;
+    }
+
+    private void append(String string) throws SAXException {
+        append(string, 0, string.length());
+    }
+
+    private void append(String string, int from, int to)
+            throws SAXException {
+        while (from < to) {
+            if (buffered == buffer.length) {
+                flush();
+            }
+            int n = Math.min(to - from, buffer.length - buffered);
+            string.getChars(from, from + n, buffer, buffered);
+            buffered += n;
+            from += n;
+        }
     }
 
     /**
-     * Writes the given characters as-is followed by the given entity.
+     * Appends the given characters as-is. Runs that do not fit in the
+     * buffer are written directly, without copying.
      *
      * @param ch character array
      * @param from start position in the array
      * @param to end position in the array
-     * @param entity entity code
-     * @return next position in the array,
-     *         after the characters plus one entity
      * @throws SAXException if the characters could not be written
      */
-    private int writeCharsAndEntity(char[] ch, int from, int to, String entity)
-            throws SAXException {
-        super.characters(ch, from, to - from);
-        write('&');
-        write(entity);
-        write(';');
-        return to + 1;
+    private void append(char[] ch, int from, int to) throws SAXException {
+        int length = to - from;
+        if (length > buffer.length - buffered) {
+            flush();
+            if (length > buffer.length) {
+                super.characters(ch, from, length);
+                return;
+            }
+        }
+        System.arraycopy(ch, from, buffer, buffered, length);
+        buffered += length;
     }
 
     /**
-     * Writes the given characters with XML meta characters escaped.
+     * Returns the entity that replaces the given character, or
+     * <code>null</code> if the character needs no escaping.
+     *
+     * @param ch character
+     * @param attribute whether the character is part of an attribute value
+     * @return entity, or <code>null</code>
+     */
+    private static String getEntity(char ch, boolean attribute) {
+        switch (ch) {
+            case '<':
+                return "&lt;";
+            case '>':
+                return "&gt;";
+            case '&':
+                return "&amp;";
+            case '"':
+                return attribute ? "&quot;" : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Appends the given characters with XML meta characters escaped.
      *
      * @param ch character array
      * @param from start position in the array
@@ -259,23 +384,32 @@ public class ToXMLContentHandler extends ToTextContentHandler {
      *                  an attribute value or normal character content
      * @throws SAXException if the characters could not be written
      */
-    private void writeEscaped(char[] ch, int from, int to, boolean attribute)
+    private void appendEscaped(char[] ch, int from, int to, boolean attribute)
+            throws SAXException {
+        for (int pos = from; pos < to; pos++) {
+            String entity = getEntity(ch[pos], attribute);
+            if (entity != null) {
+                append(ch, from, pos);
+                append(entity);
+                from = pos + 1;
+            }
+        }
+        append(ch, from, to);
+    }
+
+    private void appendEscaped(String string, boolean attribute)
             throws SAXException {
-        int pos = from;
-        while (pos < to) {
-            if (ch[pos] == '<') {
-                from = pos = writeCharsAndEntity(ch, from, pos, "lt");
-            } else if (ch[pos] == '>') {
-                from = pos = writeCharsAndEntity(ch, from, pos, "gt");
-            } else if (ch[pos] == '&') {
-                from = pos = writeCharsAndEntity(ch, from, pos, "amp");
-            } else if (attribute && ch[pos] == '"') {
-                from = pos = writeCharsAndEntity(ch, from, pos, "quot");
-            } else {
-                pos++;
+        int length = string.length();
+        int from = 0;
+        for (int pos = 0; pos < length; pos++) {
+            String entity = getEntity(string.charAt(pos), attribute);
+            if (entity != null) {
+                append(string, from, pos);
+                append(entity);
+                from = pos + 1;
             }
         }
-        super.characters(ch, from, to - from);
+        append(string, from, length);
     }
 
 }
@@ -23,6 +23,7 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
@@ -33,10 +34,23 @@ import org.xml.sax.SAXException;
  */
 public class WriteOutContentHandler extends ContentHandlerDecorator {
 
+    /**
+     * Random half of the exception tags, shared by all handlers so that
+     * creating a handler does not need to draw from a SecureRandom.
+     */
+    private static final long TAG_PREFIX =
+            UUID.randomUUID().getMostSignificantBits();
+
+    /**
+     * Counter that makes the exception tags unique within this JVM.
+     */
+    private static final AtomicLong TAG_COUNTER = new AtomicLong();
+
     /**
      * The unique tag associated with exceptions from stream.
      */
-    private final Serializable tag = UUID.randomUUID();
+    private final Serializable tag =
+            new UUID(TAG_PREFIX, TAG_COUNTER.incrementAndGet());
 
     /**
      * The maximum number of characters to write to the character stream.
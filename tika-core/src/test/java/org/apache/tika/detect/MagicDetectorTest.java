@@ -28,6 +28,8 @@ import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_16BE;
 import static java.nio.charset.StandardCharsets.UTF_16LE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -215,6 +217,24 @@ public class MagicDetectorTest {
         assertDetect(detector, testMT, data.getBytes(US_ASCII));
     }
 
+    @Test
+    public void testPossibleFirstByte() throws Exception {
+        MediaType html = new MediaType("text", "html");
+        MagicDetector fixed = new MagicDetector(html, "<html".getBytes(US_ASCII));
+        assertTrue(fixed.isPossibleFirstByte((byte) '<'));
+        assertFalse(fixed.isPossibleFirstByte((byte) ' '));
+
+        // Ranges and masked first bytes do not constrain the first byte
+        MagicDetector range = new MagicDetector(
+                html, "<html".getBytes(US_ASCII), null, 0, 64);
+        assertTrue(range.isPossibleFirstByte((byte) ' '));
+        MagicDetector masked = new MagicDetector(
+                html, new byte[] { 'H' }, new byte[] { (byte) 0xdf }, 0, 0);
+        assertTrue(masked.isPossibleFirstByte((byte) 'h'));
+        assertTrue(masked.isPossibleFirstByte((byte) 'H'));
+        assertFalse(masked.isPossibleFirstByte((byte) 'i'));
+    }
+
     private void assertDetect(Detector detector, MediaType type, String data) {
         byte[] bytes = data.getBytes(US_ASCII);
         assertDetect(detector, type, bytes);
@@ -224,6 +244,13 @@ public class MagicDetectorTest {
             InputStream stream = new ByteArrayInputStream(bytes);
             assertEquals(type, detector.detect(stream, new Metadata()));
 
+            // The byte array shortcut must agree with the stream detection
+            if (detector instanceof MagicDetector) {
+                assertEquals(
+                        !MediaType.OCTET_STREAM.equals(type),
+                        ((MagicDetector) detector).matches(bytes));
+            }
+
             // Test that the stream has been reset
             for (int i = 0; i < bytes.length; i++) {
                 assertEquals(bytes[i], (byte) stream.read());
@@ -19,11 +19,13 @@ package org.apache.tika.io;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -82,6 +84,40 @@ public class TikaInputStreamTest {
                 Files.exists(file));
     }
 
+    @Test
+    public void testByteBufferOfStream() throws IOException {
+        TikaInputStream stream = TikaInputStream.get(
+                IOUtils.toInputStream("Hello, World!", UTF_8.name()));
+        //a stream is neither buffered nor spooled to be mapped
+        assertNull(stream.getByteBuffer());
+        assertFalse(stream.hasFile());
+
+        //nor is its temporary file, once it has one
+        Path file = stream.getPath();
+        assertNull(stream.getByteBuffer());
+        assertEquals("Hello, World!", readStream(stream));
+        stream.close();
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testByteBufferMapped() throws IOException {
+        Path path = createTempFile("Hello, World!");
+        try (TikaInputStream stream = TikaInputStream.get(path)) {
+            assertEquals("Hello, World!", toString(stream.getByteBuffer()));
+            assertEquals(path, stream.getPath());
+            assertEquals("Hello, World!", readStream(stream));
+        }
+        //a mapped file can't be deleted on all platforms until the mapping is collected
+        path.toFile().deleteOnExit();
+    }
+
+    private String toString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
     private Path createTempFile(String data) throws IOException {
         Path file = Files.createTempFile("tika-", ".tmp");
         Files.write(file, data.getBytes(UTF_8));
@@ -56,4 +56,34 @@ public class LanguageProfileTest {
         assertTrue(foo.distance(foobar) == bar.distance(foobar));
     }
 
+    @Test
+    public void testDistanceLimit() throws IOException {
+        LanguageProfile.useInterleaved = true;
+        LanguageProfile en = new LanguageProfile("the quick brown fox jumps over the lazy dog");
+        LanguageProfile fr = new LanguageProfile("le renard brun rapide saute par-dessus le chien");
+        LanguageProfile text = new LanguageProfile("the lazy dog sleeps in the sun");
+
+        double distance = text.distance(fr);
+        assertEquals(distance, text.distance(fr, Double.POSITIVE_INFINITY), 0.0);
+        // an exceeded limit only ever overestimates the distance
+        assertTrue(text.distance(fr, text.distance(en)) >= text.distance(en));
+        assertTrue(text.distance(fr, text.distance(en)) <= distance);
+    }
+
+    @Test
+    public void testOrderAndToString() {
+        LanguageProfile profile = new LanguageProfile(2);
+        profile.add("\uff41b", 2);
+        profile.add("ab");
+        profile.add("b_", 3);
+        assertEquals("{ab=1, b_=3, \uff41b=2}", profile.toString());
+        assertEquals(6, profile.getCount());
+        assertEquals(0, profile.getCount("abc"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLongNgrams() {
+        new LanguageProfile(5);
+    }
+
 }
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.language;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+
+import org.apache.tika.io.IOUtils;
+import org.apache.tika.language.detect.LanguageConfidence;
+import org.apache.tika.language.detect.LanguageDetector;
+import org.apache.tika.language.detect.LanguageHandler;
+import org.apache.tika.language.detect.LanguageResult;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link ProfilingLanguageDetector} class.
+ */
+@SuppressWarnings("deprecation")
+public class ProfilingLanguageDetectorTest {
+
+    @Before
+    public void setUp() {
+        LanguageIdentifier.initProfiles();
+    }
+
+    @Test
+    public void testSameAsIdentifier() throws IOException {
+        LanguageDetector detector = new ProfilingLanguageDetector().loadModels();
+        for (String language : new String[] { "da", "de", "en", "fr", "lt", "nl" }) {
+            String text = read(language);
+            LanguageIdentifier identifier = new LanguageIdentifier(text);
+            LanguageResult result = detector.detect(text);
+            assertEquals(language, result.getLanguage());
+            assertEquals(identifier.isReasonablyCertain(), result.isReasonablyCertain());
+        }
+    }
+
+    @Test
+    public void testHandler() throws Exception {
+        LanguageHandler handler = new LanguageHandler(new ProfilingLanguageDetector().loadModels());
+        char[] text = read("fr").toCharArray();
+        // the text arrives in pieces that split words
+        for (int i = 0; i < text.length; i += 7) {
+            handler.characters(text, i, Math.min(7, text.length - i));
+        }
+        assertEquals("fr", handler.getLanguage().getLanguage());
+        assertEquals(LanguageConfidence.HIGH, handler.getLanguage().getConfidence());
+    }
+
+    @Test
+    public void testLoadModels() throws IOException {
+        LanguageDetector detector = new ProfilingLanguageDetector()
+                .loadModels(Collections.singleton("de"));
+        assertTrue(detector.hasModel("de"));
+        assertFalse(detector.hasModel("en"));
+        LanguageResult result = detector.detect(read("en"));
+        assertEquals("de", result.getLanguage());
+        assertFalse(result.isReasonablyCertain());
+
+        detector.loadModels();
+        assertTrue(detector.hasModel("en"));
+        assertEquals("en", detector.detect(read("en")).getLanguage());
+    }
+
+    @Test
+    public void testNoProfiles() {
+        LanguageIdentifier.clearProfiles();
+        LanguageResult result = new ProfilingLanguageDetector().loadModels().detect("some text");
+        assertTrue(result.isUnknown());
+    }
+
+    private static String read(String language) throws IOException {
+        try (InputStream stream =
+                ProfilingLanguageDetectorTest.class.getResourceAsStream(language + ".test")) {
+            return IOUtils.toString(stream, UTF_8.name());
+        }
+    }
+
+}
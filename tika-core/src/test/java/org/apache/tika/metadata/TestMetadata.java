@@ -18,6 +18,7 @@ package org.apache.tika.metadata;
 
 //JDK imports
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -25,6 +26,11 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -88,6 +94,54 @@ public class TestMetadata {
         }
     }
 
+    @Test
+    public void testAddManyValues() {
+        Metadata meta = new Metadata();
+        meta.add(CONTENTTYPE, "value0");
+        String[] first = meta.getValues(CONTENTTYPE);
+        for (int i = 1; i < 100; i++) {
+            meta.add(CONTENTTYPE, "value" + i);
+            String[] values = meta.getValues(CONTENTTYPE);
+            assertEquals(i + 1, values.length);
+            assertEquals("value" + i, values[i]);
+        }
+        assertEquals("value0", meta.get(CONTENTTYPE));
+        assertTrue(meta.isMultiValued(CONTENTTYPE));
+
+        // Arrays returned earlier are not affected by later additions
+        assertEquals(1, first.length);
+        assertEquals("value0", first[0]);
+
+        // Once trimmed, the same array is returned until the next addition
+        assertTrue(meta.getValues(CONTENTTYPE) == meta.getValues(CONTENTTYPE));
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        // Serialized by the version before values were kept in spare capacity
+        Metadata old;
+        try (InputStream stream = getClass().getResourceAsStream("metadata-1.0.18.ser");
+             ObjectInputStream in = new ObjectInputStream(stream)) {
+            old = (Metadata) in.readObject();
+        }
+        assertEquals("Old", old.get("title"));
+        assertArrayEquals(new String[] { "a", "b" }, old.getValues("author"));
+        old.add("author", "c");
+        assertArrayEquals(new String[] { "a", "b", "c" }, old.getValues("author"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(old);
+        }
+        Metadata copy;
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (Metadata) in.readObject();
+        }
+        assertEquals(old, copy);
+        assertArrayEquals(new String[] { "a", "b", "c" }, copy.getValues("author"));
+    }
+
     /** Test for the <code>set(String, String)</code> method. */
     @Test
     public void testSet() {
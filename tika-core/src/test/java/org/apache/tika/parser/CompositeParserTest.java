@@ -153,4 +153,65 @@ public class CompositeParserTest {
        assertEquals("True", metadata.get("BMP"));
        assertEquals("True", metadata.get("Alias"));
     }
+
+    @Test
+    @SuppressWarnings({"serial", "unchecked"})
+    public void testDispatchTableRebuiltOnChange() throws Exception {
+        final Set<MediaType>[] supported = new Set[] {
+                Collections.singleton(MediaType.TEXT_PLAIN) };
+        final Parser parser = new EmptyParser() {
+            public Set<MediaType> getSupportedTypes(ParseContext context) {
+                return supported[0];
+            }
+        };
+        final int[] generation = new int[1];
+        final int[] builds = new int[1];
+        CompositeParser composite = new CompositeParser(
+                MediaTypeRegistry.getDefaultRegistry(), parser) {
+            protected List<Parser> getDispatchParsers() {
+                builds[0]++;
+                return super.getDispatchParsers();
+            }
+            protected int getDispatchGeneration() {
+                return generation[0];
+            }
+        };
+        Parser fallback = composite.getFallback();
+
+        // text/html resolves through its text/plain supertype
+        Metadata metadata = new Metadata();
+        metadata.set(Metadata.CONTENT_TYPE, "text/html; charset=UTF-8");
+        ParseContext context = new ParseContext();
+        assertEquals(parser, composite.getParser(metadata, context));
+        assertEquals(parser, composite.getParser(metadata, context));
+        assertEquals(1, builds[0]);
+
+        // Changed supported types are not asked for on every parse...
+        supported[0] = Collections.singleton(MediaType.APPLICATION_XML);
+        assertEquals(parser, composite.getParser(metadata, context));
+        assertEquals(1, builds[0]);
+
+        // ...but are picked up once the dispatch parsers change
+        generation[0]++;
+        assertEquals(fallback, composite.getParser(metadata, context));
+        assertEquals(Collections.singleton(MediaType.APPLICATION_XML),
+                composite.getSupportedTypes(context));
+        assertEquals(2, builds[0]);
+
+        metadata.set(Metadata.CONTENT_TYPE, "application/xhtml+xml");
+        assertEquals(parser, composite.getParser(metadata, context));
+
+        // as they are when the registry is set
+        supported[0] = Collections.singleton(MediaType.image("png"));
+        composite.setMediaTypeRegistry(MediaTypeRegistry.getDefaultRegistry());
+        assertEquals(fallback, composite.getParser(metadata, context));
+        assertEquals(3, builds[0]);
+
+        // The parsers of a context are always current, and a copy that can
+        // be freely modified
+        supported[0] = Collections.singleton(MediaType.APPLICATION_XML);
+        Map<MediaType, Parser> parsers = composite.getParsers(context);
+        parsers.clear();
+        assertEquals(parser, composite.getParsers(context).get(MediaType.APPLICATION_XML));
+    }
 }
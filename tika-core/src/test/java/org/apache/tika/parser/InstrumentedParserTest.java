@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.parser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Set;
+
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.mime.MediaTypeRegistry;
+import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.XHTMLContentHandler;
+import org.junit.Test;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+public class InstrumentedParserTest {
+
+    private static final MediaType OUTER = MediaType.application("x-outer");
+    private static final MediaType BROKEN = MediaType.application("x-broken");
+
+    @Test
+    public void testLeafParsers() throws Exception {
+        ParseStatisticsRegistry registry = new ParseStatisticsRegistry();
+        Parser dummy = new DummyParser(Collections.singleton(MediaType.TEXT_PLAIN),
+                Collections.<String, String>emptyMap(), "hello");
+        Parser parser = new CompositeParser(MediaTypeRegistry.getDefaultRegistry(),
+                dummy, new OuterParser(), new BrokenParser());
+        ParseContext context = new ParseContext();
+        context.set(ParseStatisticsRegistry.class, registry);
+        context.set(Parser.class, parser);
+
+        parse(parser, "text/plain", context);
+        parse(parser, "text/plain; charset=UTF-8", context);
+        ParseStatistics dummyStats = registry.getParserStatistics(DummyParser.class.getName());
+        assertEquals(2, dummyStats.getCount());
+        assertEquals(0, dummyStats.getExceptions());
+        assertTrue(dummyStats.getCharactersEmitted() >= 2 * "hello".length());
+        assertEquals(2, registry.getTypeStatistics(MediaType.TEXT_PLAIN).getCount());
+        //the composite itself isn't recorded
+        assertEquals(1, registry.getParserStatistics().size());
+
+        //the embedded document is parsed and counted separately
+        parse(parser, OUTER.toString(), context);
+        ParseStatistics outerStats = registry.getParserStatistics(OuterParser.class.getName());
+        assertEquals(1, outerStats.getCount());
+        assertEquals(1, outerStats.getEmbeddedDocuments());
+        assertEquals("outer".length(), outerStats.getCharactersEmitted());
+        assertEquals("abc".length(), outerStats.getBytesRead());
+        assertEquals(3, dummyStats.getCount());
+
+        try {
+            parse(parser, BROKEN.toString(), context);
+            fail("should have thrown");
+        } catch (TikaException e) {
+            //expected
+        }
+        assertEquals(1, registry.getParserStatistics(BrokenParser.class.getName()).getExceptions());
+        assertEquals(1, registry.getTypeStatistics(BROKEN).getExceptions());
+
+        long[] histogram = dummyStats.getLatencyHistogram();
+        long total = 0;
+        for (long c : histogram) {
+            total += c;
+        }
+        assertEquals(3, total);
+        assertTrue(dummyStats.getLatencyMillisAtPercentile(50) >= 0);
+    }
+
+    @Test
+    public void testAutoDetectParserInstallsRegistry() throws Exception {
+        ParseStatisticsRegistry registry = new ParseStatisticsRegistry();
+        AutoDetectParser parser = new AutoDetectParser(new DummyParser(
+                Collections.singleton(MediaType.TEXT_PLAIN),
+                Collections.<String, String>emptyMap(), "hello"));
+        parser.setParseStatistics(registry);
+        parse(parser, "text/plain", new ParseContext());
+        assertEquals(1, registry.getTypeStatistics(MediaType.TEXT_PLAIN).getCount());
+    }
+
+    @Test
+    public void testJMX() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        ParseStatisticsRegistry registry = new JMXParseStatisticsRegistry(server);
+        registry.getTypeStatistics(MediaType.TEXT_PLAIN).record(2000000, 10, 20, 0, false);
+        ObjectName name = new ObjectName(
+                "org.apache.tika:type=ParseStatistics,mediaType=" + ObjectName.quote("text/plain"));
+        assertEquals(1L, server.getAttribute(name, "Count"));
+        assertEquals(10L, server.getAttribute(name, "BytesRead"));
+        assertEquals(2L, server.getAttribute(name, "TotalMillis"));
+    }
+
+    private static void parse(Parser parser, String type, ParseContext context) throws Exception {
+        Metadata metadata = new Metadata();
+        metadata.set(Metadata.CONTENT_TYPE, type);
+        parser.parse(new ByteArrayInputStream("abc".getBytes(UTF_8)),
+                new BodyContentHandler(), metadata, context);
+    }
+
+    private static class OuterParser extends AbstractParser {
+        @Override
+        public Set<MediaType> getSupportedTypes(ParseContext context) {
+            return Collections.singleton(OUTER);
+        }
+
+        @Override
+        public void parse(InputStream stream, ContentHandler handler,
+                          Metadata metadata, ParseContext context)
+                throws IOException, SAXException, TikaException {
+            while (stream.read() != -1) {
+                //read the whole document
+            }
+            XHTMLContentHandler xhtml = new XHTMLContentHandler(handler, metadata);
+            xhtml.startDocument();
+            Metadata embedded = new Metadata();
+            embedded.set(Metadata.CONTENT_TYPE, "text/plain");
+            context.get(Parser.class).parse(new ByteArrayInputStream("abc".getBytes(UTF_8)),
+                    new BodyContentHandler(xhtml), embedded, context);
+            handler.characters("outer".toCharArray(), 0, 5);
+            xhtml.endDocument();
+        }
+    }
+
+    private static class BrokenParser extends AbstractParser {
+        @Override
+        public Set<MediaType> getSupportedTypes(ParseContext context) {
+            return Collections.singleton(BROKEN);
+        }
+
+        @Override
+        public void parse(InputStream stream, ContentHandler handler,
+                          Metadata metadata, ParseContext context) throws TikaException {
+            throw new TikaException("broken");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.parser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+
+import org.junit.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+public class SAXParserPoolTest {
+
+    @Test
+    public void testReuse() throws Exception {
+        SAXParserPool pool = new SAXParserPool(2);
+        SAXParser parser = pool.acquire();
+        pool.release(parser);
+        assertEquals(1, pool.getIdleCount());
+        assertSame(parser, pool.acquire());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void testBounded() throws Exception {
+        SAXParserPool pool = new SAXParserPool(1);
+        SAXParser a = pool.acquire();
+        SAXParser b = pool.acquire();
+        assertNotSame(a, b);
+        pool.release(a);
+        pool.release(b);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void testForeignParserRejected() throws Exception {
+        SAXParserPool pool = new SAXParserPool(2);
+        pool.release(SAXParserFactory.newInstance().newSAXParser());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void testXMLReader() throws Exception {
+        SAXParserPool pool = new SAXParserPool(2);
+        XMLReader reader = pool.acquireXMLReader();
+        pool.releaseXMLReader(reader);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void testParseContext() throws Exception {
+        SAXParserPool pool = new SAXParserPool(2);
+        ParseContext context = new ParseContext();
+        context.set(SAXParserPool.class, pool);
+
+        final StringBuilder names = new StringBuilder();
+        DefaultHandler handler = new DefaultHandler() {
+            @Override
+            public void startElement(
+                    String uri, String localName, String qName, Attributes atts) {
+                names.append(localName);
+            }
+        };
+        for (int i = 0; i < 3; i++) {
+            context.parseSAX(new ByteArrayInputStream(
+                    "<a><b/></a>".getBytes(UTF_8)), handler);
+        }
+        assertEquals("ababab", names.toString());
+        assertEquals(1, pool.getIdleCount());
+
+        // parsers from a custom factory are never pooled
+        context.set(SAXParserFactory.class, SAXParserFactory.newInstance());
+        context.releaseSAXParser(context.getSAXParser());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+}
@@ -77,6 +77,43 @@ public class SerializerTest {
                 new ToHTMLContentHandler());
     }
 
+    @Test
+    public void testToXMLContentHandlerNamespaces() throws Exception {
+        ContentHandler handler = new ToXMLContentHandler();
+        handler.startPrefixMapping("", "urn:a");
+        handler.startElement("urn:a", "doc", "doc", new AttributesImpl());
+        handler.startPrefixMapping("b", "urn:b");
+        handler.startElement("urn:b", "x", "b:x", new AttributesImpl());
+        handler.endElement("urn:b", "x", "b:x");
+        // the prefix is out of scope again, so it must be redeclared
+        handler.startPrefixMapping("b", "urn:b");
+        // the default namespace is still in scope
+        handler.startPrefixMapping("", "urn:a");
+        handler.startElement("urn:b", "y", "b:y", new AttributesImpl());
+        handler.endElement("urn:b", "y", "b:y");
+        handler.endElement("urn:a", "doc", "doc");
+        assertEquals(
+                "<doc xmlns=\"urn:a\"><b:x xmlns:b=\"urn:b\" />"
+                + "<b:y xmlns:b=\"urn:b\" /></doc>",
+                handler.toString());
+    }
+
+    @Test
+    public void testToXMLContentHandlerLongText() throws Exception {
+        StringBuilder text = new StringBuilder();
+        StringBuilder expected = new StringBuilder("<p>");
+        for (int i = 0; i < 10000; i++) {
+            text.append(i % 100 == 0 ? '<' : 'x');
+            expected.append(i % 100 == 0 ? "&lt;" : "x");
+        }
+        expected.append("</p>");
+        ContentHandler handler = new ToXMLContentHandler();
+        handler.startElement("", "p", "p", new AttributesImpl());
+        handler.characters(text.toString().toCharArray(), 0, text.length());
+        handler.endElement("", "p", "p");
+        assertEquals(expected.toString(), handler.toString());
+    }
+
     private void assertStartDocument(String expected, ContentHandler handler)
             throws Exception {
         handler.startDocument();
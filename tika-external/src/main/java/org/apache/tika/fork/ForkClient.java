@@ -51,12 +51,36 @@ class ForkClient {
 
     private final InputStream error;
 
+    /** Whether the bootstrap jar is owned, and thus deleted, by this client */
+    private final boolean ownsJar;
+
+    /** Milliseconds it took for the forked server to become ready */
+    private final long startupMillis;
+
+    /** Number of calls completed by the forked server */
+    private volatile int callCount = 0;
+
     public ForkClient(ClassLoader loader, Object object, List<String> java, long serverPulseMillis)
             throws IOException, TikaException {
+        this(loader, object, java, serverPulseMillis, null);
+    }
+
+    /**
+     * Starts a forked server process. If a bootstrap jar is given, it
+     * is shared with other clients and left in place when this client
+     * is closed. Otherwise a private bootstrap jar is created and
+     * removed again when the client is closed.
+     */
+    public ForkClient(
+            ClassLoader loader, Object object, List<String> java,
+            long serverPulseMillis, File bootstrapJar)
+            throws IOException, TikaException {
+        long start = System.currentTimeMillis();
         boolean ok = false;
         try {
             this.loader = loader;
-            this.jar = createBootstrapJar();
+            this.ownsJar = bootstrapJar == null;
+            this.jar = ownsJar ? createBootstrapJar() : bootstrapJar;
 
             ProcessBuilder builder = new ProcessBuilder();
             List<String> command = new ArrayList<String>();
@@ -76,6 +100,7 @@ class ForkClient {
             sendObject(loader, resources);
             sendObject(object, resources);
 
+            this.startupMillis = System.currentTimeMillis() - start;
             ok = true;
         } finally {
             if (!ok) {
@@ -114,6 +139,38 @@ class ForkClient {
         }
     }
 
+    /**
+     * Asks the forked server how much heap memory it currently uses.
+     * If the server does not respond as expected, the pipe to it is broken
+     * or out of step, so the client is closed and can not be used again.
+     *
+     * @return used heap in bytes, or -1 if the server did not respond
+     */
+    public synchronized long getUsedMemory() {
+        try {
+            output.writeByte(ForkServer.MEMORY);
+            output.flush();
+            consumeErrorStream();
+            if (input.read() == ForkServer.MEMORY) {
+                long used = input.readLong();
+                consumeErrorStream();
+                return used;
+            }
+        } catch (IOException e) {
+            // fall through and close the broken client
+        }
+        close();
+        return -1;
+    }
+
+    public int getCallCount() {
+        return callCount;
+    }
+
+    public long getStartupMillis() {
+        return startupMillis;
+    }
+
 
     public synchronized Throwable call(String method, Object... args)
             throws IOException, TikaException {
@@ -123,7 +180,9 @@ class ForkClient {
         for (int i = 0; i < args.length; i++) {
             sendObject(args[i], r);
         }
-        return waitForResponse(r);
+        Throwable t = waitForResponse(r);
+        callCount++;
+        return t;
     }
 
     /**
@@ -182,7 +241,7 @@ class ForkClient {
 
             }
         }
-        if (jar != null) {
+        if (jar != null && ownsJar) {
             jar.delete();
         }
     }
@@ -242,7 +301,7 @@ class ForkClient {
      * @return the created jar file
      * @throws IOException if the bootstrap archive could not be created
      */
-    private static File createBootstrapJar() throws IOException {
+    static File createBootstrapJar() throws IOException {
         File file = File.createTempFile("apache-tika-fork-", ".jar");
         boolean ok = false;
         try {
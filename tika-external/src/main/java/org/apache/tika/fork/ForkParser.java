@@ -16,11 +16,13 @@
  */
 package org.apache.tika.fork;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
@@ -52,13 +54,46 @@ public class ForkParser extends AbstractParser {
     /** Process pool size */
     private int poolSize = 5;
 
+    /** Number of idle processes kept alive */
+    private int minPoolSize = 0;
+
+    /** Maximum number of parses per process, or -1 for no limit */
+    private int maxFilesProcessedPerClient = -1;
+
+    /** Maximum heap use (in bytes) of an idle process, or -1 for no limit */
+    private long maxClientMemory = -1;
+
+    /**
+     * Number of processes that are in use or being started. Processes are
+     * started, pinged and closed outside the monitor, so a slow process
+     * startup does not block threads that are returning another process.
+     */
     private int currentlyInUse = 0;
 
     private final Queue<ForkClient> pool =
         new LinkedList<ForkClient>();
 
+    /** All live processes, both idle and in use */
+    private final Set<ForkClient> clients =
+        Collections.newSetFromMap(new IdentityHashMap<ForkClient, Boolean>());
+
+    /** Bootstrap jar shared by all processes, created when first needed */
+    private File bootstrapJar;
+
+    private long clientsStarted = 0;
+
+    private long clientsRetired = 0;
+
     private long serverPulseMillis = 5000;
 
+    /**
+     * Pings idle processes so that they do not exit, and replaces the ones
+     * that did, while {@link #getMinPoolSize()} is above zero
+     */
+    private transient Thread keepAlive;
+
+    private boolean closed = false;
+
     /**
      * @param loader The ClassLoader to use 
      * @param parser the parser to delegate to. This one cannot be another ForkParser
@@ -97,6 +132,83 @@ public class ForkParser extends AbstractParser {
         this.poolSize = poolSize;
     }
 
+    /**
+     * Returns the number of processes that are kept alive while idle.
+     *
+     * @return minimum process pool size
+     * @since Apache Tika 1.0.18
+     */
+    public synchronized int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    /**
+     * Sets the number of processes that are kept alive while idle. Once
+     * {@link #warmUp()} or the first parsing request has been made, a
+     * background thread pings this many idle processes twice per server
+     * pulse, so that they do not shut down, and starts new ones when there
+     * are fewer, until {@link #close()} is called. The pool grows beyond
+     * this on demand, up to {@link #getPoolSize()} processes, and shrinks
+     * back to it as the other idle processes shut down after the server
+     * pulse. The default is zero.
+     *
+     * @param minPoolSize minimum process pool size
+     * @since Apache Tika 1.0.18
+     */
+    public synchronized void setMinPoolSize(int minPoolSize) {
+        this.minPoolSize = minPoolSize;
+    }
+
+    /**
+     * Returns the number of parsing requests after which a process
+     * is replaced with a fresh one.
+     *
+     * @return maximum number of parses per process, or -1 for no limit
+     * @since Apache Tika 1.0.18
+     */
+    public synchronized int getMaxFilesProcessedPerClient() {
+        return maxFilesProcessedPerClient;
+    }
+
+    /**
+     * Sets the number of parsing requests after which a process is
+     * replaced with a fresh one. Recycling processes this way bounds the
+     * impact of slow leaks in parser libraries. The default is -1, which
+     * keeps a process for as long as it stays healthy.
+     *
+     * @param maxFilesProcessedPerClient maximum number of parses per
+     *                                   process, or -1 for no limit
+     * @since Apache Tika 1.0.18
+     */
+    public synchronized void setMaxFilesProcessedPerClient(
+            int maxFilesProcessedPerClient) {
+        this.maxFilesProcessedPerClient = maxFilesProcessedPerClient;
+    }
+
+    /**
+     * Returns the heap use above which a process is replaced once it has
+     * finished a parsing request.
+     *
+     * @return maximum heap use in bytes, or -1 for no limit
+     * @since Apache Tika 1.0.18
+     */
+    public synchronized long getMaxClientMemory() {
+        return maxClientMemory;
+    }
+
+    /**
+     * Sets the heap use above which a process is replaced once it has
+     * finished a parsing request. When set, every returned process is
+     * asked for its heap use, which costs one extra round trip per parse.
+     * The default is -1, which disables the check.
+     *
+     * @param maxClientMemory maximum heap use in bytes, or -1 for no limit
+     * @since Apache Tika 1.0.18
+     */
+    public synchronized void setMaxClientMemory(long maxClientMemory) {
+        this.maxClientMemory = maxClientMemory;
+    }
+
     /**
      * Returns the command used to start the forked server process.
      *
@@ -200,34 +312,206 @@ public class ForkParser extends AbstractParser {
         }
     }
 
-    public synchronized void close() {
-        for (ForkClient client : pool) {
-            client.close();
+    /**
+     * Starts processes until the pool holds at least
+     * {@link #getMinPoolSize()} of them, so that the first parsing
+     * requests do not pay for the process startup, and keeps them alive
+     * from then on.
+     *
+     * @throws IOException if a process could not be started
+     * @throws TikaException if a process could not be started, or if
+     *                       this parser has been closed
+     * @since Apache Tika 1.0.18
+     */
+    public void warmUp() throws IOException, TikaException {
+        startKeepAlive();
+        fill();
+    }
+
+    /**
+     * Starts processes until the pool holds {@link #getMinPoolSize()}.
+     */
+    private void fill() throws IOException, TikaException {
+        int count;
+        synchronized (this) {
+            if (closed) {
+                throw new TikaException("ForkParser has been closed");
+            }
+            count = Math.min(minPoolSize, poolSize)
+                    - pool.size() - currentlyInUse;
+            if (count <= 0) {
+                return;
+            }
+            currentlyInUse += count;
+        }
+
+        List<ForkClient> started = new ArrayList<ForkClient>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                started.add(newClient());
+            }
+        } finally {
+            synchronized (this) {
+                currentlyInUse -= count;
+                pool.addAll(started);
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns statistics of all the live processes in the pool.
+     *
+     * @return process statistics
+     * @since Apache Tika 1.0.18
+     */
+    public synchronized List<ClientStatistics> getClientStatistics() {
+        List<ClientStatistics> statistics =
+                new ArrayList<ClientStatistics>(clients.size());
+        for (ForkClient client : clients) {
+            statistics.add(new ClientStatistics(
+                    client.getCallCount(), client.getStartupMillis(),
+                    !pool.contains(client)));
         }
-        pool.clear();
-        poolSize = 0;
+        return statistics;
     }
 
-    private synchronized ForkClient acquireClient()
-            throws IOException, TikaException {
+    /**
+     * Returns the number of processes started so far.
+     *
+     * @return number of started processes
+     * @since Apache Tika 1.0.18
+     */
+    public synchronized long getClientsStarted() {
+        return clientsStarted;
+    }
+
+    /**
+     * Returns the number of processes that have been closed because they
+     * crashed, timed out, or were recycled.
+     *
+     * @return number of retired processes
+     * @since Apache Tika 1.0.18
+     */
+    public synchronized long getClientsRetired() {
+        return clientsRetired;
+    }
+
+    /**
+     * Starts the thread that keeps {@link #getMinPoolSize()} idle processes
+     * alive, unless it is already running or not needed.
+     */
+    private synchronized void startKeepAlive() {
+        if (keepAlive != null || closed || minPoolSize <= 0) {
+            return;
+        }
+        keepAlive = new Thread("ForkParser keep-alive") {
+            @Override
+            public void run() {
+                try {
+                    keepAlive();
+                } catch (InterruptedException e) {
+                    // closed
+                }
+            }
+        };
+        keepAlive.setDaemon(true);
+        keepAlive.start();
+    }
+
+    private void keepAlive() throws InterruptedException {
         while (true) {
-            ForkClient client = pool.poll();
+            // The server exits when it sees no activity during a whole pulse
+            Thread.sleep(Math.max(1, serverPulseMillis / 2));
 
-            // Create a new process if there's room in the pool
-            if (client == null && currentlyInUse < poolSize) {
-                client = new ForkClient(loader, parser, java, serverPulseMillis);
+            List<ForkClient> idle = new ArrayList<ForkClient>();
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                while (idle.size() < minPoolSize && !pool.isEmpty()) {
+                    idle.add(pool.poll());
+                }
+                currentlyInUse += idle.size();
+            }
+            List<ForkClient> alive = new ArrayList<ForkClient>(idle.size());
+            for (ForkClient client : idle) {
+                if (client.ping()) {
+                    alive.add(client);
+                } else {
+                    retire(client);
+                }
+            }
+            synchronized (this) {
+                currentlyInUse -= idle.size();
+                if (!closed) {
+                    pool.addAll(alive);
+                    alive.clear();
+                }
+                notifyAll();
+            }
+            for (ForkClient client : alive) {
+                retire(client);
             }
 
-            // Ping the process, and get rid of it if it's inactive
-            if (client != null && !client.ping()) {
-                client.close();
-                client = null;
+            try {
+                fill();
+            } catch (IOException e) {
+                // tried again after the next pulse
+            } catch (TikaException e) {
+                // closed, or tried again after the next pulse
             }
+        }
+    }
+
+    /**
+     * Closes the idle processes and deletes the bootstrap jar. Processes
+     * that are in use are closed when their parse is done. No new parses
+     * are accepted after this.
+     */
+    public void close() {
+        List<ForkClient> idle;
+        File jar;
+        Thread thread;
+        synchronized (this) {
+            closed = true;
+            idle = new ArrayList<ForkClient>(pool);
+            pool.clear();
+            poolSize = 0;
+            jar = bootstrapJar;
+            bootstrapJar = null;
+            thread = keepAlive;
+            keepAlive = null;
+            notifyAll();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+        for (ForkClient client : idle) {
+            retire(client);
+        }
+        if (jar != null && !jar.delete()) {
+            // Still held open by a process that is in use
+            jar.deleteOnExit();
+        }
+    }
 
-            if (client != null) {
-                currentlyInUse++;
-                return client;
-            } else if (currentlyInUse >= poolSize) {
+    private ForkClient acquireClient()
+            throws IOException, TikaException {
+        startKeepAlive();
+        ForkClient client;
+        synchronized (this) {
+            while (true) {
+                if (closed) {
+                    throw new TikaException("ForkParser has been closed");
+                }
+                client = pool.poll();
+                if (client != null || currentlyInUse < poolSize) {
+                    // Reserve the slot, the process is checked or started
+                    // below without holding the monitor
+                    currentlyInUse++;
+                    break;
+                }
                 try {
                     wait();
                 } catch (InterruptedException e) {
@@ -236,15 +520,84 @@ public class ForkParser extends AbstractParser {
                 }
             }
         }
+
+        boolean ok = false;
+        try {
+            // Ping the process, and replace it if it's inactive
+            if (client != null && !client.ping()) {
+                retire(client);
+                client = null;
+            }
+            if (client == null) {
+                client = newClient();
+            }
+            ok = true;
+            return client;
+        } finally {
+            if (!ok) {
+                synchronized (this) {
+                    currentlyInUse--;
+                    notifyAll();
+                }
+            }
+        }
     }
 
-    private synchronized void releaseClient(ForkClient client, boolean alive) {
-        currentlyInUse--;
-        if (currentlyInUse + pool.size() < poolSize && alive) {
-            pool.offer(client);
+    private void releaseClient(ForkClient client, boolean alive) {
+        int maxFiles;
+        long maxMemory;
+        synchronized (this) {
+            maxFiles = maxFilesProcessedPerClient;
+            maxMemory = maxClientMemory;
+        }
+        if (alive && maxFiles > 0 && client.getCallCount() >= maxFiles) {
+            alive = false;
+        }
+        if (alive && maxMemory > 0) {
+            long used = client.getUsedMemory();
+            alive = used >= 0 && used <= maxMemory;
+        }
+
+        synchronized (this) {
+            currentlyInUse--;
+            if (alive && currentlyInUse + pool.size() < poolSize) {
+                pool.offer(client);
+                client = null;
+            }
             notifyAll();
-        } else {
-            client.close();
+        }
+        if (client != null) {
+            retire(client);
+        }
+    }
+
+    private ForkClient newClient() throws IOException, TikaException {
+        File jar;
+        synchronized (this) {
+            if (closed) {
+                // close() has deleted the jar, and would not delete a new one
+                throw new TikaException("ForkParser has been closed");
+            }
+            if (bootstrapJar == null) {
+                bootstrapJar = ForkClient.createBootstrapJar();
+            }
+            jar = bootstrapJar;
+        }
+        ForkClient client = new ForkClient(
+                loader, parser, java, serverPulseMillis, jar);
+        synchronized (this) {
+            clients.add(client);
+            clientsStarted++;
+        }
+        return client;
+    }
+
+    private void retire(ForkClient client) {
+        client.close();
+        synchronized (this) {
+            if (clients.remove(client)) {
+                clientsRetired++;
+            }
         }
     }
 
@@ -260,4 +613,52 @@ public class ForkParser extends AbstractParser {
         this.serverPulseMillis = serverPulseMillis;
     }
 
+    /**
+     * Statistics of a single forked server process.
+     *
+     * @since Apache Tika 1.0.18
+     */
+    public static class ClientStatistics {
+
+        private final int filesProcessed;
+
+        private final long startupMillis;
+
+        private final boolean inUse;
+
+        ClientStatistics(int filesProcessed, long startupMillis, boolean inUse) {
+            this.filesProcessed = filesProcessed;
+            this.startupMillis = startupMillis;
+            this.inUse = inUse;
+        }
+
+        /**
+         * @return number of parsing requests served by the process
+         */
+        public int getFilesProcessed() {
+            return filesProcessed;
+        }
+
+        /**
+         * @return milliseconds it took for the process to become ready
+         */
+        public long getStartupMillis() {
+            return startupMillis;
+        }
+
+        /**
+         * @return whether the process is currently serving a request
+         */
+        public boolean isInUse() {
+            return inUse;
+        }
+
+        @Override
+        public String toString() {
+            return "files=" + filesProcessed + ", startup="
+                    + startupMillis + "ms, inUse=" + inUse;
+        }
+
+    }
+
 }
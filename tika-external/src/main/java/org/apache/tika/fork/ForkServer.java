@@ -46,6 +46,8 @@ class ForkServer implements Runnable, Checksum {
 
     public static final byte READY = 4;
 
+    public static final byte MEMORY = 5;
+
     //milliseconds to sleep before checking to see if there has been any reading/writing
     //If no reading or writing in this time, shutdown the server.
     private long serverPulseMillis = 5000;
@@ -128,6 +130,11 @@ class ForkServer implements Runnable, Checksum {
                     break;
                 } else if (request == PING) {
                     output.writeByte(PING);
+                } else if (request == MEMORY) {
+                    Runtime runtime = Runtime.getRuntime();
+                    output.writeByte(MEMORY);
+                    output.writeLong(
+                            runtime.totalMemory() - runtime.freeMemory());
                 } else if (request == CALL) {
                     call(loader, object);
                 } else {
@@ -0,0 +1,494 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.parser.ocr;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.io.TemporaryResources;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.ContentHandlerDecorator;
+import org.apache.tika.sax.EmbeddedContentHandler;
+import org.apache.tika.sax.XHTMLContentHandler;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.LocatorImpl;
+
+/**
+ * Holds back the OCR of the images embedded in a document, so that they
+ * can be passed to a single tesseract process using its file list input.
+ * Installed by {@link TesseractBatchingParser} as the content handler of
+ * the document being parsed.
+ * <p>
+ * Once an image has been held back, the SAX events that follow it are
+ * recorded instead of being passed on. When
+ * {@link TesseractOCRConfig#getBatchSize()} images are waiting, when the
+ * first of them has waited for more than
+ * {@link TesseractOCRConfig#getBatchTimeout()} milliseconds, or when the
+ * document ends, tesseract is run on all of them and the recorded events
+ * are replayed, with the text of every image in the place of that image.
+ * <p>
+ * Tesseract ends the text of every page with a form feed, which is used
+ * to split the combined output back up per image. If the combined run
+ * fails, or its output can not be split up unambiguously, the images are
+ * OCR'd one at a time instead, so that a failure only loses the text of
+ * the image that caused it.
+ */
+class TesseractBatcher extends ContentHandlerDecorator {
+
+    private static final Log LOG = LogFactory.getLog(TesseractBatcher.class);
+
+    /**
+     * A recorded SAX event.
+     */
+    private abstract static class Event {
+
+        abstract void replay(ContentHandler handler) throws SAXException;
+
+    }
+
+    /**
+     * An image waiting to be OCR'd, replayed as its text.
+     */
+    private static class Image extends Event {
+
+        private final TesseractOCRParser parser;
+
+        private final File file;
+
+        private final ParseContext context;
+
+        private final TesseractOCRConfig config;
+
+        /**
+         * Tesseract output, or <code>null</code> if the image could not be OCR'd.
+         */
+        private File output;
+
+        Image(TesseractOCRParser parser, File file, ParseContext context, TesseractOCRConfig config) {
+            this.parser = parser;
+            this.file = file;
+            this.context = context;
+            this.config = config;
+        }
+
+        @Override
+        void replay(ContentHandler handler) throws SAXException {
+            if (output == null) {
+                return;
+            }
+            // the same handlers the image would have been parsed to
+            XHTMLContentHandler xhtml = new XHTMLContentHandler(
+                    new EmbeddedContentHandler(new BodyContentHandler(handler)), new Metadata());
+            xhtml.startDocument();
+            try {
+                parser.extractOCROutput(output, xhtml, context, config);
+            } catch (IOException|TikaException e) {
+                throw new SAXException("Unable to write the OCR output", e);
+            }
+            xhtml.endDocument();
+        }
+
+    }
+
+    private final ContentHandler handler;
+
+    private List<Event> events = new ArrayList<>();
+
+    private List<Image> images = new ArrayList<>();
+
+    /**
+     * Copies of the waiting images, and their tesseract output.
+     */
+    private TemporaryResources files = new TemporaryResources();
+
+    /**
+     * When the first of the waiting images was held back, in nanoseconds.
+     */
+    private long started;
+
+    private Locator probe;
+
+    private boolean reached;
+
+    TesseractBatcher(ContentHandler handler) {
+        super(handler);
+        this.handler = handler;
+    }
+
+    /**
+     * Checks whether the SAX events sent to the given handler end up in
+     * this batcher. Only then can the text of an image be put back in its
+     * place later on.
+     */
+    boolean isReachedFrom(ContentHandler from) {
+        probe = new LocatorImpl();
+        reached = false;
+        try {
+            from.setDocumentLocator(probe);
+            return reached;
+        } finally {
+            probe = null;
+        }
+    }
+
+    /**
+     * Holds back the OCR of the given image. The image is copied, so the
+     * caller is free to delete it once this returns.
+     *
+     * @param parser parser that runs tesseract
+     * @param image image to be OCR'd
+     * @param context parse context of the image
+     * @param config TesseractOCRConfig to use for the image
+     * @throws IOException if the image could not be copied
+     * @throws SAXException if a batch was run, and its events could not be replayed
+     * @throws TikaException if the image could not be processed for OCR
+     */
+    void defer(TesseractOCRParser parser, File image, ParseContext context, TesseractOCRConfig config)
+            throws IOException, SAXException, TikaException {
+        if (!images.isEmpty() && images.get(0).config != config) {
+            flush();
+        }
+        File copy = files.createTemporaryFile();
+        FileUtils.copyFile(image, copy);
+        if (config.isEnableImageProcessing() == 1 && parser.hasImageMagick(config)) {
+            parser.processImage(copy, config);
+        }
+
+        Image event = new Image(parser, copy, context, config);
+        if (images.isEmpty()) {
+            started = System.nanoTime();
+        }
+        images.add(event);
+        events.add(event);
+        if (images.size() >= config.getBatchSize() || isOverdue()) {
+            flush();
+        }
+    }
+
+    private boolean isOverdue() {
+        long waited = System.nanoTime() - started;
+        return waited > TimeUnit.MILLISECONDS.toNanos(images.get(0).config.getBatchTimeout());
+    }
+
+    private void record(Event event) throws SAXException {
+        events.add(event);
+        if (isOverdue()) {
+            flush();
+        }
+    }
+
+    /**
+     * OCRs the waiting images, and replays the recorded events.
+     *
+     * @throws SAXException if the events could not be replayed, or the
+     *                      thread was interrupted
+     */
+    void flush() throws SAXException {
+        replay(true);
+    }
+
+    /**
+     * Replays the recorded events without the text of the waiting images,
+     * for when parsing the document failed.
+     */
+    void discard() throws SAXException {
+        replay(false);
+    }
+
+    private void replay(boolean ocr) throws SAXException {
+        if (images.isEmpty()) {
+            return;
+        }
+        List<Event> recorded = events;
+        List<Image> batch = images;
+        TemporaryResources tmp = files;
+        events = new ArrayList<>();
+        images = new ArrayList<>();
+        files = new TemporaryResources();
+        try {
+            if (ocr) {
+                ocr(batch, tmp);
+            }
+            for (Event event : recorded) {
+                event.replay(handler);
+            }
+        } finally {
+            try {
+                tmp.close();
+            } catch (IOException e) {
+                LOG.warn("Unable to delete the images of a batch", e);
+            }
+        }
+    }
+
+    /**
+     * Deletes the copies of any images that are still waiting.
+     */
+    void dispose() throws IOException {
+        events.clear();
+        images.clear();
+        files.close();
+    }
+
+    private void ocr(List<Image> batch, TemporaryResources tmp) throws SAXException {
+        if (batch.size() > 1) {
+            try {
+                if (runBatch(batch, tmp)) {
+                    return;
+                }
+            } catch (IOException|TikaException e) {
+                // run them one at a time below
+            }
+        }
+        for (Image image : batch) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new SAXException(new TikaException("TesseractOCRParser interrupted"));
+            }
+            try {
+                File output = tmp.createTemporaryFile();
+                image.parser.runTesseract(
+                        image.file, output, image.config, image.config.getTimeout());
+                File text = new File(output.getAbsolutePath() + ".txt");
+                if (text.exists()) {
+                    image.output = tmp.createTemporaryFile();
+                    Files.move(text.toPath(), image.output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException|TikaException e) {
+                LOG.warn("Unable to OCR an embedded image", e);
+            }
+        }
+    }
+
+    /**
+     * Runs a single tesseract process on all images of the batch.
+     *
+     * @return <code>false</code> if the output could not be split up per image
+     */
+    private boolean runBatch(List<Image> batch, TemporaryResources tmp)
+            throws IOException, TikaException {
+        TesseractOCRConfig config = batch.get(0).config;
+        File list = tmp.createTemporaryFile();
+        File output = tmp.createTemporaryFile();
+        File text = new File(output.getAbsolutePath() + ".txt");
+        try {
+            StringBuilder paths = new StringBuilder();
+            for (Image image : batch) {
+                paths.append(image.file.getAbsolutePath()).append('\n');
+            }
+            Files.write(list.toPath(), paths.toString().getBytes(UTF_8));
+
+            batch.get(0).parser.runTesseract(
+                    list, output, config, (long) config.getTimeout() * batch.size());
+            if (!text.exists()) {
+                return false;
+            }
+            String pages = new String(Files.readAllBytes(text.toPath()), UTF_8);
+
+            List<String> texts = new ArrayList<>(batch.size());
+            int from = 0;
+            for (int to = pages.indexOf('\f'); to != -1; to = pages.indexOf('\f', from)) {
+                texts.add(pages.substring(from, to));
+                from = to + 1;
+            }
+            if (texts.size() != batch.size() || pages.substring(from).trim().length() > 0) {
+                return false;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                File result = tmp.createTemporaryFile();
+                Files.write(result.toPath(), texts.get(i).getBytes(UTF_8));
+                batch.get(i).output = result;
+            }
+            return true;
+        } finally {
+            text.delete();
+        }
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+        if (locator != null && locator == probe) {
+            reached = true;
+        } else if (images.isEmpty()) {
+            super.setDocumentLocator(locator);
+        } else {
+            final Locator value = locator;
+            events.add(new Event() {
+                @Override
+                void replay(ContentHandler handler) {
+                    handler.setDocumentLocator(value);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+        if (images.isEmpty()) {
+            super.startDocument();
+        } else {
+            record(new Event() {
+                @Override
+                void replay(ContentHandler handler) throws SAXException {
+                    handler.startDocument();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+        flush();
+        super.endDocument();
+    }
+
+    @Override
+    public void startPrefixMapping(final String prefix, final String uri) throws SAXException {
+        if (images.isEmpty()) {
+            super.startPrefixMapping(prefix, uri);
+        } else {
+            record(new Event() {
+                @Override
+                void replay(ContentHandler handler) throws SAXException {
+                    handler.startPrefixMapping(prefix, uri);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void endPrefixMapping(final String prefix) throws SAXException {
+        if (images.isEmpty()) {
+            super.endPrefixMapping(prefix);
+        } else {
+            record(new Event() {
+                @Override
+                void replay(ContentHandler handler) throws SAXException {
+                    handler.endPrefixMapping(prefix);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void startElement(final String uri, final String localName, final String name,
+                             Attributes atts) throws SAXException {
+        if (images.isEmpty()) {
+            super.startElement(uri, localName, name, atts);
+        } else {
+            final Attributes copy = new AttributesImpl(atts);
+            record(new Event() {
+                @Override
+                void replay(ContentHandler handler) throws SAXException {
+                    handler.startElement(uri, localName, name, copy);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void endElement(final String uri, final String localName, final String name)
+            throws SAXException {
+        if (images.isEmpty()) {
+            super.endElement(uri, localName, name);
+        } else {
+            record(new Event() {
+                @Override
+                void replay(ContentHandler handler) throws SAXException {
+                    handler.endElement(uri, localName, name);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        if (images.isEmpty()) {
+            super.characters(ch, start, length);
+        } else {
+            final char[] copy = new char[length];
+            System.arraycopy(ch, start, copy, 0, length);
+            record(new Event() {
+                @Override
+                void replay(ContentHandler handler) throws SAXException {
+                    handler.characters(copy, 0, copy.length);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+        if (images.isEmpty()) {
+            super.ignorableWhitespace(ch, start, length);
+        } else {
+            final char[] copy = new char[length];
+            System.arraycopy(ch, start, copy, 0, length);
+            record(new Event() {
+                @Override
+                void replay(ContentHandler handler) throws SAXException {
+                    handler.ignorableWhitespace(copy, 0, copy.length);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void processingInstruction(final String target, final String data) throws SAXException {
+        if (images.isEmpty()) {
+            super.processingInstruction(target, data);
+        } else {
+            record(new Event() {
+                @Override
+                void replay(ContentHandler handler) throws SAXException {
+                    handler.processingInstruction(target, data);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void skippedEntity(final String name) throws SAXException {
+        if (images.isEmpty()) {
+            super.skippedEntity(name);
+        } else {
+            record(new Event() {
+                @Override
+                void replay(ContentHandler handler) throws SAXException {
+                    handler.skippedEntity(name);
+                }
+            });
+        }
+    }
+
+}
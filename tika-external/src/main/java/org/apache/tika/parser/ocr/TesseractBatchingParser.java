@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.parser.ocr;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.parser.ParserDecorator;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * Decorator that lets the {@link TesseractOCRParser} OCR the images
+ * embedded in a document in batches, with one tesseract process per
+ * batch instead of one per image. Wrap the parser that is used for the
+ * container documents, typically an AutoDetectParser:
+ * <p>
+ * TesseractOCRConfig config = new TesseractOCRConfig();<br>
+ * config.setBatchSize(50);<br>
+ * parseContext.set(TesseractOCRConfig.class, config);<br>
+ * Parser parser = new TesseractBatchingParser(new AutoDetectParser());<br>
+ * </p>
+ * The text of an image is still written in the place of the image, but
+ * everything that follows an image is held back until its batch has been
+ * OCR'd. Images are only batched if their text is written to the handler
+ * passed to this parser, and not, for example, to the separate handlers
+ * that a RecursiveParserWrapper uses for embedded documents.
+ *
+ * @see TesseractOCRConfig#setBatchSize(int)
+ * @since Apache Tika 1.0.18
+ */
+public class TesseractBatchingParser extends ParserDecorator {
+
+    private static final long serialVersionUID = 2907345138915442437L;
+
+    public TesseractBatchingParser(Parser parser) {
+        super(parser);
+    }
+
+    @Override
+    public void parse(InputStream stream, ContentHandler handler,
+                      Metadata metadata, ParseContext context)
+            throws IOException, SAXException, TikaException {
+        if (context.get(TesseractBatcher.class) != null) {
+            // an embedded document, its images join the batches of the container
+            super.parse(stream, handler, metadata, context);
+            return;
+        }
+
+        TesseractBatcher batcher = new TesseractBatcher(handler);
+        context.set(TesseractBatcher.class, batcher);
+        try {
+            super.parse(stream, batcher, metadata, context);
+            batcher.flush();
+        } catch (IOException|SAXException|TikaException|RuntimeException e) {
+            // pass on what was parsed before the failure
+            try {
+                batcher.discard();
+            } catch (SAXException|RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        } finally {
+            context.set(TesseractBatcher.class, null);
+            batcher.dispose();
+        }
+    }
+
+}
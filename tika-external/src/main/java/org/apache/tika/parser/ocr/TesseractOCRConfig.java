@@ -94,6 +94,12 @@ public class TesseractOCRConfig implements Serializable {
     // whether or not to preserve interword spacing
     private boolean preserveInterwordSpacing = false;
 
+    // Maximum number of images passed to a single tesseract process, 1 to disable batching.
+    private int batchSize = 1;
+
+    // Maximum time (milliseconds) an image waits for others to join its batch.
+    private int batchTimeout = 100;
+
 
     /**
      * Default contructor.
@@ -153,6 +159,10 @@ public class TesseractOCRConfig implements Serializable {
             setOutputType(OUTPUT_TYPE.HOCR);
         }
         setPreserveInterwordSpacing(getProp(props, "preserveInterwordSpacing", false));
+        setBatchSize(
+                getProp(props, "batchSize", getBatchSize()));
+        setBatchTimeout(
+                getProp(props, "batchTimeout", getBatchTimeout()));
 
         // set parameters for ImageMagick
         setEnableImageProcessing(
@@ -312,6 +322,52 @@ public class TesseractOCRConfig implements Serializable {
         return timeout;
     }
 
+    /**
+     * Set the maximum number of images that are passed to a single tesseract
+     * process. With a value above 1, the images embedded in a document parsed
+     * by a {@link TesseractBatchingParser} are held back and handed to one
+     * tesseract invocation as a list of files, so that the process startup and
+     * the loading of the language models are paid once per batch. The text is
+     * then split up again, and written in the place of each image. Only
+     * applies to the "txt" output type.
+     * Default value is 1, which disables batching.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be >= 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return maximum number of images per tesseract process
+     * @see #setBatchSize(int batchSize)
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set the maximum time (milliseconds) that an image waits for other images
+     * to fill up its batch before tesseract is started anyway. The content
+     * of the document that follows the image is held back for as long.
+     * Default value is 100ms.
+     */
+    public void setBatchTimeout(int batchTimeout) {
+        if (batchTimeout < 0) {
+            throw new IllegalArgumentException("batchTimeout must be >= 0");
+        }
+        this.batchTimeout = batchTimeout;
+    }
+
+    /**
+     * @return maximum time (milliseconds) to wait for a batch to fill up
+     * @see #setBatchTimeout(int batchTimeout)
+     */
+    public int getBatchTimeout() {
+        return batchTimeout;
+    }
+
     /**
      * Set output type from ocr process.  Default is "txt", but can be "hocr".
      * Default value is 120s.
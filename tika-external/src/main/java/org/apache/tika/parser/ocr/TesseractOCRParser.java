@@ -19,7 +19,6 @@ package org.apache.tika.parser.ocr;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import javax.imageio.ImageIO;
-import javax.xml.parsers.SAXParser;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
@@ -35,13 +34,13 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
@@ -97,7 +96,7 @@ public class TesseractOCRParser extends AbstractParser {
                     MediaType.image("x-ms-bmp"), MediaType.image("gif"), MediaType.image("jp2"),
                     MediaType.image("jpx"), MediaType.image("x-portable-pixmap")
             })));
-    private static Map<String,Boolean> TESSERACT_PRESENT = new HashMap<String, Boolean>();
+    private static Map<String,Boolean> TESSERACT_PRESENT = new ConcurrentHashMap<String, Boolean>();
 
 
 
@@ -141,7 +140,7 @@ public class TesseractOCRParser extends AbstractParser {
      
     }
     
-    private boolean hasImageMagick(TesseractOCRConfig config) {
+    boolean hasImageMagick(TesseractOCRConfig config) {
         // Fetch where the config says to find ImageMagick Program
         String ImageMagick = config.getImageMagickPath() + getImageMagickProg();
 
@@ -233,7 +232,18 @@ public class TesseractOCRParser extends AbstractParser {
 
             XHTMLContentHandler xhtml = new XHTMLContentHandler(handler, metadata);
             xhtml.startDocument();
-            parse(tikaStream, tmpOCROutputFile, parseContext, xhtml, config);
+            TesseractBatcher batcher = parseContext.get(TesseractBatcher.class);
+            if (batcher != null && config.getBatchSize() > 1
+                    && config.getOutputType().equals(TesseractOCRConfig.OUTPUT_TYPE.TXT)
+                    && batcher.isReachedFrom(xhtml)) {
+                // embedded in a document parsed by a TesseractBatchingParser,
+                // the text is written in place once the batch has been OCR'd
+                if (isSizeToOcr(tikaStream.getFile(), config)) {
+                    batcher.defer(this, tikaStream.getFile(), parseContext, config);
+                }
+            } else {
+                parse(tikaStream, tmpOCROutputFile, parseContext, xhtml, config);
+            }
             xhtml.endDocument();
         } finally {
             tmp.dispose();
@@ -297,7 +307,7 @@ public class TesseractOCRParser extends AbstractParser {
      * @throws IOException if an input error occurred
      * @throws TikaException if an exception timed out
      */
-    private void processImage(File streamingObject, TesseractOCRConfig config) throws IOException, TikaException {
+    void processImage(File streamingObject, TesseractOCRConfig config) throws IOException, TikaException {
     	
     	// fetch rotation script from resources
     	InputStream in = getClass().getResourceAsStream("rotation.py");
@@ -344,43 +354,9 @@ public class TesseractOCRParser extends AbstractParser {
             throws IOException, SAXException, TikaException {
         File tmpTxtOutput = null;
         try {
-            File input = tikaInputStream.getFile();
-            long size = tikaInputStream.getLength();
-
-            if (size >= config.getMinFileSizeToOcr() && size <= config.getMaxFileSizeToOcr()) {
-
-            	// Process image if ImageMagick Tool is present
-            	if(config.isEnableImageProcessing() == 1 && hasImageMagick(config)) {
-                    // copy the contents of the original input file into a temporary file
-                    // which will be preprocessed for OCR
-                    TemporaryResources tmp = new TemporaryResources();
-                    try {
-                        File tmpFile = tmp.createTemporaryFile();
-                        FileUtils.copyFile(input, tmpFile);
-                        processImage(tmpFile, config);
-                        doOCR(tmpFile, tmpOCROutputFile, config);
-                    } finally {
-                        if (tmp != null) {
-                            tmp.dispose();
-                        }
-                    }
-            	} else {
-                    doOCR(input, tmpOCROutputFile, config);
-                }
-
-                // Tesseract appends the output type (.txt or .hocr) to output file name
-                tmpTxtOutput = new File(tmpOCROutputFile.getAbsolutePath() + "." +
-                        config.getOutputType().toString().toLowerCase(Locale.US));
-
-                if (tmpTxtOutput.exists()) {
-                    try (InputStream is = new FileInputStream(tmpTxtOutput)) {
-                        if (config.getOutputType().equals(TesseractOCRConfig.OUTPUT_TYPE.HOCR)) {
-                            extractHOCROutput(is, parseContext, xhtml);
-                        } else {
-                            extractOutput(is, xhtml);
-                        }
-                    }
-                }
+            tmpTxtOutput = runOCR(tikaInputStream.getFile(), tmpOCROutputFile, config);
+            if (tmpTxtOutput != null) {
+                extractOCROutput(tmpTxtOutput, xhtml, parseContext, config);
             }
         } finally {
             if (tmpTxtOutput != null) {
@@ -389,6 +365,82 @@ public class TesseractOCRParser extends AbstractParser {
         }
     }
 
+    /**
+     * Runs Tesseract on the given image file without writing any content.
+     * Together with {@link #extractOCROutput(File, XHTMLContentHandler, ParseContext, TesseractOCRConfig)}
+     * this lets the expensive OCR step run on a different thread from
+     * the one that emits the SAX events, as is done for the pages of a PDF.
+     *
+     * @param image image file to be OCR'd
+     * @param output base name of the output file; Tesseract appends the
+     *               extension of the configured output type
+     * @param config TesseractOCRConfig to use
+     * @return the output file, or <code>null</code> if the image was skipped
+     *         because of its size or Tesseract produced no output. The
+     *         caller is responsible for deleting the file.
+     * @throws IOException if an input error occurred
+     * @throws TikaException if Tesseract timed out or was interrupted
+     * @since Apache Tika 1.0.18
+     */
+    public File runOCR(File image, File output, TesseractOCRConfig config)
+            throws IOException, TikaException {
+        if (!isSizeToOcr(image, config)) {
+            return null;
+        }
+
+        // Process image if ImageMagick Tool is present
+        if (config.isEnableImageProcessing() == 1 && hasImageMagick(config)) {
+            // copy the contents of the original input file into a temporary file
+            // which will be preprocessed for OCR
+            TemporaryResources tmp = new TemporaryResources();
+            try {
+                File tmpFile = tmp.createTemporaryFile();
+                FileUtils.copyFile(image, tmpFile);
+                processImage(tmpFile, config);
+                doOCR(tmpFile, output, config);
+            } finally {
+                tmp.dispose();
+            }
+        } else {
+            doOCR(image, output, config);
+        }
+
+        // Tesseract appends the output type (.txt or .hocr) to output file name
+        File tmpTxtOutput = new File(output.getAbsolutePath() + "." +
+                config.getOutputType().toString().toLowerCase(Locale.US));
+        return tmpTxtOutput.exists() ? tmpTxtOutput : null;
+    }
+
+    private static boolean isSizeToOcr(File image, TesseractOCRConfig config) {
+        long size = image.length();
+        return size >= config.getMinFileSizeToOcr() && size <= config.getMaxFileSizeToOcr();
+    }
+
+    /**
+     * Writes the output of {@link #runOCR(File, File, TesseractOCRConfig)}
+     * to the given handler as a <code>&lt;div class="ocr"&gt;</code>.
+     *
+     * @param output Tesseract output file
+     * @param xhtml handler
+     * @param parseContext parse context, used for parsing hOCR output
+     * @param config TesseractOCRConfig that the output was produced with
+     * @throws IOException if the output could not be read
+     * @throws SAXException if the XHTML SAX events could not be handled
+     * @throws TikaException if the hOCR output could not be parsed
+     * @since Apache Tika 1.0.18
+     */
+    public void extractOCROutput(File output, XHTMLContentHandler xhtml, ParseContext parseContext,
+                                 TesseractOCRConfig config)
+            throws IOException, SAXException, TikaException {
+        try (InputStream is = new FileInputStream(output)) {
+            if (config.getOutputType().equals(TesseractOCRConfig.OUTPUT_TYPE.HOCR)) {
+                extractHOCROutput(is, parseContext, xhtml);
+            } else {
+                extractOutput(is, xhtml);
+            }
+        }
+    }
+
 
     // TIKA-1445 workaround parser
     private static Parser _TMP_IMAGE_METADATA_PARSER = new CompositeImageParser();
@@ -417,6 +469,27 @@ public class TesseractOCRParser extends AbstractParser {
      *           if an input error occurred
      */
     private void doOCR(File input, File output, TesseractOCRConfig config) throws IOException, TikaException {
+        runTesseract(input, output, config, config.getTimeout());
+    }
+
+    /**
+     * Runs a single tesseract-ocr process.
+     *
+     * @param input
+     *          File to be ocred, or a text file listing the images to be ocred
+     * @param output
+     *          File to collect ocr result
+     * @param config
+     *          Configuration of tesseract-ocr engine
+     * @param timeout
+     *          Maximum time (seconds) to wait for the process to terminate
+     * @throws TikaException
+     *           if the extraction timed out
+     * @throws IOException
+     *           if an input error occurred
+     */
+    void runTesseract(File input, File output, TesseractOCRConfig config, long timeout)
+            throws IOException, TikaException {
 
         String[] cmd = { config.getTesseractPath() + getTesseractProg(), input.getPath(), output.getPath(), "-l",
                 config.getLanguage(), "-psm", config.getPageSegMode(),
@@ -444,7 +517,7 @@ public class TesseractOCRParser extends AbstractParser {
         waitThread.start();
 
         try {
-            waitTask.get(config.getTimeout(), TimeUnit.SECONDS);
+            waitTask.get(timeout, TimeUnit.SECONDS);
 
         } catch (InterruptedException e) {
             waitThread.interrupt();
@@ -495,9 +568,8 @@ public class TesseractOCRParser extends AbstractParser {
         if (parseContext == null) {
             parseContext = new ParseContext();
         }
-        SAXParser parser = parseContext.getSAXParser();
         xhtml.startElement("div", "class", "ocr");
-        parser.parse(is, new OfflineContentHandler(new HOCRPassThroughHandler(xhtml)));
+        parseContext.parseSAX(is, new OfflineContentHandler(new HOCRPassThroughHandler(xhtml)));
         xhtml.endElement("div");
     }
 
@@ -19,15 +19,11 @@ package org.apache.tika.parser.pdf;
 import static org.apache.tika.parser.pdf.PDFParserConfig.OCR_STRATEGY.NO_OCR;
 
 import javax.xml.stream.XMLStreamException;
-import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -74,12 +70,10 @@ import org.apache.pdfbox.pdmodel.interactive.form.PDField;
 import org.apache.pdfbox.pdmodel.interactive.form.PDNonTerminalField;
 import org.apache.pdfbox.pdmodel.interactive.form.PDSignatureField;
 import org.apache.pdfbox.pdmodel.interactive.form.PDXFAResource;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.extractor.EmbeddedDocumentExtractor;
 import org.apache.tika.extractor.EmbeddedDocumentUtil;
-import org.apache.tika.io.TemporaryResources;
 import org.apache.tika.io.TikaInputStream;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.metadata.PDF;
@@ -147,6 +141,8 @@ class AbstractPDF2XHTML extends PDFTextStripper {
 
     private int pageIndex = 0;
 
+    private PageOCR pageOCR;
+
     AbstractPDF2XHTML(PDDocument pdDocument, ContentHandler handler, ParseContext context, Metadata metadata,
                       PDFParserConfig config) throws IOException {
         this.pdDocument = pdDocument;
@@ -311,34 +307,34 @@ class AbstractPDF2XHTML extends PDFTextStripper {
         if (config.getOcrStrategy().equals(NO_OCR)) {
             return;
         }
-        TesseractOCRConfig tesseractConfig =
-                context.get(TesseractOCRConfig.class, DEFAULT_TESSERACT_CONFIG);
+        if (pageOCR == null) {
+            TesseractOCRConfig tesseractConfig =
+                    context.get(TesseractOCRConfig.class, DEFAULT_TESSERACT_CONFIG);
 
-        TesseractOCRParser tesseractOCRParser = new TesseractOCRParser();
-        if (! tesseractOCRParser.hasTesseract(tesseractConfig)) {
-            throw new TikaException("Tesseract is not available. "+
-                    "Please set the OCR_STRATEGY to NO_OCR or configure Tesseract correctly");
+            TesseractOCRParser tesseractOCRParser = new TesseractOCRParser();
+            if (! tesseractOCRParser.hasTesseract(tesseractConfig)) {
+                throw new TikaException("Tesseract is not available. "+
+                        "Please set the OCR_STRATEGY to NO_OCR or configure Tesseract correctly");
+            }
+            pageOCR = new PageOCR(pdDocument, config, tesseractOCRParser, tesseractConfig, context);
         }
 
-        PDFRenderer renderer = new PDFRenderer(pdDocument);
-        TemporaryResources tmp = new TemporaryResources();
         try {
-            BufferedImage image = renderer.renderImage(pageIndex, 2.0f, config.getOcrImageType());
-            Path tmpFile = tmp.createTempFile();
-            try (OutputStream os = Files.newOutputStream(tmpFile)) {
-                //TODO: get output format from TesseractConfig
-                /*ImageIOUtil.writeImage(image, config.getOcrImageFormatName(),
-                        os, config.getOcrDPI());*/
-            }
-            try (InputStream is = TikaInputStream.get(tmpFile)) {
-                tesseractOCRParser.parseInline(is, xhtml, tesseractConfig);
-            }
+            pageOCR.writePage(pageIndex, xhtml);
         } catch (IOException e) {
             handleCatchableIOE(e);
         } catch (SAXException e) {
             throw new IOExceptionWithCause("error writing OCR content from PDF", e);
-        } finally {
-            tmp.dispose();
+        }
+    }
+
+    /**
+     * Stops any OCR still running for pages that have not been reached.
+     */
+    void closeOCR() {
+        if (pageOCR != null) {
+            pageOCR.close();
+            pageOCR = null;
         }
     }
 
@@ -84,6 +84,10 @@ class OCR2XHTML extends AbstractPDF2XHTML {
                 throw new TikaException("Unable to extract PDF content", e);
             }
         } catch (final PdfTimeoutException e) {
+        } finally {
+            if (ocr2XHTML != null) {
+                ocr2XHTML.closeOCR();
+            }
         }
         if (ocr2XHTML.exceptions.size() > 0) {
             //throw the first
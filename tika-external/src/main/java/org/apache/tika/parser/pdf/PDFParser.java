@@ -631,6 +631,11 @@ public class PDFParser extends AbstractParser {
         defaultConfig.setOcrDPI(dpi);
     }
 
+    @Field
+    void setOcrThreads(int ocrThreads) {
+        defaultConfig.setOcrThreads(ocrThreads);
+    }
+
     @Field
     void setExtractInlineImages(boolean extractInlineImages) {
         defaultConfig.setExtractInlineImages(extractInlineImages);
@@ -119,6 +119,10 @@ public class PDFParserConfig implements Serializable {
     private ImageType ocrImageType = ImageType.GRAY;
     private String ocrImageFormatName = "png";
 
+    //Number of pages that are rendered ahead and OCR'd concurrently,
+    //1 to OCR one page at a time on the parsing thread
+    private int ocrThreads = 1;
+
     private AccessChecker accessChecker;
 
     //The PDFParser can throw IOExceptions if there is a problem
@@ -200,6 +204,8 @@ public class PDFParserConfig implements Serializable {
 
         setOcrImageType(parseImageType(props.getProperty("ocrImageType")));
 
+        setOcrThreads(getIntProp(props.getProperty("ocrThreads"), getOcrThreads()));
+
         setExtractActions(getBooleanProp(props.getProperty("extractActions"), false));
 
 
@@ -573,6 +579,30 @@ public class PDFParserConfig implements Serializable {
         this.ocrDPI = ocrDPI;
     }
 
+    /**
+     * Number of pages that are OCR'd concurrently.
+     * @see #setOcrThreads(int)
+     * @return number of OCR threads
+     */
+    public int getOcrThreads() {
+        return ocrThreads;
+    }
+
+    /**
+     * Number of pages that are OCR'd concurrently. With more than one
+     * thread, upcoming pages are rendered ahead and handed to a pool of
+     * this many Tesseract workers, while the OCR output is still written
+     * in page order. The default of 1 OCRs one page at a time on the
+     * parsing thread.
+     * @param ocrThreads number of OCR threads, must be at least 1
+     */
+    public void setOcrThreads(int ocrThreads) {
+        if (ocrThreads < 1) {
+            throw new IllegalArgumentException("ocrThreads must be >= 1");
+        }
+        this.ocrThreads = ocrThreads;
+    }
+
     /**
      * Whether or not to extract PDActions from the file.
      * Most Action types are handled inline; javascript macros
@@ -628,6 +658,7 @@ public class PDFParserConfig implements Serializable {
         if (getExtractUniqueInlineImagesOnly() != config.getExtractUniqueInlineImagesOnly()) return false;
         if (getIfXFAExtractOnlyXFA() != config.getIfXFAExtractOnlyXFA()) return false;
         if (getOcrDPI() != config.getOcrDPI()) return false;
+        if (getOcrThreads() != config.getOcrThreads()) return false;
         if (isCatchIntermediateIOExceptions() != config.isCatchIntermediateIOExceptions()) return false;
         if (!getAverageCharTolerance().equals(config.getAverageCharTolerance())) return false;
         if (!getSpacingTolerance().equals(config.getSpacingTolerance())) return false;
@@ -653,6 +684,7 @@ public class PDFParserConfig implements Serializable {
         result = 31 * result + (getIfXFAExtractOnlyXFA() ? 1 : 0);
         result = 31 * result + ocrStrategy.hashCode();
         result = 31 * result + getOcrDPI();
+        result = 31 * result + getOcrThreads();
         result = 31 * result + getOcrImageType().hashCode();
         result = 31 * result + getOcrImageFormatName().hashCode();
         result = 31 * result + getAccessChecker().hashCode();
@@ -676,6 +708,7 @@ public class PDFParserConfig implements Serializable {
                 ", ifXFAExtractOnlyXFA=" + ifXFAExtractOnlyXFA +
                 ", ocrStrategy=" + ocrStrategy +
                 ", ocrDPI=" + ocrDPI +
+                ", ocrThreads=" + ocrThreads +
                 ", ocrImageType=" + ocrImageType +
                 ", ocrImageFormatName='" + ocrImageFormatName + '\'' +
                 ", accessChecker=" + accessChecker +
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.parser.pdf;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.io.TemporaryResources;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.ocr.TesseractOCRConfig;
+import org.apache.tika.parser.ocr.TesseractOCRParser;
+import org.apache.tika.sax.XHTMLContentHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * Renders the pages of a PDF document and runs Tesseract on them.
+ * <p>
+ * With a single thread (the default) each page is rendered and OCR'd on
+ * the parsing thread when it is reached. With more threads, the pages that
+ * follow the current one are rendered ahead and handed to a bounded pool
+ * of workers that encode the image and run Tesseract, while the OCR output
+ * is still written in page order. Rendering itself stays on the parsing
+ * thread, as a {@link PDDocument} must not be used concurrently.
+ *
+ * @see PDFParserConfig#setOcrThreads(int)
+ */
+class PageOCR implements Closeable {
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final PDFRenderer renderer;
+
+    private final int numPages;
+
+    private final PDFParserConfig config;
+
+    private final TesseractOCRParser tesseract;
+
+    private final TesseractOCRConfig tesseractConfig;
+
+    private final ParseContext context;
+
+    /**
+     * Pool of OCR workers, or <code>null</code> if pages are OCR'd on
+     * the parsing thread.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Maximum number of pages rendered ahead of the current page, which
+     * bounds the number of page images held in memory.
+     */
+    private final int window;
+
+    /**
+     * OCR output files of pages that have been submitted but not yet written.
+     */
+    private final Map<Integer, Future<File>> pending = new HashMap<>();
+
+    /**
+     * Index of the next page to be rendered and submitted.
+     */
+    private int nextPage = 0;
+
+    private volatile boolean closed = false;
+
+    PageOCR(PDDocument document, PDFParserConfig config, TesseractOCRParser tesseract,
+            TesseractOCRConfig tesseractConfig, ParseContext context) {
+        this.renderer = new PDFRenderer(document);
+        this.numPages = document.getNumberOfPages();
+        this.config = config;
+        this.tesseract = tesseract;
+        this.tesseractConfig = tesseractConfig;
+        this.context = context;
+        int threads = config.getOcrThreads();
+        if (threads > 1 && numPages > 1) {
+            this.executor = Executors.newFixedThreadPool(threads, newThreadFactory());
+            this.window = 2 * threads;
+        } else {
+            this.executor = null;
+            this.window = 1;
+        }
+    }
+
+    /**
+     * Writes the OCR output of the given page to the given handler, after
+     * rendering and submitting the pages that follow it.
+     *
+     * @param pageIndex zero-based page index
+     * @param xhtml handler that the OCR output is written to
+     * @throws IOException if the page could not be rendered or OCR'd
+     * @throws SAXException if the OCR output could not be written
+     * @throws TikaException if Tesseract failed or timed out
+     */
+    void writePage(int pageIndex, XHTMLContentHandler xhtml)
+            throws IOException, SAXException, TikaException {
+        File output;
+        if (executor == null) {
+            output = ocr(render(pageIndex));
+        } else {
+            nextPage = Math.max(nextPage, pageIndex);
+            while (nextPage < numPages && nextPage < pageIndex + window) {
+                submit(nextPage++);
+            }
+            Future<File> future = pending.remove(pageIndex);
+            output = future == null ? ocr(render(pageIndex)) : get(future);
+        }
+        if (output == null) {
+            return;
+        }
+        try {
+            tesseract.extractOCROutput(output, xhtml, context, tesseractConfig);
+        } finally {
+            output.delete();
+        }
+    }
+
+    /**
+     * Stops the workers and discards the output of pages that have not
+     * been written.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        for (Future<File> future : pending.values()) {
+            if (future.cancel(true)) {
+                continue;
+            }
+            try {
+                File output = future.get();
+                if (output != null) {
+                    output.delete();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                //already reported, or never needed
+            }
+        }
+        pending.clear();
+    }
+
+    private void submit(final int pageIndex) {
+        Callable<File> task;
+        try {
+            final BufferedImage image = render(pageIndex);
+            task = new Callable<File>() {
+                @Override
+                public File call() throws Exception {
+                    File output = ocr(image);
+                    if (closed && output != null) {
+                        output.delete();
+                        return null;
+                    }
+                    return output;
+                }
+            };
+        } catch (final IOException e) {
+            // report the failure when this page is reached
+            FutureTask<File> failed = new FutureTask<>(new Callable<File>() {
+                @Override
+                public File call() throws IOException {
+                    throw e;
+                }
+            });
+            failed.run();
+            pending.put(pageIndex, failed);
+            return;
+        }
+        pending.put(pageIndex, executor.submit(task));
+    }
+
+    private BufferedImage render(int pageIndex) throws IOException {
+        return renderer.renderImage(pageIndex, 2.0f, config.getOcrImageType());
+    }
+
+    /**
+     * Runs Tesseract on the given page image.
+     *
+     * @return Tesseract output file, to be deleted by the caller,
+     *         or <code>null</code> if there is no output
+     */
+    private File ocr(BufferedImage image) throws IOException, TikaException {
+        TemporaryResources tmp = new TemporaryResources();
+        try {
+            File imageFile = tmp.createTemporaryFile();
+            try (OutputStream os = new FileOutputStream(imageFile)) {
+                if (!ImageIO.write(image, config.getOcrImageFormatName(), os)) {
+                    throw new IOException("No image writer available for "
+                            + config.getOcrImageFormatName());
+                }
+            }
+            return tesseract.runOCR(imageFile, tmp.createTemporaryFile(), tesseractConfig);
+        } finally {
+            tmp.dispose();
+        }
+    }
+
+    private static File get(Future<File> future) throws IOException, TikaException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TikaException("Interrupted while waiting for OCR", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof TikaException) {
+                throw (TikaException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new TikaException("Unable to OCR page", cause);
+        }
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        final int pool = POOL_COUNT.incrementAndGet();
+        return new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r,
+                        "Tika PDF OCR " + pool + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.apache.tika.fork;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -182,6 +183,102 @@ public class ForkParserTest {
         }
     }
 
+    @Test
+    public void testRecycleAfterMaxFiles() throws Exception {
+        ForkParser parser = new ForkParser(
+                ForkParserTest.class.getClassLoader(),
+                new ForkTestParser());
+        parser.setMaxFilesProcessedPerClient(2);
+        try {
+            ParseContext context = new ParseContext();
+            for (int i = 0; i < 5; i++) {
+                ContentHandler output = new BodyContentHandler();
+                InputStream stream = new ByteArrayInputStream(new byte[0]);
+                parser.parse(stream, output, new Metadata(), context);
+                assertEquals("Hello, World!", output.toString().trim());
+            }
+            assertEquals(3, parser.getClientsStarted());
+            assertEquals(2, parser.getClientsRetired());
+            assertEquals(1, parser.getClientStatistics().size());
+            assertEquals(1, parser.getClientStatistics().get(0).getFilesProcessed());
+        } finally {
+            parser.close();
+        }
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        ForkParser parser = new ForkParser(
+                ForkParserTest.class.getClassLoader(),
+                new ForkTestParser());
+        parser.setMinPoolSize(2);
+        parser.setServerPulseMillis(500);
+        try {
+            parser.warmUp();
+            assertEquals(2, parser.getClientsStarted());
+
+            // the idle processes outlive several server pulses
+            Thread.sleep(2500);
+            assertEquals(2, parser.getClientsStarted());
+            assertEquals(0, parser.getClientsRetired());
+            assertEquals(2, parser.getClientStatistics().size());
+            for (ForkParser.ClientStatistics statistics
+                    : parser.getClientStatistics()) {
+                assertEquals(0, statistics.getFilesProcessed());
+                assertFalse(statistics.isInUse());
+            }
+
+            ContentHandler output = new BodyContentHandler();
+            InputStream stream = new ByteArrayInputStream(new byte[0]);
+            parser.parse(stream, output, new Metadata(), new ParseContext());
+            assertEquals("Hello, World!", output.toString().trim());
+            assertEquals(2, parser.getClientsStarted());
+        } finally {
+            parser.close();
+        }
+    }
+
+    @Test
+    public void testMinPoolSizeWithoutWarmUp() throws Exception {
+        ForkParser parser = new ForkParser(
+                ForkParserTest.class.getClassLoader(),
+                new ForkTestParser());
+        parser.setMinPoolSize(2);
+        parser.setServerPulseMillis(500);
+        try {
+            ContentHandler output = new BodyContentHandler();
+            InputStream stream = new ByteArrayInputStream(new byte[0]);
+            parser.parse(stream, output, new Metadata(), new ParseContext());
+            assertEquals("Hello, World!", output.toString().trim());
+
+            // the pool is filled up to the minimum and kept there
+            Thread.sleep(2500);
+            assertEquals(2, parser.getClientsStarted());
+            assertEquals(2, parser.getClientStatistics().size());
+        } finally {
+            parser.close();
+        }
+    }
+
+    @Test
+    public void testParseAfterClose() throws Exception {
+        ForkParser parser = new ForkParser(
+                ForkParserTest.class.getClassLoader(),
+                new ForkTestParser());
+        ContentHandler output = new BodyContentHandler();
+        parser.parse(new ByteArrayInputStream(new byte[0]), output,
+                new Metadata(), new ParseContext());
+        parser.close();
+        try {
+            parser.parse(new ByteArrayInputStream(new byte[0]),
+                    new BodyContentHandler(), new Metadata(), new ParseContext());
+            fail("Expected a TikaException after close");
+        } catch (TikaException expected) {
+            // expected
+        }
+        assertEquals(1, parser.getClientsStarted());
+    }
+
     @Test
     public void testPulse() throws Exception {
         //test default 5000 ms
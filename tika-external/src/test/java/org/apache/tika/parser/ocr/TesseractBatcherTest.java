@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.parser.ocr;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.extractor.EmbeddedDocumentExtractor;
+import org.apache.tika.extractor.ParsingEmbeddedDocumentExtractor;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.AbstractParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.XHTMLContentHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * Parses a container with embedded images through the
+ * {@link TesseractBatchingParser}, against a shell script that stands in
+ * for tesseract. The images are real PNGs with a "TEXT:" line appended,
+ * which is what the script outputs for them; a file list is recognised by
+ * not having such a line. The script logs whether it was run on an image
+ * or on a file list.
+ */
+public class TesseractBatcherTest {
+
+    private static final String SCRIPT =
+            "#!/bin/sh\n" +
+            "[ -z \"$1\" ] && exit 0\n" +
+            "runs=\"$(dirname \"$0\")/runs\"\n" +
+            "ocr() {\n" +
+            "  if grep -aq '^TEXT:HANG' \"$1\"; then sleep 10; fi\n" +
+            "  grep -a '^TEXT:' \"$1\" | sed 's/^TEXT://'; printf '\\f'\n" +
+            "}\n" +
+            "if grep -aq '^TEXT:' \"$1\"; then\n" +
+            "  echo image >> \"$runs\"\n" +
+            "  ocr \"$1\" > \"$2.txt\"\n" +
+            "else\n" +
+            "  echo list >> \"$runs\"\n" +
+            "  while read -r image; do ocr \"$image\"; done < \"$1\" > \"$2.txt\"\n" +
+            "fi\n";
+
+    private File dir;
+
+    private TesseractOCRConfig config;
+
+    @Before
+    public void setUp() throws IOException {
+        assumeFalse(System.getProperty("os.name").startsWith("Windows"));
+        dir = Files.createTempDirectory("tika-tesseract-batcher-").toFile();
+        File tesseract = new File(dir, "tesseract");
+        Files.write(tesseract.toPath(), SCRIPT.getBytes(UTF_8));
+        assertTrue(tesseract.setExecutable(true));
+
+        config = new TesseractOCRConfig();
+        config.setTesseractPath(dir.getAbsolutePath());
+        config.setBatchSize(10);
+        config.setBatchTimeout(60000);
+        config.setTimeout(1);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (dir != null) {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testSingleRun() throws Exception {
+        String text = parse(true, "image 0", "image 1", "image 2");
+        assertInOrder(text, "para 0", "image 0", "para 1", "image 1", "para 2", "image 2", "after");
+        List<String> runs = runs();
+        assertEquals(1, runs.size());
+        assertEquals("list", runs.get(0));
+    }
+
+    @Test
+    public void testBatchSize() throws Exception {
+        config.setBatchSize(2);
+        String text = parse(true, "image 0", "image 1", "image 2", "image 3", "image 4");
+        assertInOrder(text, "para 0", "image 0", "para 1", "image 1", "para 2", "image 2",
+                "para 3", "image 3", "para 4", "image 4", "after");
+        // two batches of two, and the last image on its own
+        List<String> runs = runs();
+        assertEquals(3, runs.size());
+        assertEquals("list", runs.get(0));
+        assertEquals("list", runs.get(1));
+        assertEquals("image", runs.get(2));
+    }
+
+    @Test
+    public void testBatchTimeout() throws Exception {
+        config.setBatchTimeout(0);
+        String text = parse(true, "image 0", "image 1");
+        assertInOrder(text, "para 0", "image 0", "para 1", "image 1", "after");
+        // with no time to wait, every image is OCR'd on its own right away
+        assertEquals(2, runs().size());
+    }
+
+    @Test
+    public void testNotBatchedWithoutDecorator() throws Exception {
+        String text = parse(false, "image 0", "image 1");
+        assertInOrder(text, "para 0", "image 0", "para 1", "image 1", "after");
+        assertEquals(2, runs().size());
+    }
+
+    @Test
+    public void testPageCountMismatch() throws Exception {
+        String text = parse(true, "two\fpages", "other");
+        assertInOrder(text, "para 0", "two", "pages", "para 1", "other", "after");
+        // the batched output has one page too many, so both images are run again
+        List<String> runs = runs();
+        assertEquals(3, runs.size());
+        assertEquals("list", runs.get(0));
+        assertEquals("image", runs.get(1));
+        assertEquals("image", runs.get(2));
+    }
+
+    @Test
+    public void testFailureIsPerImage() throws Exception {
+        String text = parse(true, "HANG", "other");
+        assertInOrder(text, "para 0", "para 1", "other", "after");
+        assertFalse(text.contains("HANG"));
+    }
+
+    @Test
+    public void testFailedParse() throws Exception {
+        BodyContentHandler handler = new BodyContentHandler();
+        ContainerParser container = new ContainerParser(true, "image 0");
+        try {
+            new TesseractBatchingParser(container).parse(
+                    new ByteArrayInputStream(new byte[0]), handler, new Metadata(), context());
+            fail("Expected the container to fail");
+        } catch (TikaException e) {
+            assertEquals("broken", e.getMessage());
+        }
+        // what was held back is passed on, without OCR'ing the image
+        assertInOrder(handler.toString(), "para 0", "after");
+        assertFalse(handler.toString().contains("image 0"));
+        assertFalse(new File(dir, "runs").exists());
+    }
+
+    private String parse(boolean batched, String... images) throws Exception {
+        Parser parser = new ContainerParser(false, images);
+        if (batched) {
+            parser = new TesseractBatchingParser(parser);
+        }
+        BodyContentHandler handler = new BodyContentHandler();
+        parser.parse(new ByteArrayInputStream(new byte[0]), handler, new Metadata(), context());
+        return handler.toString();
+    }
+
+    private ParseContext context() {
+        ParseContext context = new ParseContext();
+        context.set(TesseractOCRConfig.class, config);
+        context.set(Parser.class, new TesseractOCRParser());
+        return context;
+    }
+
+    private static void assertInOrder(String text, String... parts) {
+        int from = 0;
+        for (String part : parts) {
+            int index = text.indexOf(part, from);
+            assertTrue("Expected " + part + " after position " + from + " in " + text, index != -1);
+            from = index + part.length();
+        }
+    }
+
+    private List<String> runs() throws IOException {
+        return Files.readAllLines(new File(dir, "runs").toPath(), UTF_8);
+    }
+
+    /**
+     * Emits a paragraph and an embedded image for every given text.
+     */
+    private static class ContainerParser extends AbstractParser {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean fail;
+
+        private final List<String> images;
+
+        ContainerParser(boolean fail, String... images) {
+            this.fail = fail;
+            this.images = Arrays.asList(images);
+        }
+
+        @Override
+        public Set<MediaType> getSupportedTypes(ParseContext context) {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public void parse(InputStream stream, ContentHandler handler, Metadata metadata,
+                          ParseContext context) throws IOException, SAXException, TikaException {
+            XHTMLContentHandler xhtml = new XHTMLContentHandler(handler, metadata);
+            xhtml.startDocument();
+            EmbeddedDocumentExtractor extractor = new ParsingEmbeddedDocumentExtractor(context);
+            for (int i = 0; i < images.size(); i++) {
+                xhtml.element("p", "para " + i);
+                Metadata embedded = new Metadata();
+                embedded.set(Metadata.CONTENT_TYPE, "image/png");
+                extractor.parseEmbedded(
+                        new ByteArrayInputStream(image(images.get(i))), xhtml, embedded, false);
+            }
+            xhtml.element("p", "after");
+            if (fail) {
+                throw new TikaException("broken");
+            }
+            xhtml.endDocument();
+        }
+
+        private static byte[] image(String text) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png", bytes);
+            bytes.write(("\nTEXT:" + text + "\n").getBytes(UTF_8));
+            return bytes.toByteArray();
+        }
+
+    }
+
+}
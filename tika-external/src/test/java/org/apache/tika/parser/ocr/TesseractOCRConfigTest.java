@@ -41,6 +41,8 @@ public class TesseractOCRConfigTest extends TikaTest {
         assertEquals("Invalid default minFileSizeToOcr value", 0, config.getMinFileSizeToOcr());
         assertEquals("Invalid default maxFileSizeToOcr value", Integer.MAX_VALUE, config.getMaxFileSizeToOcr());
         assertEquals("Invalid default timeout value", 120, config.getTimeout());  
+        assertEquals("Invalid default batchSize value", 1, config.getBatchSize());
+        assertEquals("Invalid default batchTimeout value", 100, config.getBatchTimeout());
         assertEquals("Invalid default ImageMagickPath value", "", config.getImageMagickPath());
         assertEquals("Invalid default density value", 300 , config.getDensity());
         assertEquals("Invalid default depth value", 4 , config.getDepth());
@@ -25,6 +25,9 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -1224,6 +1227,42 @@ public class PDFParserTest extends TikaTest {
     }
 
 
+    @Test
+    public void testParallelOCR() throws Exception {
+        if (System.getProperty("os.name").startsWith("Windows")) {
+            return;
+        }
+        //stand-in for tesseract that "recognizes" the checksum of the page image
+        Path dir = Files.createTempDirectory("tika-fake-tesseract");
+        Path script = dir.resolve("tesseract");
+        Files.write(script, ("#!/bin/sh\n" +
+                "[ $# -eq 0 ] && exit 0\n" +
+                "cksum < \"$1\" | cut -d ' ' -f 1 > \"$2.txt\"\n").getBytes(StandardCharsets.US_ASCII));
+        script.toFile().setExecutable(true);
+        try {
+            TesseractOCRConfig tesseractConfig = new TesseractOCRConfig();
+            tesseractConfig.setTesseractPath(dir.toString());
+
+            String[] xml = new String[2];
+            int[] threads = new int[]{1, 4};
+            for (int i = 0; i < threads.length; i++) {
+                PDFParserConfig config = new PDFParserConfig();
+                config.setOcrStrategy(PDFParserConfig.OCR_STRATEGY.OCR_ONLY);
+                config.setOcrThreads(threads[i]);
+                ParseContext context = new ParseContext();
+                context.set(PDFParserConfig.class, config);
+                context.set(TesseractOCRConfig.class, tesseractConfig);
+                xml[i] = getXML("testPDFVarious.pdf", new PDFParser(), context).xml;
+            }
+            assertEquals(2, substringCount("<div class=\"ocr\">", xml[0]));
+            //page output is written in page order, whatever order it finished in
+            assertEquals(xml[0], xml[1]);
+        } finally {
+            Files.delete(script);
+            Files.delete(dir);
+        }
+    }
+
     @Test
     public void testInitializationViaConfig() throws Exception {
         InputStream is = getClass().getResourceAsStream("/org/apache/tika/parser/pdf/tika-config.xml");
@@ -25,6 +25,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.apache.tika.exception.TikaException;
+import org.apache.tika.io.TemporaryResources;
+import org.apache.tika.io.TikaInputStream;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.mime.MediaType;
 import org.apache.tika.parser.AbstractParser;
@@ -58,8 +60,6 @@ public class ChmParser extends AbstractParser {
     public void parse(InputStream stream, ContentHandler handler,
             Metadata metadata, ParseContext context) throws IOException,
             SAXException, TikaException {
-        ChmExtractor chmExtractor = new ChmExtractor(stream);
-
         // metadata
         metadata.set(Metadata.CONTENT_TYPE, "application/vnd.ms-htmlhelp");
 
@@ -67,21 +67,29 @@ public class ChmParser extends AbstractParser {
         XHTMLContentHandler xhtml = new XHTMLContentHandler(handler, metadata);
         xhtml.startDocument();
 
-        for (DirectoryListingEntry entry : chmExtractor.getChmDirList().getDirectoryListingEntryList()) {
-            final String entryName = entry.getName();
-            if (entryName.endsWith(".html") 
-                    || entryName.endsWith(".htm")
-            ) {
-//                AttributesImpl attrs = new AttributesImpl();
-//                attrs.addAttribute("", "name", "name", "String", entryName);
-//                xhtml.startElement("", "document", "document", attrs);
-                
-                byte[] data = chmExtractor.extractChmEntry(entry);
+        // a chm file is read in place, any other stream is read into memory
+        TemporaryResources tmp = new TemporaryResources();
+        try {
+            ChmExtractor chmExtractor = new ChmExtractor(TikaInputStream.get(stream, tmp));
+
+            for (DirectoryListingEntry entry : chmExtractor.getChmDirList().getDirectoryListingEntryList()) {
+                final String entryName = entry.getName();
+                if (entryName.endsWith(".html") 
+                        || entryName.endsWith(".htm")
+                ) {
+//                    AttributesImpl attrs = new AttributesImpl();
+//                    attrs.addAttribute("", "name", "name", "String", entryName);
+//                    xhtml.startElement("", "document", "document", attrs);
+                    
+                    byte[] data = chmExtractor.extractChmEntry(entry);
 
-                parsePage(data, xhtml);
-                
-//                xhtml.endElement("", "", "document");
+                    parsePage(data, xhtml);
+                    
+//                    xhtml.endElement("", "", "document");
+                }
             }
+        } finally {
+            tmp.dispose();
         }
 
         xhtml.endDocument();
@@ -19,6 +19,7 @@ package org.apache.tika.parser.chm.accessor;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -32,7 +33,7 @@ import org.apache.tika.parser.chm.exception.ChmParsingException;
  */
 public class ChmDirectoryListingSet {
     private List<DirectoryListingEntry> dlel;
-    private byte[] data;
+    private ByteBuffer data;
     private int placeHolder = -1;
     private long dataOffset = -1;
     private int controlDataIndex = -1;
@@ -54,6 +55,25 @@ public class ChmDirectoryListingSet {
             ChmItspHeader chmItspHeader) throws TikaException {
         setDirectoryListingEntryList(new ArrayList<DirectoryListingEntry>());
         ChmCommons.assertByteArrayNotNull(data);
+        setData(ByteBuffer.wrap(data));
+        enumerateChmDirectoryListingList(chmItsHeader, chmItspHeader);
+    }
+
+    /**
+     * Constructs chm directory listing set, reading only the directory
+     * chunks of the chm
+     * 
+     * @param data
+     *            chm file, e.g. memory mapped
+     * @param chmItsHeader
+     * @param chmItspHeader
+     * @throws TikaException 
+     */
+    public ChmDirectoryListingSet(ByteBuffer data, ChmItsfHeader chmItsHeader,
+            ChmItspHeader chmItspHeader) throws TikaException {
+        setDirectoryListingEntryList(new ArrayList<DirectoryListingEntry>());
+        if (data == null)
+            throw new TikaException("data is null");
         setData(data);
         enumerateChmDirectoryListingList(chmItsHeader, chmItspHeader);
     }
@@ -366,7 +386,7 @@ public class ChmDirectoryListingSet {
      * 
      * @param data
      */
-    private void setData(byte[] data) {
+    private void setData(ByteBuffer data) {
         this.data = data;
     }
 
@@ -375,7 +395,7 @@ public class ChmDirectoryListingSet {
      * 
      * @return
      */
-    private byte[] getData() {
+    private ByteBuffer getData() {
         return data;
     }
 
@@ -18,6 +18,7 @@ package org.apache.tika.parser.chm.assertion;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.parser.chm.accessor.ChmAccessor;
@@ -50,7 +51,32 @@ public class ChmAssert {
         if ((data == null))
             throw new TikaException("data[] is null");
 
-        if ((data.length <= 0))
+        assertChmBlockSegment(ByteBuffer.wrap(data), resetTable, blockNumber,
+                lzxcBlockOffset, lzxcBlockLength);
+    }
+
+    /**
+     * Checks a validity of the chmBlockSegment parameters
+     * 
+     * @param data
+     *            ByteBuffer
+     * @param resetTable
+     *            ChmLzxcResetTable
+     * @param blockNumber
+     *            int
+     * @param lzxcBlockOffset
+     *            int
+     * @param lzxcBlockLength
+     *            int
+     * @throws TikaException 
+     */
+    public static final void assertChmBlockSegment(ByteBuffer data,
+            ChmLzxcResetTable resetTable, int blockNumber, int lzxcBlockOffset,
+            int lzxcBlockLength) throws TikaException {
+        if ((data == null))
+            throw new TikaException("data[] is null");
+
+        if ((data.limit() <= 0))
             throw new TikaException("data[] length should be greater than zero");
 
         if (resetTable == null)
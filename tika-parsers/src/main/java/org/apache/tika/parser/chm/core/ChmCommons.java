@@ -19,6 +19,7 @@ package org.apache.tika.parser.chm.core;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import org.apache.tika.exception.TikaException;
@@ -89,6 +90,28 @@ public class ChmCommons {
             int lzxcBlockLength) throws TikaException {
         ChmAssert.assertChmBlockSegment(data, resetTable, blockNumber,
                 lzxcBlockOffset, lzxcBlockLength);
+        return getChmBlockSegment(ByteBuffer.wrap(data), resetTable,
+                blockNumber, lzxcBlockOffset, lzxcBlockLength);
+    }
+
+    /**
+     * Returns the compressed bytes of an lzx block, read from the given
+     * chm data
+     * 
+     * @param data
+     *            chm file, e.g. memory mapped
+     * @param resetTable
+     * @param blockNumber
+     * @param lzxcBlockOffset
+     * @param lzxcBlockLength
+     * @return block segment
+     * @throws TikaException
+     */
+    public static byte[] getChmBlockSegment(ByteBuffer data,
+            ChmLzxcResetTable resetTable, int blockNumber, int lzxcBlockOffset,
+            int lzxcBlockLength) throws TikaException {
+        ChmAssert.assertChmBlockSegment(data, resetTable, blockNumber,
+                lzxcBlockOffset, lzxcBlockLength);
         int blockLength = -1;
         // TODO add int_max_value checking
         if (blockNumber < (resetTable.getBlockAddress().length - 1)) {
@@ -262,6 +285,18 @@ public class ChmCommons {
         return (indexOf(text, pattern)) - 4;
     }
 
+    /**
+     * Returns an index of the reset table
+     * 
+     * @param text
+     * @param pattern
+     * @return index of the reset table
+     * @throws ChmParsingException 
+     */
+    public static final int indexOfResetTableBlock(ByteBuffer text, byte[] pattern) throws ChmParsingException {
+        return (indexOf(text, pattern)) - 4;
+    }
+
     /**
      * Searches some pattern in byte[]
      * 
@@ -273,6 +308,22 @@ public class ChmCommons {
      * @throws ChmParsingException 
      */
     public static int indexOf(byte[] text, byte[] pattern) throws ChmParsingException {
+        if (text == null)
+            throw new ChmParsingException("pattern and/or text should not be null");
+        return indexOf(ByteBuffer.wrap(text), pattern);
+    }
+
+    /**
+     * Searches some pattern in a ByteBuffer, from its start to its limit
+     * 
+     * @param text
+     *            ByteBuffer
+     * @param pattern
+     *            byte[]
+     * @return an index, if nothing found returns -1
+     * @throws ChmParsingException 
+     */
+    public static int indexOf(ByteBuffer text, byte[] pattern) throws ChmParsingException {
         int[] next = null;
         int i = 0, j = -1;
 
@@ -300,8 +351,8 @@ public class ChmCommons {
         i = j = 0;
 
         /* Matching */
-        while (i < text.length && j < pattern.length) {
-            if (j == -1 || pattern[j] == text[i]) {
+        while (i < text.limit() && j < pattern.length) {
+            if (j == -1 || pattern[j] == text.get(i)) {
                 i++;
                 j++;
             } else
@@ -345,9 +396,40 @@ public class ChmCommons {
         return copy;
     }
 
+    /**
+     * Copies a range of a ByteBuffer, which is left as it is
+     * 
+     * @param original
+     *            ByteBuffer, e.g. a memory mapped chm file
+     * @param from
+     * @param to
+     * @return the bytes from <code>from</code> to <code>to</code>
+     * @throws TikaException
+     */
+    public static byte[] copyOfRange(ByteBuffer original, int from, int to) throws TikaException {
+        if (original == null)
+            throw new NullPointerException("buffer is null");
+        checkCopyOfRangeParams(from, to);
+        int newLength = to - from;
+        if (newLength < 0)
+            throw new IllegalArgumentException(from + " > " + to);
+        if (to > original.limit()) {
+            throw new TikaException("can't copy beyond array length");
+        }
+        byte[] copy = new byte[newLength];
+        ByteBuffer range = original.duplicate();
+        range.position(from);
+        range.get(copy);
+        return copy;
+    }
+
     private static void checkCopyOfRangeParams(byte[] original, int from, int to) {
         if (original == null)
             throw new NullPointerException("array is null");
+        checkCopyOfRangeParams(from, to);
+    }
+
+    private static void checkCopyOfRangeParams(int from, int to) {
         if (from < 0)
             throw new IllegalArgumentException(from + " should be > 0");
         if (to < 0)
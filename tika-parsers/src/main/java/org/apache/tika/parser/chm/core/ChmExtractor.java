@@ -21,11 +21,15 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.tika.exception.TikaException;
+import org.apache.tika.io.TikaInputStream;
 import org.apache.tika.parser.chm.accessor.ChmDirectoryListingSet;
 import org.apache.tika.parser.chm.accessor.ChmItsfHeader;
 import org.apache.tika.parser.chm.accessor.ChmItspHeader;
@@ -39,15 +43,28 @@ import org.apache.tika.parser.chm.lzx.ChmLzxBlock;
 
 /**
  * Extracts text from chm file. Enumerates chm entries.
+ * <p>
+ * A chm passed in as a {@link TikaInputStream} of a file is read in place,
+ * through its {@link TikaInputStream#getByteBuffer() memory mapped file}, so
+ * only the headers, the directory and the lzx blocks of the extracted entries
+ * are ever read; any other stream is read into memory first, without being
+ * spooled to a temporary file. The most recently decompressed lzx blocks are
+ * cached, so that extracting entries that share or follow each other's blocks
+ * decompresses every block once.
  */
 public class ChmExtractor {
-    private List<ChmLzxBlock> lzxBlocksCache = null;
+    /**
+     * Number of decompressed lzx blocks to keep, usually 32KB each
+     */
+    private static final int LZX_BLOCKS_CACHE_SIZE = 64;
+
+    private Map<Integer, ChmLzxBlock> lzxBlocksCache = null;
     private ChmDirectoryListingSet chmDirList = null;
     private ChmItsfHeader chmItsfHeader = null;
     private ChmItspHeader chmItspHeader = null;
     private ChmLzxcResetTable chmLzxcResetTable = null;
     private ChmLzxcControlData chmLzxcControlData = null;
-    private byte[] data = null;
+    private ByteBuffer data = null;
     private int indexOfContent;
     private long lzxBlockOffset;
     private long lzxBlockLength;
@@ -138,18 +155,24 @@ public class ChmExtractor {
         this.indexOfContent = indexOfContent;
     }
 
-    private byte[] getData() {
+    private ByteBuffer getData() {
         return data;
     }
 
-    private void setData(byte[] data) {
+    private void setData(ByteBuffer data) {
         this.data = data;
     }
 
     public ChmExtractor(InputStream is) throws TikaException, IOException {
         ChmAssert.assertInputStreamNotNull(is);
         try {
-            setData(IOUtils.toByteArray(is));
+            ByteBuffer mapped = is instanceof TikaInputStream ?
+                    ((TikaInputStream) is).getByteBuffer() : null;
+            if (mapped != null) {
+                setData(mapped);
+            } else {
+                setData(ByteBuffer.wrap(IOUtils.toByteArray(is)));
+            }
 
             /* Creates and parses chm itsf header */
             setChmItsfHeader(new ChmItsfHeader());
@@ -197,7 +220,7 @@ public class ChmExtractor {
                             .get(indexOfResetTable).getOffset();
 
             // assert startIndex < data.length
-            ChmAssert.assertCopyingDataIndex(startIndex, getData().length);
+            ChmAssert.assertCopyingDataIndex(startIndex, getData().limit());
 
             // dir_chunk = Arrays.copyOfRange(getData(), startIndex, startIndex
             // +
@@ -213,7 +236,12 @@ public class ChmExtractor {
                     + getChmItsfHeader().getDataOffset()));
             setLzxBlockLength(getChmDirList().getDirectoryListingEntryList().get(getIndexOfContent()).getLength());
 
-            setLzxBlocksCache(new ArrayList<ChmLzxBlock>());
+            setLzxBlocksCache(new LinkedHashMap<Integer, ChmLzxBlock>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, ChmLzxBlock> eldest) {
+                    return size() > LZX_BLOCKS_CACHE_SIZE;
+                }
+            });
 
         } catch (IOException e) {
             e.printStackTrace();
@@ -263,27 +291,17 @@ public class ChmExtractor {
                         directoryListingEntry, (int) getChmLzxcResetTable()
                                 .getBlockLen(), getChmLzxcControlData());
 
-                int i = 0, start = 0, hit_cache = 0;
+                int i = 0, start = 0;
 
                 if ((getLzxBlockLength() < Integer.MAX_VALUE)
                         && (getLzxBlockOffset() < Integer.MAX_VALUE)) {
-                    // TODO: Improve the caching
-                    // caching ... = O(n^2) - depends on startBlock and endBlock
+                    // continues from the closest cached block since the last reset
                     start = -1;
-                    if (!getLzxBlocksCache().isEmpty()) {
-                        for (i = 0; i < getLzxBlocksCache().size(); i++) {
-                            //lzxBlock = getLzxBlocksCache().get(i);
-                            int bn = getLzxBlocksCache().get(i).getBlockNumber();
-                            for (int j = bb.getIniBlock(); j <= bb.getStartBlock(); j++) {
-                                if (bn == j) {
-                                    if (j > start) {
-                                        start = j;
-                                        hit_cache = i;
-                                    }
-                                }
-                            }
-                            if (start == bb.getStartBlock())
-                                break;
+                    for (i = bb.getStartBlock(); i >= bb.getIniBlock(); i--) {
+                        lzxBlock = getLzxBlocksCache().get(i);
+                        if (lzxBlock != null) {
+                            start = i;
+                            break;
                         }
                     }
 
@@ -300,9 +318,7 @@ public class ChmExtractor {
                         lzxBlock = new ChmLzxBlock(start, dataSegment,
                                 getChmLzxcResetTable().getBlockLen(), null);
 
-                        getLzxBlocksCache().add(lzxBlock);
-                    } else {
-                        lzxBlock = getLzxBlocksCache().get(hit_cache);
+                        getLzxBlocksCache().put(start, lzxBlock);
                     }
 
                     for (i = start; i <= bb.getEndBlock();) {
@@ -346,12 +362,7 @@ public class ChmExtractor {
                                     lzxBlock);
                         }
 
-                        getLzxBlocksCache().add(lzxBlock);
-                    }
-
-                    if (getLzxBlocksCache().size() > getChmLzxcResetTable()
-                            .getBlockCount()) {
-                        getLzxBlocksCache().clear();
+                        getLzxBlocksCache().put(i, lzxBlock);
                     }
                 } //end of if
                 
@@ -366,11 +377,11 @@ public class ChmExtractor {
         return buffer.toByteArray();
     }
 
-    private void setLzxBlocksCache(List<ChmLzxBlock> lzxBlocksCache) {
+    private void setLzxBlocksCache(Map<Integer, ChmLzxBlock> lzxBlocksCache) {
         this.lzxBlocksCache = lzxBlocksCache;
     }
 
-    private List<ChmLzxBlock> getLzxBlocksCache() {
+    private Map<Integer, ChmLzxBlock> getLzxBlocksCache() {
         return lzxBlocksCache;
     }
 
@@ -62,7 +62,7 @@ public class DIFParser extends AbstractParser {
 		xhtml.startElement("p");
 		TaggedContentHandler tagged = new TaggedContentHandler(handler);
 		try {
-			context.getSAXParser().parse(
+			context.parseSAX(
 					new CloseShieldInputStream(stream),
 					new OfflineContentHandler(new EmbeddedContentHandler(
 							getContentHandler(tagged, metadata, context))));
@@ -16,7 +16,6 @@
  */
 package org.apache.tika.parser.epub;
 
-import javax.xml.parsers.SAXParser;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
@@ -48,8 +47,7 @@ public class EpubContentParser extends AbstractParser {
             Metadata metadata, ParseContext context)
             throws IOException, SAXException, TikaException {
 
-        SAXParser parser = context.getSAXParser();
-        parser.parse(
+        context.parseSAX(
                 new CloseShieldInputStream(stream),
                 new OfflineContentHandler(handler));
     }
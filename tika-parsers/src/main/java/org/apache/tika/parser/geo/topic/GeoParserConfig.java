@@ -30,6 +30,10 @@ public class GeoParserConfig implements Serializable {
     private static final long serialVersionUID = -3167692634278575818L;
     private URL nerModelUrl = null;
     private String gazetteerRestEndpoint = null;
+    private int gazetteerBatchSize = 50;
+    private int gazetteerMaxConcurrentLookups = 4;
+    private int gazetteerCacheSize = 10000;
+    private long gazetteerCacheTimeToLive = 3600;
 
 	private static final Logger LOG = Logger.getLogger(GeoParserConfig.class.getName());
 
@@ -62,6 +66,14 @@ public class GeoParserConfig implements Serializable {
             }
         }
         setGazetteerRestEndpoint(props.getProperty("gazetter.rest.api", "http://localhost:8765"));
+        setGazetteerBatchSize(Integer.parseInt(props.getProperty(
+                "gazetteer.batch.size", Integer.toString(gazetteerBatchSize))));
+        setGazetteerMaxConcurrentLookups(Integer.parseInt(props.getProperty(
+                "gazetteer.max.concurrent.lookups", Integer.toString(gazetteerMaxConcurrentLookups))));
+        setGazetteerCacheSize(Integer.parseInt(props.getProperty(
+                "gazetteer.cache.size", Integer.toString(gazetteerCacheSize))));
+        setGazetteerCacheTimeToLive(Long.parseLong(props.getProperty(
+                "gazetteer.cache.ttl", Long.toString(gazetteerCacheTimeToLive))));
     }
 
     public void setNERModelPath(String path) {
@@ -97,4 +109,60 @@ public class GeoParserConfig implements Serializable {
     public void setGazetteerRestEndpoint(String gazetteerRestEndpoint) {
 		this.gazetteerRestEndpoint = gazetteerRestEndpoint;
 	}
+    /**
+     * @return maximum number of location names searched in one request
+     */
+    public int getGazetteerBatchSize() {
+        return gazetteerBatchSize;
+    }
+    /**
+     * Configure the maximum number of location names searched in one
+     * request to lucene-geo-gazetteer
+     * @param gazetteerBatchSize number of names, at least 1
+     */
+    public void setGazetteerBatchSize(int gazetteerBatchSize) {
+        this.gazetteerBatchSize = Math.max(1, gazetteerBatchSize);
+    }
+    /**
+     * @return maximum number of concurrent requests to lucene-geo-gazetteer
+     */
+    public int getGazetteerMaxConcurrentLookups() {
+        return gazetteerMaxConcurrentLookups;
+    }
+    /**
+     * Configure the maximum number of requests to lucene-geo-gazetteer
+     * that are run at the same time, over all the parses
+     * @param gazetteerMaxConcurrentLookups number of requests, at least 1
+     */
+    public void setGazetteerMaxConcurrentLookups(int gazetteerMaxConcurrentLookups) {
+        this.gazetteerMaxConcurrentLookups = Math.max(1, gazetteerMaxConcurrentLookups);
+    }
+    /**
+     * @return maximum number of location names whose gazetteer locations
+     *         are cached
+     */
+    public int getGazetteerCacheSize() {
+        return gazetteerCacheSize;
+    }
+    /**
+     * Configure the maximum number of location names whose gazetteer
+     * locations are cached across parses
+     * @param gazetteerCacheSize number of names, 0 to disable the cache
+     */
+    public void setGazetteerCacheSize(int gazetteerCacheSize) {
+        this.gazetteerCacheSize = Math.max(0, gazetteerCacheSize);
+    }
+    /**
+     * @return seconds for which the gazetteer locations are cached
+     */
+    public long getGazetteerCacheTimeToLive() {
+        return gazetteerCacheTimeToLive;
+    }
+    /**
+     * Configure how long the gazetteer locations of a name are cached
+     * @param gazetteerCacheTimeToLive time to live, in seconds
+     */
+    public void setGazetteerCacheTimeToLive(long gazetteerCacheTimeToLive) {
+        this.gazetteerCacheTimeToLive = gazetteerCacheTimeToLive;
+    }
 }
@@ -18,8 +18,22 @@
 package org.apache.tika.parser.geo.topic.gazetteer;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.commons.io.Charsets;
@@ -35,6 +49,16 @@ import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
 
 
+/**
+ * Client of the lucene-geo-gazetteer REST API.
+ * <p>
+ * The locations found for a name are cached, for all the parses that share
+ * this client, and only the names that are not cached are searched. These
+ * are searched in batches of {@link GeoParserConfig#getGazetteerBatchSize()}
+ * names per request, and up to {@link
+ * GeoParserConfig#getGazetteerMaxConcurrentLookups()} requests are run at
+ * the same time.
+ */
 public class GeoGazetteerClient {
 	private static final String SEARCH_API = "/api/search";
 	private static final String SEARCH_PARAM = "s";
@@ -43,25 +67,115 @@ public class GeoGazetteerClient {
 	private static final Logger LOG = Logger.getLogger(GeoGazetteerClient.class.getName());
 
 	private String url;
+	private final int batchSize;
+	private final LocationCache cache;
+	private final ThreadPoolExecutor executor;
 	
 	/**
 	 * Pass URL on which lucene-geo-gazetteer is available - eg. http://localhost:8765/api/search
 	 * @param url
 	 */
 	public GeoGazetteerClient(String url) {
-		this.url = url;
+		this(url, new GeoParserConfig());
 	}
 	
 	public GeoGazetteerClient(GeoParserConfig config) {
-		this.url = config.getGazetteerRestEndpoint();
+		this(config.getGazetteerRestEndpoint(), config);
+	}
+
+	private GeoGazetteerClient(String url, GeoParserConfig config) {
+		this.url = url;
+		this.batchSize = config.getGazetteerBatchSize();
+		this.cache = new LocationCache(config.getGazetteerCacheSize(),
+				TimeUnit.SECONDS.toNanos(config.getGazetteerCacheTimeToLive()));
+		int threads = config.getGazetteerMaxConcurrentLookups();
+		this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "GeoGazetteerClient");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		//the threads go away when there is nothing to look up
+		this.executor.allowCoreThreadTimeOut(true);
 	}
 	
 	/**
 	 * Calls API of lucene-geo-gazetteer to search location name in gazetteer.
+	 * Names that are cached are not searched again, and names for which
+	 * nothing was found are left out of the result.  So are the names of a
+	 * batch whose request failed, which is logged; these are not cached, so
+	 * they are searched again by the next call.
 	 * @param locations List of locations to be searched in gazetteer
-	 * @return Map of input location strings to gazetteer locations
+	 * @return Map of input location strings to gazetteer locations, in the
+	 *         order of the input
 	 */
 	public Map<String, List<Location>> getLocations(List<String> locations){
+		Set<String> names = new LinkedHashSet<String>(locations);
+		Map<String, List<Location>> found = new HashMap<String, List<Location>>();
+		List<String> missing = new ArrayList<String>();
+		for (String name : names) {
+			List<Location> cached = cache.get(name);
+			if (cached == null) {
+				missing.add(name);
+			} else {
+				found.put(name, cached);
+			}
+		}
+
+		List<List<String>> batches = new ArrayList<List<String>>();
+		List<Future<Map<String, List<Location>>>> futures =
+				new ArrayList<Future<Map<String, List<Location>>>>();
+		for (int i = 0; i < missing.size(); i += batchSize) {
+			final List<String> batch = missing.subList(i, Math.min(missing.size(), i + batchSize));
+			batches.add(batch);
+			futures.add(executor.submit(new Callable<Map<String, List<Location>>>() {
+				@Override
+				public Map<String, List<Location>> call() throws Exception {
+					return search(batch);
+				}
+			}));
+		}
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				Map<String, List<Location>> resolved = futures.get(i).get();
+				for (String name : batches.get(i)) {
+					List<Location> resolvedLocations = resolved == null ? null : resolved.get(name);
+					if (resolvedLocations == null) {
+						resolvedLocations = Collections.emptyList();
+					}
+					cache.put(name, resolvedLocations);
+					found.put(name, resolvedLocations);
+				}
+			} catch (ExecutionException e) {
+				LOG.log(Level.SEVERE, "Failed to search the gazetteer for " + batches.get(i)
+						+ ", leaving these names out", e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				for (Future<Map<String, List<Location>>> future : futures) {
+					future.cancel(true);
+				}
+				break;
+			}
+		}
+
+		Map<String, List<Location>> result = new LinkedHashMap<String, List<Location>>();
+		for (String name : names) {
+			List<Location> nameLocations = found.get(name);
+			if (nameLocations != null && !nameLocations.isEmpty()) {
+				result.put(name, nameLocations);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Searches a batch of location names in one request.  Package private,
+	 * so that tests can stand in for the gazetteer.
+	 */
+	Map<String, List<Location>> search(List<String> locations) throws Exception {
 		HttpClient httpClient = new DefaultHttpClient();
 		
 		try {
@@ -78,14 +192,19 @@ public class GeoGazetteerClient {
 			Type typeDef = new TypeToken<Map<String, List<Location>>>(){}.getType();
 			
 			return new Gson().fromJson(respJson, typeDef);
-			
-		} catch (Exception e) {
-			LOG.severe(e.getMessage());
+		} finally {
+			httpClient.getConnectionManager().shutdown();
 		}
-		
-		return null;
 	}
 	
+	/**
+	 * Current time of the cache, in nanoseconds.  Package private, so that
+	 * tests can stand in for the clock.
+	 */
+	long nanoTime() {
+		return System.nanoTime();
+	}
+
 	/**
 	 * Ping lucene-geo-gazetteer API
 	 * @return true if API is available else returns false
@@ -107,5 +226,54 @@ public class GeoGazetteerClient {
 		
 		return false;
 	}
-	
+
+	/**
+	 * Locations of the most recently used names, each kept for a limited time.
+	 */
+	private class LocationCache {
+		private final int maxSize;
+		private final long timeToLive;
+		private final Map<String, CachedLocations> entries;
+
+		private LocationCache(final int maxSize, long timeToLive) {
+			this.maxSize = maxSize;
+			this.timeToLive = timeToLive;
+			this.entries = new LinkedHashMap<String, CachedLocations>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, CachedLocations> eldest) {
+					return size() > maxSize;
+				}
+			};
+		}
+
+		private synchronized List<Location> get(String name) {
+			CachedLocations cached = entries.get(name);
+			if (cached == null) {
+				return null;
+			}
+			if (nanoTime() - cached.created > timeToLive) {
+				entries.remove(name);
+				return null;
+			}
+			return cached.locations;
+		}
+
+		private synchronized void put(String name, List<Location> locations) {
+			if (maxSize > 0) {
+				entries.put(name, new CachedLocations(locations, nanoTime()));
+			}
+		}
+	}
+
+	private static class CachedLocations {
+		private final List<Location> locations;
+		private final long created;
+
+		private CachedLocations(List<Location> locations, long created) {
+			this.locations = locations;
+			this.created = created;
+		}
+	}
 }
@@ -22,6 +22,7 @@ import java.io.InputStream;
 import java.io.File;
 import java.util.Collections;
 import java.util.Set;
+import org.apache.tika.config.Field;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.io.TemporaryResources;
 import org.apache.tika.io.TikaInputStream;
@@ -31,6 +32,7 @@ import org.apache.tika.metadata.TikaCoreProperties;
 import org.apache.tika.mime.MediaType;
 import org.apache.tika.parser.AbstractParser;
 import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.netcdf.NetCDFParser;
 import org.apache.tika.sax.XHTMLContentHandler;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
@@ -49,6 +51,8 @@ public class GribParser extends AbstractParser {
     private final Set<MediaType> SUPPORTED_TYPES =
             Collections.singleton(MediaType.application("x-grib2"));
 
+    private int maxSampledValues = 0;
+
     public Set<MediaType> getSupportedTypes(ParseContext context) {
         return SUPPORTED_TYPES;
     }
@@ -60,11 +64,14 @@ public class GribParser extends AbstractParser {
         //Set MIME type as grib2
         metadata.set(Metadata.CONTENT_TYPE, GRIB_MIME_TYPE);
 
-        TikaInputStream tis = TikaInputStream.get(stream, new TemporaryResources());
-        File gribFile = tis.getFile();
+        TemporaryResources tmp = TikaInputStream.isTikaInputStream(stream) ?
+                null : new TemporaryResources();
+        TikaInputStream tis = TikaInputStream.get(stream, tmp);
 
+        NetcdfFile ncFile = null;
         try {
-            NetcdfFile ncFile = NetcdfDataset.openFile(gribFile.getAbsolutePath(), null);
+            File gribFile = tis.getFile();
+            ncFile = NetcdfDataset.openFile(gribFile.getAbsolutePath(), null);
 
             // first parse out the set of global attributes
             for (Attribute attr : ncFile.getGlobalAttributes()) {
@@ -101,6 +108,11 @@ public class GribParser extends AbstractParser {
                     xhtml.element("li", " :" + element + ";");
                     xhtml.newline();
                 }
+                String sample = NetCDFParser.readSample(var, maxSampledValues);
+                if (sample != null) {
+                    xhtml.element("li", " :values = " + sample + ";");
+                    xhtml.newline();
+                }
             }
             xhtml.endElement("ul");
             xhtml.endElement("ul");
@@ -108,9 +120,37 @@ public class GribParser extends AbstractParser {
 
         } catch (IOException e) {
             throw new TikaException("NetCDF parse error", e);
+        } finally {
+            if (ncFile != null) {
+                ncFile.close();
+            }
+            if (tmp != null) {
+                tmp.dispose();
+            }
         }
     }
 
+    /**
+     * @see #setMaxSampledValues(int)
+     *
+     * @return maximum number of values read from each variable
+     */
+    public int getMaxSampledValues() {
+        return maxSampledValues;
+    }
+
+    /**
+     * Sets how many values to read from the start of each variable and
+     * list with it. The default, 0, reads no data at all.
+     *
+     * @param maxSampledValues maximum number of values read from each variable
+     * @see NetCDFParser#readSample(ucar.nc2.Variable, int)
+     */
+    @Field
+    public void setMaxSampledValues(int maxSampledValues) {
+        this.maxSampledValues = maxSampledValues;
+    }
+
     private Property resolveMetadataKey(String localName) {
         if ("title".equals(localName)) {
             return TikaCoreProperties.TITLE;
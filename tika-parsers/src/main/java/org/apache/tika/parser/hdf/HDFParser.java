@@ -18,14 +18,15 @@
 package org.apache.tika.parser.hdf;
 
 //JDK imports
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.Set;
 
-import org.apache.commons.io.IOUtils;
+import org.apache.tika.config.Field;
 import org.apache.tika.exception.TikaException;
+import org.apache.tika.io.TemporaryResources;
+import org.apache.tika.io.TikaInputStream;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.mime.MediaType;
 import org.apache.tika.parser.AbstractParser;
@@ -38,6 +39,7 @@ import org.xml.sax.SAXException;
 import ucar.nc2.Attribute;
 import ucar.nc2.Group;
 import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
 
 /**
  * 
@@ -46,6 +48,9 @@ import ucar.nc2.NetcdfFile;
  * we are able to use it to parse HDF files as well. See <a href=
  * "http://www.unidata.ucar.edu/software/netcdf-java/formats/FileTypes.html"
  * >this link</a> for more information.
+ * <p>
+ * The file is opened in place, and only the attributes of its groups are read,
+ * unless {@link #setMaxSampledValues(int) sampling} is turned on.
  */
 public class HDFParser extends AbstractParser {
 
@@ -55,6 +60,8 @@ public class HDFParser extends AbstractParser {
     private static final Set<MediaType> SUPPORTED_TYPES =
         Collections.singleton(MediaType.application("x-hdf"));
 
+    private int maxSampledValues = 0;
+
     /*
      * (non-Javadoc)
      * 
@@ -77,23 +84,62 @@ public class HDFParser extends AbstractParser {
     public void parse(InputStream stream, ContentHandler handler,
             Metadata metadata, ParseContext context) throws IOException,
             SAXException, TikaException {
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
-        IOUtils.copy(stream, os);
-
-        String name = metadata.get(Metadata.RESOURCE_NAME_KEY);
-        if (name == null) {
-            name = "";
-        }
+        TemporaryResources tmp = TikaInputStream.isTikaInputStream(stream) ?
+                null : new TemporaryResources();
+        TikaInputStream tis = TikaInputStream.get(stream, tmp);
+        NetcdfFile ncFile = null;
         try {
-            NetcdfFile ncFile = NetcdfFile.openInMemory(name, os.toByteArray());
+            ncFile = NetcdfFile.open(tis.getFile().getAbsolutePath());
             unravelStringMet(ncFile, null, metadata);
+
+            XHTMLContentHandler xhtml = new XHTMLContentHandler(handler, metadata);
+            xhtml.startDocument();
+            if (maxSampledValues > 0) {
+                xhtml.newline();
+                xhtml.element("h1", "variables");
+                xhtml.startElement("ul");
+                xhtml.newline();
+                for (Variable var : ncFile.getVariables()) {
+                    String sample = NetCDFParser.readSample(var, maxSampledValues);
+                    if (sample != null) {
+                        xhtml.element("li", var.getFullName() + ": values = " + sample);
+                        xhtml.newline();
+                    }
+                }
+                xhtml.endElement("ul");
+            }
+            xhtml.endDocument();
         } catch (IOException e) {
             throw new TikaException("HDF parse error", e);
+        } finally {
+            if (ncFile != null) {
+                ncFile.close();
+            }
+            if (tmp != null) {
+                tmp.dispose();
+            }
         }
+    }
+
+    /**
+     * @see #setMaxSampledValues(int)
+     *
+     * @return maximum number of values read from each variable
+     */
+    public int getMaxSampledValues() {
+        return maxSampledValues;
+    }
 
-        XHTMLContentHandler xhtml = new XHTMLContentHandler(handler, metadata);
-        xhtml.startDocument();
-        xhtml.endDocument();
+    /**
+     * Sets how many values to read from the start of each variable and
+     * list with it. The default, 0, reads no data and lists no variables.
+     *
+     * @param maxSampledValues maximum number of values read from each variable
+     * @see NetCDFParser#readSample(ucar.nc2.Variable, int)
+     */
+    @Field
+    public void setMaxSampledValues(int maxSampledValues) {
+        this.maxSampledValues = maxSampledValues;
     }
 
     protected void unravelStringMet(NetcdfFile ncFile, Group group, Metadata met) {
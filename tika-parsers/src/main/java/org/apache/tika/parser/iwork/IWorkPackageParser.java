@@ -203,7 +203,7 @@ public class IWorkPackageParser extends AbstractParser {
                metadata.add(Metadata.CONTENT_TYPE, type.getType().toString());
                xhtml.startDocument();
                if (contentHandler != null) {
-                  context.getSAXParser().parse(
+                  context.parseSAX(
                           new CloseShieldInputStream(entryStream),
                           new OfflineContentHandler(contentHandler)
                   );
@@ -16,21 +16,15 @@
  */
 package org.apache.tika.parser.mbox;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -50,6 +44,11 @@ import org.xml.sax.SAXException;
 /**
  * Mbox (mailbox) parser. This version extracts each mail from Mbox and uses the
  * DelegatingParser to process each mail.
+ * <p>
+ * Messages are split out of the raw bytes by a {@link MboxSplitter}, which
+ * only decodes the From line and the header block of each message; see
+ * {@link MboxSplitter#index(InputStream)} for splitting a large mbox into
+ * ranges to parse separately.
  */
 public class MboxParser extends AbstractParser {
 
@@ -91,55 +90,23 @@ public class MboxParser extends AbstractParser {
         XHTMLContentHandler xhtml = new XHTMLContentHandler(handler, metadata);
         xhtml.startDocument();
 
-        InputStreamReader isr = new InputStreamReader(stream, charsetName);
-        try (BufferedReader reader = new BufferedReader(isr)) {
-            String curLine = reader.readLine();
-            int mailItem = 0;
-            do {
-                if (curLine.startsWith(MBOX_RECORD_DIVIDER)) {
-                    Metadata mailMetadata = new Metadata();
-                    Queue<String> multiline = new LinkedList<String>();
-                    mailMetadata.add(EMAIL_FROMLINE_METADATA, curLine.substring(MBOX_RECORD_DIVIDER.length()));
-                    mailMetadata.set(Metadata.CONTENT_TYPE, "message/rfc822");
-                    curLine = reader.readLine();
-                    if (curLine == null) {
-                        break;
-                    }
-                    ByteArrayOutputStream message = new ByteArrayOutputStream(100000);
-                    do {
-                        if (curLine.startsWith(" ") || curLine.startsWith("\t")) {
-                            String latestLine = multiline.poll();
-                            latestLine += " " + curLine.trim();
-                            multiline.add(latestLine);
-                        } else {
-                            multiline.add(curLine);
-                        }
-
-                        message.write(curLine.getBytes(charsetName));
-                        message.write(0x0A);
-                        curLine = reader.readLine();
-                    }
-                    while (curLine != null && !curLine.startsWith(MBOX_RECORD_DIVIDER) && message.size() < MAIL_MAX_SIZE);
-
-                    for (String item : multiline) {
-                        saveHeaderInMetadata(mailMetadata, item);
-                    }
-
-                    ByteArrayInputStream messageStream = new ByteArrayInputStream(message.toByteArray());
-                    message = null;
-
-                    if (extractor.shouldParseEmbedded(mailMetadata)) {
-                        extractor.parseEmbedded(messageStream, xhtml, mailMetadata, true);
-                    }
-
-                    if (tracking) {
-                        getTrackingMetadata().put(mailItem++, mailMetadata);
-                    }
-                } else {
-                    curLine = reader.readLine();
-                }
-
-            } while (curLine != null && !Thread.currentThread().isInterrupted());
+        MboxSplitter splitter = new MboxSplitter(stream);
+        int mailItem = 0;
+        while (splitter.next() && !Thread.currentThread().isInterrupted()) {
+            Metadata mailMetadata = new Metadata();
+            mailMetadata.add(EMAIL_FROMLINE_METADATA, splitter.getFromLine());
+            mailMetadata.set(Metadata.CONTENT_TYPE, "message/rfc822");
+            for (String item : splitter.getHeaders()) {
+                saveHeaderInMetadata(mailMetadata, item);
+            }
+
+            if (extractor.shouldParseEmbedded(mailMetadata)) {
+                extractor.parseEmbedded(splitter.getMessage(), xhtml, mailMetadata, true);
+            }
+
+            if (tracking) {
+                getTrackingMetadata().put(mailItem++, mailMetadata);
+            }
         }
 
         xhtml.endDocument();
@@ -0,0 +1,417 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.parser.mbox;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits an mbox into its messages by scanning the raw bytes for lines
+ * that start with {@value MboxParser#MBOX_RECORD_DIVIDER}. Messages are
+ * handed out as streams over the shared read buffer, so their bytes are
+ * neither decoded nor copied; only the From line and the header block
+ * of each message are decoded.
+ * <p>
+ * Every message, From line included, is itself a well formed mbox, so the
+ * {@link #index(InputStream) offsets and lengths} of the messages can be
+ * used to parse ranges of a large mbox in parallel, or to resume parsing
+ * it after a given message.
+ *
+ * @since Apache Tika 1.0.18
+ */
+public class MboxSplitter {
+
+    private static final Charset CHARSET = Charset.forName("windows-1252");
+
+    private static final byte[] DIVIDER =
+            MboxParser.MBOX_RECORD_DIVIDER.getBytes(CHARSET);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The header block of a message has to fit in the buffer to be parsed;
+     * headers beyond this many bytes are left to the message parser.
+     */
+    private static final int MAX_HEADER_SIZE = 1024 * 1024;
+
+    /**
+     * Returns the offset and length of every message of the given mbox,
+     * in order, without parsing them.
+     *
+     * @param stream mbox, not closed
+     * @return offsets of the From lines mapped to the lengths of their
+     *         messages, From lines included
+     * @throws IOException if the mbox could not be read
+     */
+    public static Map<Long, Long> index(InputStream stream) throws IOException {
+        Map<Long, Long> index = new LinkedHashMap<>();
+        MboxSplitter splitter = new MboxSplitter(stream, false);
+        while (splitter.next()) {
+            index.put(splitter.getOffset(), splitter.getLength());
+        }
+        return index;
+    }
+
+    private final InputStream in;
+
+    private final boolean parseHeaders;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+
+    /** Index of the next unread byte in {@link #buffer}. */
+    private int pos = 0;
+
+    /** Number of valid bytes in {@link #buffer}. */
+    private int limit = 0;
+
+    /** Offset in the mbox of the first byte in {@link #buffer}. */
+    private long bufferOffset = 0;
+
+    private boolean atLineStart = true;
+
+    private boolean eof = false;
+
+    private String fromLine;
+
+    private long offset = -1;
+
+    private long length = -1;
+
+    private final List<String> headers = new ArrayList<>();
+
+    private MessageStream message;
+
+    /**
+     * @param stream mbox, not closed by the splitter
+     */
+    public MboxSplitter(InputStream stream) {
+        this(stream, true);
+    }
+
+    private MboxSplitter(InputStream stream, boolean parseHeaders) {
+        this.in = stream;
+        this.parseHeaders = parseHeaders;
+    }
+
+    /**
+     * Skips whatever is left of the current message and advances to the
+     * next one. Anything before the first From line is ignored, as is a
+     * From line that ends the mbox.
+     *
+     * @return <code>false</code> if there are no more messages
+     * @throws IOException if the mbox could not be read
+     */
+    public boolean next() throws IOException {
+        if (message != null) {
+            getLength();
+            message = null;
+        }
+        fromLine = null;
+        headers.clear();
+        length = -1;
+
+        int n = readable();
+        while (n > 0) {
+            consume(n);
+            n = readable();
+        }
+        if (n < 0) {
+            return false;
+        }
+
+        offset = bufferOffset + pos;
+        consume(DIVIDER.length);
+        StringBuilder from = new StringBuilder();
+        for (n = readable(); n > 0 && !atLineStart; n = readable()) {
+            from.append(new String(buffer, pos, n, CHARSET));
+            consume(n);
+        }
+        if (n < 0) {
+            return false;
+        }
+        fromLine = trimLineEnd(from);
+
+        if (parseHeaders) {
+            readHeaders();
+        }
+        message = new MessageStream();
+        return true;
+    }
+
+    /**
+     * @return the From line of the current message, without
+     *         {@value MboxParser#MBOX_RECORD_DIVIDER}
+     */
+    public String getFromLine() {
+        return fromLine;
+    }
+
+    /**
+     * @return the header lines of the current message, with folded
+     *         lines joined by a space
+     */
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return offset in the mbox of the From line of the current message
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the length of the current message, From line included.
+     * The rest of the message is skipped to find its end, so it can
+     * no longer be read from {@link #getMessage()}.
+     *
+     * @return length in bytes
+     * @throws IOException if the mbox could not be read
+     */
+    public long getLength() throws IOException {
+        if (length < 0) {
+            for (int n = readable(); n > 0; n = readable()) {
+                consume(n);
+            }
+            length = bufferOffset + pos - offset;
+        }
+        return length;
+    }
+
+    /**
+     * Returns the current message, headers included and From line
+     * excluded, which ends where the next From line starts or after
+     * {@link MboxParser#MAIL_MAX_SIZE} bytes.
+     * The stream is only valid until {@link #next()} is called.
+     *
+     * @return the message
+     */
+    public InputStream getMessage() {
+        return message;
+    }
+
+    /**
+     * Collects the header lines of the current message, which have to
+     * be in the buffer together, without consuming them.
+     */
+    private void readHeaders() throws IOException {
+        int start = 0;
+        StringBuilder line = null;
+        while (true) {
+            int end = indexOfLineEnd(start);
+            if (end < 0) {
+                break;
+            }
+            int lineStart = pos + start;
+            int lineEnd = pos + end;
+            if (lineEnd > lineStart && buffer[lineEnd - 1] == '\n') {
+                lineEnd--;
+                if (lineEnd > lineStart && buffer[lineEnd - 1] == '\r') {
+                    lineEnd--;
+                }
+            }
+            if (lineEnd == lineStart || startsWithDivider(lineStart, pos + end)) {
+                break;
+            }
+            String text = new String(buffer, lineStart, lineEnd - lineStart, CHARSET);
+            if ((text.startsWith(" ") || text.startsWith("\t")) && line != null) {
+                line.append(' ').append(text.trim());
+            } else {
+                if (line != null) {
+                    headers.add(line.toString());
+                }
+                line = new StringBuilder(text);
+            }
+            start = end;
+        }
+        if (line != null) {
+            headers.add(line.toString());
+        }
+    }
+
+    /**
+     * Returns the end, relative to {@link #pos}, of the line that starts at
+     * the given position relative to {@link #pos}, reading and growing the
+     * buffer as needed.
+     *
+     * @return index just after the line feed, or the end of the last line
+     *         of the mbox, or -1 if there is no such line or it does not fit
+     */
+    private int indexOfLineEnd(int start) throws IOException {
+        int from = start;
+        while (true) {
+            for (int i = pos + from; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    return i + 1 - pos;
+                }
+            }
+            from = limit - pos;
+            if (!fill(MAX_HEADER_SIZE)) {
+                return (limit - pos > start && eof) ? limit - pos : -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes at {@link #pos} that can be consumed up to
+     * the end of the current line, but not beyond it, so that no From line is
+     * crossed.
+     *
+     * @return the number of bytes, 0 if {@link #pos} is at a From line,
+     *         or -1 at the end of the mbox
+     */
+    private int readable() throws IOException {
+        if (atLineStart) {
+            while (limit - pos < DIVIDER.length && fill(BUFFER_SIZE)) {
+                //read enough to tell a From line
+            }
+            if (limit - pos >= DIVIDER.length && startsWithDivider(pos, limit)) {
+                return 0;
+            }
+        }
+        if (pos == limit && !fill(BUFFER_SIZE)) {
+            return -1;
+        }
+        for (int i = pos; i < limit; i++) {
+            if (buffer[i] == '\n') {
+                return i + 1 - pos;
+            }
+        }
+        return limit - pos;
+    }
+
+    private void consume(int n) {
+        pos += n;
+        atLineStart = buffer[pos - 1] == '\n';
+    }
+
+    private boolean startsWithDivider(int start, int end) {
+        if (end - start < DIVIDER.length) {
+            return false;
+        }
+        for (int i = 0; i < DIVIDER.length; i++) {
+            if (buffer[start + i] != DIVIDER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads more of the mbox into the buffer, first dropping the consumed
+     * bytes and then growing the buffer up to the given size if needed.
+     *
+     * @return <code>false</code> if nothing could be read
+     */
+    private boolean fill(int maxSize) throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (limit == buffer.length) {
+            if (pos > 0) {
+                System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+                bufferOffset += pos;
+                limit -= pos;
+                pos = 0;
+            } else if (buffer.length < maxSize) {
+                byte[] grown = new byte[Math.min(maxSize, buffer.length * 2)];
+                System.arraycopy(buffer, 0, grown, 0, limit);
+                buffer = grown;
+            } else {
+                return false;
+            }
+        }
+        int n = in.read(buffer, limit, buffer.length - limit);
+        while (n == 0) {
+            n = in.read(buffer, limit, buffer.length - limit);
+        }
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+
+    private static String trimLineEnd(StringBuilder line) {
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\n') {
+            end--;
+            if (end > 0 && line.charAt(end - 1) == '\r') {
+                end--;
+            }
+        }
+        return line.substring(0, end);
+    }
+
+    /**
+     * The bytes of the current message, read straight out of the buffer.
+     */
+    private class MessageStream extends InputStream {
+
+        private final byte[] single = new byte[1];
+
+        private long remaining = MboxParser.MAIL_MAX_SIZE;
+
+        @Override
+        public int read() throws IOException {
+            int n = read(single, 0, 1);
+            return (n == 1) ? (single[0] & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (message != this || length >= 0 || remaining <= 0) {
+                return -1;
+            }
+            int n = readable();
+            if (n <= 0) {
+                return -1;
+            }
+            n = (int) Math.min(Math.min(n, len), remaining);
+            System.arraycopy(buffer, pos, b, off, n);
+            consume(n);
+            remaining -= n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n && message == this && length < 0 && remaining > 0) {
+                int readable = readable();
+                if (readable <= 0) {
+                    break;
+                }
+                readable = (int) Math.min(Math.min(readable, n - skipped), remaining);
+                consume(readable);
+                remaining -= readable;
+                skipped += readable;
+            }
+            return skipped;
+        }
+    }
+}
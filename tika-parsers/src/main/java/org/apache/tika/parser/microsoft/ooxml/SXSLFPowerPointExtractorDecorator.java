@@ -143,7 +143,7 @@ public class SXSLFPowerPointExtractorDecorator extends AbstractOOXMLExtractor {
                 continue;
             }
             try (InputStream stream = commentAuthorsPart.getInputStream()) {
-                context.getSAXParser().parse(
+                context.parseSAX(
                         new CloseShieldInputStream(stream),
                         new OfflineContentHandler(new XSLFCommentAuthorHandler()));
 
@@ -160,7 +160,7 @@ public class SXSLFPowerPointExtractorDecorator extends AbstractOOXMLExtractor {
 //        Map<String, String> hyperlinks = loadHyperlinkRelationships(packagePart);
         xhtml.startElement("div", "class", "slide-content");
         try (InputStream stream = slidePart.getInputStream()) {
-            context.getSAXParser().parse(
+            context.parseSAX(
                     new CloseShieldInputStream(stream),
                     new OfflineContentHandler(new EmbeddedContentHandler(
                             new OOXMLWordAndPowerPointTextHandler(
@@ -224,7 +224,7 @@ public class SXSLFPowerPointExtractorDecorator extends AbstractOOXMLExtractor {
                 try {
                     PackagePart relatedPartPart = parentPart.getRelatedPart(relatedPartPackageRelationship);
                     try (InputStream stream = relatedPartPart.getInputStream()) {
-                        context.getSAXParser().parse(stream,
+                        context.parseSAX(stream,
                                 new OfflineContentHandler(new EmbeddedContentHandler(contentHandler)));
 
                     } catch (IOException|TikaException e) {
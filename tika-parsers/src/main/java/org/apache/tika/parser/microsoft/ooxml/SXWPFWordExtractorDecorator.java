@@ -164,7 +164,7 @@ public class SXWPFWordExtractorDecorator extends AbstractOOXMLExtractor {
 
         Map<String, String> linkedRelationships = loadLinkedRelationships(packagePart, true, metadata);
         try (InputStream stream = packagePart.getInputStream()) {
-            context.getSAXParser().parse(
+            context.parseSAX(
                     new CloseShieldInputStream(stream),
                     new OfflineContentHandler(new EmbeddedContentHandler(
                             new OOXMLWordAndPowerPointTextHandler(
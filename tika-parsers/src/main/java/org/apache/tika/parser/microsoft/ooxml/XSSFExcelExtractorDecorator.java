@@ -283,8 +283,9 @@ public class XSSFExcelExtractorDecorator extends AbstractOOXMLExtractor {
             InputStream sheetInputStream)
             throws IOException, SAXException {
         InputSource sheetSource = new InputSource(sheetInputStream);
+        XMLReader sheetParser = null;
         try {
-            XMLReader sheetParser = parseContext.getXMLReader();
+            sheetParser = parseContext.getXMLReader();
             XSSFSheetInterestingPartsCapturer handler =
                     new XSSFSheetInterestingPartsCapturer(new XSSFSheetXMLHandler(
                             styles, comments, strings, sheetContentsExtractor, formatter, false));
@@ -297,6 +298,8 @@ public class XSSFExcelExtractorDecorator extends AbstractOOXMLExtractor {
             }
         } catch (TikaException e) {
             throw new RuntimeException("SAX parser appears to be broken - " + e.getMessage());
+        } finally {
+            parseContext.releaseXMLReader(sheetParser);
         }
     }
 
@@ -59,7 +59,7 @@ public class XWPFStylesShim {
     }
 
     private void onDocumentLoad(ParseContext parseContext, InputStream stream) throws TikaException, IOException, SAXException {
-        parseContext.getSAXParser().parse(stream,
+        parseContext.parseSAX(stream,
                 new OfflineContentHandler(new StylesStripper()));
     }
 
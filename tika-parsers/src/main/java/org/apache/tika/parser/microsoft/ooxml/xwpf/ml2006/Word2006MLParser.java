@@ -57,7 +57,7 @@ public class Word2006MLParser extends AbstractOfficeParser {
         xhtml.startDocument();
 
         try {
-            context.getSAXParser().parse(
+            context.parseSAX(
                     new CloseShieldInputStream(stream),
                     new OfflineContentHandler(new EmbeddedContentHandler(
                             new Word2006MLDocHandler(xhtml, metadata, context))));
@@ -95,7 +95,7 @@ public abstract class AbstractXML2003Parser extends AbstractParser {
 
         TaggedContentHandler tagged = new TaggedContentHandler(xhtml);
         try {
-            context.getSAXParser().parse(
+            context.parseSAX(
                     new CloseShieldInputStream(stream),
                     new OfflineContentHandler(new EmbeddedContentHandler(
                             getContentHandler(tagged, metadata, context))));
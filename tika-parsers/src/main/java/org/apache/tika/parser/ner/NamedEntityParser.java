@@ -19,8 +19,10 @@ package org.apache.tika.parser.ner;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.tika.Tika;
+import org.apache.tika.config.Field;
 import org.apache.tika.config.TikaConfig;
 import org.apache.tika.exception.TikaException;
+import org.apache.tika.io.TemporaryResources;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.mime.MediaType;
 import org.apache.tika.parser.AbstractParser;
@@ -37,12 +39,24 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
@@ -52,6 +66,17 @@ import java.util.Set;
  * <p>The Named Entity recogniser implementation can be changed by setting the
  * system property {@value #SYS_PROP_NER_IMPL} value to a name of class that
  * implements {@link NERecogniser} contract</p>
+ * <p>The text is read and recognised in windows of at most
+ * {@link #setWindowSize(int) windowSize} characters, so that memory use
+ * depends on the window size rather than on the size of the document.
+ * Meanwhile the text is spooled to a temporary file, and only written out
+ * once all the windows have been recognised, so that the entity names are
+ * in the XHTML head as well as in the metadata.
+ * Windows end at a line break or a space where possible, so only entities
+ * that span the end of a window can be missed. The recognisers of the chain
+ * are run concurrently on each window, using the {@link ExecutorService}
+ * of the {@link ParseContext} if there is one, or else a pool of daemon
+ * threads of this parser, bounded by the number of processors.</p>
  * @see OpenNLPNERecogniser
  * @see NERecogniser
  *
@@ -64,6 +89,7 @@ public class NamedEntityParser extends AbstractParser {
     public static final String DEFAULT_NER_IMPL =
             OpenNLPNERecogniser.class.getName() + "," + RegexNERecogniser.class.getName();
     public static final String SYS_PROP_NER_IMPL = "ner.impl.class";
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024;
 
     public Tika secondaryParser;
 
@@ -74,6 +100,8 @@ public class NamedEntityParser extends AbstractParser {
     private List<NERecogniser> nerChain;
     private volatile boolean initialized = false;
     private volatile boolean available = false;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private transient ThreadPoolExecutor executor;
 
     private synchronized void initialize(ParseContext context) {
         if (initialized) {
@@ -108,12 +136,35 @@ public class NamedEntityParser extends AbstractParser {
             this.secondaryParser = new Tika(config);
             this.available = !nerChain.isEmpty();
             LOG.info("Number of NERecognisers in chain {}", nerChain.size());
+            if (nerChain.size() > 1) {
+                this.executor = createExecutor();
+            }
         } catch (Exception e){
             LOG.error(e.getMessage(), e);
             this.available = false;
         }
     }
 
+    /**
+     * @return the pool that runs all but the first recogniser of the chain,
+     *         when the parse context has no executor of its own
+     */
+    private static ThreadPoolExecutor createExecutor() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "NamedEntityParser");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        //the threads go away when there is nothing to recognise
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     public Set<MediaType> getSupportedTypes(ParseContext parseContext) {
         return MEDIA_TYPES;
     }
@@ -134,43 +185,218 @@ public class NamedEntityParser extends AbstractParser {
                 ? new InputStreamReader(inputStream, StandardCharsets.UTF_8)
                 : secondaryParser.parse(inputStream);
 
-        String text = IOUtils.toString(reader);
-        IOUtils.closeQuietly(reader);
+        Map<String, Set<String>> entities = new LinkedHashMap<>();
+        TemporaryResources tmp = new TemporaryResources();
+        try {
+            //the text is spooled to a file, so that all the entities are known
+            //by the time the XHTML head, which lists them, is written
+            Path spool = tmp.createTempFile();
+            try (Writer writer = Files.newBufferedWriter(spool, StandardCharsets.UTF_8)) {
+                char[] buffer = new char[windowSize];
+                int length = 0;
+                boolean eof = false;
+                while (!eof) {
+                    int n = reader.read(buffer, length, buffer.length - length);
+                    if (n < 0) {
+                        eof = true;
+                    } else {
+                        length += n;
+                        if (length < buffer.length) {
+                            continue;
+                        }
+                    }
 
-        for (NERecogniser ner : nerChain) {
-            Map<String, Set<String>> names = ner.recognise(text);
-            if (names != null) {
-                for (Map.Entry<String, Set<String>> entry : names.entrySet()) {
-                    if (entry.getValue() != null) {
-                        String mdKey = MD_KEY_PREFIX + entry.getKey();
-                        for (String name : entry.getValue()) {
-                            metadata.add(mdKey, name);
+                    int end = eof ? length : endOfWindow(buffer, length);
+                    String window = new String(buffer, 0, end);
+                    System.arraycopy(buffer, end, buffer, 0, length - end);
+                    length -= end;
+
+                    recognise(window, entities, parseContext);
+                    writer.write(window);
+                }
+            } finally {
+                IOUtils.closeQuietly(reader);
+            }
+
+            for (Map.Entry<String, Set<String>> entry : entities.entrySet()) {
+                String mdKey = MD_KEY_PREFIX + entry.getKey();
+                for (String name : entry.getValue()) {
+                    metadata.add(mdKey, name);
+                }
+            }
+
+            XHTMLContentHandler xhtml = new XHTMLContentHandler(contentHandler, metadata);
+            xhtml.startDocument();
+            xhtml.startElement("div");
+            try (Reader text = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+                char[] buffer = new char[windowSize];
+                //whitespace held back so that the content ends up trimmed
+                String pending = null;
+                for (int n = text.read(buffer); n != -1; n = text.read(buffer)) {
+                    String chunk = new String(buffer, 0, n);
+                    String content = pending == null ? trimStart(chunk) : chunk;
+                    String trimmed = trimEnd(content);
+                    if (!trimmed.isEmpty()) {
+                        if (pending != null) {
+                            xhtml.characters(pending);
                         }
+                        xhtml.characters(trimmed);
+                        pending = content.substring(trimmed.length());
+                    } else if (pending != null) {
+                        pending += content;
+                    }
+                }
+            }
+            xhtml.endElement("div");
+            xhtml.endDocument();
+        } finally {
+            tmp.dispose();
+        }
+    }
+
+    /**
+     * Runs all the recognisers of the chain on a window of text,
+     * concurrently if there are more than one.
+     *
+     * @param text the window of text
+     * @param entities the entities found so far, to which the names
+     *          found in this window are added
+     * @param context parse context, which may provide an executor
+     * @throws TikaException if a recogniser failed or was interrupted
+     */
+    private void recognise(String text, Map<String, Set<String>> entities,
+                           ParseContext context) throws TikaException {
+        ExecutorService executorService = context.get(ExecutorService.class);
+        if (executorService == null) {
+            executorService = executor;
+        }
+        List<Recognition> recognitions = new ArrayList<>(nerChain.size());
+        List<Future<?>> futures = new ArrayList<>(nerChain.size());
+        for (NERecogniser ner : nerChain) {
+            Recognition recognition = new Recognition(ner, text);
+            recognitions.add(recognition);
+            if (recognitions.size() > 1) {
+                futures.add(executorService.submit(recognition));
+            }
+        }
+        boolean done = false;
+        try {
+            //the first one is run by this thread while the others are running
+            recognitions.get(0).run();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            done = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TikaException("Interrupted while recognising entities", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new TikaException("Failed to recognise entities", e.getCause());
+        } finally {
+            if (!done) {
+                for (Future<?> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+
+        for (Recognition recognition : recognitions) {
+            if (recognition.names == null) {
+                continue;
+            }
+            for (Map.Entry<String, Set<String>> entry : recognition.names.entrySet()) {
+                if (entry.getValue() != null) {
+                    Set<String> names = entities.get(entry.getKey());
+                    if (names == null) {
+                        names = new LinkedHashSet<>();
+                        entities.put(entry.getKey(), names);
                     }
+                    names.addAll(entry.getValue());
                 }
             }
         }
-        XHTMLContentHandler xhtml = new XHTMLContentHandler(contentHandler, metadata);
-        extractOutput(text.trim(), xhtml);
     }
 
     /**
-     * writes the content to the given XHTML
-     * content handler
+     * Finds where a full buffer of text should be cut: after the last line
+     * break in its second half, or else after its last whitespace, so that
+     * words and, mostly, entities are not split between windows.
      *
-     * @param content
-     *          the content which needs to be written
-     * @param xhtml
-     *          XHTML content handler
-     * @throws SAXException
-     *           if the XHTML SAX events could not be handled
+     * @param buffer the text
+     * @param length length of the text
+     * @return length of the window to recognise
+     */
+    private static int endOfWindow(char[] buffer, int length) {
+        for (int i = length - 1; i >= length / 2; i--) {
+            if (buffer[i] == '\n') {
+                return i + 1;
+            }
+        }
+        for (int i = length - 1; i > 0; i--) {
+            if (Character.isWhitespace(buffer[i])) {
+                return i + 1;
+            }
+        }
+        return length;
+    }
+
+    private static String trimStart(String text) {
+        int start = 0;
+        while (start < text.length() && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return text.substring(start);
+    }
+
+    private static String trimEnd(String text) {
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return text.substring(0, end);
+    }
+
+    /**
+     * @return maximum number of characters recognised at once
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Sets the maximum number of characters recognised at once, which
+     * bounds the memory used for the text of a document.
      *
+     * @param windowSize size of the windows, in characters
+     */
+    @Field
+    public void setWindowSize(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * The names recognised by one recogniser in one window of text.
      */
-    private void extractOutput(String content, XHTMLContentHandler xhtml) throws SAXException{
-        xhtml.startDocument();
-        xhtml.startElement("div");
-        xhtml.characters(content);
-        xhtml.endElement("div");
-        xhtml.endDocument();
+    private static class Recognition implements Runnable {
+
+        private final NERecogniser ner;
+        private final String text;
+        private Map<String, Set<String>> names;
+
+        private Recognition(NERecogniser ner, String text) {
+            this.ner = ner;
+            this.text = text;
+        }
+
+        @Override
+        public void run() {
+            names = ner.recognise(text);
+        }
     }
 }
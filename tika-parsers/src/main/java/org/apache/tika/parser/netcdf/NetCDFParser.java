@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.tika.config.Field;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.io.TemporaryResources;
 import org.apache.tika.io.TikaInputStream;
@@ -37,6 +38,8 @@ import org.apache.tika.parser.Parser;
 import org.apache.tika.sax.XHTMLContentHandler;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
 import ucar.nc2.Attribute;
 import ucar.nc2.Dimension;
 import ucar.nc2.NetcdfFile;
@@ -48,6 +51,10 @@ import ucar.nc2.Variable;
  * files using the UCAR, MIT-licensed <a
  * href="http://www.unidata.ucar.edu/software/netcdf-java/">NetCDF for Java</a>
  * API.
+ * <p>
+ * The file is opened in place, so only its header, global attributes and
+ * variable descriptions are read; the data of the variables is not read
+ * unless {@link #setMaxSampledValues(int) sampling} is turned on.
  */
 public class NetCDFParser extends AbstractParser {
 
@@ -59,6 +66,8 @@ public class NetCDFParser extends AbstractParser {
     private final Set<MediaType> SUPPORTED_TYPES =
             Collections.singleton(MediaType.application("x-netcdf"));
 
+    private int maxSampledValues = 0;
+
     /*
      * (non-Javadoc)
      * 
@@ -119,11 +128,15 @@ public class NetCDFParser extends AbstractParser {
                 xhtml.characters(var.getDataType() + " " + var.getNameAndDimensions());
                 xhtml.newline();
                 List<Attribute> attributes = var.getAttributes();
-                if (!attributes.isEmpty()) {
+                String sample = readSample(var, maxSampledValues);
+                if (!attributes.isEmpty() || sample != null) {
                     xhtml.startElement("ul");
                     for (Attribute element : attributes) {
                         xhtml.element("li", element.toString());
                     }
+                    if (sample != null) {
+                        xhtml.element("li", "values = " + sample);
+                    }
                     xhtml.endElement("ul");
                 }
                 xhtml.endElement("li");
@@ -143,6 +156,75 @@ public class NetCDFParser extends AbstractParser {
         }
     }
 
+    /**
+     * Reads up to the given number of values from the start of the last
+     * dimension of a variable, so that only that much of its data is read.
+     * A variable whose data can not be read is not sampled, rather than
+     * failing the whole document.
+     *
+     * @param variable variable to sample
+     * @param maxValues maximum number of values, 0 to read none
+     * @return the values separated by ", ", followed by "..." if there are
+     *         more, or <code>null</code> if nothing was read
+     */
+    public static String readSample(Variable variable, int maxValues) {
+        if (maxValues <= 0) {
+            return null;
+        }
+        int[] shape = variable.getShape();
+        int[] origin = new int[shape.length];
+        long total = 1;
+        for (int i = 0; i < shape.length; i++) {
+            if (shape[i] <= 0) {
+                //empty, or of variable length
+                return null;
+            }
+            total *= shape[i];
+            if (i < shape.length - 1) {
+                shape[i] = Math.min(shape[i], 1);
+            } else {
+                shape[i] = Math.min(shape[i], maxValues);
+            }
+        }
+        Array values;
+        try {
+            values = variable.read(origin, shape);
+        } catch (InvalidRangeException|IOException e) {
+            return null;
+        }
+        StringBuilder sample = new StringBuilder();
+        for (int i = 0; i < values.getSize(); i++) {
+            if (i > 0) {
+                sample.append(", ");
+            }
+            sample.append(values.getObject(i));
+        }
+        if (total > values.getSize()) {
+            sample.append(", ...");
+        }
+        return sample.toString();
+    }
+
+    /**
+     * @see #setMaxSampledValues(int)
+     *
+     * @return maximum number of values read from each variable
+     */
+    public int getMaxSampledValues() {
+        return maxSampledValues;
+    }
+
+    /**
+     * Sets how many values to read from the start of each variable and
+     * list with it. The default, 0, reads no data at all.
+     *
+     * @param maxSampledValues maximum number of values read from each variable
+     */
+    @Field
+    public void setMaxSampledValues(int maxSampledValues) {
+        this.maxSampledValues = maxSampledValues;
+    }
+
     private Property resolveMetadataKey(String localName) {
         if ("title".equals(localName)) {
             return TikaCoreProperties.TITLE;
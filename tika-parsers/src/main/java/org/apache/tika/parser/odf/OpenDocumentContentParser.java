@@ -19,7 +19,6 @@ package org.apache.tika.parser.odf;
 import static org.apache.tika.sax.XHTMLContentHandler.XHTML;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.SAXParser;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.BitSet;
@@ -555,8 +554,7 @@ public class OpenDocumentContentParser extends AbstractParser {
         DefaultHandler dh = new OpenDocumentElementMappingContentHandler(handler, MAPPINGS);
 
 
-        SAXParser parser = context.getSAXParser();
-        parser.parse(
+        context.parseSAX(
                 new CloseShieldInputStream(stream),
                 new OfflineContentHandler(
                         new NSNormalizerContentHandler(dh)));
@@ -21,11 +21,14 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.tika.exception.TikaException;
@@ -44,11 +47,16 @@ import org.apache.tika.parser.ParseContext;
  * <p>
  * This digester tries to use the regular mark/reset protocol on the InputStream.
  * However, this wraps an internal BoundedInputStream, and if the InputStream
- * is not fully read, then this will reset the stream and
- * spool the InputStream to disk (via TikaInputStream) and then digest the file.
+ * is not fully read, then this will reset the stream and rely on TikaInputStream
+ * to spool the stream to disk, and then digest that file, reading it in chunks.
  * <p>
  * If a TikaInputStream is passed in and it has an underlying file that is longer
- * than the {@link #markLimit}, then this digester digests the file directly.
+ * than the {@link #markLimit}, then this digester digests the
+ * {@link TikaInputStream#getByteBuffer() memory mapped} file.
+ * <p>
+ * All configured algorithms are computed in a single pass over the bytes:
+ * each buffer that is read is fed to every {@link MessageDigest}, so asking
+ * for several algorithms does not multiply the I/O.
  *
  */
 public class CommonsDigester implements DigestingParser.Digester {
@@ -66,8 +74,29 @@ public class CommonsDigester implements DigestingParser.Digester {
             return TikaCoreProperties.TIKA_META_PREFIX+
                     "digest"+Metadata.NAMESPACE_PREFIX_DELIMITER+this.toString();
         }
+
+        MessageDigest newMessageDigest() {
+            switch (this) {
+                case MD2:
+                    return DigestUtils.getMd2Digest();
+                case MD5:
+                    return DigestUtils.getMd5Digest();
+                case SHA1:
+                    return DigestUtils.getSha1Digest();
+                case SHA256:
+                    return DigestUtils.getSha256Digest();
+                case SHA384:
+                    return DigestUtils.getSha384Digest();
+                case SHA512:
+                    return DigestUtils.getSha512Digest();
+                default:
+                    throw new IllegalArgumentException("Sorry, not aware of algorithm: " + this.toString());
+            }
+        }
     }
 
+    private static final int BUFFER_SIZE = 8192;
+
     private final List<DigestAlgorithm> algorithms = new ArrayList<DigestAlgorithm>();
     private final int markLimit;
 
@@ -101,7 +130,7 @@ public class CommonsDigester implements DigestingParser.Digester {
             //and its size is greater than its mark limit,
             //just digest the underlying file.
             if (sz > markLimit) {
-                digestFile(tis.getFile(), m);
+                digestContents(tis, m);
                 return;
             }
 
@@ -109,17 +138,11 @@ public class CommonsDigester implements DigestingParser.Digester {
             //however, if you actually hit the bound,
             //then stop and spool to file via TikaInputStream
             SimpleBoundedInputStream bis = new SimpleBoundedInputStream(markLimit, tis);
-            boolean finishedStream = false;
-            for (DigestAlgorithm algorithm : algorithms) {
-                bis.mark(markLimit + 1);
-                finishedStream = digestEach(algorithm, bis, m);
-                bis.reset();
-                if (!finishedStream) {
-                    break;
-                }
-            }
+            bis.mark(markLimit + 1);
+            boolean finishedStream = digestAll(bis, m);
+            bis.reset();
             if (!finishedStream) {
-                digestFile(tis.getFile(), m);
+                digestContents(tis, m);
             }
         } finally {
             try {
@@ -132,64 +155,92 @@ public class CommonsDigester implements DigestingParser.Digester {
         }
     }
 
-    private void digestFile(File f, Metadata m) throws IOException {
-        for (DigestAlgorithm algorithm : algorithms) {
-            InputStream is = new FileInputStream(f);
-            try {
-                digestEach(algorithm, is, m);
-            } finally {
-                IOUtils.closeQuietly(is);
+    private void digestContents(TikaInputStream tis, Metadata m) throws IOException {
+        ByteBuffer contents;
+        try {
+            contents = tis.getByteBuffer();
+        } catch (IOException e) {
+            //e.g. too large to map
+            contents = null;
+        }
+        if (contents == null) {
+            //not a file of the caller, so stream the spooled file
+            digestFile(tis.getFile(), m);
+            return;
+        }
+        MessageDigest[] digests = newMessageDigests();
+        //chunk by chunk, so that every digest reads the chunk while it is in cache
+        while (contents.hasRemaining()) {
+            int end = contents.position() + Math.min(contents.remaining(), BUFFER_SIZE * 8);
+            for (MessageDigest digest : digests) {
+                ByteBuffer chunk = contents.duplicate();
+                chunk.limit(end);
+                digest.update(chunk);
             }
+            contents.position(end);
+        }
+        setDigests(digests, true, m);
+    }
+
+    private void digestFile(File f, Metadata m) throws IOException {
+        InputStream is = new FileInputStream(f);
+        try {
+            digestAll(is, m);
+        } finally {
+            IOUtils.closeQuietly(is);
         }
     }
 
     /**
+     * Reads the stream once, updating the digests of all configured
+     * algorithms with every buffer that is read.
      *
-     * @param algorithm algo to use
      * @param is input stream to read from
-     * @param metadata metadata for reporting the digest
+     * @param metadata metadata for reporting the digests
      * @return whether or not this finished the input stream
      * @throws IOException
      */
-    private boolean digestEach(DigestAlgorithm algorithm,
-                            InputStream is, Metadata metadata) throws IOException {
-        String digest = null;
+    private boolean digestAll(InputStream is, Metadata metadata) throws IOException {
+        MessageDigest[] digests = newMessageDigests();
+        boolean read = true;
         try {
-            switch (algorithm) {
-                case MD2:
-                    digest = DigestUtils.md2Hex(is);
-                    break;
-                case MD5:
-                    digest = DigestUtils.md5Hex(is);
-                    break;
-                case SHA1:
-                    digest = DigestUtils.sha1Hex(is);
-                    break;
-                case SHA256:
-                    digest = DigestUtils.sha256Hex(is);
-                    break;
-                case SHA384:
-                    digest = DigestUtils.sha384Hex(is);
-                    break;
-                case SHA512:
-                    digest = DigestUtils.sha512Hex(is);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Sorry, not aware of algorithm: " + algorithm.toString());
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n = is.read(buffer);
+            while (n != -1) {
+                for (MessageDigest digest : digests) {
+                    digest.update(buffer, 0, n);
+                }
+                n = is.read(buffer);
             }
         } catch (IOException e) {
             e.printStackTrace();
             //swallow, or should we throw this?
+            read = false;
         }
         if (is instanceof SimpleBoundedInputStream) {
             if (((SimpleBoundedInputStream)is).hasHitBound()) {
                 return false;
             }
         }
-        metadata.set(algorithm.getMetadataKey(), digest);
+        setDigests(digests, read, metadata);
         return true;
     }
 
+    private MessageDigest[] newMessageDigests() {
+        MessageDigest[] digests = new MessageDigest[algorithms.size()];
+        for (int i = 0; i < digests.length; i++) {
+            digests[i] = algorithms.get(i).newMessageDigest();
+        }
+        return digests;
+    }
+
+    private void setDigests(MessageDigest[] digests, boolean read, Metadata metadata) {
+        for (int i = 0; i < digests.length; i++) {
+            String digest = read ? Hex.encodeHexString(digests[i].digest()) : null;
+            metadata.set(algorithms.get(i).getMetadataKey(), digest);
+        }
+    }
+
     /**
      *
      * @param s comma-delimited (no space) list of algorithms to use: md5,sha256
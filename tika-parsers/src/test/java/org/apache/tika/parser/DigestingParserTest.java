@@ -23,6 +23,8 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -108,6 +110,32 @@ public class DigestingParserTest extends TikaTest {
         assertEquals(expectedMD5, m.get(P+"MD5"));
     }
 
+    @Test
+    public void testSinglePassOverStream() throws Exception {
+        byte[] bytes = new byte[50000];
+        random.nextBytes(bytes);
+        final long[] bytesRead = new long[1];
+        InputStream is = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    bytesRead[0] += n;
+                }
+                return n;
+            }
+        };
+        Metadata m = new Metadata();
+        new CommonsDigester(UNLIMITED, CommonsDigester.parse("md5,sha1,sha512"))
+                .digest(is, m, new ParseContext());
+
+        //all three digests must come from one read of the bytes
+        assertEquals(bytes.length, bytesRead[0]);
+        assertEquals(DigestUtils.md5Hex(bytes), m.get(P + "MD5"));
+        assertEquals(DigestUtils.sha1Hex(bytes), m.get(P + "SHA1"));
+        assertEquals(DigestUtils.sha512Hex(bytes), m.get(P + "SHA512"));
+    }
+
     @Test
     public void testNegativeMaxMarkLength() throws Exception {
         Metadata m = new Metadata();
@@ -24,6 +24,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -162,6 +164,33 @@ public class RecursiveParserWrapperTest {
         assertNull(limitReached);
     }
 
+    @Test
+    public void testAddMetadataOverride() throws Exception {
+        final List<Metadata> streamed = new ArrayList<>();
+        final List<Boolean> containers = new ArrayList<>();
+        RecursiveParserWrapper wrapper = new RecursiveParserWrapper(new AutoDetectParser(),
+                new BasicContentHandlerFactory(BasicContentHandlerFactory.HANDLER_TYPE.TEXT, -1)) {
+            @Override
+            protected void addMetadata(Metadata metadata, boolean container) {
+                streamed.add(metadata);
+                containers.add(container);
+            }
+        };
+        wrapper.setMaxEmbeddedResources(4);
+        try (InputStream stream = RecursiveParserWrapperTest.class.getResourceAsStream(
+                "/test-documents/test_recursive_embedded.docx")) {
+            wrapper.parse(stream, new DefaultHandler(), new Metadata(), new ParseContext());
+        }
+
+        assertEquals(0, wrapper.getMetadata().size());
+        assertEquals(5, streamed.size());
+        //embedded documents come first, the container last
+        assertEquals(Boolean.TRUE, containers.get(4));
+        assertEquals(1, Collections.frequency(containers, Boolean.TRUE));
+        assertEquals("true", streamed.get(4).get(RecursiveParserWrapper.EMBEDDED_RESOURCE_LIMIT_REACHED));
+        assertNull(streamed.get(4).get(RecursiveParserWrapper.EMBEDDED_RESOURCE_PATH));
+    }
+
     @Test
     public void testEmbeddedResourcePath() throws Exception {
 
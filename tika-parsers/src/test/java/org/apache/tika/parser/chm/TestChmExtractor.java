@@ -16,16 +16,20 @@
  */
 package org.apache.tika.parser.chm;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 import org.apache.tika.TikaTest;
 import org.apache.tika.exception.TikaException;
+import org.apache.tika.io.TikaInputStream;
 import org.apache.tika.parser.chm.accessor.ChmDirectoryListingSet;
 import org.apache.tika.parser.chm.accessor.DirectoryListingEntry;
 import org.apache.tika.parser.chm.core.ChmExtractor;
@@ -65,6 +69,41 @@ public class TestChmExtractor extends TikaTest {
         assertEquals(TestParameters.VP_CHM_ENTITIES_NUMBER, count);
     }
 
+    @Test
+    public void testExtractFromTikaInputStream() throws Exception {
+        try (TikaInputStream tis = TikaInputStream.get(
+                getResourceAsStream("/test-documents/testChm.chm"))) {
+            assertSameEntries(new ChmExtractor(tis));
+            // read into memory, not spooled to a file
+            assertFalse(tis.hasFile());
+        }
+    }
+
+    @Test
+    public void testExtractFromFile() throws Exception {
+        Path path = getResourceAsFile("/test-documents/testChm.chm").toPath();
+        try (TikaInputStream tis = TikaInputStream.get(path)) {
+            // the file is memory mapped rather than read
+            assertNotNull(tis.getByteBuffer());
+            assertSameEntries(new ChmExtractor(tis));
+            assertEquals(0, tis.getPosition());
+        }
+    }
+
+    private void assertSameEntries(ChmExtractor extractor) throws TikaException {
+        List<DirectoryListingEntry> expected =
+                chmExtractor.getChmDirList().getDirectoryListingEntryList();
+        List<DirectoryListingEntry> entries =
+                extractor.getChmDirList().getDirectoryListingEntryList();
+        assertEquals(expected.size(), entries.size());
+        // entries out of order, so that lzx blocks are both reused and evicted
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            assertArrayEquals(entries.get(i).getName(),
+                    chmExtractor.extractChmEntry(expected.get(i)),
+                    extractor.extractChmEntry(entries.get(i)));
+        }
+    }
+
     @Test
     public void testOOMOnCorruptCHM() throws Exception {
         try {
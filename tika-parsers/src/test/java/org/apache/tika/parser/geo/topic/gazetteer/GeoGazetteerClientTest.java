@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tika.parser.geo.topic.gazetteer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tika.parser.geo.topic.GeoParserConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GeoGazetteerClientTest {
+	private final List<List<String>> requests =
+			Collections.synchronizedList(new ArrayList<List<String>>());
+	private final AtomicLong clock = new AtomicLong();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+	private CountDownLatch release;
+	private GeoParserConfig config;
+
+	@Before
+	public void setUp() {
+		config = new GeoParserConfig();
+		config.setGazetteerBatchSize(2);
+		config.setGazetteerMaxConcurrentLookups(2);
+	}
+
+	/**
+	 * Creates a client of a stub gazetteer that finds every name but
+	 * "Nowhere", and fails the requests for "Atlantis".  Requests wait for
+	 * {@link #release}, if it is set, and the cache runs on {@link #clock}.
+	 */
+	private GeoGazetteerClient newClient() {
+		return new GeoGazetteerClient(config) {
+			@Override
+			Map<String, List<Location>> search(List<String> names) throws Exception {
+				requests.add(new ArrayList<String>(names));
+				int running = inFlight.incrementAndGet();
+				try {
+					synchronized (maxInFlight) {
+						maxInFlight.set(Math.max(maxInFlight.get(), running));
+					}
+					if (release != null) {
+						release.await();
+					}
+				} finally {
+					inFlight.decrementAndGet();
+				}
+				if (names.contains("Atlantis")) {
+					throw new IOException("Gazetteer unavailable");
+				}
+				Map<String, List<Location>> found = new HashMap<String, List<Location>>();
+				for (String name : names) {
+					if (!name.equals("Nowhere")) {
+						Location location = new Location();
+						location.setName(name + " City");
+						found.put(name, Collections.singletonList(location));
+					}
+				}
+				return found;
+			}
+
+			@Override
+			long nanoTime() {
+				return clock.get();
+			}
+		};
+	}
+
+	@Test
+	public void testBatchedLookups() {
+		GeoGazetteerClient client = newClient();
+		Map<String, List<Location>> locations = client.getLocations(
+				Arrays.asList("Paris", "London", "Nowhere", "Paris", "Rome"));
+
+		assertEquals(Arrays.asList("Paris", "London", "Rome"), new ArrayList<String>(locations.keySet()));
+		assertEquals("Rome City", locations.get("Rome").get(0).getName());
+		assertEquals(2, requests.size());
+		List<String> searched = new ArrayList<String>();
+		for (List<String> request : requests) {
+			assertEquals(2, request.size());
+			searched.addAll(request);
+		}
+		Collections.sort(searched);
+		assertEquals(Arrays.asList("London", "Nowhere", "Paris", "Rome"), searched);
+	}
+
+	@Test
+	public void testCachedLookups() {
+		GeoGazetteerClient client = newClient();
+		client.getLocations(Arrays.asList("Paris", "Nowhere"));
+		requests.clear();
+
+		//names found or not found before are not searched again
+		Map<String, List<Location>> locations = client.getLocations(
+				Arrays.asList("Nowhere", "Berlin", "Paris"));
+		assertEquals(Arrays.asList("Berlin", "Paris"), new ArrayList<String>(locations.keySet()));
+		assertEquals(Collections.singletonList(Collections.singletonList("Berlin")), requests);
+
+		config.setGazetteerCacheSize(0);
+		client = newClient();
+		client.getLocations(Arrays.asList("Paris"));
+		client.getLocations(Arrays.asList("Paris"));
+		assertEquals(3, requests.size());
+	}
+
+	@Test
+	public void testExpiredLookups() {
+		config.setGazetteerCacheTimeToLive(0);
+		GeoGazetteerClient client = newClient();
+		client.getLocations(Arrays.asList("Paris"));
+		clock.incrementAndGet();
+		client.getLocations(Arrays.asList("Paris"));
+		assertEquals(2, requests.size());
+	}
+
+	@Test
+	public void testTimeToLive() {
+		config.setGazetteerCacheTimeToLive(60);
+		GeoGazetteerClient client = newClient();
+		client.getLocations(Arrays.asList("Paris"));
+		clock.set(TimeUnit.SECONDS.toNanos(59));
+		client.getLocations(Arrays.asList("Paris", "Rome"));
+		assertEquals(Arrays.asList(Collections.singletonList("Paris"),
+				Collections.singletonList("Rome")), requests);
+
+		//Paris has been cached for longer than a minute, Rome hasn't
+		requests.clear();
+		clock.set(TimeUnit.SECONDS.toNanos(61));
+		Map<String, List<Location>> locations = client.getLocations(Arrays.asList("Paris", "Rome"));
+		assertEquals(Arrays.asList("Paris", "Rome"), new ArrayList<String>(locations.keySet()));
+		assertEquals(Collections.singletonList(Collections.singletonList("Paris")), requests);
+	}
+
+	@Test
+	public void testMaxConcurrentLookups() throws Exception {
+		config.setGazetteerBatchSize(1);
+		release = new CountDownLatch(1);
+		final GeoGazetteerClient client = newClient();
+		final List<Map<String, List<Location>>> result =
+				Collections.synchronizedList(new ArrayList<Map<String, List<Location>>>());
+		Thread lookup = new Thread() {
+			@Override
+			public void run() {
+				result.add(client.getLocations(
+						Arrays.asList("Paris", "London", "Rome", "Berlin", "Madrid", "Vienna")));
+			}
+		};
+		lookup.start();
+
+		long end = System.currentTimeMillis() + 10000;
+		while (inFlight.get() < 2 && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		//give any request beyond the limit the time to start
+		Thread.sleep(200);
+		assertEquals(2, inFlight.get());
+		assertEquals(2, requests.size());
+
+		release.countDown();
+		lookup.join(10000);
+		assertEquals(2, maxInFlight.get());
+		assertEquals(6, requests.size());
+		assertEquals(6, result.get(0).size());
+	}
+
+	@Test
+	public void testFailedLookups() {
+		GeoGazetteerClient client = newClient();
+		//the batch of Atlantis fails, which leaves out Rome too
+		Map<String, List<Location>> locations = client.getLocations(
+				Arrays.asList("Paris", "London", "Atlantis", "Rome"));
+		assertEquals(Arrays.asList("Paris", "London"), new ArrayList<String>(locations.keySet()));
+
+		//the names of the failed batch are not cached
+		requests.clear();
+		locations = client.getLocations(Arrays.asList("Rome", "Paris"));
+		assertEquals(Arrays.asList("Rome", "Paris"), new ArrayList<String>(locations.keySet()));
+		assertEquals(Collections.singletonList(Collections.singletonList("Rome")), requests);
+	}
+}
@@ -18,6 +18,8 @@
 package org.apache.tika.parser.grib;
 
 //JDK imports
+import static org.apache.tika.TikaTest.assertContains;
+import static org.apache.tika.TikaTest.assertNotContained;
 import static org.junit.Assert.*;
 import java.io.InputStream;
 
@@ -48,6 +50,22 @@ public class GribParserTest {
         String content = handler.toString();
         assertTrue(content.contains("dimensions:"));
         assertTrue(content.contains("variables:"));
+        assertNotContained("values = ", content);
+    }
+
+    @Test
+    public void testSampledValues() throws Exception {
+        GribParser parser = new GribParser();
+        parser.setMaxSampledValues(3);
+        ContentHandler handler = new BodyContentHandler();
+        try (InputStream stream = GribParser.class.getResourceAsStream("/test-documents/gdas1.forecmwf.2014062612.grib2")) {
+            parser.parse(stream, handler, new Metadata(), new ParseContext());
+        }
+        String content = handler.toString();
+        assertContains(":values = 90.0, 89.0, 88.0, ...;", content);
+        assertContains(":values = 0.0, 1.0, 2.0, ...;", content);
+        // a variable with a single value has nothing left out
+        assertContains(":values = 2014-06-26T12:00:00Z;", content);
     }
 }
  
@@ -17,6 +17,8 @@
 package org.apache.tika.parser.hdf;
 
 //JDK imports
+import static org.apache.tika.TikaTest.assertContains;
+import static org.apache.tika.TikaTest.assertNotContained;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
@@ -63,6 +65,23 @@ public class HDFParserTest {
 
         assertNotNull(metadata);
         assertEquals("5", metadata.get("GranuleMonth"));
+        assertNotContained("values = ", handler.toString());
+    }
+
+    @Test
+    public void testSampledValues() throws Exception {
+        HDFParser parser = new HDFParser();
+        parser.setMaxSampledValues(3);
+        ContentHandler handler = new BodyContentHandler();
+
+        try (InputStream stream = HDFParser.class.getResourceAsStream("/test-documents/test.he5")) {
+            parser.parse(stream, handler, new Metadata(), new ParseContext());
+        }
+
+        String content = handler.toString();
+        assertContains("HDFEOS/SWATHS/O3/Geolocation_Fields/Latitude: "
+                + "values = 63.30584, 64.72461, 66.13413, ...", content);
+        assertContains("HDFEOS/SWATHS/O3/Data_Fields/Status: values = 18, 0, 0, ...", content);
     }
 
     @Test
@@ -19,10 +19,14 @@ package org.apache.tika.parser.mbox;
 import static org.apache.tika.TikaTest.assertContains;
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.tika.detect.TypeDetector;
+import org.apache.tika.io.IOUtils;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.metadata.TikaCoreProperties;
 import org.apache.tika.parser.AutoDetectParser;
@@ -152,4 +156,30 @@ public class MboxParserTest {
 
         assertContains("When a Mapper completes", handler.toString());
     }
+
+    @Test
+    public void testIndex() throws Exception {
+        byte[] mbox;
+        try (InputStream stream = getStream("/test-documents/complex.mbox")) {
+            mbox = IOUtils.toByteArray(stream);
+        }
+        Map<Long, Long> index = MboxSplitter.index(new ByteArrayInputStream(mbox));
+        assertEquals(3, index.size());
+
+        List<Long> offsets = new ArrayList<>(index.keySet());
+        assertEquals(0L, (long) offsets.get(0));
+        assertEquals(mbox.length, offsets.get(2) + index.get(offsets.get(2)));
+
+        // each range is an mbox of its own
+        long offset = offsets.get(2);
+        ContentHandler handler = new BodyContentHandler();
+        try (InputStream stream = new ByteArrayInputStream(
+                mbox, (int) offset, index.get(offset).intValue())) {
+            mboxParser.parse(stream, handler, new Metadata(), recursingContext);
+        }
+        assertEquals("Nb. Of mails", 1, mboxParser.getTrackingMetadata().size());
+        assertContains("core-user-return-14702",
+                mboxParser.getTrackingMetadata().get(0).get("MboxParser-from"));
+        assertContains("When a Mapper completes", handler.toString());
+    }
 }
@@ -20,15 +20,25 @@ import org.apache.tika.Tika;
 import org.apache.tika.TikaTest;
 import org.apache.tika.config.TikaConfig;
 import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
 import org.apache.tika.parser.ner.opennlp.OpenNLPNERecogniser;
 import org.apache.tika.parser.ner.regex.RegexNERecogniser;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeTrue;
 
 /**
@@ -88,4 +98,123 @@ public class NamedEntityParserTest extends TikaTest {
         assumeTrue(keys.contains("NER_LOCATION"));
 
     }
+
+    @Test
+    public void testWindows() throws Exception {
+        String previous = System.getProperty(NamedEntityParser.SYS_PROP_NER_IMPL);
+        //two recognisers, so that the second one runs on the executor
+        System.setProperty(NamedEntityParser.SYS_PROP_NER_IMPL,
+                RegexNERecogniser.class.getName() + "," + RegexNERecogniser.class.getName());
+        try {
+            StringBuilder text = new StringBuilder();
+            String[] days = {"Monday", "Tuesday", "Thursday", "Friday", "Saturday", "Sunday"};
+            for (int i = 0; i < days.length; i++) {
+                text.append("Meeting number ").append(i).append(" is on ").append(days[i]).append(".\n");
+            }
+
+            NamedEntityParser windowed = new NamedEntityParser();
+            windowed.setWindowSize(40);
+            Metadata windowedMetadata = new Metadata();
+            String windowedXml = parse(windowed, text.toString(), windowedMetadata);
+
+            Metadata metadata = new Metadata();
+            String xml = parse(new NamedEntityParser(), text.toString(), metadata);
+
+            //every line is a window of its own, and the names of all of them are merged
+            HashSet<String> names = new HashSet<>(Arrays.asList(windowedMetadata.getValues("NER_WEEK_DAY")));
+            assertEquals(new HashSet<>(Arrays.asList(days)), names);
+            assertEquals(new HashSet<>(Arrays.asList(metadata.getValues("NER_WEEK_DAY"))), names);
+            assertEquals(xml.substring(xml.indexOf("<body")),
+                    windowedXml.substring(windowedXml.indexOf("<body")));
+            //the names are in the head too, though written before the text
+            String head = windowedXml.substring(0, windowedXml.indexOf("<body"));
+            for (String day : days) {
+                assertContains("<meta name=\"NER_WEEK_DAY\" content=\"" + day + "\"", head);
+            }
+            assertContains("Meeting number 0 is on Monday.", xml);
+            assertContains("Meeting number 5 is on Sunday.", xml);
+        } finally {
+            if (previous == null) {
+                System.clearProperty(NamedEntityParser.SYS_PROP_NER_IMPL);
+            } else {
+                System.setProperty(NamedEntityParser.SYS_PROP_NER_IMPL, previous);
+            }
+        }
+    }
+
+    @Test
+    public void testFailedRecogniserCancelsOthers() throws Exception {
+        String previous = System.getProperty(NamedEntityParser.SYS_PROP_NER_IMPL);
+        //the first recogniser runs on the calling thread, the second on the executor
+        System.setProperty(NamedEntityParser.SYS_PROP_NER_IMPL,
+                FailingRecogniser.class.getName() + "," + BlockingRecogniser.class.getName());
+        try {
+            parse(new NamedEntityParser(), "Meeting on Monday.", new Metadata());
+            fail("Expected the first recogniser to fail");
+        } catch (IllegalStateException e) {
+            assertTrue(BlockingRecogniser.INTERRUPTED.await(10, TimeUnit.SECONDS));
+        } finally {
+            if (previous == null) {
+                System.clearProperty(NamedEntityParser.SYS_PROP_NER_IMPL);
+            } else {
+                System.setProperty(NamedEntityParser.SYS_PROP_NER_IMPL, previous);
+            }
+        }
+    }
+
+    public static class FailingRecogniser implements NERecogniser {
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public Set<String> getEntityTypes() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Map<String, Set<String>> recognise(String text) {
+            try {
+                BlockingRecogniser.STARTED.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    public static class BlockingRecogniser implements NERecogniser {
+
+        static final CountDownLatch STARTED = new CountDownLatch(1);
+        static final CountDownLatch INTERRUPTED = new CountDownLatch(1);
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public Set<String> getEntityTypes() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Map<String, Set<String>> recognise(String text) {
+            STARTED.countDown();
+            try {
+                Thread.sleep(60000);
+            } catch (InterruptedException e) {
+                INTERRUPTED.countDown();
+            }
+            return Collections.emptyMap();
+        }
+    }
+
+    private String parse(NamedEntityParser parser, String text, Metadata metadata) throws Exception {
+        metadata.set(Metadata.CONTENT_TYPE, MediaType.TEXT_PLAIN.toString());
+        return getXML(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+                parser, metadata).xml;
+    }
 }
\ No newline at end of file
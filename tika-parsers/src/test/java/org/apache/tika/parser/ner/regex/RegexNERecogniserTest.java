@@ -26,8 +26,10 @@ import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class RegexNERecogniserTest {
@@ -50,4 +52,21 @@ public class RegexNERecogniserTest {
 
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testOverlappingEntities() throws Exception {
+        String config = "YEAR=(19|20)\\d\\d\n"
+                + "NUMBER=\\d+\n"
+                + "REPEATED=(\\d)\\1\n"
+                + "PERIOD=(?i)(19|20)\\d\\d\\s*-\\s*(19|20)\\d\\d\n";
+        RegexNERecogniser recogniser = new RegexNERecogniser(
+                new ByteArrayInputStream(config.getBytes(StandardCharsets.UTF_8)));
+
+        //entities of different types may overlap, as if each pattern was scanned on its own
+        Map<String, Set<String>> names = recogniser.recognise("from 1960 - 1975 or 20112");
+        assertEquals(new HashSet<>(Arrays.asList("1960", "1975", "2011")), names.get("YEAR"));
+        assertEquals(new HashSet<>(Arrays.asList("1960", "1975", "20112")), names.get("NUMBER"));
+        assertEquals(new HashSet<>(Arrays.asList("11")), names.get("REPEATED"));
+        assertEquals(new HashSet<>(Arrays.asList("1960 - 1975")), names.get("PERIOD"));
+    }
+}
@@ -17,9 +17,11 @@
 package org.apache.tika.parser.netcdf;
 
 //JDK imports
+import java.io.IOException;
 import java.io.InputStream;
 
 //TIKA imports
+import org.apache.commons.io.IOUtils;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.metadata.TikaCoreProperties;
 import org.apache.tika.parser.ParseContext;
@@ -27,9 +29,14 @@ import org.apache.tika.parser.Parser;
 import org.apache.tika.sax.BodyContentHandler;
 import org.junit.Test;
 import org.xml.sax.ContentHandler;
+import ucar.ma2.Array;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
 
 import static org.apache.tika.TikaTest.assertContains;
+import static org.apache.tika.TikaTest.assertNotContained;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * Test cases to exercise the {@link NetCDFParser}.
@@ -65,9 +72,44 @@ public class NetCDFParserTest {
         assertContains("float lat(lat=128)", content);
         assertContains("double lat_bnds(lat=128, bnds=2)", content);
         assertContains("double lon_bnds(lon=256, bnds=2)", content);
-        
+        assertNotContained("values = ", content);
 
 
     }
 
+    @Test
+    public void testSampledValues() throws Exception {
+        NetCDFParser parser = new NetCDFParser();
+        parser.setMaxSampledValues(3);
+        ContentHandler handler = new BodyContentHandler();
+
+        try (InputStream stream = NetCDFParser.class
+                .getResourceAsStream("/test-documents/sresa1b_ncar_ccsm3_0_run1_200001.nc")) {
+            parser.parse(stream, handler, new Metadata(), new ParseContext());
+        }
+
+        String content = handler.toString();
+        assertContains("values = 0.0, 1.40625, 2.8125, ...", content);
+        assertContains("values = 100000.0, 92500.0, 85000.0, ...", content);
+    }
+
+    @Test
+    public void testUnreadableSample() throws Exception {
+        byte[] data;
+        try (InputStream stream = NetCDFParser.class
+                .getResourceAsStream("/test-documents/sresa1b_ncar_ccsm3_0_run1_200001.nc")) {
+            data = IOUtils.toByteArray(stream);
+        }
+        try (NetcdfFile file = NetcdfFile.openInMemory("test.nc", data)) {
+            Variable variable = new Variable(file.getVariables().get(0)) {
+                @Override
+                public Array read(int[] origin, int[] shape) throws IOException {
+                    throw new IOException("broken");
+                }
+            };
+            //the variable is not sampled, rather than failing the document
+            assertNull(NetCDFParser.readSample(variable, 3));
+        }
+    }
+
 }
@@ -19,10 +19,12 @@ package org.apache.tika.parser.txt;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 
 public class CharsetDetectorTest {
@@ -70,4 +72,37 @@ public class CharsetDetectorTest {
         CharsetMatch charset =  detector.detect();
         assertEquals("windows-1252", charset.getName());
     }
+
+    @Test
+    public void testDetectIsBestOfDetectAll() throws Exception {
+        for (String name : new String[]{"resume.html", "testTXT_win-1252.txt", "testTXT.txt",
+                "testHTML_utf8.html", "testHTMLNoisyMetaEncoding_1.html", "testTXTNonASCIIUTF8.txt"}) {
+            byte[] bytes = IOUtils.toByteArray(getClass().getResourceAsStream("/test-documents/" + name));
+            for (boolean filter : new boolean[]{false, true}) {
+                CharsetDetector detector = new CharsetDetector();
+                detector.enableInputFilter(filter);
+                detector.setText(new ByteArrayInputStream(bytes));
+                CharsetMatch best = detector.detectAll()[0];
+                CharsetMatch match = detector.detect();
+                assertEquals(name, best.getName(), match.getName());
+                assertEquals(name, best.getLanguage(), match.getLanguage());
+                assertEquals(name, best.getConfidence(), match.getConfidence());
+            }
+        }
+    }
+
+    @Test
+    public void testByteArrayInput() throws Exception {
+        byte[] bytes = IOUtils.toByteArray(getClass().getResourceAsStream("/test-documents/testTXT_win-1252.txt"));
+        CharsetDetector detector = new CharsetDetector();
+        detector.setText(bytes);
+        CharsetMatch fromBytes = detector.detect();
+
+        detector = new CharsetDetector();
+        detector.setText(new ByteArrayInputStream(bytes));
+        CharsetMatch fromStream = detector.detect();
+
+        assertEquals("windows-1252", fromBytes.getName());
+        assertEquals(fromStream.getConfidence(), fromBytes.getConfidence());
+    }
 }
@@ -18,6 +18,7 @@ package org.apache.tika.metadata.serialization;
  */
 
 
+import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Type;
@@ -26,6 +27,7 @@ import java.util.List;
 import com.google.gson.Gson;
 import com.google.gson.JsonIOException;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
 
@@ -52,6 +54,20 @@ public class JsonMetadataList extends JsonMetadataBase {
         }
     }
         
+    /**
+     * Starts writing a list of metadata objects one element at a time,
+     * in the same format as {@link #toJson(List, Writer)}. Call
+     * {@link StreamingWriter#finish()} after the last element.
+     *
+     * @param writer writer
+     * @return writer for the list elements
+     * @throws org.apache.tika.exception.TikaException if there is an IOException during writing
+     * @since Apache Tika 1.0.18
+     */
+    public static StreamingWriter toJsonStream(Writer writer) throws TikaException {
+        return new StreamingWriter(GSON, writer);
+    }
+
     /**
      * Read metadata from reader.
      *
@@ -92,5 +108,57 @@ public class JsonMetadataList extends JsonMetadataBase {
         }
     }
 
+    /**
+     * Writes the elements of a list of metadata objects as they become
+     * available, so that the whole list never needs to be in memory.
+     *
+     * @since Apache Tika 1.0.18
+     */
+    public static class StreamingWriter {
+
+        private final Gson gson;
+
+        private final JsonWriter jsonWriter;
+
+        private StreamingWriter(Gson gson, Writer writer) throws TikaException {
+            this.gson = gson;
+            try {
+                this.jsonWriter = gson.newJsonWriter(writer);
+                jsonWriter.beginArray();
+            } catch (IOException e) {
+                throw new TikaException(e.getMessage());
+            }
+        }
+
+        /**
+         * Writes the next element of the list and flushes the writer.
+         *
+         * @param metadata metadata to write
+         * @throws org.apache.tika.exception.TikaException if there is an IOException during writing
+         */
+        public void add(Metadata metadata) throws TikaException {
+            try {
+                gson.toJson(metadata, Metadata.class, jsonWriter);
+                jsonWriter.flush();
+            } catch (JsonIOException|IOException e) {
+                throw new TikaException(e.getMessage());
+            }
+        }
+
+        /**
+         * Ends the list and flushes the writer.  This does not close the writer.
+         *
+         * @throws org.apache.tika.exception.TikaException if there is an IOException during writing
+         */
+        public void finish() throws TikaException {
+            try {
+                jsonWriter.endArray();
+                jsonWriter.flush();
+            } catch (IOException e) {
+                throw new TikaException(e.getMessage());
+            }
+        }
+
+    }
 
 }
@@ -59,6 +59,35 @@ public class JsonMetadataListTest {
         assertEquals(metadataList, deserialized);
     }
 
+    @Test
+    public void testStreamingWriter() throws Exception {
+        Metadata m1 = new Metadata();
+        m1.add("k1", "v1");
+        m1.add("k1", "v2");
+        m1.add("k2", "<v1>");
+
+        Metadata m2 = new Metadata();
+        m2.add("k3", "v1");
+
+        List<Metadata> metadataList = new LinkedList<Metadata>();
+        metadataList.add(m1);
+        metadataList.add(m2);
+        StringWriter expected = new StringWriter();
+        JsonMetadataList.toJson(metadataList, expected);
+
+        StringWriter writer = new StringWriter();
+        JsonMetadataList.StreamingWriter streamingWriter =
+                JsonMetadataList.toJsonStream(writer);
+        streamingWriter.add(m1);
+        streamingWriter.add(m2);
+        streamingWriter.finish();
+        assertEquals(expected.toString(), writer.toString());
+
+        writer = new StringWriter();
+        JsonMetadataList.toJsonStream(writer).finish();
+        assertEquals("[]", writer.toString());
+    }
+
     @Test
     public void testListNull() throws Exception {
         StringWriter writer = new StringWriter();
@@ -0,0 +1,410 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tika.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.DigestingParser;
+import org.apache.tika.parser.ParseContext;
+
+/**
+ * Cache of the output of parse requests, keyed by the digest of the
+ * request body and by everything else about the request that can change
+ * the output: the endpoint, the output format and the request headers
+ * that configure the parse.  Identical requests are answered from the
+ * cache without invoking a parser.
+ * <p>
+ * Entries are kept in a size-bounded, least recently used, in-memory tier
+ * and, optionally, in a size-bounded directory that survives restarts.
+ * Only the output of parses that complete without an exception is cached.
+ * <p>
+ * The digester determines the key, so it should use a collision resistant
+ * algorithm (e.g. SHA256), or a client can craft a document that is
+ * answered with another document's output.
+ */
+public class ParseCache {
+
+    private static final Log logger = LogFactory.getLog(ParseCache.class);
+
+    //the largest entry that is cached, as a fraction of the size of a tier
+    private static final int MAX_ENTRY_FRACTION = 8;
+
+    private static final String DISK_SUFFIX = ".cache";
+
+    private final DigestingParser.Digester digester;
+
+    private final long maxMemoryBytes;
+    private final Map<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes = 0;
+
+    //can be null!
+    private final Path directory;
+    private final long maxDiskBytes;
+    private final Map<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes = 0;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param digester       digester that digests the request bodies
+     * @param maxMemoryBytes maximum number of bytes of output to hold in memory
+     * @param directory      directory for the on-disk tier, or null for none
+     * @param maxDiskBytes   maximum number of bytes of output to hold in the directory
+     * @throws IOException if the directory can't be created or read
+     */
+    public ParseCache(DigestingParser.Digester digester, long maxMemoryBytes,
+                      Path directory, long maxDiskBytes) throws IOException {
+        this.digester = digester;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+        if (directory != null) {
+            Files.createDirectories(directory);
+            loadDirectory();
+        }
+    }
+
+    /**
+     * Digests the request body and builds the key for the request.
+     * The stream is reset to its start before this returns.
+     *
+     * @param tis      request body
+     * @param endpoint path and output format of the request
+     * @param headers  request headers; the headers that can change the
+     *                 output of the parse are part of the key
+     * @return key for {@link #get(String)} and {@link #put(String, byte[])}
+     * @throws IOException if the request body can't be read
+     */
+    public String getKey(TikaInputStream tis, String endpoint,
+                         Map<String, List<String>> headers) throws IOException {
+        Metadata digests = new Metadata();
+        digester.digest(tis, digests, new ParseContext());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(endpoint).append('\n');
+        String[] names = digests.names();
+        Arrays.sort(names);
+        for (String name : names) {
+            sb.append(name).append('=').append(Arrays.toString(digests.getValues(name))).append('\n');
+        }
+        //header names are case insensitive
+        Map<String, List<String>> relevant = new TreeMap<>();
+        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+            if (isRelevant(e.getKey())) {
+                relevant.put(e.getKey().toLowerCase(Locale.ROOT), e.getValue());
+            }
+        }
+        for (Map.Entry<String, List<String>> e : relevant.entrySet()) {
+            sb.append(e.getKey()).append('=').append(e.getValue()).append('\n');
+        }
+        return hex(sha256(sb.toString()));
+    }
+
+    /**
+     * @param key key of the request
+     * @return the cached output, or null if there is none
+     */
+    public byte[] get(String key) {
+        synchronized (memory) {
+            byte[] output = memory.get(key);
+            if (output != null) {
+                memoryHits.incrementAndGet();
+                return output;
+            }
+        }
+        byte[] output = getFromDisk(key);
+        if (output == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        diskHits.incrementAndGet();
+        putInMemory(key, output);
+        return output;
+    }
+
+    /**
+     * Caches the output of a request.  Output that is too large for
+     * a tier is not cached in that tier.
+     *
+     * @param key    key of the request
+     * @param output output of the request
+     */
+    public void put(String key, byte[] output) {
+        putInMemory(key, output);
+        putOnDisk(key, output);
+    }
+
+    /**
+     * Returns a stream that passes everything through to the given stream
+     * and captures it for {@link #put(String, byte[])}, as long as it
+     * isn't too large to cache.
+     *
+     * @param os stream to wrap
+     * @return capturing stream
+     */
+    public CapturingOutputStream capture(OutputStream os) {
+        long max = Math.max(maxMemoryBytes, (directory == null) ? 0 : maxDiskBytes) / MAX_ENTRY_FRACTION;
+        return new CapturingOutputStream(os, (int) Math.min(max, Integer.MAX_VALUE - 8));
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getMemoryBytes() {
+        synchronized (memory) {
+            return memoryBytes;
+        }
+    }
+
+    public long getDiskBytes() {
+        synchronized (disk) {
+            return diskBytes;
+        }
+    }
+
+    private void putInMemory(String key, byte[] output) {
+        if (output.length > maxMemoryBytes / MAX_ENTRY_FRACTION) {
+            return;
+        }
+        synchronized (memory) {
+            byte[] previous = memory.put(key, output);
+            if (previous != null) {
+                memoryBytes -= previous.length;
+            }
+            memoryBytes += output.length;
+            Iterator<byte[]> it = memory.values().iterator();
+            while (memoryBytes > maxMemoryBytes && it.hasNext()) {
+                memoryBytes -= it.next().length;
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private byte[] getFromDisk(String key) {
+        if (directory == null) {
+            return null;
+        }
+        synchronized (disk) {
+            if (disk.get(key) == null) {
+                return null;
+            }
+        }
+        try {
+            return Files.readAllBytes(directory.resolve(key + DISK_SUFFIX));
+        } catch (IOException e) {
+            logger.warn("Couldn't read cached output: " + e.getMessage());
+            removeFromDisk(key);
+            return null;
+        }
+    }
+
+    private void putOnDisk(String key, byte[] output) {
+        if (directory == null || output.length > maxDiskBytes / MAX_ENTRY_FRACTION) {
+            return;
+        }
+        synchronized (disk) {
+            if (disk.containsKey(key)) {
+                return;
+            }
+        }
+        try {
+            Path tmp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(tmp, output);
+            Files.move(tmp, directory.resolve(key + DISK_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Couldn't cache output on disk: " + e.getMessage());
+            return;
+        }
+        List<String> evicted = new ArrayList<>();
+        synchronized (disk) {
+            Long previous = disk.put(key, (long) output.length);
+            if (previous != null) {
+                diskBytes -= previous;
+            }
+            diskBytes += output.length;
+            Iterator<Map.Entry<String, Long>> it = disk.entrySet().iterator();
+            while (diskBytes > maxDiskBytes && it.hasNext()) {
+                Map.Entry<String, Long> e = it.next();
+                diskBytes -= e.getValue();
+                evicted.add(e.getKey());
+                it.remove();
+            }
+        }
+        for (String k : evicted) {
+            deleteQuietly(k);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void removeFromDisk(String key) {
+        synchronized (disk) {
+            Long length = disk.remove(key);
+            if (length != null) {
+                diskBytes -= length;
+            }
+        }
+        deleteQuietly(key);
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            Files.deleteIfExists(directory.resolve(key + DISK_SUFFIX));
+        } catch (IOException e) {
+            logger.warn("Couldn't delete cached output: " + e.getMessage());
+        }
+    }
+
+    //indexes the entries from an earlier run, least recently modified first
+    private void loadDirectory() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(directory, "*" + DISK_SUFFIX)) {
+            for (Path p : ds) {
+                files.add(p);
+            }
+        }
+        final Map<Path, Long> modified = new HashMap<>();
+        for (Path p : files) {
+            modified.put(p, Files.getLastModifiedTime(p).toMillis());
+        }
+        Collections.sort(files, new Comparator<Path>() {
+            @Override
+            public int compare(Path a, Path b) {
+                return Long.compare(modified.get(a), modified.get(b));
+            }
+        });
+        for (Path p : files) {
+            String name = p.getFileName().toString();
+            long length = Files.size(p);
+            disk.put(name.substring(0, name.length() - DISK_SUFFIX.length()), length);
+            diskBytes += length;
+        }
+        logger.info("Parse cache found " + disk.size() + " entries in " + directory.toAbsolutePath());
+    }
+
+    private static boolean isRelevant(String header) {
+        String h = header.toLowerCase(Locale.ROOT);
+        return h.startsWith("x-tika-") || h.equals("content-type") ||
+                h.equals("content-disposition") || h.equals("file-name") ||
+                h.equals("password");
+    }
+
+    private static byte[] sha256(String s) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(s.getBytes(UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Passes everything through to the wrapped stream and keeps a copy
+     * of it, until the copy grows larger than its limit.
+     */
+    public static class CapturingOutputStream extends FilterOutputStream {
+        private final int limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private CapturingOutputStream(OutputStream os, int limit) {
+            super(os);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            capture(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            if (copy == null) {
+                return;
+            }
+            if (copy.size() + len > limit) {
+                copy = null;
+                return;
+            }
+            copy.write(b, off, len);
+        }
+
+        /**
+         * @return everything that was written, or null if it was too much to keep
+         */
+        public byte[] getCaptured() {
+            return (copy == null) ? null : copy.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,488 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.server;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.HttpHeaders;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.sax.ContentHandlerDecorator;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * Runs the parses of the server on a dedicated, bounded pool of threads,
+ * instead of on the threads of the http server, so that a burst of large
+ * documents can't grow the number of concurrent parses without limit.
+ * <p>
+ * Each parse costs a number of slots (one, unless a weight is configured
+ * for the type of the document).  The type is detected from the start of
+ * the document, so that a client can't get a cheaper parse by declaring
+ * another type, or none.  A parse that doesn't get its slots
+ * right away waits in a bounded queue; when the queue is full, or when
+ * the parse has waited for longer than the queue timeout, the request is
+ * rejected with 503 and a Retry-After header so that clients and load
+ * balancers can back off.  A parse that runs for longer than the parse
+ * timeout is abandoned and its request fails.  It is stopped at the next
+ * SAX event it emits, but a parser that is stuck may never emit one.  So
+ * the slots of an abandoned parse are given back right away, as long as
+ * no more than {@link #getMaxConcurrent()} abandoned parses are still
+ * running; beyond that, an abandoned parse keeps its slots until the
+ * parser actually returns.
+ * <p>
+ * Endpoints that parse while their response is being written can only
+ * be rejected with 503 before the response status is sent.  They
+ * {@link #reserve(InputStream, Metadata)} the slots of the parse up front
+ * and pass the reservation to {@link #execute(Parse, ContentHandler, Reservation)}.
+ */
+public class ParseExecutor {
+
+    private static final Log logger = LogFactory.getLog(ParseExecutor.class);
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long queueTimeoutMillis;
+    private final long parseTimeoutMillis;
+    private final int retryAfterSeconds;
+    private final Map<MediaType, Integer> weights;
+    private final Detector detector;
+
+    private final Semaphore slots;
+    private final ExecutorService executor;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger abandoned = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    /**
+     * @param maxConcurrent     number of slots, the maximum number of concurrent parses
+     * @param maxQueued          maximum number of parses that wait for slots
+     * @param queueTimeoutMillis how long a parse may wait for slots
+     * @param parseTimeoutMillis how long a parse may run
+     * @param retryAfterSeconds  value of the Retry-After header of rejected requests
+     * @param weights            number of slots a parse of a type costs, types that
+     *                           aren't in here cost one slot; can be empty
+     * @param detector           detects the types of the documents, if there are weights
+     */
+    public ParseExecutor(int maxConcurrent, int maxQueued, long queueTimeoutMillis,
+                         long parseTimeoutMillis, int retryAfterSeconds,
+                         Map<MediaType, Integer> weights, Detector detector) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be > 0: " + maxConcurrent);
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.parseTimeoutMillis = parseTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.weights = Collections.unmodifiableMap(new HashMap<>(weights));
+        this.detector = detector;
+        this.slots = new Semaphore(maxConcurrent, true);
+        //the slots and the bound on abandoned parses bound the number of threads
+        this.executor = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "tika-parse-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Parses weights of the form <code>application/pdf=4,image/jpeg=2</code>.
+     *
+     * @param weights comma separated type=weight pairs
+     * @return the weights by type
+     */
+    public static Map<MediaType, Integer> parseWeights(String weights) {
+        Map<MediaType, Integer> map = new HashMap<>();
+        for (String pair : weights.split(",")) {
+            pair = pair.trim();
+            if (pair.length() == 0) {
+                continue;
+            }
+            int i = pair.lastIndexOf('=');
+            MediaType type = (i < 0) ? null : MediaType.parse(pair.substring(0, i).trim());
+            if (type == null) {
+                throw new IllegalArgumentException("Must have type=weight: " + pair);
+            }
+            map.put(type.getBaseType(), Integer.parseInt(pair.substring(i + 1).trim()));
+        }
+        return map;
+    }
+
+    /**
+     * Runs the parse on the pool and waits for it.
+     *
+     * @param parse    the parse
+     * @param handler  handler the parse writes to; the parse is given
+     *                 a handler that stops it once it has been abandoned
+     * @param stream   the document, for its type, see {@link #reserve(InputStream, Metadata)}
+     * @param metadata metadata of the request
+     * @throws WebApplicationException with a 503 status if the parse was rejected
+     * @throws TikaServerParseException if the parse timed out
+     * @throws IOException if the parse threw one, or the type could not be detected
+     */
+    public void execute(Parse parse, ContentHandler handler, InputStream stream, Metadata metadata)
+            throws IOException {
+        execute(parse, handler, reserve(stream, metadata));
+    }
+
+    /**
+     * Takes the slots for a parse of the document, waiting in the queue
+     * if necessary.  The slots must be handed to
+     * {@link #execute(Parse, ContentHandler, Reservation)}, or released.
+     *
+     * @param stream   the document, for its type; it must support marks, and
+     *                 is reset to where it was.  If it is null or doesn't
+     *                 support marks, the type declared by the client is used
+     * @param metadata metadata of the request
+     * @return the slots
+     * @throws WebApplicationException with a 503 status if the parse was rejected
+     * @throws IOException if the type could not be detected
+     */
+    public Reservation reserve(InputStream stream, Metadata metadata) throws IOException {
+        int weight = getWeight(stream, metadata);
+        acquire(weight);
+        return new Reservation(weight);
+    }
+
+    /**
+     * @return whether parses of some types cost more than one slot, so that
+     *         {@link #reserve(InputStream, Metadata)} needs a stream that
+     *         supports marks
+     */
+    public boolean isWeighted() {
+        return !weights.isEmpty();
+    }
+
+    /**
+     * Runs the parse with slots that were already reserved, and waits for it.
+     *
+     * @param parse       the parse
+     * @param handler     handler the parse writes to; the parse is given
+     *                    a handler that stops it once it has been abandoned
+     * @param reservation slots from {@link #reserve(Metadata)}, released once
+     *                    the parse is done
+     * @throws TikaServerParseException if the parse timed out
+     * @throws IOException if the parse threw one
+     */
+    public void execute(final Parse parse, ContentHandler handler, final Reservation reservation)
+            throws IOException {
+        if (!reservation.take()) {
+            throw new IllegalStateException("Reservation has already been used or released");
+        }
+
+        final AbortableContentHandler abortable = new AbortableContentHandler(handler);
+        //whoever gives the slots back first, the parse when it returns or
+        //the caller when it abandons the parse
+        final AtomicBoolean released = new AtomicBoolean();
+        Future<Void> future;
+        try {
+            future = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    try {
+                        parse.parse(abortable);
+                        return null;
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            slots.release(reservation.weight);
+                        } else {
+                            abandoned.decrementAndGet();
+                        }
+                        completed.incrementAndGet();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slots.release(reservation.weight);
+            throw e;
+        }
+
+        try {
+            future.get(parseTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abortable.abort();
+            future.cancel(true);
+            timedOut.incrementAndGet();
+            reclaim(reservation, released);
+            logger.warn(String.format(Locale.ROOT,
+                    "Parse timed out after %d ms, abandoning it", parseTimeoutMillis));
+            throw new TikaServerParseException(
+                    new TikaException("Parse timed out after " + parseTimeoutMillis + " ms"));
+        } catch (InterruptedException e) {
+            abortable.abort();
+            future.cancel(true);
+            reclaim(reservation, released);
+            Thread.currentThread().interrupt();
+            throw new TikaServerParseException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new TikaServerParseException(e);
+        }
+    }
+
+    /**
+     * Gives back the slots of an abandoned parse that is still running,
+     * unless too many abandoned parses are running already.
+     */
+    private void reclaim(Reservation reservation, AtomicBoolean released) {
+        if (abandoned.incrementAndGet() <= maxConcurrent
+                && released.compareAndSet(false, true)) {
+            slots.release(reservation.weight);
+        } else {
+            //the parse has returned already, or keeps its slots until it does
+            abandoned.decrementAndGet();
+        }
+    }
+
+    private void acquire(int weight) {
+        if (slots.tryAcquire(weight)) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw reject("queue is full");
+        }
+        try {
+            if (!slots.tryAcquire(weight, queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw reject("timed out in the queue");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("interrupted in the queue");
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    private WebApplicationException reject(String reason) {
+        rejected.incrementAndGet();
+        logger.warn("Rejecting parse, " + reason);
+        return new WebApplicationException(
+                Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .header("Retry-After", Integer.toString(retryAfterSeconds))
+                        .entity("Too many concurrent parses, " + reason + "\n")
+                        .type("text/plain")
+                        .build());
+    }
+
+    private int getWeight(InputStream stream, Metadata metadata) throws IOException {
+        if (weights.isEmpty()) {
+            return 1;
+        }
+        MediaType type;
+        if (stream != null && stream.markSupported()) {
+            type = detector.detect(stream, metadata);
+        } else {
+            String contentType = metadata.get(HttpHeaders.CONTENT_TYPE);
+            type = (contentType == null) ? null : MediaType.parse(contentType);
+        }
+        Integer weight = (type == null) ? null : weights.get(type.getBaseType());
+        if (weight == null) {
+            return 1;
+        }
+        //a parse that costs more than all slots could never run
+        return Math.max(1, Math.min(weight, maxConcurrent));
+    }
+
+    /**
+     * Stops accepting parses.  Running parses are interrupted.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public long getQueueTimeoutMillis() {
+        return queueTimeoutMillis;
+    }
+
+    public long getParseTimeoutMillis() {
+        return parseTimeoutMillis;
+    }
+
+    /**
+     * @return number of slots taken by running parses
+     */
+    public int getActive() {
+        return maxConcurrent - slots.availablePermits();
+    }
+
+    /**
+     * @return number of abandoned parses that are still running, but
+     *         whose slots have been given back
+     */
+    public int getAbandoned() {
+        return abandoned.get();
+    }
+
+    /**
+     * @return number of parses waiting for slots
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getTimedOut() {
+        return timedOut.get();
+    }
+
+    /**
+     * Slots taken for a parse that has not been run yet.
+     */
+    public class Reservation {
+
+        private final int weight;
+
+        private final AtomicBoolean used = new AtomicBoolean();
+
+        private Reservation(int weight) {
+            this.weight = weight;
+        }
+
+        //true for whoever takes the slots first, a parse or a release
+        private boolean take() {
+            return used.compareAndSet(false, true);
+        }
+
+        /**
+         * Gives the slots back, unless a parse has taken them.  Can be
+         * called any number of times.
+         */
+        public void release() {
+            if (take()) {
+                slots.release(weight);
+            }
+        }
+    }
+
+    /**
+     * A parse to be run by the executor.
+     */
+    public interface Parse {
+        void parse(ContentHandler handler) throws IOException;
+    }
+
+    /**
+     * Throws on the next SAX event once the parse has been abandoned,
+     * so that it stops writing to the response.
+     */
+    private static class AbortableContentHandler extends ContentHandlerDecorator {
+
+        private volatile boolean aborted = false;
+
+        AbortableContentHandler(ContentHandler handler) {
+            super(handler);
+        }
+
+        void abort() {
+            aborted = true;
+        }
+
+        private void check() throws SAXException {
+            if (aborted) {
+                throw new SAXException("Parse was abandoned");
+            }
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String name, Attributes atts)
+                throws SAXException {
+            check();
+            super.startElement(uri, localName, name, atts);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String name) throws SAXException {
+            check();
+            super.endElement(uri, localName, name);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            check();
+            super.characters(ch, start, length);
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            check();
+            super.ignorableWhitespace(ch, start, length);
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            check();
+            super.endDocument();
+        }
+    }
+}
@@ -17,10 +17,13 @@
 
 package org.apache.tika.server;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.cli.CommandLine;
@@ -38,16 +41,22 @@ import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
 import org.apache.cxf.rs.security.cors.CrossOriginResourceSharingFilter;
 import org.apache.tika.Tika;
 import org.apache.tika.config.TikaConfig;
+import org.apache.tika.mime.MediaType;
 import org.apache.tika.parser.DigestingParser;
+import org.apache.tika.parser.ParseStatisticsRegistry;
 import org.apache.tika.parser.utils.CommonsDigester;
 import org.apache.tika.server.resource.DetectorResource;
 import org.apache.tika.server.resource.LanguageResource;
 import org.apache.tika.server.resource.MetadataResource;
+import org.apache.tika.server.resource.ParseCacheResource;
+import org.apache.tika.server.resource.ParseExecutorResource;
+import org.apache.tika.server.resource.ParseStatisticsResource;
 import org.apache.tika.server.resource.RecursiveMetadataResource;
 import org.apache.tika.server.resource.TikaDetectors;
 import org.apache.tika.server.resource.TikaMimeTypes;
 import org.apache.tika.server.resource.TikaParsers;
 import org.apache.tika.server.resource.TikaResource;
+import org.apache.tika.server.resource.TikaResourceSettings;
 import org.apache.tika.server.resource.TikaVersion;
 import org.apache.tika.server.resource.TikaWelcome;
 import org.apache.tika.server.resource.TranslateResource;
@@ -63,6 +72,10 @@ import org.apache.tika.server.writer.ZipWriter;
 public class TikaServerCli {
     public static final int DEFAULT_PORT = 9998;
     private static final int DEFAULT_DIGEST_MARK_LIMIT = 20*1024*1024;
+    private static final int DEFAULT_MAX_QUEUED_PARSES = 100;
+    private static final long DEFAULT_QUEUE_TIMEOUT_MILLIS = 30000;
+    private static final long DEFAULT_PARSE_TIMEOUT_MILLIS = 120000;
+    private static final int DEFAULT_RETRY_AFTER_SECONDS = 5;
     public static final String DEFAULT_HOST = "localhost";
     public static final Set<String> LOG_LEVELS =
             new HashSet<String>(Arrays.asList("debug", "info"));
@@ -83,6 +96,16 @@ public class TikaServerCli {
         options.addOption("c", "config", true, "Tika Configuration file to override default config with.");
         options.addOption("d", "digest", true, "include digest in metadata, e.g. md5,sha256");
         options.addOption("dml", "digestMarkLimit", true, "max number of bytes to mark on stream for digest");
+        options.addOption("pc", "parseCache", true, "megabytes of parse results to cache in memory (default = 0, off)");
+        options.addOption("pcd", "parseCacheDir", true, "directory to also cache parse results in");
+        options.addOption("pcdm", "parseCacheDirMaxMB", true, "megabytes of parse results to cache in parseCacheDir (default = 1024)");
+        options.addOption("mcp", "maxConcurrentParses", true, "maximum number of concurrent parses (default = 0, unbounded)");
+        options.addOption("mqp", "maxQueuedParses", true, "maximum number of parses waiting to run before requests\nare rejected with 503 (default = " + DEFAULT_MAX_QUEUED_PARSES + ")");
+        options.addOption("qtm", "queueTimeoutMillis", true, "maximum milliseconds a parse may wait to run before its request\nis rejected with 503 (default = " + DEFAULT_QUEUE_TIMEOUT_MILLIS + ")");
+        options.addOption("ptm", "parseTimeoutMillis", true, "maximum milliseconds a parse may run (default = " + DEFAULT_PARSE_TIMEOUT_MILLIS + ")");
+        options.addOption("pw", "parseWeights", true, "number of concurrent parses a parse of a type counts as,\ne.g. application/pdf=4,image/jpeg=2 (default = 1 for all)");
+        options.addOption("ra", "retryAfter", true, "Retry-After seconds sent with rejected requests (default = " + DEFAULT_RETRY_AFTER_SECONDS + ")");
+        options.addOption("ps", "parseStatistics", false, "record time, bytes, characters and exceptions per parser\nand media type, see /statistics and JMX");
         options.addOption("l", "log", true, "request URI log level ('debug' or 'info')");
         options.addOption("s", "includeStack", false, "whether or not to return a stack trace\nif there is an exception during 'parse'");
         options.addOption("?", "help", false, "this help message");
@@ -160,21 +183,64 @@ public class TikaServerCli {
               tika = TikaConfig.getDefaultConfig();
             }
 
+            int digestMarkLimit = DEFAULT_DIGEST_MARK_LIMIT;
+            if (line.hasOption("dml")) {
+                String dmlS = line.getOptionValue("dml");
+                try {
+                    digestMarkLimit = Integer.parseInt(dmlS);
+                } catch (NumberFormatException e) {
+                    throw new RuntimeException("Must have parseable int after digestMarkLimit(dml): "+dmlS);
+                }
+            }
             DigestingParser.Digester digester = null;
             if (line.hasOption("digest")){
-                int digestMarkLimit = DEFAULT_DIGEST_MARK_LIMIT;
-                if (line.hasOption("dml")) {
-                    String dmlS = line.getOptionValue("dml");
-                    try {
-                        digestMarkLimit = Integer.parseInt(dmlS);
-                    } catch (NumberFormatException e) {
-                        throw new RuntimeException("Must have parseable int after digestMarkLimit(dml): "+dmlS);
-                    }
-                }
                 digester = new CommonsDigester(digestMarkLimit,
                         CommonsDigester.parse(line.getOptionValue("digest")));
             }
 
+            ParseCache parseCache = null;
+            if (line.hasOption("parseCache") || line.hasOption("parseCacheDir")) {
+                long memoryMB = Long.parseLong(line.getOptionValue("parseCache", "0"));
+                long diskMB = Long.parseLong(line.getOptionValue("parseCacheDirMaxMB", "1024"));
+                Path dir = line.hasOption("parseCacheDir") ?
+                        Paths.get(line.getOptionValue("parseCacheDir")) : null;
+                if (memoryMB > 0 || dir != null) {
+                    //the key has to identify the content, so it always gets sha256,
+                    //whatever -digest asked for in the metadata
+                    DigestingParser.Digester keyDigester = new CommonsDigester(digestMarkLimit,
+                            CommonsDigester.DigestAlgorithm.SHA256);
+                    parseCache = new ParseCache(keyDigester, memoryMB * 1024 * 1024, dir, diskMB * 1024 * 1024);
+                    logger.info("Caching parse results: " + memoryMB + " MB in memory" +
+                            ((dir == null) ? "" : ", " + diskMB + " MB in " + dir.toAbsolutePath()));
+                }
+            }
+
+            ParseExecutor parseExecutor = null;
+            if (line.hasOption("maxConcurrentParses")) {
+                int maxConcurrent = Integer.parseInt(line.getOptionValue("maxConcurrentParses"));
+                if (maxConcurrent > 0) {
+                    int maxQueued = Integer.parseInt(line.getOptionValue("maxQueuedParses",
+                            Integer.toString(DEFAULT_MAX_QUEUED_PARSES)));
+                    long queueTimeoutMillis = Long.parseLong(line.getOptionValue("queueTimeoutMillis",
+                            Long.toString(DEFAULT_QUEUE_TIMEOUT_MILLIS)));
+                    long parseTimeoutMillis = Long.parseLong(line.getOptionValue("parseTimeoutMillis",
+                            Long.toString(DEFAULT_PARSE_TIMEOUT_MILLIS)));
+                    int retryAfter = Integer.parseInt(line.getOptionValue("retryAfter",
+                            Integer.toString(DEFAULT_RETRY_AFTER_SECONDS)));
+                    Map<MediaType, Integer> weights = ParseExecutor.parseWeights(
+                            line.getOptionValue("parseWeights", ""));
+                    parseExecutor = new ParseExecutor(maxConcurrent, maxQueued, queueTimeoutMillis,
+                            parseTimeoutMillis, retryAfter, weights, tika.getDetector());
+                    logger.info("Running at most " + maxConcurrent + " concurrent parses, " +
+                            "queueing at most " + maxQueued);
+                }
+            }
+
+            ParseStatisticsRegistry parseStatistics = null;
+            if (line.hasOption("parseStatistics")) {
+                parseStatistics = ParseStatisticsRegistry.getDefault();
+            }
+
             if (line.hasOption("enableFileUrl") &&
                     !line.hasOption("enableUnsecureFeatures")) {
                 System.err.println("If you want to enable fileUrl, you must also acknowledge the security risks\n"+
@@ -190,7 +256,13 @@ public class TikaServerCli {
                 inputStreamFactory = new DefaultInputStreamFactory();
             }
 
-            TikaResource.init(tika, digester, inputStreamFactory);
+            TikaResourceSettings settings = new TikaResourceSettings(tika);
+            settings.setDigester(digester);
+            settings.setInputStreamFactory(inputStreamFactory);
+            settings.setParseCache(parseCache);
+            settings.setParseExecutor(parseExecutor);
+            settings.setParseStatistics(parseStatistics);
+            TikaResource.init(settings);
             JAXRSServerFactoryBean sf = new JAXRSServerFactoryBean();
 
             List<ResourceProvider> rCoreProviders = new ArrayList<ResourceProvider>();
@@ -205,6 +277,15 @@ public class TikaServerCli {
             rCoreProviders.add(new SingletonResourceProvider(new TikaDetectors()));
             rCoreProviders.add(new SingletonResourceProvider(new TikaParsers()));
             rCoreProviders.add(new SingletonResourceProvider(new TikaVersion()));
+            if (parseCache != null) {
+                rCoreProviders.add(new SingletonResourceProvider(new ParseCacheResource()));
+            }
+            if (parseExecutor != null) {
+                rCoreProviders.add(new SingletonResourceProvider(new ParseExecutorResource()));
+            }
+            if (parseStatistics != null) {
+                rCoreProviders.add(new SingletonResourceProvider(new ParseStatisticsResource()));
+            }
             List<ResourceProvider> rAllProviders = new ArrayList<ResourceProvider>(rCoreProviders);
             rAllProviders.add(new SingletonResourceProvider(new TikaWelcome(rCoreProviders)));
             sf.setResourceProviders(rAllProviders);
@@ -31,8 +31,9 @@ import javax.ws.rs.Produces;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.tika.langdetect.OptimaizeLangDetector;
+import org.apache.tika.language.ProfilingLanguageDetector;
 import org.apache.tika.language.detect.LanguageResult;
+import org.apache.tika.language.detect.LanguageWriter;
 
 @Path("/language")
 public class LanguageResource {
@@ -46,8 +47,9 @@ public class LanguageResource {
 	@Consumes("*/*")
 	@Produces("text/plain")
 	public String detect(final InputStream is) throws IOException {
-		String fileTxt = IOUtils.toString(is, UTF_8);
-		LanguageResult language = new OptimaizeLangDetector().loadModels().detect(fileTxt);
+		LanguageWriter writer = new LanguageWriter(new ProfilingLanguageDetector().loadModels());
+		IOUtils.copy(is, writer, UTF_8);
+		LanguageResult language = writer.getLanguage();
 		String detectedLang = language.getLanguage();
 		logger.info("Detecting language for incoming resource: ["
 				+ detectedLang + "]");
@@ -60,7 +62,7 @@ public class LanguageResource {
 	@Consumes("*/*")
 	@Produces("text/plain")
 	public String detect(final String string) throws IOException {
-		LanguageResult language = new OptimaizeLangDetector().loadModels().detect(string);
+		LanguageResult language = new ProfilingLanguageDetector().loadModels().detect(string);
 		String detectedLang = language.getLanguage();
 		logger.info("Detecting language for incoming resource: ["
 				+ detectedLang + "]");
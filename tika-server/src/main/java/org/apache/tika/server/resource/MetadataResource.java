@@ -34,6 +34,7 @@ import java.io.InputStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.tika.language.ProfilingLanguageDetector;
 import org.apache.tika.language.detect.LanguageHandler;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.ParseContext;
@@ -124,7 +125,7 @@ public class MetadataResource {
         TikaResource.fillParseContext(context, httpHeaders, null);
         TikaResource.logRequest(logger, info, metadata);
         TikaResource.parse(parser, logger, info.getPath(), is,
-                new LanguageHandler() {
+                new LanguageHandler(new ProfilingLanguageDetector().loadModels()) {
                     public void endDocument() {
                         metadata.set("language", getLanguage().getLanguage());
                     }},
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.server.resource;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import org.apache.tika.server.ParseCache;
+
+/**
+ * Reports the hit and miss counts and the sizes of the parse cache.
+ */
+@Path("/cache")
+public class ParseCacheResource {
+
+    @GET
+    @Produces("text/plain")
+    public String getStatistics() {
+        ParseCache cache = TikaResource.getParseCache();
+        if (cache == null) {
+            return "The parse cache is off\n";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("memoryHits: ").append(cache.getMemoryHits()).append('\n');
+        sb.append("diskHits: ").append(cache.getDiskHits()).append('\n');
+        sb.append("misses: ").append(cache.getMisses()).append('\n');
+        sb.append("evictions: ").append(cache.getEvictions()).append('\n');
+        sb.append("memoryBytes: ").append(cache.getMemoryBytes()).append('\n');
+        sb.append("diskBytes: ").append(cache.getDiskBytes()).append('\n');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.server.resource;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import org.apache.tika.server.ParseExecutor;
+
+/**
+ * Reports the load of the parse executor, e.g. for an autoscaler.
+ */
+@Path("/executor")
+public class ParseExecutorResource {
+
+    @GET
+    @Produces("text/plain")
+    public String getStatistics() {
+        ParseExecutor executor = TikaResource.getParseExecutor();
+        if (executor == null) {
+            return "The parse executor is off\n";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("maxConcurrent: ").append(executor.getMaxConcurrent()).append('\n');
+        sb.append("maxQueued: ").append(executor.getMaxQueued()).append('\n');
+        sb.append("queueTimeoutMillis: ").append(executor.getQueueTimeoutMillis()).append('\n');
+        sb.append("parseTimeoutMillis: ").append(executor.getParseTimeoutMillis()).append('\n');
+        sb.append("active: ").append(executor.getActive()).append('\n');
+        sb.append("queued: ").append(executor.getQueued()).append('\n');
+        sb.append("completed: ").append(executor.getCompleted()).append('\n');
+        sb.append("rejected: ").append(executor.getRejected()).append('\n');
+        sb.append("timedOut: ").append(executor.getTimedOut()).append('\n');
+        sb.append("abandoned: ").append(executor.getAbandoned()).append('\n');
+        return sb.toString();
+    }
+}
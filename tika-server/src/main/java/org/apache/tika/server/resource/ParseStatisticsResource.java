@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.server.resource;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.ParseStatistics;
+import org.apache.tika.parser.ParseStatisticsRegistry;
+
+/**
+ * Reports the time, bytes, characters, embedded documents and exceptions
+ * of the parses of each parser class and media type.
+ */
+@Path("/statistics")
+public class ParseStatisticsResource {
+
+    @GET
+    @Produces("text/plain")
+    public String getStatistics() {
+        ParseStatisticsRegistry registry = TikaResource.getParseStatistics();
+        if (registry == null) {
+            return "Parse statistics are off\n";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("# parsers\n");
+        append(new TreeMap<>(registry.getParserStatistics()), sb);
+        Map<String, ParseStatistics> types = new TreeMap<>();
+        for (Map.Entry<MediaType, ParseStatistics> e : registry.getTypeStatistics().entrySet()) {
+            types.put(e.getKey().toString(), e.getValue());
+        }
+        sb.append("# media types\n");
+        append(types, sb);
+        return sb.toString();
+    }
+
+    private static void append(Map<String, ParseStatistics> statistics, StringBuilder sb) {
+        for (Map.Entry<String, ParseStatistics> e : statistics.entrySet()) {
+            ParseStatistics s = e.getValue();
+            sb.append(String.format(Locale.ROOT,
+                    "%s: count=%d exceptions=%d embedded=%d bytes=%d characters=%d " +
+                            "totalMillis=%d meanMillis=%.1f p50Millis=%d p95Millis=%d " +
+                            "p99Millis=%d maxMillis=%d\n",
+                    e.getKey(), s.getCount(), s.getExceptions(), s.getEmbeddedDocuments(),
+                    s.getBytesRead(), s.getCharactersEmitted(), s.getTotalMillis(),
+                    s.getMeanMillis(), s.getLatencyMillisAtPercentile(50),
+                    s.getLatencyMillisAtPercentile(95), s.getLatencyMillisAtPercentile(99),
+                    s.getMaxMillis()));
+        }
+    }
+}
@@ -27,20 +27,31 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
+import java.io.BufferedWriter;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.language.ProfilingLanguageDetector;
 import org.apache.tika.language.detect.LanguageHandler;
 import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.serialization.JsonMetadataList;
 import org.apache.tika.parser.ParseContext;
 import org.apache.tika.parser.Parser;
 import org.apache.tika.parser.RecursiveParserWrapper;
 import org.apache.tika.sax.BasicContentHandlerFactory;
 import org.apache.tika.server.MetadataList;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 @Path("/rmeta")
 public class RecursiveMetadataResource {
 
@@ -49,6 +60,16 @@ public class RecursiveMetadataResource {
             BasicContentHandlerFactory.HANDLER_TYPE.XML;
     private static final Log logger = LogFactory.getLog(RecursiveMetadataResource.class);
 
+    /**
+     * Request header that, when set to <code>true</code>, makes each
+     * metadata object go into the response as soon as the parse of its
+     * document completes, instead of after the whole parse. The response
+     * has the same format, but its elements come in completion order:
+     * embedded documents precede the documents that contain them, so the
+     * container document is the last element rather than the first.
+     */
+    public static final String RMETA_STREAMING_HEADER = "X-Tika-Rmeta-Streaming";
+
     /**
      * Returns an InputStream that can be deserialized as a list of
      * {@link Metadata} objects.
@@ -121,27 +142,79 @@ public class RecursiveMetadataResource {
 						httpHeaders.getRequestHeaders(), info, handlerTypeName)).build();
     }
 
-	private MetadataList parseMetadata(InputStream is,
-			MultivaluedMap<String, String> httpHeaders, UriInfo info, String handlerTypeName)
+	private Object parseMetadata(InputStream stream,
+			MultivaluedMap<String, String> httpHeaders, final UriInfo info, String handlerTypeName)
 			throws Exception {
+		final InputStream is = TikaResource.getCacheableInputStream(stream);
 		final Metadata metadata = new Metadata();
 		final ParseContext context = new ParseContext();
-		Parser parser = TikaResource.createParser();
+		final Parser parser = TikaResource.createParser();
 		// TODO: parameterize choice of max chars/max embedded attachments
-		BasicContentHandlerFactory.HANDLER_TYPE type =
+		final BasicContentHandlerFactory.HANDLER_TYPE type =
                 BasicContentHandlerFactory.parseHandlerType(handlerTypeName, DEFAULT_HANDLER_TYPE);
-		RecursiveParserWrapper wrapper = new RecursiveParserWrapper(parser,
-				new BasicContentHandlerFactory(type, -1));
 		TikaResource.fillMetadata(parser, metadata, context, httpHeaders);
 		// no need to add parser to parse recursively
 		TikaResource.fillParseContext(context, httpHeaders, null);
 		TikaResource.logRequest(logger, info, metadata);
-		TikaResource.parse(wrapper, logger, info.getPath(), is,
-				new LanguageHandler() {
-					public void endDocument() {
-						metadata.set("language", getLanguage().getLanguage());
+
+		if ("true".equalsIgnoreCase(httpHeaders.getFirst(RMETA_STREAMING_HEADER))) {
+			StreamingOutput output = new StreamingOutput() {
+				public void write(OutputStream outputStream) throws IOException {
+					Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+					try {
+						final JsonMetadataList.StreamingWriter json = JsonMetadataList.toJsonStream(writer);
+						RecursiveParserWrapper wrapper = new RecursiveParserWrapper(parser,
+								new BasicContentHandlerFactory(type, -1)) {
+							@Override
+							protected void addMetadata(Metadata m, boolean container) throws TikaException {
+								json.add(m);
+							}
+						};
+						TikaResource.parse(wrapper, logger, info.getPath(), is,
+								newLanguageHandler(metadata), metadata, context);
+						json.finish();
+					} catch (TikaException e) {
+						throw new IOException(e);
 					}
-				}, metadata, context);
+				}
+			};
+			return TikaResource.reserve(TikaResource.cache(output, is, httpHeaders,
+					info.getPath() + ":json"), is, metadata, context);
+		}
+
+		if (TikaResource.getParseCache() != null) {
+			//only output written as bytes can go through the cache
+			StreamingOutput output = new StreamingOutput() {
+				public void write(OutputStream outputStream) throws IOException {
+					RecursiveParserWrapper wrapper = new RecursiveParserWrapper(parser,
+							new BasicContentHandlerFactory(type, -1));
+					TikaResource.parse(wrapper, logger, info.getPath(), is,
+							newLanguageHandler(metadata), metadata, context);
+					Writer writer = new OutputStreamWriter(outputStream, UTF_8);
+					try {
+						JsonMetadataList.toJson(wrapper.getMetadata(), writer);
+					} catch (TikaException e) {
+						throw new IOException(e);
+					}
+					writer.flush();
+				}
+			};
+			return TikaResource.reserve(TikaResource.cache(output, is, httpHeaders,
+					info.getPath() + ":json"), is, metadata, context);
+		}
+
+		RecursiveParserWrapper wrapper = new RecursiveParserWrapper(parser,
+				new BasicContentHandlerFactory(type, -1));
+		TikaResource.parse(wrapper, logger, info.getPath(), is,
+				newLanguageHandler(metadata), metadata, context);
 		return new MetadataList(wrapper.getMetadata());
 	}
+
+	private static LanguageHandler newLanguageHandler(final Metadata metadata) throws IOException {
+		return new LanguageHandler(new ProfilingLanguageDetector().loadModels()) {
+			public void endDocument() {
+				metadata.set("language", getLanguage().getLanguage());
+			}
+		};
+	}
 }
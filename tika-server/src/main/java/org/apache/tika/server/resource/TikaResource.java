@@ -65,6 +65,7 @@ import org.apache.tika.mime.MediaType;
 import org.apache.tika.parser.AutoDetectParser;
 import org.apache.tika.parser.DigestingParser;
 import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.ParseStatisticsRegistry;
 import org.apache.tika.parser.Parser;
 import org.apache.tika.parser.ParserDecorator;
 import org.apache.tika.parser.PasswordProvider;
@@ -75,6 +76,8 @@ import org.apache.tika.sax.BodyContentHandler;
 import org.apache.tika.sax.ExpandedTitleContentHandler;
 import org.apache.tika.sax.RichTextContentHandler;
 import org.apache.tika.server.InputStreamFactory;
+import org.apache.tika.server.ParseCache;
+import org.apache.tika.server.ParseExecutor;
 import org.apache.tika.server.TikaServerParseException;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
@@ -91,12 +94,28 @@ public class TikaResource {
     private static TikaConfig tikaConfig;
     private static DigestingParser.Digester digester = null;
     private static InputStreamFactory inputStreamFactory = null;
+    private static ParseCache parseCache = null;
+    private static ParseExecutor parseExecutor = null;
+    private static ParseStatisticsRegistry parseStatistics = null;
 
     public static void init(TikaConfig config, DigestingParser.Digester digestr,
                             InputStreamFactory iSF) {
-        tikaConfig = config;
-        digester = digestr;
-        inputStreamFactory = iSF;
+        TikaResourceSettings settings = new TikaResourceSettings(config);
+        settings.setDigester(digestr);
+        settings.setInputStreamFactory(iSF);
+        init(settings);
+    }
+
+    /**
+     * @param settings tika config and optional parsing features
+     */
+    public static void init(TikaResourceSettings settings) {
+        tikaConfig = settings.getTikaConfig();
+        digester = settings.getDigester();
+        inputStreamFactory = settings.getInputStreamFactory();
+        parseCache = settings.getParseCache();
+        parseExecutor = settings.getParseExecutor();
+        parseStatistics = settings.getParseStatistics();
     }
 
     static {
@@ -106,6 +125,7 @@ public class TikaResource {
     @SuppressWarnings("serial")
     public static Parser createParser() {
         final Parser parser = new AutoDetectParser(tikaConfig);
+        ((AutoDetectParser)parser).setParseStatistics(parseStatistics);
 
         Map<MediaType, Parser> parsers = ((AutoDetectParser)parser).getParsers();
         parsers.put(MediaType.APPLICATION_XML, new HtmlParser());
@@ -126,6 +146,27 @@ public class TikaResource {
         return parser;
     }
 
+    /**
+     * @return the cache of parse results, or null if caching is off
+     */
+    public static ParseCache getParseCache() {
+        return parseCache;
+    }
+
+    /**
+     * @return the executor the parses run on, or null if they run on the request threads
+     */
+    public static ParseExecutor getParseExecutor() {
+        return parseExecutor;
+    }
+
+    /**
+     * @return the registry the parses are recorded in, or null if they aren't
+     */
+    public static ParseStatisticsRegistry getParseStatistics() {
+        return parseStatistics;
+    }
+
     public static TikaConfig getConfig() {
         return tikaConfig;
     }
@@ -292,8 +333,82 @@ public class TikaResource {
 
     }
 
-    public static void parse(Parser parser, Log logger, String path, InputStream inputStream,
-                             ContentHandler handler, Metadata metadata, ParseContext parseContext) throws IOException {
+    public static void parse(final Parser parser, final Log logger, final String path,
+                             InputStream stream, ContentHandler handler,
+                             final Metadata metadata, final ParseContext parseContext) throws IOException {
+        ParseExecutor executor = parseExecutor;
+        if (executor == null) {
+            parseInline(parser, logger, path, stream, handler, metadata, parseContext);
+            return;
+        }
+        final InputStream inputStream = getCacheableInputStream(stream);
+        ParseExecutor.Parse parse = new ParseExecutor.Parse() {
+            @Override
+            public void parse(ContentHandler abortableHandler) throws IOException {
+                parseInline(parser, logger, path, inputStream, abortableHandler, metadata, parseContext);
+            }
+        };
+        ParseExecutor.Reservation reservation = parseContext.get(ParseExecutor.Reservation.class);
+        if (reservation != null) {
+            parseContext.set(ParseExecutor.Reservation.class, null);
+            executor.execute(parse, handler, reservation);
+        } else {
+            executor.execute(parse, handler, inputStream, metadata);
+        }
+    }
+
+    /**
+     * If parses run on the executor, takes the slots for the parse of the
+     * request now, while it can still be rejected with 503, and puts them
+     * in the parse context for {@link #parse} to use once the response is
+     * being written.  The caller must release the reservation after the
+     * response has been written, in case nothing parsed.
+     *
+     * @param is stream from {@link #getCacheableInputStream(InputStream)}
+     *           that will be parsed
+     * @return the slots, or null if parses run on the request threads
+     */
+    public static ParseExecutor.Reservation reserve(InputStream is, Metadata metadata,
+                                                    ParseContext parseContext) {
+        ParseExecutor executor = parseExecutor;
+        if (executor == null) {
+            return null;
+        }
+        ParseExecutor.Reservation reservation;
+        try {
+            reservation = executor.reserve(is, metadata);
+        } catch (IOException e) {
+            throw new TikaServerParseException(e);
+        }
+        parseContext.set(ParseExecutor.Reservation.class, reservation);
+        return reservation;
+    }
+
+    /**
+     * Reserves the slots of the parse that the output runs when it is
+     * written, see {@link #reserve(InputStream, Metadata, ParseContext)},
+     * and releases them after it has been written.
+     */
+    public static StreamingOutput reserve(final StreamingOutput output, InputStream is,
+                                          Metadata metadata, ParseContext parseContext) {
+        final ParseExecutor.Reservation reservation = reserve(is, metadata, parseContext);
+        if (reservation == null) {
+            return output;
+        }
+        return new StreamingOutput() {
+            public void write(OutputStream outputStream) throws IOException, WebApplicationException {
+                try {
+                    output.write(outputStream);
+                } finally {
+                    reservation.release();
+                }
+            }
+        };
+    }
+
+    private static void parseInline(Parser parser, Log logger, String path, InputStream inputStream,
+                                    ContentHandler handler, Metadata metadata,
+                                    ParseContext parseContext) throws IOException {
         try (TikaInputStream tikaInputStream = TikaInputStream.get(inputStream)) {
             parser.parse(tikaInputStream, handler, metadata, parseContext);
         } catch (SAXException e) {
@@ -315,6 +430,61 @@ public class TikaResource {
         }
     }
 
+    /**
+     * If caching is on, wraps the input stream so that the cache key
+     * can be computed from it without consuming it; otherwise returns it as is.
+     * Likewise if the parse executor weighs parses by the type of the
+     * document, so that the type can be detected before the parse.
+     * Pass the result both to the parse and to {@link #cache} or {@link #reserve}.
+     */
+    public static InputStream getCacheableInputStream(InputStream is) {
+        ParseExecutor executor = parseExecutor;
+        if (parseCache == null && (executor == null || !executor.isWeighted())) {
+            return is;
+        }
+        return TikaInputStream.get(is);
+    }
+
+    /**
+     * If caching is on, wraps the output of a request so that a request
+     * that has been answered before is answered from the cache, without
+     * parsing; otherwise returns the output as is.  Output is only cached
+     * if it was written without an exception.
+     *
+     * @param output   output of the request
+     * @param is       stream from {@link #getCacheableInputStream(InputStream)}
+     *                 that the output is parsed from
+     * @param headers  request headers
+     * @param endpoint endpoint and output format
+     * @return output that goes through the cache
+     */
+    public static StreamingOutput cache(final StreamingOutput output, final InputStream is,
+                                        final MultivaluedMap<String, String> headers,
+                                        final String endpoint) {
+        final ParseCache cache = parseCache;
+        if (cache == null) {
+            return output;
+        }
+        return new StreamingOutput() {
+            public void write(OutputStream outputStream) throws IOException, WebApplicationException {
+                String key = cache.getKey(TikaInputStream.get(is), endpoint, headers);
+                byte[] cached = cache.get(key);
+                if (cached != null) {
+                    is.close();
+                    outputStream.write(cached);
+                    return;
+                }
+                ParseCache.CapturingOutputStream capturing = cache.capture(outputStream);
+                output.write(capturing);
+                capturing.flush();
+                byte[] captured = capturing.getCaptured();
+                if (captured != null) {
+                    cache.put(key, captured);
+                }
+            }
+        };
+    }
+
     public static void logRequest(Log logger, UriInfo info, Metadata metadata) {
         if (metadata.get(org.apache.tika.metadata.HttpHeaders.CONTENT_TYPE) == null) {
             logger.info(String.format(
@@ -353,7 +523,8 @@ public class TikaResource {
         return produceText(getInputStream(is, httpHeaders), httpHeaders.getRequestHeaders(), info);
     }
 
-    public StreamingOutput produceText(final InputStream is, MultivaluedMap<String, String> httpHeaders, final UriInfo info) {
+    public StreamingOutput produceText(InputStream stream, MultivaluedMap<String, String> httpHeaders, final UriInfo info) {
+        final InputStream is = getCacheableInputStream(stream);
         final Parser parser = createParser();
         final Metadata metadata = new Metadata();
         final ParseContext context = new ParseContext();
@@ -363,7 +534,7 @@ public class TikaResource {
 
         logRequest(logger, info, metadata);
 
-        return new StreamingOutput() {
+        StreamingOutput output = new StreamingOutput() {
             public void write(OutputStream outputStream) throws IOException, WebApplicationException {
                 Writer writer = new OutputStreamWriter(outputStream, UTF_8);
 
@@ -374,6 +545,7 @@ public class TikaResource {
                 }
             }
         };
+        return reserve(cache(output, is, httpHeaders, info.getPath() + ":text"), is, metadata, context);
     }
 
     @POST
@@ -406,8 +578,9 @@ public class TikaResource {
         return produceOutput(getInputStream(is, httpHeaders), httpHeaders.getRequestHeaders(), info, "xml");
     }
 
-    private StreamingOutput produceOutput(final InputStream is, final MultivaluedMap<String, String> httpHeaders,
+    private StreamingOutput produceOutput(InputStream stream, final MultivaluedMap<String, String> httpHeaders,
                                           final UriInfo info, final String format) {
+        final InputStream is = getCacheableInputStream(stream);
         final Parser parser = createParser();
         final Metadata metadata = new Metadata();
         final ParseContext context = new ParseContext();
@@ -418,7 +591,7 @@ public class TikaResource {
 
         logRequest(logger, info, metadata);
 
-        return new StreamingOutput() {
+        StreamingOutput output = new StreamingOutput() {
             public void write(OutputStream outputStream)
                     throws IOException, WebApplicationException {
                 Writer writer = new OutputStreamWriter(outputStream, UTF_8);
@@ -439,5 +612,6 @@ public class TikaResource {
                 parse(parser, logger, info.getPath(), is, content, metadata, context);
             }
         };
+        return reserve(cache(output, is, httpHeaders, info.getPath() + ":" + format), is, metadata, context);
     }
 }
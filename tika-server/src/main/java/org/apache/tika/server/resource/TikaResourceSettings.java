@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.server.resource;
+
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.parser.DigestingParser;
+import org.apache.tika.parser.ParseStatisticsRegistry;
+import org.apache.tika.server.InputStreamFactory;
+import org.apache.tika.server.ParseCache;
+import org.apache.tika.server.ParseExecutor;
+
+/**
+ * Settings that {@link TikaResource#init(TikaResourceSettings)} applies to
+ * the parsing endpoints. Everything but the tika config is optional.
+ */
+public class TikaResourceSettings {
+
+    private final TikaConfig tikaConfig;
+
+    private DigestingParser.Digester digester = null;
+
+    private InputStreamFactory inputStreamFactory = null;
+
+    private ParseCache parseCache = null;
+
+    private ParseExecutor parseExecutor = null;
+
+    private ParseStatisticsRegistry parseStatistics = null;
+
+    /**
+     * @param tikaConfig tika config
+     */
+    public TikaResourceSettings(TikaConfig tikaConfig) {
+        this.tikaConfig = tikaConfig;
+    }
+
+    public TikaConfig getTikaConfig() {
+        return tikaConfig;
+    }
+
+    public DigestingParser.Digester getDigester() {
+        return digester;
+    }
+
+    /**
+     * @param digester digester for the parsed documents, can be null
+     */
+    public void setDigester(DigestingParser.Digester digester) {
+        this.digester = digester;
+    }
+
+    public InputStreamFactory getInputStreamFactory() {
+        return inputStreamFactory;
+    }
+
+    /**
+     * @param inputStreamFactory factory for the request input streams
+     */
+    public void setInputStreamFactory(InputStreamFactory inputStreamFactory) {
+        this.inputStreamFactory = inputStreamFactory;
+    }
+
+    public ParseCache getParseCache() {
+        return parseCache;
+    }
+
+    /**
+     * @param parseCache cache of parse results, can be null
+     */
+    public void setParseCache(ParseCache parseCache) {
+        this.parseCache = parseCache;
+    }
+
+    public ParseExecutor getParseExecutor() {
+        return parseExecutor;
+    }
+
+    /**
+     * @param parseExecutor executor to run the parses on, can be null
+     *                      to parse on the threads of the requests
+     */
+    public void setParseExecutor(ParseExecutor parseExecutor) {
+        this.parseExecutor = parseExecutor;
+    }
+
+    public ParseStatisticsRegistry getParseStatistics() {
+        return parseStatistics;
+    }
+
+    /**
+     * @param parseStatistics registry to record the parses of each parser
+     *                        and media type in, can be null
+     */
+    public void setParseStatistics(ParseStatisticsRegistry parseStatistics) {
+        this.parseStatistics = parseStatistics;
+    }
+
+}
@@ -33,6 +33,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -61,6 +64,8 @@ import org.apache.tika.parser.Parser;
 import org.apache.tika.parser.microsoft.OfficeParser;
 import org.apache.tika.sax.BodyContentHandler;
 import org.apache.tika.sax.RichTextContentHandler;
+import org.apache.tika.server.ParseExecutor;
+import org.apache.tika.server.writer.StreamingArchive;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
@@ -71,6 +76,18 @@ public class UnpackerResource {
     private static final Log logger = LogFactory.getLog(UnpackerResource.class);
     private static final String META_FILENAME = "__METADATA__";
 
+    /**
+     * Request header that, when set to <code>true</code>, makes the embedded
+     * files go into the response archive as soon as they are extracted,
+     * instead of collecting all of them in memory first. Since the response
+     * is already being written during the parse, a document without embedded
+     * files then results in an empty archive rather than a 204 response,
+     * and a failed parse in an archive that ends with a
+     * {@link StreamingArchive#ERROR_FILENAME} entry rather than an error
+     * response.
+     */
+    public static final String UNPACK_STREAMING_HEADER = "X-Tika-Unpack-Streaming";
+
     public static void metadataToCsv(Metadata metadata, OutputStream outputStream) throws IOException {
         CSVWriter writer = new CSVWriter(new OutputStreamWriter(outputStream, UTF_8));
 
@@ -88,7 +105,7 @@ public class UnpackerResource {
     @Path("/{id:(/.*)?}")
     @PUT
     @Produces({"application/zip", "application/x-tar"})
-    public Map<String, byte[]> unpack(
+    public StreamingArchive unpack(
             InputStream is,
             @Context HttpHeaders httpHeaders,
             @Context UriInfo info
@@ -99,7 +116,7 @@ public class UnpackerResource {
     @Path("/all{id:(/.*)?}")
     @PUT
     @Produces({"application/zip", "application/x-tar"})
-    public Map<String, byte[]> unpackAll(
+    public StreamingArchive unpackAll(
             InputStream is,
             @Context HttpHeaders httpHeaders,
             @Context UriInfo info
@@ -107,14 +124,14 @@ public class UnpackerResource {
         return process(TikaResource.getInputStream(is, httpHeaders), httpHeaders, info, true);
     }
 
-    private Map<String, byte[]> process(
-            InputStream is,
+    private StreamingArchive process(
+            final InputStream is,
             @Context HttpHeaders httpHeaders,
-            @Context UriInfo info,
-            boolean saveAll
+            @Context final UriInfo info,
+            final boolean saveAll
     ) throws Exception {
-        Metadata metadata = new Metadata();
-        ParseContext pc = new ParseContext();
+        final Metadata metadata = new Metadata();
+        final ParseContext pc = new ParseContext();
 
         Parser parser = TikaResource.createParser();
         if (parser instanceof DigestingParser) {
@@ -125,6 +142,24 @@ public class UnpackerResource {
         TikaResource.fillMetadata(parser, metadata, pc, httpHeaders.getRequestHeaders());
         TikaResource.logRequest(logger, info, metadata);
 
+        if ("true".equalsIgnoreCase(httpHeaders.getRequestHeaders().getFirst(UNPACK_STREAMING_HEADER))) {
+            final Parser streamingParser = parser;
+            final InputStream stream = TikaResource.getCacheableInputStream(is);
+            final ParseExecutor.Reservation reservation = TikaResource.reserve(stream, metadata, pc);
+            return new StreamingArchive() {
+                @Override
+                public void writeTo(Sink sink) throws IOException {
+                    try {
+                        streamingProcess(streamingParser, stream, metadata, pc, info, saveAll, sink);
+                    } finally {
+                        if (reservation != null) {
+                            reservation.release();
+                        }
+                    }
+                }
+            };
+        }
+
         ContentHandler ch;
         ByteArrayOutputStream text = new ByteArrayOutputStream();
 
@@ -134,10 +169,19 @@ public class UnpackerResource {
             ch = new DefaultHandler();
         }
 
-        Map<String, byte[]> files = new HashMap<String, byte[]>();
+        final Map<String, byte[]> files = new HashMap<String, byte[]>();
         MutableInt count = new MutableInt();
 
-        pc.set(EmbeddedDocumentExtractor.class, new MyEmbeddedDocumentExtractor(count, files));
+        StreamingArchive.Sink sink = new StreamingArchive.Sink() {
+            public void put(String name, byte[] data) {
+                files.put(name, data);
+            }
+
+            public void put(String name, java.nio.file.Path file) throws IOException {
+                files.put(name, Files.readAllBytes(file));
+            }
+        };
+        pc.set(EmbeddedDocumentExtractor.class, new MyEmbeddedDocumentExtractor(count, sink, false));
         TikaResource.parse(parser, logger, info.getPath(), is, ch, metadata, pc);
 
         if (count.intValue() == 0 && !saveAll) {
@@ -153,16 +197,63 @@ public class UnpackerResource {
             files.put(META_FILENAME, metaStream.toByteArray());
         }
 
-        return files;
+        return StreamingArchive.of(files);
+    }
+
+    private void streamingProcess(
+            Parser parser, InputStream is, Metadata metadata, ParseContext pc,
+            UriInfo info, boolean saveAll, StreamingArchive.Sink sink) throws IOException {
+        java.nio.file.Path text = null;
+        try {
+            ContentHandler ch;
+            Writer writer = null;
+
+            if (saveAll) {
+                text = Files.createTempFile("apache-tika-unpack-", ".txt");
+                writer = Files.newBufferedWriter(text, UTF_8);
+                ch = new BodyContentHandler(new RichTextContentHandler(writer));
+            } else {
+                ch = new DefaultHandler();
+            }
+
+            pc.set(EmbeddedDocumentExtractor.class,
+                    new MyEmbeddedDocumentExtractor(new MutableInt(), sink, true));
+            try {
+                TikaResource.parse(parser, logger, info.getPath(), is, ch, metadata, pc);
+            } finally {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+
+            if (saveAll) {
+                sink.put(TEXT_FILENAME, text);
+
+                ByteArrayOutputStream metaStream = new ByteArrayOutputStream();
+                metadataToCsv(metadata, metaStream);
+
+                sink.put(META_FILENAME, metaStream.toByteArray());
+            }
+        } finally {
+            if (text != null) {
+                Files.deleteIfExists(text);
+            }
+        }
     }
 
     private class MyEmbeddedDocumentExtractor implements EmbeddedDocumentExtractor {
         private final MutableInt count;
-        private final Map<String, byte[]> zout;
-
-        MyEmbeddedDocumentExtractor(MutableInt count, Map<String, byte[]> zout) {
+        private final StreamingArchive.Sink zout;
+        private final boolean spool;
+
+        /**
+         * @param spool whether embedded files are passed on through a
+         *              temporary file rather than an in-memory buffer
+         */
+        MyEmbeddedDocumentExtractor(MutableInt count, StreamingArchive.Sink zout, boolean spool) {
             this.count = count;
             this.zout = zout;
+            this.spool = spool;
         }
 
         public boolean shouldParseEmbedded(Metadata metadata) {
@@ -170,10 +261,6 @@ public class UnpackerResource {
         }
 
         public void parseEmbedded(InputStream inputStream, ContentHandler contentHandler, Metadata metadata, boolean b) throws SAXException, IOException {
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            IOUtils.copy(inputStream, bos);
-            byte[] data = bos.toByteArray();
-
             String name = metadata.get(TikaMetadataKeys.RESOURCE_NAME_KEY);
             String contentType = metadata.get(org.apache.tika.metadata.HttpHeaders.CONTENT_TYPE);
 
@@ -193,51 +280,101 @@ public class UnpackerResource {
                 }
             }
 
-            if ("application/vnd.openxmlformats-officedocument.oleObject".equals(contentType)) {
-                POIFSFileSystem poifs = new POIFSFileSystem(new ByteArrayInputStream(data));
-                OfficeParser.POIFSDocumentType type = OfficeParser.POIFSDocumentType.detectType(poifs);
-
-                if (type == OfficeParser.POIFSDocumentType.OLE10_NATIVE) {
-                    try {
-                        Ole10Native ole = Ole10Native.createFromEmbeddedOleObject(poifs);
-                        if (ole.getDataSize() > 0) {
-                            String label = ole.getLabel();
-
-                            if (label.startsWith("ole-")) {
-                                label = Integer.toString(count.intValue()) + '-' + label;
-                            }
+            boolean oleObject = "application/vnd.openxmlformats-officedocument.oleObject".equals(contentType);
 
-                            name = label;
-
-                            data = ole.getDataBuffer();
+            if (spool) {
+                java.nio.file.Path file = Files.createTempFile("apache-tika-unpack-", ".tmp");
+                try {
+                    Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+                    if (Files.size(file) == 0) {
+                        storeOpenContainer(inputStream, name);
+                        return;
+                    }
+                    if (oleObject) {
+                        POIFSFileSystem poifs = new POIFSFileSystem(file.toFile(), true);
+                        try {
+                            name = storeOle10Native(poifs, name);
+                        } finally {
+                            poifs.close();
+                        }
+                        if (name == null) {
+                            return;
                         }
-                    } catch (Ole10NativeException ex) {
-                        logger.warn("Skipping invalid part", ex);
                     }
-                } else {
-                    name += '.' + type.getExtension();
+                    zout.put(name, file);
+
+                    count.increment();
+                } finally {
+                    Files.deleteIfExists(file);
                 }
+                return;
             }
 
-            final String finalName = name;
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            IOUtils.copy(inputStream, bos);
+            byte[] data = bos.toByteArray();
+
+            if (oleObject) {
+                name = storeOle10Native(new POIFSFileSystem(new ByteArrayInputStream(data)), name);
+                if (name == null) {
+                    return;
+                }
+            }
 
             if (data.length > 0) {
-                zout.put(finalName, data);
+                zout.put(name, data);
 
                 count.increment();
             } else {
-                if (inputStream instanceof TikaInputStream) {
-                    TikaInputStream tin = (TikaInputStream) inputStream;
+                storeOpenContainer(inputStream, name);
+            }
+        }
 
-                    if (tin.getOpenContainer() != null && tin.getOpenContainer() instanceof DirectoryEntry) {
-                        POIFSFileSystem fs = new POIFSFileSystem();
-                        copy((DirectoryEntry) tin.getOpenContainer(), fs.getRoot());
-                        ByteArrayOutputStream bos2 = new ByteArrayOutputStream();
-                        fs.writeFilesystem(bos2);
-                        bos2.close();
+        /**
+         * Stores the native data of an embedded OLE 1.0 object under its
+         * label.
+         *
+         * @return the name to store the whole object under instead, or
+         *         null if the native data has been stored
+         */
+        private String storeOle10Native(POIFSFileSystem poifs, String name) throws IOException {
+            OfficeParser.POIFSDocumentType type = OfficeParser.POIFSDocumentType.detectType(poifs);
+
+            if (type != OfficeParser.POIFSDocumentType.OLE10_NATIVE) {
+                return name + '.' + type.getExtension();
+            }
+            try {
+                Ole10Native ole = Ole10Native.createFromEmbeddedOleObject(poifs);
+                if (ole.getDataSize() > 0) {
+                    String label = ole.getLabel();
 
-                        zout.put(finalName, bos2.toByteArray());
+                    if (label.startsWith("ole-")) {
+                        label = Integer.toString(count.intValue()) + '-' + label;
                     }
+
+                    zout.put(label, ole.getDataBuffer());
+
+                    count.increment();
+                    return null;
+                }
+            } catch (Ole10NativeException ex) {
+                logger.warn("Skipping invalid part", ex);
+            }
+            return name;
+        }
+
+        private void storeOpenContainer(InputStream inputStream, String name) throws IOException {
+            if (inputStream instanceof TikaInputStream) {
+                TikaInputStream tin = (TikaInputStream) inputStream;
+
+                if (tin.getOpenContainer() != null && tin.getOpenContainer() instanceof DirectoryEntry) {
+                    POIFSFileSystem fs = new POIFSFileSystem();
+                    copy((DirectoryEntry) tin.getOpenContainer(), fs.getRoot());
+                    ByteArrayOutputStream bos2 = new ByteArrayOutputStream();
+                    fs.writeFilesystem(bos2);
+                    bos2.close();
+
+                    zout.put(name, bos2.toByteArray());
                 }
             }
         }
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tika.server.writer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Archive content that is produced entry by entry while it is being
+ * written by {@link ZipWriter} or {@link TarWriter}, so that the
+ * entries never need to be held in memory all at once.
+ */
+public abstract class StreamingArchive {
+
+    /**
+     * Name of the last entry of an archive whose entries could not all be
+     * produced, which holds the failure, so that clients can tell an
+     * incomplete archive from a complete one.
+     */
+    public static final String ERROR_FILENAME = "__ERROR__";
+
+    /**
+     * Receives the archive entries as they become available.
+     */
+    public interface Sink {
+
+        void put(String name, byte[] data) throws IOException;
+
+        /**
+         * Adds an entry with the content of the given file. The file
+         * may be deleted by the caller once this method returns.
+         */
+        void put(String name, Path file) throws IOException;
+
+    }
+
+    /**
+     * Passes all the archive entries to the given sink.
+     *
+     * @param sink receiver of the archive entries
+     * @throws IOException if the entries could not be produced or written
+     */
+    public abstract void writeTo(Sink sink) throws IOException;
+
+    /**
+     * Passes all the entries of the given archive or map to the sink.
+     * Once entries have been written the response can no longer become
+     * an error response, so if producing the entries fails, the failure
+     * is passed on as an {@link #ERROR_FILENAME} entry instead.
+     *
+     * @param parts archive or map of entries
+     * @param sink receiver of the archive entries
+     * @throws IOException if an entry could not be written
+     */
+    static void write(Object parts, Sink sink) throws IOException {
+        try {
+            of(parts).writeTo(sink);
+        } catch (IOException e) {
+            putError(sink, e);
+        } catch (RuntimeException e) {
+            putError(sink, e);
+        }
+    }
+
+    private static void putError(Sink sink, Exception e) throws IOException {
+        StringBuilder error = new StringBuilder(e.toString());
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            error.append("\nCaused by: ").append(cause);
+        }
+        try {
+            sink.put(ERROR_FILENAME, error.toString().getBytes(UTF_8));
+        } catch (IOException suppressed) {
+            // the archive itself can not be written any more
+            e.addSuppressed(suppressed);
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            throw (RuntimeException) e;
+        }
+    }
+
+    static boolean isArchive(Class<?> type) {
+        return Map.class.isAssignableFrom(type)
+                || StreamingArchive.class.isAssignableFrom(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    static StreamingArchive of(Object parts) {
+        if (parts instanceof StreamingArchive) {
+            return (StreamingArchive) parts;
+        }
+        return of((Map<String, byte[]>) parts);
+    }
+
+    /**
+     * Returns an archive with the entries of the given in-memory map.
+     *
+     * @param map entry names and contents
+     * @return archive of the map entries
+     */
+    public static StreamingArchive of(final Map<String, byte[]> map) {
+        return new StreamingArchive() {
+            @Override
+            public void writeTo(Sink sink) throws IOException {
+                for (Map.Entry<String, byte[]> entry : map.entrySet()) {
+                    sink.put(entry.getKey(), entry.getValue());
+                }
+            }
+        };
+    }
+
+}
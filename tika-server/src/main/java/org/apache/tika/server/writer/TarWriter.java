@@ -25,17 +25,24 @@ import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Map;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.tika.io.IOUtils;
 
+/**
+ * Writes a <code>Map&lt;String, byte[]&gt;</code> or a
+ * {@link StreamingArchive} as a tar archive.
+ */
 @Provider
 @Produces("application/x-tar")
-public class TarWriter implements MessageBodyWriter<Map<String, byte[]>> {
+public class TarWriter implements MessageBodyWriter<Object> {
     private static void tarStoreBuffer(TarArchiveOutputStream zip, String name, byte[] dataBuffer) throws IOException {
         TarArchiveEntry entry = new TarArchiveEntry(name);
 
@@ -48,20 +55,40 @@ public class TarWriter implements MessageBodyWriter<Map<String, byte[]>> {
         zip.closeArchiveEntry();
     }
 
+    private static void tarStoreFile(TarArchiveOutputStream zip, String name, Path file) throws IOException {
+        TarArchiveEntry entry = new TarArchiveEntry(name);
+
+        entry.setSize(Files.size(file));
+
+        zip.putArchiveEntry(entry);
+
+        try (InputStream input = Files.newInputStream(file)) {
+            IOUtils.copy(input, zip);
+        }
+
+        zip.closeArchiveEntry();
+    }
+
     public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
-        return Map.class.isAssignableFrom(type);
+        return StreamingArchive.isArchive(type);
     }
 
-    public long getSize(Map<String, byte[]> stringMap, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    public long getSize(Object parts, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
         return -1;
     }
 
-    public void writeTo(Map<String, byte[]> parts, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
-        TarArchiveOutputStream zip = new TarArchiveOutputStream(entityStream);
+    public void writeTo(Object parts, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
+        final TarArchiveOutputStream zip = new TarArchiveOutputStream(entityStream);
 
-        for (Map.Entry<String, byte[]> entry : parts.entrySet()) {
-            tarStoreBuffer(zip, entry.getKey(), entry.getValue());
-        }
+        StreamingArchive.write(parts, new StreamingArchive.Sink() {
+            public void put(String name, byte[] data) throws IOException {
+                tarStoreBuffer(zip, name, data);
+            }
+
+            public void put(String name, Path file) throws IOException {
+                tarStoreFile(zip, name, file);
+            }
+        });
 
         zip.close();
     }
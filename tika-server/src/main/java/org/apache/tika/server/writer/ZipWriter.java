@@ -25,10 +25,12 @@ import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Map;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.UUID;
 import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
@@ -37,49 +39,81 @@ import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.tika.io.IOUtils;
 
+/**
+ * Writes a <code>Map&lt;String, byte[]&gt;</code> or a
+ * {@link StreamingArchive} as a zip archive of stored entries.
+ */
 @Provider
 @Produces("application/zip")
-public class ZipWriter implements MessageBodyWriter<Map<String, byte[]>> {
+public class ZipWriter implements MessageBodyWriter<Object> {
     private static void zipStoreBuffer(ZipArchiveOutputStream zip, String name, byte[] dataBuffer) throws IOException {
+        CRC32 crc32 = new CRC32();
+        crc32.update(dataBuffer);
+
+        putEntry(zip, name, dataBuffer.length, crc32.getValue());
+        zip.write(dataBuffer);
+        zip.closeArchiveEntry();
+    }
+
+    private static void zipStoreFile(ZipArchiveOutputStream zip, String name, Path file) throws IOException {
+        // Stored entries need the checksum up front, so the file is read twice
+        CRC32 crc32 = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (InputStream input = Files.newInputStream(file)) {
+            int n;
+            while ((n = input.read(buffer)) != -1) {
+                crc32.update(buffer, 0, n);
+            }
+        }
+
+        putEntry(zip, name, Files.size(file), crc32.getValue());
+        try (InputStream input = Files.newInputStream(file)) {
+            IOUtils.copy(input, zip);
+        }
+        zip.closeArchiveEntry();
+    }
+
+    private static void putEntry(ZipArchiveOutputStream zip, String name, long size, long crc) throws IOException {
         ZipEntry zipEntry = new ZipEntry(name != null ? name : UUID.randomUUID().toString());
         zipEntry.setMethod(ZipOutputStream.STORED);
 
-        zipEntry.setSize(dataBuffer.length);
-        CRC32 crc32 = new CRC32();
-        crc32.update(dataBuffer);
-        zipEntry.setCrc(crc32.getValue());
+        zipEntry.setSize(size);
+        zipEntry.setCrc(crc);
 
         try {
             zip.putArchiveEntry(new ZipArchiveEntry(zipEntry));
         } catch (ZipException ex) {
-            if (name != null) {
-                zipStoreBuffer(zip, "x-" + name, dataBuffer);
-                return;
+            if (name == null) {
+                throw ex;
             }
+            putEntry(zip, "x-" + name, size, crc);
         }
-
-        zip.write(dataBuffer);
-
-        zip.closeArchiveEntry();
     }
 
     public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
-        return Map.class.isAssignableFrom(type);
+        return StreamingArchive.isArchive(type);
     }
 
-    public long getSize(Map<String, byte[]> stringMap, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    public long getSize(Object parts, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
         return -1;
     }
 
-    public void writeTo(Map<String, byte[]> parts, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
-        ZipArchiveOutputStream zip = new ZipArchiveOutputStream(entityStream);
+    public void writeTo(Object parts, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
+        final ZipArchiveOutputStream zip = new ZipArchiveOutputStream(entityStream);
 
         zip.setMethod(ZipArchiveOutputStream.STORED);
 
-        for (Map.Entry<String, byte[]> entry : parts.entrySet()) {
-            zipStoreBuffer(zip, entry.getKey(), entry.getValue());
-        }
+        StreamingArchive.write(parts, new StreamingArchive.Sink() {
+            public void put(String name, byte[] data) throws IOException {
+                zipStoreBuffer(zip, name, data);
+            }
+
+            public void put(String name, Path file) throws IOException {
+                zipStoreFile(zip, name, file);
+            }
+        });
 
         zip.close();
     }
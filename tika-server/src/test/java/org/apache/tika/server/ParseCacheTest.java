@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tika.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.parser.utils.CommonsDigester;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParseCacheTest {
+
+    private static final Map<String, List<String>> NO_HEADERS = Collections.emptyMap();
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("tika-server-parse-cache-");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    @Test
+    public void testKey() throws Exception {
+        ParseCache cache = newCache(1024, null);
+        String key = getKey(cache, "abc", "tika:text", NO_HEADERS);
+        assertEquals(key, getKey(cache, "abc", "tika:text", NO_HEADERS));
+        assertNotEquals(key, getKey(cache, "abd", "tika:text", NO_HEADERS));
+        assertNotEquals(key, getKey(cache, "abc", "tika:xml", NO_HEADERS));
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("Accept", Arrays.asList("text/plain"));
+        assertEquals(key, getKey(cache, "abc", "tika:text", headers));
+        headers.put("X-Tika-OCRLanguage", Arrays.asList("fra"));
+        String ocrKey = getKey(cache, "abc", "tika:text", headers);
+        assertNotEquals(key, ocrKey);
+
+        headers.clear();
+        headers.put("x-tika-ocrlanguage", Arrays.asList("fra"));
+        assertEquals(ocrKey, getKey(cache, "abc", "tika:text", headers));
+    }
+
+    @Test
+    public void testKeyDoesNotConsumeStream() throws Exception {
+        ParseCache cache = newCache(1024, null);
+        try (TikaInputStream tis = TikaInputStream.get(new ByteArrayInputStream("abc".getBytes(UTF_8)))) {
+            cache.getKey(tis, "tika:text", NO_HEADERS);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            byte[] buffer = new byte[16];
+            int n;
+            while ((n = tis.read(buffer)) > -1) {
+                bos.write(buffer, 0, n);
+            }
+            assertEquals("abc", new String(bos.toByteArray(), UTF_8));
+        }
+    }
+
+    @Test
+    public void testMemory() throws Exception {
+        ParseCache cache = newCache(800, null);
+        assertNull(cache.get("a"));
+        cache.put("a", new byte[100]);
+        cache.put("b", new byte[100]);
+        assertArrayEquals(new byte[100], cache.get("a"));
+        assertEquals(1, cache.getMemoryHits());
+        assertEquals(1, cache.getMisses());
+
+        //too large to cache
+        cache.put("c", new byte[101]);
+        assertNull(cache.get("c"));
+
+        //"b" is the least recently used
+        for (int i = 0; i < 7; i++) {
+            cache.put("d" + i, new byte[100]);
+        }
+        assertNull(cache.get("b"));
+        assertEquals(800, cache.getMemoryBytes());
+        assertEquals(1, cache.getEvictions());
+        assertArrayEquals(new byte[100], cache.get("a"));
+    }
+
+    @Test
+    public void testDisk() throws Exception {
+        ParseCache cache = newCache(0, dir);
+        byte[] output = "output".getBytes(UTF_8);
+        cache.put("a", output);
+        assertArrayEquals(output, cache.get("a"));
+        assertEquals(1, cache.getDiskHits());
+
+        //survives a restart
+        cache = newCache(800, dir);
+        assertEquals(output.length, cache.getDiskBytes());
+        assertArrayEquals(output, cache.get("a"));
+        assertEquals(1, cache.getDiskHits());
+        //and is now in memory, too
+        assertArrayEquals(output, cache.get("a"));
+        assertEquals(1, cache.getMemoryHits());
+    }
+
+    @Test
+    public void testCapture() throws Exception {
+        ParseCache cache = newCache(80, null);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ParseCache.CapturingOutputStream capturing = cache.capture(bos);
+        capturing.write(new byte[10]);
+        assertArrayEquals(new byte[10], capturing.getCaptured());
+        capturing.write(1);
+        //too large to cache, but still written through
+        assertNull(capturing.getCaptured());
+        assertEquals(11, bos.size());
+    }
+
+    /**
+     * Builds the key of a body that is larger than both the mark limit of
+     * the digester and the heap of a forked JVM, so that the digester has to
+     * stream the spooled body.
+     */
+    @Test
+    public void testKeyOfLargeBody() throws Exception {
+        long size = 64L * 1024 * 1024;
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-Xmx32m",
+                "-cp", System.getProperty("java.class.path"),
+                LargeBody.class.getName(), Long.toString(size))
+                .redirectErrorStream(true).start();
+        String output;
+        try (InputStream is = process.getInputStream()) {
+            output = new String(IOUtils.toByteArray(is), UTF_8).trim();
+        }
+        assertEquals(output, 0, process.waitFor());
+
+        String key;
+        try (TikaInputStream tis = TikaInputStream.get(new GeneratedInputStream(size))) {
+            key = newCache(0, null).getKey(tis, "tika:text", NO_HEADERS);
+        }
+        //the key, and the whole body is still there to be parsed
+        assertEquals(key + " " + size, output);
+    }
+
+    /**
+     * Prints the key of a generated body of the given size, followed by the
+     * number of bytes that can still be read from the body.
+     */
+    public static class LargeBody {
+        public static void main(String[] args) throws Exception {
+            long size = Long.parseLong(args[0]);
+            try (TikaInputStream tis = TikaInputStream.get(new GeneratedInputStream(size))) {
+                String key = newCache(0, null).getKey(tis, "tika:text", NO_HEADERS);
+                long read = 0;
+                byte[] buffer = new byte[8192];
+                for (int n = tis.read(buffer); n != -1; n = tis.read(buffer)) {
+                    read += n;
+                }
+                System.out.println(key + " " + read);
+            }
+        }
+    }
+
+    /**
+     * Stream of the given number of bytes, which are not held in memory.
+     */
+    private static class GeneratedInputStream extends InputStream {
+        private final long size;
+        private long position = 0;
+
+        private GeneratedInputStream(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            return position < size ? (int) (position++ % 251) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= size) {
+                return -1;
+            }
+            int n = (int) Math.min(len, size - position);
+            for (int i = 0; i < n; i++) {
+                b[off + i] = (byte) ((position + i) % 251);
+            }
+            position += n;
+            return n;
+        }
+    }
+
+    private static ParseCache newCache(long maxMemoryBytes, Path dir) throws IOException {
+        return new ParseCache(new CommonsDigester(1024 * 1024, CommonsDigester.DigestAlgorithm.SHA256),
+                maxMemoryBytes, dir, 800);
+    }
+
+    private static String getKey(ParseCache cache, String content, String endpoint,
+                                 Map<String, List<String>> headers) throws IOException {
+        try (TikaInputStream tis = TikaInputStream.get(new ByteArrayInputStream(content.getBytes(UTF_8)))) {
+            return cache.getKey(tis, endpoint, headers);
+        }
+    }
+}
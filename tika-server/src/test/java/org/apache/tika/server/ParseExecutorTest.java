@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tika.server;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import javax.ws.rs.WebApplicationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tika.detect.DefaultDetector;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.HttpHeaders;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.junit.Test;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+public class ParseExecutorTest {
+
+    private static final Map<MediaType, Integer> NO_WEIGHTS = Collections.emptyMap();
+
+    private static final Detector DETECTOR = new DefaultDetector();
+
+    @Test
+    public void testParseWeights() {
+        Map<MediaType, Integer> weights = ParseExecutor.parseWeights(
+                "application/pdf=4, image/jpeg = 2,");
+        assertEquals(2, weights.size());
+        assertEquals(4, (int) weights.get(MediaType.application("pdf")));
+        assertEquals(2, (int) weights.get(MediaType.image("jpeg")));
+    }
+
+    @Test
+    public void testRejectsWhenQueueIsFull() throws Exception {
+        final ParseExecutor executor = new ParseExecutor(1, 0, 10000, 10000, 7, NO_WEIGHTS, DETECTOR);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Thread blocker = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    executor.execute(new BlockingParse(started, release),
+                            new DefaultHandler(), null, new Metadata());
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        blocker.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(1, executor.getActive());
+        try {
+            executor.execute(new BlockingParse(null, null), new DefaultHandler(), null, new Metadata());
+            fail("should have been rejected");
+        } catch (WebApplicationException e) {
+            assertEquals(503, e.getResponse().getStatus());
+            assertEquals("7", e.getResponse().getMetadata().getFirst("Retry-After").toString());
+        }
+        assertEquals(1, executor.getRejected());
+        release.countDown();
+        blocker.join();
+        assertEquals(0, executor.getActive());
+        assertEquals(1, executor.getCompleted());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testWeights() throws Exception {
+        final ParseExecutor executor = new ParseExecutor(2, 0, 10000, 10000, 1,
+                Collections.singletonMap(MediaType.application("pdf"), 5), DETECTOR);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Metadata pdf = new Metadata();
+        pdf.set(HttpHeaders.CONTENT_TYPE, "application/pdf; version=1.4");
+        Thread blocker = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    executor.execute(new BlockingParse(started, release),
+                            new DefaultHandler(), null, pdf);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        blocker.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        //capped to all of the slots
+        assertEquals(2, executor.getActive());
+        try {
+            executor.execute(new BlockingParse(null, null), new DefaultHandler(), null, new Metadata());
+            fail("should have been rejected");
+        } catch (WebApplicationException e) {
+            assertEquals(503, e.getResponse().getStatus());
+        }
+        release.countDown();
+        blocker.join();
+        executor.execute(new BlockingParse(null, null), new DefaultHandler(), null, new Metadata());
+        assertEquals(2, executor.getCompleted());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testDetectedWeights() throws Exception {
+        ParseExecutor executor = new ParseExecutor(2, 0, 10000, 10000, 1,
+                Collections.singletonMap(MediaType.application("pdf"), 2), DETECTOR);
+        Metadata declared = new Metadata();
+        declared.set(HttpHeaders.CONTENT_TYPE, "text/plain");
+        InputStream pdf = new ByteArrayInputStream("%PDF-1.4\n%%EOF\n".getBytes(US_ASCII));
+        //the document is weighed by what it is, not by what the client says it is
+        ParseExecutor.Reservation reservation = executor.reserve(pdf, declared);
+        assertEquals(2, executor.getActive());
+        assertEquals('%', pdf.read());
+        reservation.release();
+        assertEquals(0, executor.getActive());
+
+        //nor does leaving out the type make it cheaper
+        pdf = new ByteArrayInputStream("%PDF-1.4\n%%EOF\n".getBytes(US_ASCII));
+        reservation = executor.reserve(pdf, new Metadata());
+        assertEquals(2, executor.getActive());
+        reservation.release();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testQueueTimeout() throws Exception {
+        final ParseExecutor executor = new ParseExecutor(1, 1, 100, 10000, 1, NO_WEIGHTS, DETECTOR);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Thread blocker = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    executor.execute(new BlockingParse(started, release),
+                            new DefaultHandler(), null, new Metadata());
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        blocker.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        try {
+            executor.execute(new BlockingParse(null, null), new DefaultHandler(), null, new Metadata());
+            fail("should have been rejected");
+        } catch (WebApplicationException e) {
+            assertEquals(503, e.getResponse().getStatus());
+        }
+        //the running parse has outlived the queue timeout, but not its own
+        release.countDown();
+        blocker.join();
+        assertEquals(1, executor.getCompleted());
+        assertEquals(0, executor.getTimedOut());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testReservation() throws Exception {
+        ParseExecutor executor = new ParseExecutor(1, 0, 10000, 10000, 1, NO_WEIGHTS, DETECTOR);
+        ParseExecutor.Reservation reservation = executor.reserve(null, new Metadata());
+        assertEquals(1, executor.getActive());
+        try {
+            executor.reserve(null, new Metadata());
+            fail("should have been rejected");
+        } catch (WebApplicationException e) {
+            assertEquals(503, e.getResponse().getStatus());
+        }
+
+        executor.execute(new BlockingParse(null, null), new DefaultHandler(), reservation);
+        assertEquals(0, executor.getActive());
+        //a used reservation can't run another parse, and releasing it is a no-op
+        try {
+            executor.execute(new BlockingParse(null, null), new DefaultHandler(), reservation);
+            fail("should not run twice");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+        reservation.release();
+        assertEquals(0, executor.getActive());
+
+        reservation = executor.reserve(null, new Metadata());
+        reservation.release();
+        reservation.release();
+        assertEquals(0, executor.getActive());
+        assertEquals(1, executor.getCompleted());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        ParseExecutor executor = new ParseExecutor(1, 1, 10000, 100, 1, NO_WEIGHTS, DETECTOR);
+        final CountDownLatch stopped = new CountDownLatch(1);
+        try {
+            executor.execute(new ParseExecutor.Parse() {
+                @Override
+                public void parse(ContentHandler handler) throws IOException {
+                    //ignores interrupts, but not its handler
+                    long end = System.currentTimeMillis() + 10000;
+                    try {
+                        while (System.currentTimeMillis() < end) {
+                            handler.characters(new char[]{'a'}, 0, 1);
+                        }
+                    } catch (SAXException e) {
+                        stopped.countDown();
+                    }
+                }
+            }, new DefaultHandler(), null, new Metadata());
+            fail("should have timed out");
+        } catch (TikaServerParseException e) {
+            assertTrue(e.getCause() instanceof TikaException);
+        }
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+        assertEquals(1, executor.getTimedOut());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testAbandonedParseGivesBackItsSlots() throws Exception {
+        ParseExecutor executor = new ParseExecutor(1, 0, 10000, 100, 1, NO_WEIGHTS, DETECTOR);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(new StuckParse(release), new DefaultHandler(), null, new Metadata());
+            fail("should have timed out");
+        } catch (TikaServerParseException e) {
+            //expected
+        }
+        assertEquals(1, executor.getAbandoned());
+        assertEquals(0, executor.getActive());
+        executor.execute(new BlockingParse(null, null), new DefaultHandler(), null, new Metadata());
+
+        //only one abandoned parse at a time gives back its slots
+        try {
+            executor.execute(new StuckParse(release), new DefaultHandler(), null, new Metadata());
+            fail("should have timed out");
+        } catch (TikaServerParseException e) {
+            //expected
+        }
+        assertEquals(1, executor.getAbandoned());
+        assertEquals(1, executor.getActive());
+        try {
+            executor.execute(new BlockingParse(null, null), new DefaultHandler(), null, new Metadata());
+            fail("should have been rejected");
+        } catch (WebApplicationException e) {
+            assertEquals(503, e.getResponse().getStatus());
+        }
+
+        release.countDown();
+        long end = System.currentTimeMillis() + 10000;
+        while (executor.getCompleted() < 3 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(3, executor.getCompleted());
+        assertEquals(0, executor.getAbandoned());
+        assertEquals(0, executor.getActive());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testExceptions() throws Exception {
+        ParseExecutor executor = new ParseExecutor(1, 1, 10000, 10000, 1, NO_WEIGHTS, DETECTOR);
+        try {
+            executor.execute(new ParseExecutor.Parse() {
+                @Override
+                public void parse(ContentHandler handler) throws IOException {
+                    throw new IOException("broken");
+                }
+            }, new DefaultHandler(), null, new Metadata());
+            fail("should have thrown");
+        } catch (IOException e) {
+            assertEquals("broken", e.getMessage());
+        }
+        assertEquals(0, executor.getActive());
+        executor.shutdown();
+    }
+
+    /**
+     * Ignores both interrupts and its handler, as a parser that is stuck would.
+     */
+    private static class StuckParse implements ParseExecutor.Parse {
+        private final CountDownLatch release;
+
+        StuckParse(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void parse(ContentHandler handler) {
+            while (true) {
+                try {
+                    release.await();
+                    return;
+                } catch (InterruptedException e) {
+                    //ignored
+                }
+            }
+        }
+    }
+
+    private static class BlockingParse implements ParseExecutor.Parse {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        BlockingParse(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public void parse(ContentHandler handler) throws IOException {
+            if (started == null) {
+                return;
+            }
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+}
@@ -86,6 +86,25 @@ public class RecursiveMetadataResourceTest extends CXFTestBase {
         assertEquals("a38e6c7b38541af87148dee9634cb811", metadataList.get(10).get("X-TIKA:digest:MD5"));
     }
 
+    @Test
+    public void testSimpleWordStreaming() throws Exception {
+        Response response = WebClient
+                .create(endPoint + META_PATH)
+                .accept("application/json")
+                .header(RecursiveMetadataResource.RMETA_STREAMING_HEADER, "true")
+                .put(ClassLoader
+                        .getSystemResourceAsStream(TEST_RECURSIVE_DOC));
+
+        Reader reader = new InputStreamReader((InputStream) response.getEntity(), UTF_8);
+        List<Metadata> metadataList = JsonMetadataList.fromJson(reader);
+
+        assertEquals(12, metadataList.size());
+        //the container document completes last
+        assertEquals("Microsoft Office Word", metadataList.get(11).get("Application-Name"));
+        assertNull(metadataList.get(11).get("X-TIKA:embedded_resource_path"));
+        assertEquals("a38e6c7b38541af87148dee9634cb811", metadataList.get(9).get("X-TIKA:digest:MD5"));
+    }
+
     @Test
     public void testPasswordProtected() throws Exception {
         Response response = WebClient
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.ws.rs.core.Response;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.parser.ParseStatistics;
+import org.apache.tika.parser.ParseStatisticsRegistry;
+import org.apache.tika.parser.utils.CommonsDigester;
+import org.apache.tika.server.resource.TikaResource;
+import org.apache.tika.server.resource.TikaResourceSettings;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that /tika answers a repeated request from the {@link ParseCache}.
+ * The parses are counted through a {@link ParseStatisticsRegistry}, which
+ * the parser records every parse in.
+ */
+public class TikaResourceCacheTest extends CXFTestBase {
+
+    private static final String TIKA_PATH = "/tika";
+
+    private ParseCache parseCache;
+
+    private ParseStatisticsRegistry parseStatistics;
+
+    @Override
+    protected void setUpResources(JAXRSServerFactoryBean sf) {
+        sf.setResourceClasses(TikaResource.class);
+        sf.setResourceProvider(TikaResource.class,
+                new SingletonResourceProvider(new TikaResource()));
+    }
+
+    @Override
+    protected void setUpProviders(JAXRSServerFactoryBean sf) {
+        List<Object> providers = new ArrayList<Object>();
+        providers.add(new TikaServerParseExceptionMapper(false));
+        sf.setProviders(providers);
+    }
+
+    @Before
+    public void setUpCache() throws Exception {
+        parseCache = new ParseCache(
+                new CommonsDigester(1024 * 1024, CommonsDigester.DigestAlgorithm.SHA256),
+                1024 * 1024, null, 0);
+        parseStatistics = new ParseStatisticsRegistry();
+        TikaResourceSettings settings = new TikaResourceSettings(TikaConfig.getDefaultConfig());
+        settings.setInputStreamFactory(new DefaultInputStreamFactory());
+        settings.setParseCache(parseCache);
+        settings.setParseStatistics(parseStatistics);
+        TikaResource.init(settings);
+    }
+
+    @Test
+    public void testRepeatedRequestIsCached() throws Exception {
+        String first = put(TikaResourceTest.TEST_DOC);
+        assertTrue(first.contains("test"));
+        long parses = getParses();
+        assertTrue(parses > 0);
+        assertEquals(1, parseCache.getMisses());
+
+        String second = put(TikaResourceTest.TEST_DOC);
+        assertEquals(first, second);
+        assertEquals(parses, getParses());
+        assertEquals(1, parseCache.getMemoryHits());
+    }
+
+    private String put(String resource) throws Exception {
+        Response response = WebClient.create(endPoint + TIKA_PATH)
+                .type("application/msword")
+                .accept("text/plain")
+                .put(ClassLoader.getSystemResourceAsStream(resource));
+        assertEquals(200, response.getStatus());
+        return getStringFromInputStream((InputStream) response.getEntity());
+    }
+
+    private long getParses() {
+        long parses = 0;
+        for (ParseStatistics statistics : parseStatistics.getTypeStatistics().values()) {
+            parses += statistics.getCount();
+        }
+        return parses;
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tika.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.ws.rs.core.Response;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.server.resource.TikaResource;
+import org.apache.tika.server.resource.TikaResourceSettings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that /tika rejects requests with 503 while the {@link ParseExecutor}
+ * is saturated, even though its parses run while the response is written.
+ */
+public class TikaResourceExecutorTest extends CXFTestBase {
+
+    private static final String TIKA_PATH = "/tika";
+
+    private ParseExecutor parseExecutor;
+
+    @Override
+    protected void setUpResources(JAXRSServerFactoryBean sf) {
+        sf.setResourceClasses(TikaResource.class);
+        sf.setResourceProvider(TikaResource.class,
+                new SingletonResourceProvider(new TikaResource()));
+    }
+
+    @Override
+    protected void setUpProviders(JAXRSServerFactoryBean sf) {
+        List<Object> providers = new ArrayList<Object>();
+        providers.add(new TikaServerParseExceptionMapper(false));
+        sf.setProviders(providers);
+    }
+
+    @Before
+    public void setUpExecutor() {
+        parseExecutor = new ParseExecutor(1, 0, 100, 10000, 3,
+                Collections.<MediaType, Integer>emptyMap(), TikaConfig.getDefaultConfig().getDetector());
+        TikaResourceSettings settings = new TikaResourceSettings(TikaConfig.getDefaultConfig());
+        settings.setInputStreamFactory(new DefaultInputStreamFactory());
+        settings.setParseExecutor(parseExecutor);
+        TikaResource.init(settings);
+    }
+
+    @After
+    public void tearDownExecutor() {
+        parseExecutor.shutdown();
+    }
+
+    @Test
+    public void testSaturated() throws Exception {
+        //takes the only slot, as a long running parse would
+        ParseExecutor.Reservation busy = parseExecutor.reserve(null, new Metadata());
+
+        Response response = put();
+        assertEquals(503, response.getStatus());
+        assertEquals("3", response.getHeaderString("Retry-After"));
+        assertEquals(1, parseExecutor.getRejected());
+
+        busy.release();
+        response = put();
+        assertEquals(200, response.getStatus());
+        assertTrue(getStringFromInputStream((InputStream) response.getEntity()).contains("test"));
+        //the slot of the parse is given back once the response has been written
+        assertEquals(0, parseExecutor.getActive());
+        assertEquals(1, parseExecutor.getCompleted());
+    }
+
+    private Response put() {
+        return WebClient.create(endPoint + TIKA_PATH)
+                .type("application/msword")
+                .accept("text/plain")
+                .put(ClassLoader.getSystemResourceAsStream(TikaResourceTest.TEST_DOC));
+    }
+
+}
@@ -17,6 +17,7 @@
 
 package org.apache.tika.server;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -35,6 +36,7 @@ import org.apache.cxf.jaxrs.client.WebClient;
 import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
 import org.apache.tika.server.writer.TarWriter;
 import org.apache.tika.server.resource.UnpackerResource;
+import org.apache.tika.server.writer.StreamingArchive;
 import org.apache.tika.server.writer.ZipWriter;
 import org.junit.Test;
 
@@ -107,6 +109,33 @@ public class UnpackerResourceTest extends CXFTestBase {
         assertTrue(data.containsKey(UnpackerResource.TEXT_FILENAME));
     }
 
+    @Test
+    public void testDocWAVStreaming() throws Exception {
+        Response response = WebClient.create(endPoint + UNPACKER_PATH)
+                .type(APPLICATION_MSWORD).accept("application/zip")
+                .header(UnpackerResource.UNPACK_STREAMING_HEADER, "true")
+                .put(ClassLoader.getSystemResourceAsStream(TEST_DOC_WAV));
+
+        Map<String, String> data = readZipArchive((InputStream) response.getEntity());
+        assertEquals(WAV1_MD5, data.get(WAV1_NAME));
+        assertEquals(WAV2_MD5, data.get(WAV2_NAME));
+        assertEquals(JPG_MD5, data.get(JPG_NAME));
+        assertFalse(data.containsKey(UnpackerResource.TEXT_FILENAME));
+    }
+
+    @Test
+    public void testTarDocWAVTextStreaming() throws Exception {
+        Response response = WebClient.create(endPoint + ALL_PATH)
+                .type(APPLICATION_MSWORD).accept("application/x-tar")
+                .header(UnpackerResource.UNPACK_STREAMING_HEADER, "true")
+                .put(ClassLoader.getSystemResourceAsStream(TEST_DOC_WAV));
+
+        Map<String, String> data = readArchiveFromStream(new TarArchiveInputStream((InputStream) response.getEntity()));
+        assertEquals(WAV1_MD5, data.get(WAV1_NAME));
+        assertEquals(WAV2_MD5, data.get(WAV2_NAME));
+        assertTrue(data.containsKey(UnpackerResource.TEXT_FILENAME));
+    }
+
     @Test
     public void testDocPicture() throws Exception {
         Response response = WebClient.create(endPoint + UNPACKER_PATH)
@@ -162,6 +191,30 @@ public class UnpackerResourceTest extends CXFTestBase {
         assertEquals(DOCX_EXE2_MD5, data.get(DOCX_EXE2_NAME));
     }
 
+    @Test
+    public void testExeDOCXStreaming() throws Exception {
+        Response response = WebClient.create(endPoint + UNPACKER_PATH)
+                .accept("application/zip")
+                .header(UnpackerResource.UNPACK_STREAMING_HEADER, "true")
+                .put(ClassLoader.getSystemResourceAsStream("2exe.docx"));
+
+        Map<String, String> data = readZipArchive((InputStream) response.getEntity());
+
+        assertEquals(DOCX_EXE1_MD5, data.get(DOCX_EXE1_NAME));
+        assertEquals(DOCX_EXE2_MD5, data.get(DOCX_EXE2_NAME));
+    }
+
+    @Test
+    public void testFailedParseStreaming() throws Exception {
+        Response response = WebClient.create(endPoint + UNPACKER_PATH)
+                .type(APPLICATION_MSWORD).accept("application/zip")
+                .header(UnpackerResource.UNPACK_STREAMING_HEADER, "true")
+                .put("not a word document".getBytes(UTF_8));
+
+        Map<String, String> data = readZipArchive((InputStream) response.getEntity());
+        assertTrue(data.containsKey(StreamingArchive.ERROR_FILENAME));
+    }
+
     @Test
     public void testImageXSL() throws Exception {
         Response response = WebClient.create(endPoint + UNPACKER_PATH)